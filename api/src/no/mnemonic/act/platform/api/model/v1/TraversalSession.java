@@ -0,0 +1,97 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.json.TimestampSerializer;
+
+import java.util.UUID;
+
+@ApiModel(description = "Handle of a part of the Object/Fact graph which has been loaded into memory for repeated graph traversals.")
+public class TraversalSession {
+
+  @ApiModelProperty(value = "Uniquely identifies the session", example = "123e4567-e89b-12d3-a456-426655440000", required = true)
+  private final UUID id;
+  @ApiModelProperty(value = "Number of Objects loaded into the session", example = "1234", required = true)
+  private final int objectCount;
+  @ApiModelProperty(value = "Number of Facts loaded into the session", example = "5678", required = true)
+  private final int factCount;
+  @ApiModelProperty(value = "True if not the whole neighborhood was loaded because a limit was reached", example = "false", required = true)
+  private final boolean truncated;
+  @ApiModelProperty(value = "Timestamp when the session expires", example = "2016-09-28T21:26:22Z", dataType = "string", required = true)
+  @JsonSerialize(using = TimestampSerializer.class)
+  private final Long expiresTimestamp;
+
+  private TraversalSession(UUID id, int objectCount, int factCount, boolean truncated, Long expiresTimestamp) {
+    this.id = id;
+    this.objectCount = objectCount;
+    this.factCount = factCount;
+    this.truncated = truncated;
+    this.expiresTimestamp = expiresTimestamp;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public int getObjectCount() {
+    return objectCount;
+  }
+
+  public int getFactCount() {
+    return factCount;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  public Long getExpiresTimestamp() {
+    return expiresTimestamp;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private UUID id;
+    private int objectCount;
+    private int factCount;
+    private boolean truncated;
+    private Long expiresTimestamp;
+
+    private Builder() {
+    }
+
+    public TraversalSession build() {
+      return new TraversalSession(id, objectCount, factCount, truncated, expiresTimestamp);
+    }
+
+    public Builder setId(UUID id) {
+      this.id = id;
+      return this;
+    }
+
+    public Builder setObjectCount(int objectCount) {
+      this.objectCount = objectCount;
+      return this;
+    }
+
+    public Builder setFactCount(int factCount) {
+      this.factCount = factCount;
+      return this;
+    }
+
+    public Builder setTruncated(boolean truncated) {
+      this.truncated = truncated;
+      return this;
+    }
+
+    public Builder setExpiresTimestamp(Long expiresTimestamp) {
+      this.expiresTimestamp = expiresTimestamp;
+      return this;
+    }
+  }
+
+}
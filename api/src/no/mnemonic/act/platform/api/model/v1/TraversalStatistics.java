@@ -0,0 +1,105 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@ApiModel(description = "Statistics about the work performed by a graph traversal.")
+public class TraversalStatistics {
+
+  @ApiModelProperty(value = "Number of vertices (Objects) materialized by the traversal", example = "1234", required = true)
+  private final long vertexCount;
+  @ApiModelProperty(value = "Number of Facts fetched by the traversal", example = "5678", required = true)
+  private final long factCount;
+  @ApiModelProperty(value = "Number of queries sent to the database by the traversal", example = "910", required = true)
+  private final long queryCount;
+  @ApiModelProperty(value = "Number of elements served from the cache instead of querying the database", example = "4321", required = true)
+  private final long cacheHitCount;
+  @ApiModelProperty(value = "Estimated number of bytes fetched from the database", example = "123456", required = true)
+  private final long bytesFetched;
+  @ApiModelProperty(value = "Execution time of the traversal in milliseconds", example = "250", required = true)
+  private final long executionTime;
+
+  private TraversalStatistics(long vertexCount, long factCount, long queryCount, long cacheHitCount, long bytesFetched, long executionTime) {
+    this.vertexCount = vertexCount;
+    this.factCount = factCount;
+    this.queryCount = queryCount;
+    this.cacheHitCount = cacheHitCount;
+    this.bytesFetched = bytesFetched;
+    this.executionTime = executionTime;
+  }
+
+  public long getVertexCount() {
+    return vertexCount;
+  }
+
+  public long getFactCount() {
+    return factCount;
+  }
+
+  public long getQueryCount() {
+    return queryCount;
+  }
+
+  public long getCacheHitCount() {
+    return cacheHitCount;
+  }
+
+  public long getBytesFetched() {
+    return bytesFetched;
+  }
+
+  public long getExecutionTime() {
+    return executionTime;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private long vertexCount;
+    private long factCount;
+    private long queryCount;
+    private long cacheHitCount;
+    private long bytesFetched;
+    private long executionTime;
+
+    private Builder() {
+    }
+
+    public TraversalStatistics build() {
+      return new TraversalStatistics(vertexCount, factCount, queryCount, cacheHitCount, bytesFetched, executionTime);
+    }
+
+    public Builder setVertexCount(long vertexCount) {
+      this.vertexCount = vertexCount;
+      return this;
+    }
+
+    public Builder setFactCount(long factCount) {
+      this.factCount = factCount;
+      return this;
+    }
+
+    public Builder setQueryCount(long queryCount) {
+      this.queryCount = queryCount;
+      return this;
+    }
+
+    public Builder setCacheHitCount(long cacheHitCount) {
+      this.cacheHitCount = cacheHitCount;
+      return this;
+    }
+
+    public Builder setBytesFetched(long bytesFetched) {
+      this.bytesFetched = bytesFetched;
+      return this;
+    }
+
+    public Builder setExecutionTime(long executionTime) {
+      this.executionTime = executionTime;
+      return this;
+    }
+  }
+
+}
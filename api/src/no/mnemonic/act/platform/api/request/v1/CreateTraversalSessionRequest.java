@@ -0,0 +1,93 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+@ApiModel(description = "Load the neighborhood of one or more Objects into memory for repeated graph traversals.")
+public class CreateTraversalSessionRequest implements ValidatingRequest {
+
+  public static final int MAXIMUM_DEPTH = 5;
+
+  @ApiModelProperty(value = "UUIDs of the Objects where the neighborhood starts", required = true)
+  @NotNull
+  @Size(min = 1)
+  private Set<UUID> objectID;
+  @ApiModelProperty(value = "Only include Facts having a specific FactType (takes type UUID or name)")
+  private Set<String> factType;
+  @ApiModelProperty(value = "Maximum number of hops from the starting Objects (default 2, maximum 5)", example = "2")
+  @Min(1)
+  @Max(MAXIMUM_DEPTH)
+  private Integer depth;
+  @ApiModelProperty(value = "Limit the number of loaded Objects (default 10000, 0 means maximum allowed)", example = "10000")
+  @Min(0)
+  private Integer objectLimit;
+  @ApiModelProperty(value = "Limit the number of loaded Facts (default 10000, 0 means maximum allowed)", example = "10000")
+  @Min(0)
+  private Integer factLimit;
+
+  public Set<UUID> getObjectID() {
+    return objectID;
+  }
+
+  public CreateTraversalSessionRequest setObjectID(Set<UUID> objectID) {
+    this.objectID = ObjectUtils.ifNotNull(objectID, SetUtils::set);
+    return this;
+  }
+
+  public CreateTraversalSessionRequest addObjectID(UUID objectID) {
+    this.objectID = SetUtils.addToSet(this.objectID, objectID);
+    return this;
+  }
+
+  public Set<String> getFactType() {
+    return factType;
+  }
+
+  public CreateTraversalSessionRequest setFactType(Set<String> factType) {
+    this.factType = ObjectUtils.ifNotNull(factType, SetUtils::set);
+    return this;
+  }
+
+  public CreateTraversalSessionRequest addFactType(String factType) {
+    this.factType = SetUtils.addToSet(this.factType, factType);
+    return this;
+  }
+
+  public Integer getDepth() {
+    return depth;
+  }
+
+  public CreateTraversalSessionRequest setDepth(Integer depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  public Integer getObjectLimit() {
+    return objectLimit;
+  }
+
+  public CreateTraversalSessionRequest setObjectLimit(Integer objectLimit) {
+    this.objectLimit = objectLimit;
+    return this;
+  }
+
+  public Integer getFactLimit() {
+    return factLimit;
+  }
+
+  public CreateTraversalSessionRequest setFactLimit(Integer factLimit) {
+    this.factLimit = factLimit;
+    return this;
+  }
+
+}
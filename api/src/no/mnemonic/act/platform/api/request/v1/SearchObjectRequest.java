@@ -58,6 +58,9 @@ public class SearchObjectRequest implements ValidatingRequest {
   @ApiModelProperty(value = "Limit the number of returned Objects (default 25, 0 means all)", example = "25")
   @Min(0)
   private Integer limit;
+  @ApiModelProperty(value = "Omit the Fact statistics from the returned Objects (default false). Use this when only " +
+          "the Objects themselves are required because calculating the statistics is expensive.", example = "false")
+  private Boolean excludeStatistics;
 
   public String getKeywords() {
     return keywords;
@@ -234,4 +237,13 @@ public class SearchObjectRequest implements ValidatingRequest {
     return this;
   }
 
+  public Boolean getExcludeStatistics() {
+    return excludeStatistics;
+  }
+
+  public SearchObjectRequest setExcludeStatistics(Boolean excludeStatistics) {
+    this.excludeStatistics = excludeStatistics;
+    return this;
+  }
+
 }
@@ -18,6 +18,9 @@ public class TraverseByObjectIdRequest implements ValidatingRequest {
   @ApiModelProperty(value = "Gremlin query to execute.", example = "g.out()", required = true)
   @NotBlank
   private String query;
+  @ApiModelProperty(value = "Append statistics about the work performed by the traversal to the end of the result " +
+          "(default false)", example = "false")
+  private Boolean includeStatistics;
 
   public UUID getId() {
     return id;
@@ -37,4 +40,13 @@ public class TraverseByObjectIdRequest implements ValidatingRequest {
     return this;
   }
 
+  public Boolean getIncludeStatistics() {
+    return includeStatistics;
+  }
+
+  public TraverseByObjectIdRequest setIncludeStatistics(Boolean includeStatistics) {
+    this.includeStatistics = includeStatistics;
+    return this;
+  }
+
 }
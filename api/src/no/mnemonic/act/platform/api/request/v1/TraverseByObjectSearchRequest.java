@@ -11,6 +11,13 @@ public class TraverseByObjectSearchRequest extends SearchObjectRequest {
   @ApiModelProperty(value = "Gremlin query to execute.", example = "g.out()", required = true)
   @NotBlank
   private String query;
+  @ApiModelProperty(value = "Split up the Objects returned from the Object search into partitions and traverse the " +
+          "partitions in parallel (default false). Note that steps operating on all traversers (e.g. count(), dedup(), " +
+          "limit() or order()) are then only applied within each partition.", example = "false")
+  private Boolean parallel;
+  @ApiModelProperty(value = "Append statistics about the work performed by the traversal to the end of the result " +
+          "(default false)", example = "false")
+  private Boolean includeStatistics;
 
   public String getQuery() {
     return query;
@@ -21,4 +28,22 @@ public class TraverseByObjectSearchRequest extends SearchObjectRequest {
     return this;
   }
 
+  public Boolean getParallel() {
+    return parallel;
+  }
+
+  public TraverseByObjectSearchRequest setParallel(Boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
+
+  public Boolean getIncludeStatistics() {
+    return includeStatistics;
+  }
+
+  public TraverseByObjectSearchRequest setIncludeStatistics(Boolean includeStatistics) {
+    this.includeStatistics = includeStatistics;
+    return this;
+  }
+
 }
@@ -21,6 +21,9 @@ public class TraverseByObjectTypeValueRequest implements ValidatingRequest {
   @ApiModelProperty(value = "Gremlin query to execute.", example = "g.out()", required = true)
   @NotBlank
   private String query;
+  @ApiModelProperty(value = "Append statistics about the work performed by the traversal to the end of the result " +
+          "(default false)", example = "false")
+  private Boolean includeStatistics;
 
   public String getType() {
     return type;
@@ -49,4 +52,13 @@ public class TraverseByObjectTypeValueRequest implements ValidatingRequest {
     return this;
   }
 
+  public Boolean getIncludeStatistics() {
+    return includeStatistics;
+  }
+
+  public TraverseByObjectTypeValueRequest setIncludeStatistics(Boolean includeStatistics) {
+    this.includeStatistics = includeStatistics;
+    return this;
+  }
+
 }
@@ -0,0 +1,52 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.act.platform.api.validation.constraints.ServiceNotNull;
+
+import javax.validation.constraints.NotBlank;
+import java.util.UUID;
+
+@ApiModel(description = "Traverse the Object/Fact graph loaded into a traversal session.")
+public class TraverseBySessionRequest implements ValidatingRequest {
+
+  @ApiModelProperty(hidden = true)
+  @ServiceNotNull
+  private UUID id;
+
+  @ApiModelProperty(value = "Gremlin query to execute.", example = "g.out()", required = true)
+  @NotBlank
+  private String query;
+  @ApiModelProperty(value = "Append statistics about the work performed by the traversal to the end of the result " +
+          "(default false)", example = "false")
+  private Boolean includeStatistics;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public TraverseBySessionRequest setId(UUID id) {
+    this.id = id;
+    return this;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public TraverseBySessionRequest setQuery(String query) {
+    this.query = query;
+    return this;
+  }
+
+  public Boolean getIncludeStatistics() {
+    return includeStatistics;
+  }
+
+  public TraverseBySessionRequest setIncludeStatistics(Boolean includeStatistics) {
+    this.includeStatistics = includeStatistics;
+    return this;
+  }
+
+}
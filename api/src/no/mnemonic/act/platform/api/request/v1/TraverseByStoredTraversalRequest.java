@@ -0,0 +1,81 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.act.platform.api.validation.constraints.ServiceNotNull;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@ApiModel(description = "Execute a graph traversal defined on the server.")
+public class TraverseByStoredTraversalRequest implements ValidatingRequest {
+
+  @ApiModelProperty(hidden = true)
+  @ServiceNotNull
+  private String name;
+
+  @ApiModelProperty(value = "UUIDs of the Objects where the traversal starts", required = true)
+  @NotNull
+  @Size(min = 1)
+  private Set<UUID> objectID;
+  @ApiModelProperty(value = "Values of the parameters declared by the stored traversal. Values are converted into the " +
+          "declared types, parameters with a default value can be omitted")
+  private Map<String, String> parameters;
+  @ApiModelProperty(value = "Append statistics about the work performed by the traversal to the end of the result " +
+          "(default false)", example = "false")
+  private Boolean includeStatistics;
+
+  public String getName() {
+    return name;
+  }
+
+  public TraverseByStoredTraversalRequest setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public Set<UUID> getObjectID() {
+    return objectID;
+  }
+
+  public TraverseByStoredTraversalRequest setObjectID(Set<UUID> objectID) {
+    this.objectID = ObjectUtils.ifNotNull(objectID, SetUtils::set);
+    return this;
+  }
+
+  public TraverseByStoredTraversalRequest addObjectID(UUID objectID) {
+    this.objectID = SetUtils.addToSet(this.objectID, objectID);
+    return this;
+  }
+
+  public Map<String, String> getParameters() {
+    return parameters;
+  }
+
+  public TraverseByStoredTraversalRequest setParameters(Map<String, String> parameters) {
+    this.parameters = ObjectUtils.ifNotNull(parameters, MapUtils::map);
+    return this;
+  }
+
+  public TraverseByStoredTraversalRequest addParameter(String name, String value) {
+    this.parameters = MapUtils.addToMap(this.parameters, name, value);
+    return this;
+  }
+
+  public Boolean getIncludeStatistics() {
+    return includeStatistics;
+  }
+
+  public TraverseByStoredTraversalRequest setIncludeStatistics(Boolean includeStatistics) {
+    this.includeStatistics = includeStatistics;
+    return this;
+  }
+
+}
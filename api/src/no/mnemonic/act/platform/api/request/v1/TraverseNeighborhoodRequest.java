@@ -0,0 +1,86 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.act.platform.api.validation.constraints.ServiceNotNull;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.Set;
+import java.util.UUID;
+
+@ApiModel(description = "Fetch all Objects and Facts within a number of hops from an Object identified by its ID.")
+public class TraverseNeighborhoodRequest implements ValidatingRequest {
+
+  public static final int MAXIMUM_DEPTH = 5;
+
+  @ApiModelProperty(hidden = true)
+  @ServiceNotNull
+  private UUID id;
+  @ApiModelProperty(value = "Only follow Facts having a specific FactType (takes type UUID or name)")
+  private Set<String> factType;
+  @ApiModelProperty(value = "Maximum number of hops from the starting Object (default 2, maximum 5)", example = "2")
+  @Min(1)
+  @Max(MAXIMUM_DEPTH)
+  private Integer depth;
+  @ApiModelProperty(value = "Limit the number of returned Objects (default 1000, 0 means maximum allowed)", example = "1000")
+  @Min(0)
+  private Integer objectLimit;
+  @ApiModelProperty(value = "Limit the number of returned Facts (default 1000, 0 means maximum allowed)", example = "1000")
+  @Min(0)
+  private Integer factLimit;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public TraverseNeighborhoodRequest setId(UUID id) {
+    this.id = id;
+    return this;
+  }
+
+  public Set<String> getFactType() {
+    return factType;
+  }
+
+  public TraverseNeighborhoodRequest setFactType(Set<String> factType) {
+    this.factType = ObjectUtils.ifNotNull(factType, SetUtils::set);
+    return this;
+  }
+
+  public TraverseNeighborhoodRequest addFactType(String factType) {
+    this.factType = SetUtils.addToSet(this.factType, factType);
+    return this;
+  }
+
+  public Integer getDepth() {
+    return depth;
+  }
+
+  public TraverseNeighborhoodRequest setDepth(Integer depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  public Integer getObjectLimit() {
+    return objectLimit;
+  }
+
+  public TraverseNeighborhoodRequest setObjectLimit(Integer objectLimit) {
+    this.objectLimit = objectLimit;
+    return this;
+  }
+
+  public Integer getFactLimit() {
+    return factLimit;
+  }
+
+  public TraverseNeighborhoodRequest setFactLimit(Integer factLimit) {
+    this.factLimit = factLimit;
+    return this;
+  }
+
+}
@@ -0,0 +1,99 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.act.platform.api.validation.constraints.ServiceNotNull;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+import java.util.UUID;
+
+@ApiModel(description = "Find the shortest path of Facts between two Objects identified by their IDs.")
+public class TraverseShortestPathRequest implements ValidatingRequest {
+
+  public static final int MAXIMUM_DEPTH = 10;
+
+  @ApiModelProperty(hidden = true)
+  @ServiceNotNull
+  private UUID source;
+  @ApiModelProperty(value = "UUID of the Object where the path ends", example = "123e4567-e89b-12d3-a456-426655440000", required = true)
+  @NotNull
+  private UUID destination;
+  @ApiModelProperty(value = "Only follow Facts having a specific FactType (takes type UUID or name)")
+  private Set<String> factType;
+  @ApiModelProperty(value = "Maximum length of the path in number of Facts (default 4, maximum 10)", example = "4")
+  @Min(1)
+  @Max(MAXIMUM_DEPTH)
+  private Integer depth;
+  @ApiModelProperty(value = "Limit the number of Objects visited while searching (default 10000, 0 means maximum allowed)", example = "10000")
+  @Min(0)
+  private Integer objectLimit;
+  @ApiModelProperty(value = "Limit the number of Facts visited while searching (default 10000, 0 means maximum allowed)", example = "10000")
+  @Min(0)
+  private Integer factLimit;
+
+  public UUID getSource() {
+    return source;
+  }
+
+  public TraverseShortestPathRequest setSource(UUID source) {
+    this.source = source;
+    return this;
+  }
+
+  public UUID getDestination() {
+    return destination;
+  }
+
+  public TraverseShortestPathRequest setDestination(UUID destination) {
+    this.destination = destination;
+    return this;
+  }
+
+  public Set<String> getFactType() {
+    return factType;
+  }
+
+  public TraverseShortestPathRequest setFactType(Set<String> factType) {
+    this.factType = ObjectUtils.ifNotNull(factType, SetUtils::set);
+    return this;
+  }
+
+  public TraverseShortestPathRequest addFactType(String factType) {
+    this.factType = SetUtils.addToSet(this.factType, factType);
+    return this;
+  }
+
+  public Integer getDepth() {
+    return depth;
+  }
+
+  public TraverseShortestPathRequest setDepth(Integer depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  public Integer getObjectLimit() {
+    return objectLimit;
+  }
+
+  public TraverseShortestPathRequest setObjectLimit(Integer objectLimit) {
+    this.objectLimit = objectLimit;
+    return this;
+  }
+
+  public Integer getFactLimit() {
+    return factLimit;
+  }
+
+  public TraverseShortestPathRequest setFactLimit(Integer factLimit) {
+    this.factLimit = factLimit;
+    return this;
+  }
+
+}
@@ -402,6 +402,86 @@ public interface ThreatIntelligenceService extends Service {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Traverse the graph of Objects and Facts loaded into a traversal session.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing graph traversal query and the session ID.
+   * @return Result of the graph traversal.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters or the session does not exist.
+   * @throws OperationTimeoutException     If the graph traversal timed out.
+   */
+  default ResultSet<?> traverseGraph(RequestHeader rh, TraverseBySessionRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Traverse the Object/Fact graph using a traversal defined on the server.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing the name of the stored traversal, its starting Objects and parameters.
+   * @return Result of the graph traversal.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters or the stored traversal does not exist.
+   * @throws OperationTimeoutException     If the graph traversal timed out.
+   */
+  default ResultSet<?> traverseGraph(RequestHeader rh, TraverseByStoredTraversalRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Load the neighborhood of one or more Objects into memory for repeated graph traversals.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request specifying the starting Objects and the bounds of the neighborhood.
+   * @return Handle of the created session.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   * @throws OperationTimeoutException     If loading the neighborhood timed out.
+   */
+  default TraversalSession createTraversalSession(RequestHeader rh, CreateTraversalSessionRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Fetch all Objects and Facts within a bounded number of hops from an Object identified by its ID.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request specifying the starting Object and the bounds of the expansion.
+   * @return Objects and Facts of the neighborhood.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   * @throws OperationTimeoutException     If the expansion timed out.
+   */
+  default ResultSet<?> traverseNeighborhood(RequestHeader rh, TraverseNeighborhoodRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Find the shortest path of Facts between two Objects identified by their IDs.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request specifying both ends of the path and the bounds of the search.
+   * @return Objects and Facts along the path in alternating order, or an empty result if no path was found.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   * @throws OperationTimeoutException     If the search timed out.
+   */
+  default ResultSet<?> traverseShortestPath(RequestHeader rh, TraverseShortestPathRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Fetch an Origin by its id.
    *
@@ -0,0 +1,34 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class TraversalSessionTest {
+
+  private static final ObjectMapper mapper = JsonMapper.builder().build();
+
+  @Test
+  public void testEncodeTraversalSession() {
+    TraversalSession session = TraversalSession.builder()
+            .setId(UUID.randomUUID())
+            .setObjectCount(12)
+            .setFactCount(34)
+            .setTruncated(true)
+            .setExpiresTimestamp(1480520821000L)
+            .build();
+
+    JsonNode root = mapper.valueToTree(session);
+    assertEquals(session.getId().toString(), root.get("id").textValue());
+    assertEquals(session.getObjectCount(), root.get("objectCount").intValue());
+    assertEquals(session.getFactCount(), root.get("factCount").intValue());
+    assertEquals(session.isTruncated(), root.get("truncated").booleanValue());
+    assertEquals("2016-11-30T15:47:01Z", root.get("expiresTimestamp").textValue());
+  }
+
+}
@@ -0,0 +1,34 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TraversalStatisticsTest {
+
+  private static final ObjectMapper mapper = JsonMapper.builder().build();
+
+  @Test
+  public void testEncodeTraversalStatistics() {
+    TraversalStatistics statistics = TraversalStatistics.builder()
+            .setVertexCount(1)
+            .setFactCount(2)
+            .setQueryCount(3)
+            .setCacheHitCount(4)
+            .setBytesFetched(5)
+            .setExecutionTime(6)
+            .build();
+
+    JsonNode root = mapper.valueToTree(statistics);
+    assertEquals(1, root.get("vertexCount").longValue());
+    assertEquals(2, root.get("factCount").longValue());
+    assertEquals(3, root.get("queryCount").longValue());
+    assertEquals(4, root.get("cacheHitCount").longValue());
+    assertEquals(5, root.get("bytesFetched").longValue());
+    assertEquals(6, root.get("executionTime").longValue());
+  }
+
+}
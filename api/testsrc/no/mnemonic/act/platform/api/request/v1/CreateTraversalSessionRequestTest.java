@@ -0,0 +1,72 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CreateTraversalSessionRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    UUID objectID = UUID.randomUUID();
+    String json = String.format("{ objectID : ['%s'], factType : ['factType'], depth : 3, objectLimit : 10, factLimit : 20 }", objectID);
+
+    CreateTraversalSessionRequest request = getMapper().readValue(json, CreateTraversalSessionRequest.class);
+    assertEquals(SetUtils.set(objectID), request.getObjectID());
+    assertEquals(SetUtils.set("factType"), request.getFactType());
+    assertEquals(3, request.getDepth().intValue());
+    assertEquals(10, request.getObjectLimit().intValue());
+    assertEquals(20, request.getFactLimit().intValue());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<CreateTraversalSessionRequest>> violations = getValidator().validate(new CreateTraversalSessionRequest());
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "objectID");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<CreateTraversalSessionRequest>> violations = getValidator().validate(new CreateTraversalSessionRequest()
+            .setObjectID(SetUtils.set()));
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "objectID");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMin() {
+    Set<ConstraintViolation<CreateTraversalSessionRequest>> violations = getValidator().validate(new CreateTraversalSessionRequest()
+            .addObjectID(UUID.randomUUID())
+            .setDepth(0)
+            .setObjectLimit(-1)
+            .setFactLimit(-1)
+    );
+    assertEquals(3, violations.size());
+    assertPropertyInvalid(violations, "depth");
+    assertPropertyInvalid(violations, "objectLimit");
+    assertPropertyInvalid(violations, "factLimit");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMax() {
+    Set<ConstraintViolation<CreateTraversalSessionRequest>> violations = getValidator().validate(new CreateTraversalSessionRequest()
+            .addObjectID(UUID.randomUUID())
+            .setDepth(CreateTraversalSessionRequest.MAXIMUM_DEPTH + 1)
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "depth");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new CreateTraversalSessionRequest().addObjectID(UUID.randomUUID())).isEmpty());
+  }
+
+}
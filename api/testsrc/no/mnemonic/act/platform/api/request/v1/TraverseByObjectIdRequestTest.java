@@ -14,11 +14,12 @@ public class TraverseByObjectIdRequestTest extends AbstractRequestTest {
   @Test
   public void testDecodeRequest() throws Exception {
     UUID id = UUID.randomUUID();
-    String json = String.format("{ id : '%s', query : 'g.out()' }", id);
+    String json = String.format("{ id : '%s', query : 'g.out()', includeStatistics : true }", id);
 
     TraverseByObjectIdRequest request = getMapper().readValue(json, TraverseByObjectIdRequest.class);
     assertEquals(id, request.getId());
     assertEquals("g.out()", request.getQuery());
+    assertTrue(request.getIncludeStatistics());
   }
 
   @Test
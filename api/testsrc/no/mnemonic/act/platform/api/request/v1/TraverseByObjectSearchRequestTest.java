@@ -25,7 +25,9 @@ public class TraverseByObjectSearchRequestTest extends AbstractRequestTest {
             "before : '2016-11-30T15:47:00Z'," +
             "after : '2016-11-30T15:47:01Z'," +
             "limit : 25," +
-            "query : 'g.out()'" +
+            "query : 'g.out()'," +
+            "parallel : true," +
+            "includeStatistics : true" +
             "}";
 
     TraverseByObjectSearchRequest request = getMapper().readValue(json, TraverseByObjectSearchRequest.class);
@@ -41,6 +43,8 @@ public class TraverseByObjectSearchRequestTest extends AbstractRequestTest {
     assertEquals(1480520821000L, request.getAfter().longValue());
     assertEquals(25, request.getLimit().intValue());
     assertEquals("g.out()", request.getQuery());
+    assertTrue(request.getIncludeStatistics());
+    assertTrue(request.getParallel());
   }
 
   @Test
@@ -12,12 +12,13 @@ public class TraverseByObjectTypeValueRequestTest extends AbstractRequestTest {
 
   @Test
   public void testDecodeRequest() throws Exception {
-    String json = "{ type : 'type', value : 'value', query : 'g.out()' }";
+    String json = "{ type : 'type', value : 'value', query : 'g.out()', includeStatistics : true }";
 
     TraverseByObjectTypeValueRequest request = getMapper().readValue(json, TraverseByObjectTypeValueRequest.class);
     assertEquals("type", request.getType());
     assertEquals("value", request.getValue());
     assertEquals("g.out()", request.getQuery());
+    assertTrue(request.getIncludeStatistics());
   }
 
   @Test
@@ -0,0 +1,58 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraverseBySessionRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    UUID id = UUID.randomUUID();
+    String json = String.format("{ id : '%s', query : 'g.out()', includeStatistics : true }", id);
+
+    TraverseBySessionRequest request = getMapper().readValue(json, TraverseBySessionRequest.class);
+    assertEquals(id, request.getId());
+    assertEquals("g.out()", request.getQuery());
+    assertTrue(request.getIncludeStatistics());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<TraverseBySessionRequest>> violations = getValidator().validate(new TraverseBySessionRequest());
+    assertEquals(2, violations.size());
+    assertPropertyInvalid(violations, "id");
+    assertPropertyInvalid(violations, "query");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<TraverseBySessionRequest>> violations = getValidator().validate(new TraverseBySessionRequest()
+            .setId(UUID.randomUUID())
+            .setQuery("")
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "query");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnBlank() {
+    Set<ConstraintViolation<TraverseBySessionRequest>> violations = getValidator().validate(new TraverseBySessionRequest()
+            .setId(UUID.randomUUID())
+            .setQuery(" ")
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "query");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new TraverseBySessionRequest().setId(UUID.randomUUID()).setQuery("g.out()")).isEmpty());
+  }
+
+}
@@ -0,0 +1,56 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraverseByStoredTraversalRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    UUID objectID = UUID.randomUUID();
+    String json = String.format("{ name : 'traversal', objectID : ['%s'], parameters : { factType : 'seenIn', limit : '10' }, " +
+            "includeStatistics : true }", objectID);
+
+    TraverseByStoredTraversalRequest request = getMapper().readValue(json, TraverseByStoredTraversalRequest.class);
+    assertEquals("traversal", request.getName());
+    assertEquals(SetUtils.set(objectID), request.getObjectID());
+    assertEquals(MapUtils.map(T("factType", "seenIn"), T("limit", "10")), request.getParameters());
+    assertTrue(request.getIncludeStatistics());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<TraverseByStoredTraversalRequest>> violations = getValidator().validate(new TraverseByStoredTraversalRequest());
+    assertEquals(2, violations.size());
+    assertPropertyInvalid(violations, "name");
+    assertPropertyInvalid(violations, "objectID");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<TraverseByStoredTraversalRequest>> violations = getValidator().validate(new TraverseByStoredTraversalRequest()
+            .setName("traversal")
+            .setObjectID(SetUtils.set())
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "objectID");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new TraverseByStoredTraversalRequest()
+            .setName("traversal")
+            .addObjectID(UUID.randomUUID())
+    ).isEmpty());
+  }
+
+}
@@ -0,0 +1,64 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraverseNeighborhoodRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    UUID id = UUID.randomUUID();
+    String json = String.format("{ id : '%s', factType : ['factType'], depth : 3, objectLimit : 10, factLimit : 20 }", id);
+
+    TraverseNeighborhoodRequest request = getMapper().readValue(json, TraverseNeighborhoodRequest.class);
+    assertEquals(id, request.getId());
+    assertEquals(SetUtils.set("factType"), request.getFactType());
+    assertEquals(3, request.getDepth().intValue());
+    assertEquals(10, request.getObjectLimit().intValue());
+    assertEquals(20, request.getFactLimit().intValue());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<TraverseNeighborhoodRequest>> violations = getValidator().validate(new TraverseNeighborhoodRequest());
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "id");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMin() {
+    Set<ConstraintViolation<TraverseNeighborhoodRequest>> violations = getValidator().validate(new TraverseNeighborhoodRequest()
+            .setId(UUID.randomUUID())
+            .setDepth(0)
+            .setObjectLimit(-1)
+            .setFactLimit(-1)
+    );
+    assertEquals(3, violations.size());
+    assertPropertyInvalid(violations, "depth");
+    assertPropertyInvalid(violations, "objectLimit");
+    assertPropertyInvalid(violations, "factLimit");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMax() {
+    Set<ConstraintViolation<TraverseNeighborhoodRequest>> violations = getValidator().validate(new TraverseNeighborhoodRequest()
+            .setId(UUID.randomUUID())
+            .setDepth(TraverseNeighborhoodRequest.MAXIMUM_DEPTH + 1)
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "depth");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new TraverseNeighborhoodRequest().setId(UUID.randomUUID()).setDepth(2)).isEmpty());
+  }
+
+}
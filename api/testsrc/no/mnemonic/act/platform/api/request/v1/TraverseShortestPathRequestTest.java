@@ -0,0 +1,73 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraverseShortestPathRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    UUID source = UUID.randomUUID();
+    UUID destination = UUID.randomUUID();
+    String json = String.format("{ source : '%s', destination : '%s', factType : ['factType'], depth : 3, objectLimit : 10, factLimit : 20 }",
+            source, destination);
+
+    TraverseShortestPathRequest request = getMapper().readValue(json, TraverseShortestPathRequest.class);
+    assertEquals(source, request.getSource());
+    assertEquals(destination, request.getDestination());
+    assertEquals(SetUtils.set("factType"), request.getFactType());
+    assertEquals(3, request.getDepth().intValue());
+    assertEquals(10, request.getObjectLimit().intValue());
+    assertEquals(20, request.getFactLimit().intValue());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<TraverseShortestPathRequest>> violations = getValidator().validate(new TraverseShortestPathRequest());
+    assertEquals(2, violations.size());
+    assertPropertyInvalid(violations, "source");
+    assertPropertyInvalid(violations, "destination");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMin() {
+    Set<ConstraintViolation<TraverseShortestPathRequest>> violations = getValidator().validate(new TraverseShortestPathRequest()
+            .setSource(UUID.randomUUID())
+            .setDestination(UUID.randomUUID())
+            .setDepth(0)
+            .setObjectLimit(-1)
+            .setFactLimit(-1)
+    );
+    assertEquals(3, violations.size());
+    assertPropertyInvalid(violations, "depth");
+    assertPropertyInvalid(violations, "objectLimit");
+    assertPropertyInvalid(violations, "factLimit");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMax() {
+    Set<ConstraintViolation<TraverseShortestPathRequest>> violations = getValidator().validate(new TraverseShortestPathRequest()
+            .setSource(UUID.randomUUID())
+            .setDestination(UUID.randomUUID())
+            .setDepth(TraverseShortestPathRequest.MAXIMUM_DEPTH + 1)
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "depth");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new TraverseShortestPathRequest()
+            .setSource(UUID.randomUUID())
+            .setDestination(UUID.randomUUID())
+    ).isEmpty());
+  }
+
+}
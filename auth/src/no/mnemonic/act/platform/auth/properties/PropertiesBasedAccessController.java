@@ -7,29 +7,57 @@ import no.mnemonic.act.platform.auth.SubjectResolver;
 import no.mnemonic.act.platform.auth.properties.internal.*;
 import no.mnemonic.act.platform.auth.properties.model.*;
 import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.InvalidCredentialsException;
 import no.mnemonic.services.common.auth.model.*;
 
+import java.io.IOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
  * AccessController implementation which is based on a configuration read from a properties file.
+ * <p>
+ * The properties file is watched for changes and reloaded on a background thread when its content has changed. The
+ * new state, including the precomputed permission closure, is built completely before it replaces the old state,
+ * thus, permission checks never observe a partially loaded configuration. Because file system events aren't reliable
+ * on every file system (e.g. network file systems or symlinked files), the content is additionally checked in regular
+ * intervals. An unchanged file is never parsed again.
  */
 public class PropertiesBasedAccessController implements AccessController, OrganizationResolver, SubjectResolver, LifecycleAspect {
 
+  private static final Logger LOGGER = Logging.getLogger(PropertiesBasedAccessController.class);
   private static final String NOT_AVAILABLE_NAME = "N/A";
   private static final long DEFAULT_READING_INTERVAL = 60_000; // milliseconds
 
-  private final Timer readingTimer = new Timer(PropertiesBasedAccessController.class.getSimpleName() + " - readingTimer");
   private final AtomicReference<AccessControllerState> state = new AtomicReference<>();
+  // Sessions of already validated credentials keyed by Subject ID. Replaced whenever the state is replaced. Only valid
+  // Subjects are cached, thus, its size is limited by the number of Subjects defined in the properties file.
+  private volatile Map<Long, SubjectDescriptor> validatedSessions = new ConcurrentHashMap<>();
+  private final AtomicBoolean reloadPending = new AtomicBoolean();
   private final String propertiesFile;
   private final long readingInterval;
 
+  private ScheduledExecutorService reloadExecutor;
+  private WatchService watchService;
+  // Only accessed while holding the lock on this instance.
+  private byte[] contentHash;
+  private volatile long lastReloadDuration = -1;
+  private volatile long lastReloadTimestamp = -1;
+
   private PropertiesBasedAccessController(String propertiesFile, long readingInterval) {
     this.propertiesFile = propertiesFile;
     this.readingInterval = readingInterval != 0 ? readingInterval : DEFAULT_READING_INTERVAL;
@@ -41,14 +69,23 @@ public class PropertiesBasedAccessController implements AccessController, Organi
       throw new InvalidCredentialsException("Cannot handle the type of provided credentials.");
     }
 
-    PropertiesSubject subject = state.get().getSubject(SubjectCredentials.class.cast(credentials).getSubjectID());
+    long subjectID = SubjectCredentials.class.cast(credentials).getSubjectID();
+    // Fetch the sessions before the state. A reload replaces the state before the sessions, thus, a session validated
+    // against an old state is never added to the sessions of a new state.
+    Map<Long, SubjectDescriptor> sessions = validatedSessions;
+    SubjectDescriptor descriptor = sessions.get(subjectID);
+    if (descriptor != null) return descriptor;
+
+    PropertiesSubject subject = state.get().getSubject(subjectID);
     if (subject == null || subject.isGroup()) {
       throw new InvalidCredentialsException("The presented credentials are not valid.");
     }
 
-    return SubjectDescriptor.builder()
+    descriptor = SubjectDescriptor.builder()
             .setIdentifier(SubjectIdentifier.builder().setInternalID(subject.getInternalID()).build())
             .build();
+    sessions.put(subjectID, descriptor);
+    return descriptor;
   }
 
   @Override
@@ -159,33 +196,113 @@ public class PropertiesBasedAccessController implements AccessController, Organi
 
   @Override
   public void startComponent() {
-    // Read properties file once before starting the timer.
+    // Read properties file once before watching it for changes. Fail on startup if it cannot be read.
     readPropertiesFile();
-    startTimer();
+
+    reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, PropertiesBasedAccessController.class.getSimpleName() + " - reload");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reloadExecutor.scheduleWithFixedDelay(this::reloadPropertiesFile, readingInterval, readingInterval, TimeUnit.MILLISECONDS);
+    startWatcher();
   }
 
   @Override
   public void stopComponent() {
-    readingTimer.cancel();
+    if (reloadExecutor != null) reloadExecutor.shutdownNow();
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException ignored) {
+        // Nothing to do, the watcher thread terminates anyway.
+      }
+    }
+  }
+
+  /**
+   * Returns how long it took to parse the properties file and build the new state the last time its content changed.
+   *
+   * @return Duration of last reload in milliseconds, or -1 if the properties file has not been loaded yet
+   */
+  public long getLastReloadDuration() {
+    return lastReloadDuration;
+  }
+
+  /**
+   * Returns when the state was replaced with the content of the properties file the last time.
+   *
+   * @return Timestamp of last reload, or -1 if the properties file has not been loaded yet
+   */
+  public long getLastReloadTimestamp() {
+    return lastReloadTimestamp;
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
-  private void startTimer() {
-    // Keep it simple and just re-read the properties file in regular intervals.
-    readingTimer.schedule(new TimerTask() {
-      @Override
-      public void run() {
-        readPropertiesFile();
+  private void startWatcher() {
+    Path file = Paths.get(propertiesFile).toAbsolutePath();
+    Path directory = file.getParent();
+    Path fileName = file.getFileName();
+
+    try {
+      watchService = file.getFileSystem().newWatchService();
+      // Watch the directory instead of the file, because editors often replace the file instead of modifying it.
+      directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    } catch (IOException | UnsupportedOperationException ex) {
+      LOGGER.warning(ex, "Could not watch properties file %s. Changes will only be detected every %d ms.", propertiesFile, readingInterval);
+      return;
+    }
+
+    Thread watcher = new Thread(() -> watchPropertiesFile(fileName), PropertiesBasedAccessController.class.getSimpleName() + " - watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  private void watchPropertiesFile(Path fileName) {
+    while (true) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException | ClosedWatchServiceException ex) {
+        // Component has been stopped.
+        return;
+      }
+
+      boolean changed = key.pollEvents()
+              .stream()
+              .anyMatch(event -> event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context()));
+      key.reset();
+
+      // Editors usually emit multiple events for one change, only schedule one reload for all of them.
+      if (changed && reloadPending.compareAndSet(false, true)) {
+        reloadExecutor.execute(this::reloadPropertiesFile);
       }
-    }, readingInterval, readingInterval);
+    }
+  }
+
+  private void reloadPropertiesFile() {
+    reloadPending.set(false);
+
+    try {
+      readPropertiesFile();
+    } catch (RuntimeException ex) {
+      // Keep the current state if the properties file is temporarily unreadable or broken.
+      LOGGER.warning(ex, "Could not reload properties file %s. Keeping current configuration.", propertiesFile);
+    }
   }
 
-  private void readPropertiesFile() {
+  private synchronized void readPropertiesFile() {
+    byte[] content = readContent();
+    byte[] hash = calculateHash(content);
+    // Skip parsing if the content hasn't changed since the last time it was loaded.
+    if (Arrays.equals(hash, contentHash)) return;
+
+    long start = System.currentTimeMillis();
     PropertiesFileParser parser = new PropertiesFileParser();
-    parser.parse(propertiesFile);
+    parser.parse(content);
 
     AccessControllerState newState = AccessControllerState.builder()
             .setFunctions(parser.getFunctions())
@@ -193,7 +310,34 @@ public class PropertiesBasedAccessController implements AccessController, Organi
             .setSubjects(parser.getSubjects())
             .build();
 
+    // The new state is built completely before it becomes visible to other threads.
     state.set(newState);
+    // Credentials must be validated against the new state.
+    validatedSessions = new ConcurrentHashMap<>();
+    contentHash = hash;
+    lastReloadTimestamp = System.currentTimeMillis();
+    lastReloadDuration = lastReloadTimestamp - start;
+    LOGGER.info("Loaded properties file %s in %d ms.", propertiesFile, lastReloadDuration);
+  }
+
+  private byte[] readContent() {
+    Path file = Paths.get(propertiesFile);
+    if (!Files.isReadable(file)) throw new IllegalArgumentException("Cannot read properties file: " + propertiesFile);
+
+    try {
+      return Files.readAllBytes(file);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not load properties file: " + propertiesFile);
+    }
+  }
+
+  private byte[] calculateHash(byte[] content) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(content);
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException("SHA-256 is not available.", e);
+    }
   }
 
   private PropertiesSubject getSubject(SessionDescriptor descriptor) {
@@ -229,102 +373,16 @@ public class PropertiesBasedAccessController implements AccessController, Organi
   }
 
   private boolean hasPermission(PropertiesSubject subject, String requestedFunction) {
-    boolean found = false;
-
-    // Check permissions directly granted to requesting subject regardless of organization.
-    Set<String> grantedFunctions = subject.getPermissions()
-            .values()
-            .stream()
-            .flatMap(Collection::stream)
-            .collect(Collectors.toSet());
-    if (checkFunctionTree(grantedFunctions, requestedFunction)) {
-      found = true;
-    }
-
-    if (!found) {
-      // Check if permission was granted to any parent subject group of the requesting subject.
-      for (PropertiesSubject parent : state.get().getParentSubjects(subject.getInternalID())) {
-        if (hasPermission(parent, requestedFunction)) {
-          found = true;
-          break;
-        }
-      }
-    }
-
-    return found;
+    // The permissions are precomputed when reading the properties file, thus, this is a simple lookup.
+    return state.get().hasPermission(subject.getInternalID(), requestedFunction);
   }
 
   private boolean hasPermission(PropertiesSubject subject, String requestedFunction, long requestedOrganizationID) {
-    boolean found = false;
-
-    // Check permissions directly granted to requesting subject for the requested organization.
-    if (checkFunctionTree(subject.getPermissions().get(requestedOrganizationID), requestedFunction)) {
-      found = true;
-    }
-
-    if (!found) {
-      // Check if permission was granted to any parent organization group of the requested organization.
-      for (PropertiesOrganization parent : state.get().getParentOrganizations(requestedOrganizationID)) {
-        if (hasPermission(subject, requestedFunction, parent.getInternalID())) {
-          found = true;
-          break;
-        }
-      }
-    }
-
-    if (!found) {
-      // Check if permission was granted to any parent subject group of the requesting subject.
-      for (PropertiesSubject parent : state.get().getParentSubjects(subject.getInternalID())) {
-        if (hasPermission(parent, requestedFunction, requestedOrganizationID)) {
-          found = true;
-          break;
-        }
-      }
-    }
-
-    return found;
-  }
-
-  private boolean checkFunctionTree(Set<String> grantedFunctions, String requestedFunction) {
-    boolean found = false;
-
-    for (String grantedFunction : SetUtils.set(grantedFunctions)) {
-      if (grantedFunction.equals(requestedFunction)) {
-        // Found a function or function group granted to subject directly.
-        found = true;
-        break;
-      }
-
-      // If 'grantedFunction' is a group check child functions recursively.
-      // If 'group' isn't defined it will just be skipped (i.e. it's not a group but a single function).
-      PropertiesFunction group = state.get().getFunction(grantedFunction);
-      if (group != null && group.isGroup() && checkFunctionTree(PropertiesFunctionGroup.class.cast(group).getMembers(), requestedFunction)) {
-        // Found a function or function group granted to subject indirectly via resolved function tree.
-        found = true;
-        break;
-      }
-    }
-
-    return found;
+    return state.get().hasPermission(subject.getInternalID(), requestedFunction, requestedOrganizationID);
   }
 
   private Set<Long> resolveAvailableOrganizations(PropertiesSubject subject) {
-    // All organizations the subject has direct access to.
-    Set<Long> directAccessibleOrganizations = SetUtils.set(subject.getPermissions().keySet());
-
-    // All child organizations for the directly accessible organizations.
-    Set<Long> childOrganizations = SetUtils.set();
-    for (Long id : directAccessibleOrganizations) {
-      childOrganizations = SetUtils.union(childOrganizations, SetUtils.set(state.get().getChildOrganizations(id), PropertiesOrganization::getInternalID));
-    }
-
-    // Also resolve all organizations for all parent subject groups.
-    Set<Long> parentSubjectsOrganizations = SetUtils.set();
-    for (PropertiesSubject parent : state.get().getParentSubjects(subject.getInternalID())) {
-      parentSubjectsOrganizations = SetUtils.union(parentSubjectsOrganizations, resolveAvailableOrganizations(parent));
-    }
-
-    return SetUtils.union(directAccessibleOrganizations, childOrganizations, parentSubjectsOrganizations);
+    return state.get().getAvailableOrganizations(subject.getInternalID());
   }
 
   private Organization createOrganization(UUID id, String name) {
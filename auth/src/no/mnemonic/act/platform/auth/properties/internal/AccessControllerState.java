@@ -19,6 +19,7 @@ public class AccessControllerState {
   private final Map<String, PropertiesOrganization> organizationByNameMap;
   private final Map<Long, PropertiesSubject> subjectMap;
   private final Map<String, PropertiesSubject> subjectByNameMap;
+  private final PermissionClosure permissionClosure;
 
   private AccessControllerState(Map<String, PropertiesFunction> functionMap, Map<Long, PropertiesOrganization> organizationMap, Map<Long, PropertiesSubject> subjectMap) {
     this.functionMap = ObjectUtils.ifNotNull(functionMap, Collections::unmodifiableMap, Collections.emptyMap());
@@ -26,6 +27,8 @@ public class AccessControllerState {
     this.organizationByNameMap = Collections.unmodifiableMap(MapUtils.map(this.organizationMap.values(), o -> MapUtils.Pair.T(o.getName(), o)));
     this.subjectMap = ObjectUtils.ifNotNull(subjectMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.subjectByNameMap = Collections.unmodifiableMap(MapUtils.map(this.subjectMap.values(), s -> MapUtils.Pair.T(s.getName(), s)));
+    // Compute the closure of all permissions once instead of walking the group hierarchies on every permission check.
+    this.permissionClosure = new PermissionClosure(this.functionMap, this.organizationMap, this.subjectMap);
   }
 
   /**
@@ -166,6 +169,48 @@ public class AccessControllerState {
     return parents;
   }
 
+  /**
+   * Returns whether a function has been granted to a Subject regardless of Organization, either directly or via
+   * its parent SubjectGroups and FunctionGroups.
+   * <p>
+   * It will return false if the Subject is not defined or is a SubjectGroup.
+   *
+   * @param subjectID Internal ID of Subject
+   * @param function  Name of Function or FunctionGroup
+   * @return True if the function has been granted
+   */
+  public boolean hasPermission(long subjectID, String function) {
+    return permissionClosure.hasPermission(subjectID, function);
+  }
+
+  /**
+   * Returns whether a function has been granted to a Subject for an Organization, either directly or via its parent
+   * SubjectGroups, parent OrganizationGroups and FunctionGroups.
+   * <p>
+   * It will return false if the Subject is not defined or is a SubjectGroup.
+   *
+   * @param subjectID      Internal ID of Subject
+   * @param function       Name of Function or FunctionGroup
+   * @param organizationID Internal ID of Organization or OrganizationGroup
+   * @return True if the function has been granted
+   */
+  public boolean hasPermission(long subjectID, String function, long organizationID) {
+    return permissionClosure.hasPermission(subjectID, function, organizationID);
+  }
+
+  /**
+   * Returns the internal IDs of all Organizations a Subject has access to, including the children of accessible
+   * OrganizationGroups and the Organizations accessible to its parent SubjectGroups.
+   * <p>
+   * It will return an empty set if the Subject is not defined or is a SubjectGroup.
+   *
+   * @param subjectID Internal ID of Subject
+   * @return Internal IDs of available Organizations
+   */
+  public Set<Long> getAvailableOrganizations(long subjectID) {
+    return permissionClosure.getAvailableOrganizations(subjectID);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -0,0 +1,207 @@
+package no.mnemonic.act.platform.auth.properties.internal;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Precomputed transitive closure of the permissions defined in an {@link AccessControllerState}.
+ * <p>
+ * Function names are interned to integer IDs and the functions granted to a Subject are stored as {@link BitSet}s,
+ * both regardless of Organization and per Organization. The closure contains the functions granted to a Subject
+ * directly as well as via its parent SubjectGroups, via parent OrganizationGroups and via FunctionGroups. This turns
+ * permission checks into simple lookups instead of walking the group hierarchies on every check.
+ * <p>
+ * The closure is only computed for Subjects which are not SubjectGroups, as only those can be authenticated.
+ */
+public class PermissionClosure {
+
+  private final Map<String, Integer> functionIDs = new HashMap<>();
+  private final Map<Long, BitSet> subjectFunctions = new HashMap<>();
+  private final Map<Long, Map<Long, BitSet>> subjectOrganizationFunctions = new HashMap<>();
+  private final Map<Long, Set<Long>> subjectOrganizations = new HashMap<>();
+
+  // Only used while computing the closure.
+  private final Map<String, BitSet> functionTrees = new HashMap<>();
+
+  PermissionClosure(Map<String, PropertiesFunction> functionMap,
+                    Map<Long, PropertiesOrganization> organizationMap,
+                    Map<Long, PropertiesSubject> subjectMap) {
+    internFunctions(functionMap, subjectMap);
+
+    Map<Long, Set<Long>> organizationParents = resolveAncestors(organizationMap, this::getOrganizationMembers);
+    Map<Long, Set<Long>> subjectParents = resolveAncestors(subjectMap, this::getSubjectMembers);
+
+    for (PropertiesSubject subject : subjectMap.values()) {
+      if (subject.isGroup()) continue;
+
+      // The subject itself and all its parent SubjectGroups.
+      Set<PropertiesSubject> subjects = SetUtils.set(subject);
+      for (Long parentID : subjectParents.getOrDefault(subject.getInternalID(), Collections.emptySet())) {
+        PropertiesSubject parent = subjectMap.get(parentID);
+        if (parent != null) subjects.add(parent);
+      }
+
+      computeSubject(subject.getInternalID(), subjects, functionMap, organizationMap, organizationParents);
+    }
+
+    functionTrees.clear();
+  }
+
+  /**
+   * Check whether a function has been granted to a Subject for any Organization.
+   *
+   * @param subjectID Internal ID of Subject
+   * @param function  Name of function or FunctionGroup
+   * @return True if the function has been granted
+   */
+  public boolean hasPermission(long subjectID, String function) {
+    return isSet(subjectFunctions.get(subjectID), function);
+  }
+
+  /**
+   * Check whether a function has been granted to a Subject for a specific Organization.
+   *
+   * @param subjectID      Internal ID of Subject
+   * @param function       Name of function or FunctionGroup
+   * @param organizationID Internal ID of Organization
+   * @return True if the function has been granted
+   */
+  public boolean hasPermission(long subjectID, String function, long organizationID) {
+    Map<Long, BitSet> organizationFunctions = subjectOrganizationFunctions.get(subjectID);
+    return organizationFunctions != null && isSet(organizationFunctions.get(organizationID), function);
+  }
+
+  /**
+   * Returns the internal IDs of all Organizations a Subject has access to.
+   *
+   * @param subjectID Internal ID of Subject
+   * @return Internal IDs of available Organizations
+   */
+  public Set<Long> getAvailableOrganizations(long subjectID) {
+    return subjectOrganizations.getOrDefault(subjectID, Collections.emptySet());
+  }
+
+  private boolean isSet(BitSet functions, String function) {
+    if (functions == null || function == null) return false;
+    Integer functionID = functionIDs.get(function);
+    return functionID != null && functions.get(functionID);
+  }
+
+  private void computeSubject(long subjectID,
+                              Set<PropertiesSubject> subjects,
+                              Map<String, PropertiesFunction> functionMap,
+                              Map<Long, PropertiesOrganization> organizationMap,
+                              Map<Long, Set<Long>> organizationParents) {
+    BitSet globalFunctions = new BitSet();
+    // Functions granted directly for an Organization, merged for the subject and its parents.
+    Map<Long, BitSet> grantedFunctions = new HashMap<>();
+    for (PropertiesSubject s : subjects) {
+      for (Map.Entry<Long, Set<String>> permission : s.getPermissions().entrySet()) {
+        BitSet functions = grantedFunctions.computeIfAbsent(permission.getKey(), id -> new BitSet());
+        for (String function : SetUtils.set(permission.getValue())) {
+          functions.or(resolveFunctionTree(function, functionMap));
+        }
+        globalFunctions.or(functions);
+      }
+    }
+
+    // Permissions granted for an Organization also apply to all its descendants, i.e. every Organization which has
+    // one of the granted Organizations as ancestor.
+    Map<Long, BitSet> organizationFunctions = new HashMap<>();
+    Set<Long> organizations = SetUtils.set(grantedFunctions.keySet());
+    for (Map.Entry<Long, BitSet> granted : grantedFunctions.entrySet()) {
+      organizationFunctions.computeIfAbsent(granted.getKey(), id -> new BitSet()).or(granted.getValue());
+    }
+    for (Map.Entry<Long, Set<Long>> parents : organizationParents.entrySet()) {
+      for (Long parentID : parents.getValue()) {
+        BitSet functions = grantedFunctions.get(parentID);
+        if (functions == null) continue;
+
+        organizationFunctions.computeIfAbsent(parents.getKey(), id -> new BitSet()).or(functions);
+        // Only defined Organizations are available as children of an OrganizationGroup.
+        if (organizationMap.containsKey(parents.getKey())) organizations.add(parents.getKey());
+      }
+    }
+
+    subjectFunctions.put(subjectID, globalFunctions);
+    subjectOrganizationFunctions.put(subjectID, organizationFunctions);
+    subjectOrganizations.put(subjectID, Collections.unmodifiableSet(organizations));
+  }
+
+  private BitSet resolveFunctionTree(String function, Map<String, PropertiesFunction> functionMap) {
+    BitSet tree = functionTrees.get(function);
+    if (tree != null) return tree;
+
+    // Breadth-first traversal of the function tree. The visited functions protect against cyclic definitions.
+    tree = new BitSet();
+    Deque<String> queue = new ArrayDeque<>(Collections.singleton(function));
+    while (!queue.isEmpty()) {
+      String current = queue.poll();
+      Integer currentID = functionIDs.get(current);
+      if (currentID == null || tree.get(currentID)) continue;
+      tree.set(currentID);
+
+      PropertiesFunction group = functionMap.get(current);
+      if (group != null && group.isGroup()) {
+        queue.addAll(PropertiesFunctionGroup.class.cast(group).getMembers());
+      }
+    }
+
+    functionTrees.put(function, tree);
+    return tree;
+  }
+
+  private void internFunctions(Map<String, PropertiesFunction> functionMap, Map<Long, PropertiesSubject> subjectMap) {
+    for (PropertiesFunction function : functionMap.values()) {
+      internFunction(function.getName());
+      if (function.isGroup()) {
+        PropertiesFunctionGroup.class.cast(function).getMembers().forEach(this::internFunction);
+      }
+    }
+
+    for (PropertiesSubject subject : subjectMap.values()) {
+      subject.getPermissions().values().forEach(functions -> SetUtils.set(functions).forEach(this::internFunction));
+    }
+  }
+
+  private void internFunction(String function) {
+    if (function == null) return;
+    functionIDs.putIfAbsent(function, functionIDs.size());
+  }
+
+  private Set<Long> getOrganizationMembers(PropertiesOrganization organization) {
+    return organization.isGroup() ? PropertiesOrganizationGroup.class.cast(organization).getMembers() : null;
+  }
+
+  private Set<Long> getSubjectMembers(PropertiesSubject subject) {
+    return subject.isGroup() ? PropertiesSubjectGroup.class.cast(subject).getMembers() : null;
+  }
+
+  private <T> Map<Long, Set<Long>> resolveAncestors(Map<Long, T> elements, Function<T, Set<Long>> membersResolver) {
+    // Resolve the direct parents of every member of a group. Members don't need to be defined themselves.
+    Map<Long, Set<Long>> directParents = new HashMap<>();
+    for (Map.Entry<Long, T> element : elements.entrySet()) {
+      for (Long member : SetUtils.set(membersResolver.apply(element.getValue()))) {
+        directParents.computeIfAbsent(member, id -> new HashSet<>()).add(element.getKey());
+      }
+    }
+
+    // Resolve the parents of parents. The visited parents protect against cyclic definitions.
+    Map<Long, Set<Long>> ancestors = new HashMap<>();
+    for (Long id : directParents.keySet()) {
+      Set<Long> visited = new HashSet<>();
+      Deque<Long> queue = new ArrayDeque<>(directParents.get(id));
+      while (!queue.isEmpty()) {
+        Long parent = queue.poll();
+        if (visited.add(parent)) {
+          queue.addAll(directParents.getOrDefault(parent, Collections.emptySet()));
+        }
+      }
+      ancestors.put(id, visited);
+    }
+
+    return ancestors;
+  }
+}
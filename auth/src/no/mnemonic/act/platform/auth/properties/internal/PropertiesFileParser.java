@@ -3,6 +3,7 @@ package no.mnemonic.act.platform.auth.properties.internal;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -67,7 +68,28 @@ public class PropertiesFileParser {
    * @param file Path to properties file
    */
   public void parse(String file) {
-    Properties properties = loadProperties(file);
+    parse(loadProperties(file));
+  }
+
+  /**
+   * Parses the content of a properties file according to the specification.
+   *
+   * @param content Content of properties file
+   */
+  public void parse(byte[] content) {
+    if (content == null) throw new IllegalArgumentException("Content of properties file is null.");
+
+    Properties properties = new Properties();
+    try {
+      properties.load(new ByteArrayInputStream(content));
+    } catch (IOException e) {
+      throw new RuntimeException("Could not load properties file content.");
+    }
+
+    parse(properties);
+  }
+
+  private void parse(Properties properties) {
     for (String key : properties.stringPropertyNames()) {
       if (matchFunctionGroup(properties, key)) continue;
       if (matchOrganization(properties, key)) continue;
@@ -62,6 +62,29 @@ public class PropertiesBasedAccessControllerTest {
     accessController.validate(createCredentials(1));
   }
 
+  @Test
+  public void testValidateReturnsCachedSession() throws Exception {
+    setup("subject.1.name = subject");
+    SessionDescriptor descriptor = accessController.validate(createCredentials(1));
+    assertSame(descriptor, accessController.validate(createCredentials(1)));
+  }
+
+  @Test
+  public void testValidateAfterReloadWithRemovedSubject() throws Exception {
+    setup("subject.1.name = subject");
+    accessController.validate(createCredentials(1));
+
+    writePropertiesFile("subject.2.name = other");
+    waitForSubject("other");
+
+    try {
+      accessController.validate(createCredentials(1));
+      fail();
+    } catch (InvalidCredentialsException ignored) {
+      // Cached session must be invalidated on reload.
+    }
+  }
+
   /* hasPermission(credentials, function) */
 
   @Test(expected = InvalidCredentialsException.class)
@@ -998,18 +1021,85 @@ public class PropertiesBasedAccessControllerTest {
     assertEquals("organization", subject.getOrganization().getName());
   }
 
+  /* reload properties file */
+
+  @Test
+  public void testStartComponentLoadsPropertiesFile() throws Exception {
+    setup("subject.1.name = subject");
+    assertTrue(accessController.getLastReloadDuration() >= 0);
+    assertTrue(accessController.getLastReloadTimestamp() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStartComponentWithNonExistingPropertiesFile() {
+    accessController = PropertiesBasedAccessController.builder().setPropertiesFile("/non/existing/file.properties").build();
+    accessController.startComponent();
+  }
+
+  @Test
+  public void testReloadWhenPropertiesFileChanges() throws Exception {
+    setup("subject.1.name = subject");
+    assertNull(accessController.resolveSubject("other"));
+
+    writePropertiesFile("subject.1.name = subject\n" +
+            "subject.2.name = other");
+
+    // The change is picked up by watching the file system, not by the (default) reading interval.
+    waitForSubject("other");
+    assertNotNull(accessController.resolveSubject("other"));
+  }
+
+  @Test
+  public void testReloadSkipsUnchangedPropertiesFile() throws Exception {
+    setup("subject.1.name = subject", 10);
+    long timestamp = accessController.getLastReloadTimestamp();
+
+    writePropertiesFile("subject.1.name = subject");
+    Thread.sleep(200);
+
+    assertEquals(timestamp, accessController.getLastReloadTimestamp());
+  }
+
+  @Test
+  public void testReloadKeepsStateWhenPropertiesFileIsRemoved() throws Exception {
+    setup("subject.1.name = subject", 10);
+
+    Files.delete(propertiesFile);
+    Thread.sleep(200);
+
+    assertNotNull(accessController.resolveSubject("subject"));
+  }
+
   private void setup(String content) throws Exception {
+    setup(content, 0);
+  }
+
+  private void setup(String content, long readingInterval) throws Exception {
     // Create properties file ...
     propertiesFile = Files.createTempFile(UUID.randomUUID().toString(), ".properties");
-    try (FileWriter writer = new FileWriter(propertiesFile.toFile())) {
-      writer.write(content);
-    }
+    writePropertiesFile(content);
 
     // ... and start up access controller.
-    accessController = PropertiesBasedAccessController.builder().setPropertiesFile(propertiesFile.toString()).build();
+    accessController = PropertiesBasedAccessController.builder()
+            .setPropertiesFile(propertiesFile.toString())
+            .setReadingInterval(readingInterval)
+            .build();
     accessController.startComponent();
   }
 
+  private void waitForSubject(String name) throws Exception {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (accessController.resolveSubject(name) == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private void writePropertiesFile(String content) throws Exception {
+    try (FileWriter writer = new FileWriter(propertiesFile.toFile())) {
+      writer.write(content);
+    }
+  }
+
   private Credentials createCredentials(long subjectID) {
     return SubjectCredentials.builder().setSubjectID(subjectID).build();
   }
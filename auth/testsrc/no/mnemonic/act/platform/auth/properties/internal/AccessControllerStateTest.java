@@ -389,6 +389,135 @@ public class AccessControllerStateTest {
     assertEquals(SetUtils.set(parent), state.getParentSubjects(subject.getInternalID()));
   }
 
+  @Test
+  public void testHasPermissionUnknownSubject() {
+    AccessControllerState state = AccessControllerState.builder().build();
+    assertFalse(state.hasPermission(42, "function"));
+    assertFalse(state.hasPermission(42, "function", 1));
+    assertEmpty(state.getAvailableOrganizations(42));
+  }
+
+  @Test
+  public void testHasPermissionGrantedDirectly() {
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(1, SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder().addSubject(subject).build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 1));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function", 2));
+    assertFalse(state.hasPermission(subject.getInternalID(), "otherFunction"));
+    assertFalse(state.hasPermission(subject.getInternalID(), "otherFunction", 1));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaFunctionGroup() {
+    PropertiesFunctionGroup directParent = PropertiesFunctionGroup.builder()
+            .setName("directParent")
+            .addMember("function")
+            .build();
+    PropertiesFunctionGroup indirectParent = PropertiesFunctionGroup.builder()
+            .setName("indirectParent")
+            .addMember(directParent.getName())
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(1, SetUtils.set(indirectParent.getName()))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setFunctions(SetUtils.set(directParent, indirectParent))
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), directParent.getName(), 1));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 1));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaSubjectGroup() {
+    PropertiesSubject subject = PropertiesSubject.builder().setInternalID(1).build();
+    PropertiesSubjectGroup directParent = PropertiesSubjectGroup.builder()
+            .setInternalID(10)
+            .addMember(subject.getInternalID())
+            .build();
+    PropertiesSubjectGroup indirectParent = PropertiesSubjectGroup.builder()
+            .setInternalID(11)
+            .addMember(directParent.getInternalID())
+            .addPermission(1, SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setSubjects(SetUtils.set(subject, directParent, indirectParent))
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 1));
+    assertEquals(SetUtils.set(1L), state.getAvailableOrganizations(subject.getInternalID()));
+    // Closure isn't computed for SubjectGroups because they cannot be authenticated.
+    assertFalse(state.hasPermission(indirectParent.getInternalID(), "function"));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaOrganizationGroup() {
+    PropertiesOrganization organization = PropertiesOrganization.builder().setInternalID(1).build();
+    PropertiesOrganizationGroup directParent = PropertiesOrganizationGroup.builder()
+            .setInternalID(10)
+            .addMember(organization.getInternalID())
+            .build();
+    PropertiesOrganizationGroup indirectParent = PropertiesOrganizationGroup.builder()
+            .setInternalID(11)
+            .addMember(directParent.getInternalID())
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(directParent.getInternalID(), SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setOrganizations(SetUtils.set(organization, directParent, indirectParent))
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", organization.getInternalID()));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", directParent.getInternalID()));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function", indirectParent.getInternalID()));
+    assertEquals(SetUtils.set(organization.getInternalID(), directParent.getInternalID()), state.getAvailableOrganizations(subject.getInternalID()));
+  }
+
+  @Test
+  public void testHasPermissionWithCyclicGroups() {
+    PropertiesFunctionGroup functionGroup1 = PropertiesFunctionGroup.builder()
+            .setName("group1")
+            .setMembers(SetUtils.set("group2", "function"))
+            .build();
+    PropertiesFunctionGroup functionGroup2 = PropertiesFunctionGroup.builder()
+            .setName("group2")
+            .addMember("group1")
+            .build();
+    PropertiesOrganizationGroup organizationGroup1 = PropertiesOrganizationGroup.builder()
+            .setInternalID(10)
+            .addMember(11)
+            .build();
+    PropertiesOrganizationGroup organizationGroup2 = PropertiesOrganizationGroup.builder()
+            .setInternalID(11)
+            .addMember(10)
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(organizationGroup1.getInternalID(), SetUtils.set(functionGroup2.getName()))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setFunctions(SetUtils.set(functionGroup1, functionGroup2))
+            .setOrganizations(SetUtils.set(organizationGroup1, organizationGroup2))
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", organizationGroup2.getInternalID()));
+    assertEquals(SetUtils.set(10L, 11L), state.getAvailableOrganizations(subject.getInternalID()));
+  }
+
   private void assertEmpty(Set<?> collection) {
     assertNotNull(collection);
     assertTrue(collection.isEmpty());
@@ -7,6 +7,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
@@ -35,6 +36,17 @@ public class PropertiesFileParserTest {
     parser.parse("/non/existing/file.properties");
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseNullContent() {
+    parser.parse((byte[]) null);
+  }
+
+  @Test
+  public void testParseContent() {
+    parser.parse("function.name.members = function1,function2,function3".getBytes(StandardCharsets.ISO_8859_1));
+    assertFunction(parser.getFunctions());
+  }
+
   @Test
   public void testParsingFunctionGroup() throws Exception {
     assertFunction(parseFunctions("function.name.members = function1,function2,function3"));
@@ -0,0 +1,152 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.ActGraph;
+import no.mnemonic.act.platform.dao.tinkerpop.FactEdge;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating a large number of edges with one {@link ElementFactory}, i.e. what happens during a traversal
+ * touching many Facts. Once more edges than the cache can hold are created every new edge evicts an older one, thus,
+ * the cost of eviction dominates with 100k edges. Cassandra is not involved, all entities are served from memory.
+ * <p>
+ * 'createEdges' uses the {@link ElementFactory} which removes the mapping of an evicted edge directly, while
+ * 'createEdgesWithScanningEviction' creates the same edges with the bookkeeping ElementFactory used to perform, where
+ * every eviction copied and scanned all mappings in order to find the one pointing to the evicted edge. The baseline
+ * takes minutes per invocation with 100k edges, thus, it is measured with fewer iterations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementFactoryBenchmark {
+
+  @Param({"10000", "100000"})
+  private int edges;
+
+  private ActGraph graph;
+  private List<ObjectFactBindingEntity> bindings;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    UUID objectID = UUID.randomUUID();
+    FactTypeEntity type = new FactTypeEntity().setId(UUID.randomUUID()).setName("type");
+    Map<UUID, FactEntity> facts = new HashMap<>();
+    bindings = new ArrayList<>(edges);
+
+    // Every Fact is only bound to the same Object, thus, every binding results in one loop edge.
+    for (int i = 0; i < edges; i++) {
+      FactEntity fact = new FactEntity()
+              .setId(UUID.randomUUID())
+              .setTypeID(type.getId())
+              .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.BiDirectional)));
+      facts.put(fact.getId(), fact);
+      bindings.add(new ObjectFactBindingEntity().setObjectID(objectID).setFactID(fact.getId()).setDirection(Direction.BiDirectional));
+    }
+
+    ObjectManager objectManager = new ObjectManager(null);
+    FactManager factManager = new FactManager(null) {
+      @Override
+      public FactTypeEntity getFactType(UUID id) {
+        return type;
+      }
+    };
+
+    graph = ActGraph.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            .setHasFactAccess(fact -> true)
+            .setElementCache(new GraphElementCache(objectManager, factManager) {
+              @Override
+              public GraphElementCache withMetrics(TraversalMetrics metrics) {
+                // Keep serving the Facts from memory, the default view would delegate to the FactManager.
+                return this;
+              }
+
+              @Override
+              public FactEntity getFact(UUID id) {
+                return facts.get(id);
+              }
+            })
+            .build();
+  }
+
+  @Benchmark
+  public int createEdges() {
+    ElementFactory factory = ElementFactory.builder().setOwner(graph).build();
+
+    int created = 0;
+    for (ObjectFactBindingEntity binding : bindings) {
+      created += factory.createEdges(binding).size();
+    }
+
+    return created;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 3)
+  public int createEdgesWithScanningEviction() {
+    ScanningEdgeCache cache = new ScanningEdgeCache();
+
+    int created = 0;
+    for (ObjectFactBindingEntity binding : bindings) {
+      // Every binding results in one loop edge, same as ElementFactory.createEdges() creates.
+      cache.createAndCache(binding.getFactID(), binding.getObjectID(), binding.getObjectID());
+      created++;
+    }
+
+    return created;
+  }
+
+  /**
+   * Edge caching as ElementFactory implemented it before, with the (factID, inVertex, outVertex) triplet as list.
+   */
+  private class ScanningEdgeCache {
+    private final Map<List<UUID>, UUID> edgeIdMap = new ConcurrentHashMap<>();
+    private final Cache<UUID, Edge> edgeCache = CacheBuilder.newBuilder()
+            .maximumSize(10000)
+            .removalListener(this::cleanUpEdgeCache)
+            .build();
+
+    private Edge createAndCache(UUID factID, UUID inVertex, UUID outVertex) {
+      List<UUID> edgeID = ListUtils.list(factID, inVertex, outVertex);
+      Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), edgeCache::getIfPresent);
+
+      if (edge == null) {
+        edge = new FactEdge(graph, factID, inVertex, outVertex);
+        edgeIdMap.put(edgeID, (UUID) edge.id());
+        edgeCache.put((UUID) edge.id(), edge);
+      }
+
+      return edge;
+    }
+
+    private void cleanUpEdgeCache(RemovalNotification<UUID, Edge> notification) {
+      if (notification.wasEvicted()) {
+        SetUtils.set(edgeIdMap.entrySet())
+                .stream()
+                .filter(entry -> Objects.equals(entry.getValue(), notification.getKey()))
+                .forEach(entry -> edgeIdMap.remove(entry.getKey()));
+      }
+    }
+  }
+}
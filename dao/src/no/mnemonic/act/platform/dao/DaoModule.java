@@ -8,6 +8,7 @@ import no.mnemonic.act.platform.dao.elastic.ClientFactory;
 import no.mnemonic.act.platform.dao.elastic.ClientFactoryProvider;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.facade.ObjectFactDaoFacade;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
 
 public class DaoModule extends AbstractModule {
 
@@ -23,6 +24,9 @@ public class DaoModule extends AbstractModule {
     bind(ClientFactory.class).toProvider(ClientFactoryProvider.class).in(Scopes.SINGLETON);
     bind(FactSearchManager.class);
 
+    // Graph elements shared between all graph traversals
+    bind(GraphElementCache.class);
+
     // Facade wrapping Cassandra + ElasticSearch
     bind(ObjectFactDao.class).to(ObjectFactDaoFacade.class);
   }
@@ -0,0 +1,110 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.*;
+
+/**
+ * Options of the offline commands in this package given as '--name=value' (or '--name' for flags) on the command line.
+ * <p>
+ * The options '--contact-points', '--port', '--data-center' and '--keyspace' are shared by all commands and define
+ * how to connect to Cassandra, see {@link #createClusterManager()}.
+ */
+class CommandLineOptions {
+
+  static final String CASSANDRA_USAGE = "  --contact-points=<hosts>  Comma-separated list of Cassandra contact points (required)\n" +
+          "  --port=<port>             Cassandra port (default 9042)\n" +
+          "  --data-center=<name>      Local Cassandra data center (default datacenter1)\n" +
+          "  --keyspace=<name>         Keyspace containing the ACT tables (default " + CassandraEntity.KEY_SPACE + ")\n";
+
+  private static final String PREFIX = "--";
+  private static final int DEFAULT_PORT = 9042;
+  private static final String DEFAULT_DATA_CENTER = "datacenter1";
+
+  private final Map<String, String> options;
+
+  private CommandLineOptions(Map<String, String> options) {
+    this.options = options;
+  }
+
+  /**
+   * Parse the command line arguments.
+   *
+   * @param args    Command line arguments
+   * @param allowed Names of the options accepted by the command in addition to the Cassandra options
+   * @return Parsed options
+   * @throws IllegalArgumentException If an argument is malformed or not allowed
+   */
+  static CommandLineOptions parse(String[] args, String... allowed) {
+    Set<String> names = SetUtils.set("contact-points", "port", "data-center", "keyspace");
+    names.addAll(Arrays.asList(allowed));
+
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith(PREFIX)) throw new IllegalArgumentException(String.format("Invalid argument '%s'.", arg));
+
+      int separator = arg.indexOf('=');
+      String name = separator < 0 ? arg.substring(PREFIX.length()) : arg.substring(PREFIX.length(), separator);
+      String value = separator < 0 ? "" : arg.substring(separator + 1);
+      if (!names.contains(name)) throw new IllegalArgumentException(String.format("Unknown option '%s'.", arg));
+      options.put(name, value);
+    }
+
+    return new CommandLineOptions(options);
+  }
+
+  boolean hasOption(String name) {
+    return options.containsKey(name);
+  }
+
+  String getString(String name, String defaultValue) {
+    String value = options.get(name);
+    return !StringUtils.isBlank(value) ? value : defaultValue;
+  }
+
+  String getRequiredString(String name) {
+    String value = getString(name, null);
+    if (value == null) throw new IllegalArgumentException(String.format("Option '--%s' is required.", name));
+    return value;
+  }
+
+  int getInt(String name, int defaultValue) {
+    String value = getString(name, null);
+    if (value == null) return defaultValue;
+
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(String.format("Option '--%s' must be an integer.", name));
+    }
+  }
+
+  double getDouble(String name, double defaultValue) {
+    String value = getString(name, null);
+    if (value == null) return defaultValue;
+
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(String.format("Option '--%s' must be a number.", name));
+    }
+  }
+
+  /**
+   * Create a {@link ClusterManager} from the Cassandra options. The returned component is not started yet.
+   *
+   * @return ClusterManager connecting to the configured Cassandra cluster
+   * @throws IllegalArgumentException If '--contact-points' is missing
+   */
+  ClusterManager createClusterManager() {
+    return ClusterManager.builder()
+            .setContactPoints(SetUtils.set(getRequiredString("contact-points").split(",")))
+            .setPort(getInt("port", DEFAULT_PORT))
+            .setDataCenter(getString("data-center", DEFAULT_DATA_CENTER))
+            .setKeyspace(getString("keyspace", CassandraEntity.KEY_SPACE))
+            .build();
+  }
+}
@@ -0,0 +1,199 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Native implementations of whole-graph algorithms running directly on a {@link CsrGraphSnapshot}. All algorithms
+ * which process the vertices independently of each other are executed in parallel with the configured parallelism.
+ * <p>
+ * This takes the role of a GraphComputer for the snapshot. It operates on vertex indices only, use
+ * {@link CsrGraphSnapshot#getObjectID(int)} to map the results back to Objects.
+ */
+public class CsrGraphAlgorithms {
+
+  private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+  private final CsrGraphSnapshot snapshot;
+  private final int parallelism;
+
+  private CsrGraphAlgorithms(CsrGraphSnapshot snapshot, int parallelism) {
+    this.snapshot = ObjectUtils.notNull(snapshot, "'snapshot' is null!");
+    this.parallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+  }
+
+  /**
+   * Calculate the PageRank of all vertices following the edges in their direction. The rank of vertices without
+   * out-edges is distributed evenly across all vertices, thus, the ranks always sum up to 1.
+   *
+   * @param damping    Damping factor, usually 0.85
+   * @param iterations Number of iterations
+   * @return PageRank indexed by vertex
+   * @throws InterruptedException If the calling thread is interrupted during the calculation
+   */
+  public double[] pageRank(double damping, int iterations) throws InterruptedException {
+    if (damping < 0 || damping > 1) throw new IllegalArgumentException("'damping' must be between 0 and 1!");
+
+    int vertexCount = snapshot.getVertexCount();
+    if (vertexCount == 0) return new double[0];
+
+    double[] rank = new double[vertexCount];
+    double[] contribution = new double[vertexCount];
+    Arrays.fill(rank, 1.0 / vertexCount);
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      for (int iteration = 0; iteration < iterations; iteration++) {
+        double[] current = rank;
+        // Pre-compute what each vertex passes on to its neighbours and collect the rank of dangling vertices.
+        double dangling = execute(pool, () -> IntStream.range(0, vertexCount).parallel().mapToDouble(v -> {
+          int degree = snapshot.getOutDegree(v);
+          contribution[v] = degree > 0 ? current[v] / degree : 0;
+          return degree > 0 ? 0 : current[v];
+        }).sum());
+
+        // Pull the contributions along the in-edges, every vertex is only written by one thread.
+        double base = (1 - damping) / vertexCount + damping * dangling / vertexCount;
+        double[] next = new double[vertexCount];
+        execute(pool, () -> {
+          IntStream.range(0, vertexCount).parallel().forEach(v -> {
+            double sum = 0;
+            for (int edge = snapshot.getInOffset(v); edge < snapshot.getInOffset(v + 1); edge++) {
+              sum += contribution[snapshot.getInSource(edge)];
+            }
+            next[v] = base + damping * sum;
+          });
+          return null;
+        });
+        rank = next;
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    return rank;
+  }
+
+  /**
+   * Calculate the weakly connected components of the graph, i.e. the direction of edges is ignored.
+   * <p>
+   * This uses a union-find structure which is linear in the number of edges and, therefore, executed sequentially.
+   *
+   * @return Component indexed by vertex, where the component is identified by its smallest vertex index
+   */
+  public int[] connectedComponents() {
+    int vertexCount = snapshot.getVertexCount();
+    int[] parent = new int[vertexCount];
+    for (int v = 0; v < vertexCount; v++) {
+      parent[v] = v;
+    }
+
+    // Every edge is stored as out-edge, it's enough to join along the out-edges.
+    for (int v = 0; v < vertexCount; v++) {
+      for (int edge = snapshot.getOutOffset(v); edge < snapshot.getOutOffset(v + 1); edge++) {
+        int a = find(parent, v);
+        int b = find(parent, snapshot.getOutTarget(edge));
+        // Always link to the smaller root, thus, the root is the smallest vertex of the component.
+        if (a < b) parent[b] = a;
+        if (b < a) parent[a] = b;
+      }
+    }
+
+    int[] component = new int[vertexCount];
+    for (int v = 0; v < vertexCount; v++) {
+      component[v] = find(parent, v);
+    }
+    return component;
+  }
+
+  /**
+   * Calculate the degree distribution of the graph.
+   *
+   * @param direction Count out-edges, in-edges or both
+   * @return Number of vertices by degree, ordered by degree
+   * @throws InterruptedException If the calling thread is interrupted during the calculation
+   */
+  public SortedMap<Integer, Long> degreeDistribution(Direction direction) throws InterruptedException {
+    ObjectUtils.notNull(direction, "'direction' is null!");
+
+    IntUnaryOperator degree;
+    if (direction == Direction.OUT) {
+      degree = snapshot::getOutDegree;
+    } else if (direction == Direction.IN) {
+      degree = snapshot::getInDegree;
+    } else {
+      degree = v -> snapshot.getOutDegree(v) + snapshot.getInDegree(v);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return execute(pool, () -> IntStream.range(0, snapshot.getVertexCount())
+              .parallel()
+              .map(degree)
+              .boxed()
+              .collect(Collectors.groupingBy(d -> d, TreeMap::new, Collectors.counting())));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private int find(int[] parent, int v) {
+    while (parent[v] != v) {
+      // Path halving keeps the trees flat.
+      parent[v] = parent[parent[v]];
+      v = parent[v];
+    }
+    return v;
+  }
+
+  private <T> T execute(ForkJoinPool pool, Supplier<T> task) throws InterruptedException {
+    // Parallel streams executed inside a dedicated pool use that pool instead of the common pool.
+    try {
+      return pool.submit(task::get).get();
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Could not execute graph algorithm.", ObjectUtils.ifNull(ex.getCause(), ex));
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private CsrGraphSnapshot snapshot;
+    private int parallelism;
+
+    private Builder() {
+    }
+
+    public CsrGraphAlgorithms build() {
+      return new CsrGraphAlgorithms(snapshot, parallelism);
+    }
+
+    public Builder setSnapshot(CsrGraphSnapshot snapshot) {
+      this.snapshot = snapshot;
+      return this;
+    }
+
+    /**
+     * Number of threads used by parallel algorithms. Defaults to the number of available processors.
+     *
+     * @param parallelism Number of threads
+     * @return Builder
+     */
+    public Builder setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Command line entry point which builds a {@link CsrGraphSnapshot} from Cassandra using {@link CsrGraphSnapshotBuilder}
+ * and runs one of the {@link CsrGraphAlgorithms} on it. The results are written to stdout as tab-separated lines:
+ * <ul>
+ * <li>pagerank: Object ID and PageRank of every Object</li>
+ * <li>components: Object ID of every Object and Object ID identifying its connected component</li>
+ * <li>degrees: Degree and number of Objects with that degree</li>
+ * </ul>
+ * Without '--algorithm' only the snapshot file is written. Execute without arguments to print all options.
+ */
+public class CsrGraphCommand {
+
+  static final String USAGE = "Usage: " + CsrGraphCommand.class.getName() + " [options]\n" +
+          CommandLineOptions.CASSANDRA_USAGE +
+          "  --snapshot=<file>         Output file of the snapshot, overwritten if it exists (required)\n" +
+          "  --algorithm=<name>        Algorithm to run on the snapshot: pagerank, components or degrees\n" +
+          "  --parallelism=<threads>   Number of threads (default number of processors)\n" +
+          "  --include-retracted       Include retracted Facts in the snapshot\n" +
+          "  --damping=<factor>        PageRank damping factor (default 0.85)\n" +
+          "  --iterations=<count>      PageRank iterations (default 20)\n" +
+          "  --direction=<direction>   Edges counted by degrees: out, in or both (default both)\n";
+
+  private static final Logger LOGGER = Logging.getLogger(CsrGraphCommand.class);
+  private static final String[] OPTIONS = {"snapshot", "algorithm", "parallelism", "include-retracted", "damping", "iterations", "direction"};
+  private static final double DEFAULT_DAMPING = 0.85;
+  private static final int DEFAULT_ITERATIONS = 20;
+
+  private enum Algorithm {
+    pagerank, components, degrees
+  }
+
+  private final PrintStream out;
+  private final Path snapshotFile;
+  private final Algorithm algorithm;
+  private final int parallelism;
+  private final boolean includeRetracted;
+  private final double damping;
+  private final int iterations;
+  private final Direction direction;
+
+  CsrGraphCommand(CommandLineOptions options, PrintStream out) {
+    ObjectUtils.notNull(options, "'options' is null!");
+    this.out = ObjectUtils.notNull(out, "'out' is null!");
+    // Validate all options up front, before connecting to Cassandra and scanning the whole graph.
+    this.snapshotFile = Paths.get(options.getRequiredString("snapshot"));
+    this.algorithm = parseEnum(Algorithm.class, "algorithm", options.getString("algorithm", null));
+    this.parallelism = options.getInt("parallelism", 0);
+    this.includeRetracted = options.hasOption("include-retracted");
+    this.damping = options.getDouble("damping", DEFAULT_DAMPING);
+    this.iterations = options.getInt("iterations", DEFAULT_ITERATIONS);
+    this.direction = parseEnum(Direction.class, "direction", options.getString("direction", Direction.BOTH.name()));
+  }
+
+  static CommandLineOptions parseOptions(String[] args) {
+    return CommandLineOptions.parse(args, OPTIONS);
+  }
+
+  public static void main(String[] args) {
+    CsrGraphCommand command;
+    ClusterManager clusterManager;
+    try {
+      CommandLineOptions options = parseOptions(args);
+      command = new CsrGraphCommand(options, System.out);
+      clusterManager = options.createClusterManager();
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    FactManager factManager = new FactManager(clusterManager);
+    try {
+      clusterManager.startComponent();
+      factManager.startComponent();
+      command.execute(factManager);
+    } catch (Exception ex) {
+      LOGGER.error(ex, "Could not build CSR snapshot or run the algorithm.");
+      System.exit(1);
+    } finally {
+      factManager.stopComponent();
+      clusterManager.stopComponent();
+    }
+  }
+
+  /**
+   * Build the snapshot by scanning all Facts and run the selected algorithm on it.
+   *
+   * @param factManager Started FactManager used to scan the Facts
+   * @throws IOException          If writing the snapshot fails
+   * @throws InterruptedException If the calling thread is interrupted
+   */
+  void execute(FactManager factManager) throws IOException, InterruptedException {
+    CsrGraphSnapshotBuilder builder = CsrGraphSnapshotBuilder.builder()
+            .setFactManager(factManager)
+            .setParallelism(parallelism)
+            .setIncludeRetracted(includeRetracted)
+            .build();
+
+    try (CsrGraphSnapshot snapshot = builder.build(snapshotFile)) {
+      LOGGER.info("Wrote CSR snapshot with %d Objects and %d edges to %s.", snapshot.getVertexCount(), snapshot.getEdgeCount(), snapshotFile);
+      if (algorithm == null) return;
+
+      CsrGraphAlgorithms algorithms = CsrGraphAlgorithms.builder()
+              .setSnapshot(snapshot)
+              .setParallelism(parallelism)
+              .build();
+      switch (algorithm) {
+        case pagerank:
+          double[] rank = algorithms.pageRank(damping, iterations);
+          for (int v = 0; v < rank.length; v++) {
+            out.println(snapshot.getObjectID(v) + "\t" + rank[v]);
+          }
+          break;
+        case components:
+          int[] component = algorithms.connectedComponents();
+          for (int v = 0; v < component.length; v++) {
+            out.println(snapshot.getObjectID(v) + "\t" + snapshot.getObjectID(component[v]));
+          }
+          break;
+        case degrees:
+          for (Map.Entry<Integer, Long> entry : algorithms.degreeDistribution(direction).entrySet()) {
+            out.println(entry.getKey() + "\t" + entry.getValue());
+          }
+          break;
+      }
+      out.flush();
+    }
+  }
+
+  private static <T extends Enum<T>> T parseEnum(Class<T> type, String name, String value) {
+    if (value == null) return null;
+
+    for (T constant : type.getEnumConstants()) {
+      if (constant.name().equalsIgnoreCase(value)) return constant;
+    }
+    throw new IllegalArgumentException(String.format("Invalid value '%s' of option '--%s'.", value, name));
+  }
+}
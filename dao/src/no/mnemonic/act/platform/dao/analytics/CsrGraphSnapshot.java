@@ -0,0 +1,217 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Read-only, memory-mapped snapshot of the whole Object/Fact graph in compressed-sparse-row (CSR) format, created by
+ * {@link CsrGraphSnapshotBuilder}. The snapshot lives outside of the heap, thus, also graphs with hundreds of millions
+ * of edges can be analysed without putting pressure on the garbage collector.
+ * <p>
+ * Objects are mapped to dense vertex indices in [0, vertexCount), ordered by their UUIDs, and FactTypes are mapped to
+ * FactType indices in [0, factTypeCount). Every Fact binding two Objects is stored as one directed edge (two edges for
+ * bidirectional Facts), both as out-edge of its source vertex and as in-edge of its destination vertex. The edges of
+ * vertex v are stored in the range [offset(v), offset(v + 1)) of the edge arrays.
+ * <p>
+ * File layout (all values big-endian):
+ * <pre>
+ * header:        magic (long), vertexCount (int), edgeCount (int), factTypeCount (int)
+ * vertices:      vertexCount x UUID (two longs each, sorted)
+ * factTypes:     factTypeCount x UUID (two longs each)
+ * outOffsets:    (vertexCount + 1) x int
+ * outTargets:    edgeCount x int (vertex index)
+ * outFactTypes:  edgeCount x int (FactType index)
+ * inOffsets:     (vertexCount + 1) x int
+ * inSources:     edgeCount x int (vertex index)
+ * </pre>
+ */
+public class CsrGraphSnapshot implements Closeable {
+
+  static final long MAGIC = 0x4143545F43535231L; // "ACT_CSR1"
+  static final int HEADER_SIZE = Long.BYTES + 3 * Integer.BYTES;
+  // Every section is mapped separately and a single mapping can't exceed 2GB.
+  static final int MAXIMUM_VERTEX_COUNT = Integer.MAX_VALUE / (2 * Long.BYTES);
+  static final int MAXIMUM_EDGE_COUNT = Integer.MAX_VALUE / Integer.BYTES;
+
+  private final FileChannel channel;
+  private final int vertexCount;
+  private final int edgeCount;
+  private final int factTypeCount;
+  private final LongBuffer vertices;
+  private final LongBuffer factTypes;
+  private final IntBuffer outOffsets;
+  private final IntBuffer outTargets;
+  private final IntBuffer outFactTypes;
+  private final IntBuffer inOffsets;
+  private final IntBuffer inSources;
+
+  private CsrGraphSnapshot(FileChannel channel) throws IOException {
+    this.channel = channel;
+
+    ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+    if (header.getLong() != MAGIC) throw new IOException("File does not contain a CSR graph snapshot.");
+    this.vertexCount = header.getInt();
+    this.edgeCount = header.getInt();
+    this.factTypeCount = header.getInt();
+
+    long position = HEADER_SIZE;
+    this.vertices = channel.map(FileChannel.MapMode.READ_ONLY, position, uuidSectionSize(vertexCount)).asLongBuffer();
+    position += uuidSectionSize(vertexCount);
+    this.factTypes = channel.map(FileChannel.MapMode.READ_ONLY, position, uuidSectionSize(factTypeCount)).asLongBuffer();
+    position += uuidSectionSize(factTypeCount);
+    this.outOffsets = channel.map(FileChannel.MapMode.READ_ONLY, position, intSectionSize(vertexCount + 1)).asIntBuffer();
+    position += intSectionSize(vertexCount + 1);
+    this.outTargets = channel.map(FileChannel.MapMode.READ_ONLY, position, intSectionSize(edgeCount)).asIntBuffer();
+    position += intSectionSize(edgeCount);
+    this.outFactTypes = channel.map(FileChannel.MapMode.READ_ONLY, position, intSectionSize(edgeCount)).asIntBuffer();
+    position += intSectionSize(edgeCount);
+    this.inOffsets = channel.map(FileChannel.MapMode.READ_ONLY, position, intSectionSize(vertexCount + 1)).asIntBuffer();
+    position += intSectionSize(vertexCount + 1);
+    this.inSources = channel.map(FileChannel.MapMode.READ_ONLY, position, intSectionSize(edgeCount)).asIntBuffer();
+  }
+
+  /**
+   * Open an existing snapshot file.
+   *
+   * @param file Snapshot file written by {@link CsrGraphSnapshotBuilder}
+   * @return Memory-mapped snapshot
+   * @throws IOException If the file cannot be read or does not contain a snapshot
+   */
+  public static CsrGraphSnapshot open(Path file) throws IOException {
+    ObjectUtils.notNull(file, "'file' is null!");
+
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return new CsrGraphSnapshot(channel);
+    } catch (IOException | RuntimeException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    // The mappings stay valid until they are garbage collected, but the file handle is released immediately.
+    channel.close();
+  }
+
+  public int getVertexCount() {
+    return vertexCount;
+  }
+
+  public int getEdgeCount() {
+    return edgeCount;
+  }
+
+  public int getFactTypeCount() {
+    return factTypeCount;
+  }
+
+  /**
+   * Returns the UUID of the Object represented by a vertex.
+   *
+   * @param vertex Vertex index
+   * @return UUID of Object
+   */
+  public UUID getObjectID(int vertex) {
+    return new UUID(vertices.get(2 * vertex), vertices.get(2 * vertex + 1));
+  }
+
+  /**
+   * Returns the vertex index of an Object by performing a binary search over the sorted vertices.
+   *
+   * @param objectID UUID of Object
+   * @return Vertex index, or -1 if the Object is not part of the snapshot
+   */
+  public int getVertex(UUID objectID) {
+    if (objectID == null) return -1;
+
+    int low = 0;
+    int high = vertexCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      // Same ordering as UUID.compareTo(), i.e. signed comparison of the most and then least significant bits.
+      int cmp = Long.compare(vertices.get(2 * middle), objectID.getMostSignificantBits());
+      if (cmp == 0) cmp = Long.compare(vertices.get(2 * middle + 1), objectID.getLeastSignificantBits());
+
+      if (cmp < 0) {
+        low = middle + 1;
+      } else if (cmp > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the UUID of a FactType.
+   *
+   * @param factType FactType index
+   * @return UUID of FactType
+   */
+  public UUID getFactTypeID(int factType) {
+    return new UUID(factTypes.get(2 * factType), factTypes.get(2 * factType + 1));
+  }
+
+  public int getOutDegree(int vertex) {
+    return outOffsets.get(vertex + 1) - outOffsets.get(vertex);
+  }
+
+  public int getInDegree(int vertex) {
+    return inOffsets.get(vertex + 1) - inOffsets.get(vertex);
+  }
+
+  /**
+   * Returns the position of the first out-edge of a vertex. Use together with {@link #getOutTarget(int)} and
+   * {@link #getOutFactType(int)} in order to iterate the out-edges in [getOutOffset(v), getOutOffset(v + 1)).
+   *
+   * @param vertex Vertex index, or vertexCount for the end of the last vertex
+   * @return Edge position
+   */
+  public int getOutOffset(int vertex) {
+    return outOffsets.get(vertex);
+  }
+
+  public int getOutTarget(int edge) {
+    return outTargets.get(edge);
+  }
+
+  public int getOutFactType(int edge) {
+    return outFactTypes.get(edge);
+  }
+
+  /**
+   * Returns the position of the first in-edge of a vertex. Use together with {@link #getInSource(int)} in order to
+   * iterate the in-edges in [getInOffset(v), getInOffset(v + 1)).
+   *
+   * @param vertex Vertex index, or vertexCount for the end of the last vertex
+   * @return Edge position
+   */
+  public int getInOffset(int vertex) {
+    return inOffsets.get(vertex);
+  }
+
+  public int getInSource(int edge) {
+    return inSources.get(edge);
+  }
+
+  static long uuidSectionSize(int count) {
+    return 2L * Long.BYTES * count;
+  }
+
+  static long intSectionSize(int count) {
+    return (long) Integer.BYTES * count;
+  }
+}
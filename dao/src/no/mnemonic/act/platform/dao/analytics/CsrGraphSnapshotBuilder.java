@@ -0,0 +1,327 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline builder creating a {@link CsrGraphSnapshot} of the whole Object/Fact graph.
+ * <p>
+ * The builder scans the Fact table in parallel token ranges (the Object-Fact-bindings are derived from the Facts'
+ * bindings, thus, there is no need to scan them separately). While scanning, every Object and FactType is assigned a
+ * temporary integer index and the edges are collected as primitive arrays. Afterwards, the vertices are sorted by UUID
+ * and the edges are written directly into the memory-mapped output file, i.e. the CSR arrays are never materialized
+ * on the heap.
+ * <p>
+ * The snapshot contains all Facts binding two Objects regardless of access control. It is meant for analytics across
+ * the whole graph and must not be exposed to users directly.
+ */
+public class CsrGraphSnapshotBuilder {
+
+  private static final Logger LOGGER = Logging.getLogger(CsrGraphSnapshotBuilder.class);
+  private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+  // Use more ranges than threads in order to balance the load when the data is not evenly distributed.
+  private static final int DEFAULT_TOKEN_RANGES_PER_THREAD = 8;
+
+  private final FactManager factManager;
+  private final int parallelism;
+  private final int tokenRanges;
+  private final boolean includeRetracted;
+
+  private final Map<UUID, Integer> vertexIndex = new ConcurrentHashMap<>();
+  private final Map<UUID, Integer> factTypeIndex = new ConcurrentHashMap<>();
+  private final AtomicInteger vertexCounter = new AtomicInteger();
+  private final AtomicInteger factTypeCounter = new AtomicInteger();
+  private final AtomicBoolean used = new AtomicBoolean();
+
+  private CsrGraphSnapshotBuilder(FactManager factManager, int parallelism, int tokenRanges, boolean includeRetracted) {
+    this.factManager = ObjectUtils.notNull(factManager, "'factManager' is null!");
+    this.parallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+    this.tokenRanges = tokenRanges > 0 ? tokenRanges : this.parallelism * DEFAULT_TOKEN_RANGES_PER_THREAD;
+    this.includeRetracted = includeRetracted;
+  }
+
+  /**
+   * Scan the whole graph and write the snapshot to a file. An existing file will be overwritten.
+   * <p>
+   * A builder instance can only be used once.
+   *
+   * @param file Output file
+   * @return Snapshot opened from the written file
+   * @throws IOException          If writing the file fails
+   * @throws InterruptedException If the calling thread is interrupted while scanning
+   */
+  public CsrGraphSnapshot build(Path file) throws IOException, InterruptedException {
+    ObjectUtils.notNull(file, "'file' is null!");
+    if (used.getAndSet(true)) throw new IllegalStateException("Builder has already been used.");
+
+    long start = System.currentTimeMillis();
+    List<EdgeBuffer> edges = scan();
+    LOGGER.info("Scanned %d Objects and %d edges in %d ms.", vertexCounter.get(), size(edges), System.currentTimeMillis() - start);
+
+    start = System.currentTimeMillis();
+    write(file, edges);
+    LOGGER.info("Wrote CSR graph snapshot to %s in %d ms.", file, System.currentTimeMillis() - start);
+
+    return CsrGraphSnapshot.open(file);
+  }
+
+  /**
+   * Split the whole Murmur3 token ring (Long.MIN_VALUE, Long.MAX_VALUE] into ranges of (nearly) equal size.
+   *
+   * @param count Number of ranges
+   * @return Range boundaries, i.e. range i is (boundaries[i], boundaries[i + 1]]
+   */
+  static long[] splitTokenRing(int count) {
+    BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+    BigInteger width = BigInteger.valueOf(Long.MAX_VALUE).subtract(min);
+
+    long[] boundaries = new long[count + 1];
+    for (int i = 0; i <= count; i++) {
+      boundaries[i] = min.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count))).longValue();
+    }
+    return boundaries;
+  }
+
+  private List<EdgeBuffer> scan() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+            .setNameFormat("csr-snapshot-scan-%d")
+            .setDaemon(true)
+            .build());
+
+    try {
+      long[] boundaries = splitTokenRing(tokenRanges);
+      List<Future<EdgeBuffer>> futures = new ArrayList<>(tokenRanges);
+      for (int i = 0; i < tokenRanges; i++) {
+        long fromToken = boundaries[i];
+        long toToken = boundaries[i + 1];
+        futures.add(executor.submit(() -> scanTokenRange(fromToken, toToken)));
+      }
+
+      List<EdgeBuffer> edges = new ArrayList<>(tokenRanges);
+      for (Future<EdgeBuffer> future : futures) {
+        edges.add(future.get());
+      }
+      return edges;
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Could not scan Facts.", ObjectUtils.ifNull(ex.getCause(), ex));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private EdgeBuffer scanTokenRange(long fromToken, long toToken) {
+    EdgeBuffer edges = new EdgeBuffer();
+    Iterator<FactEntity> facts = factManager.fetchFactsByTokenRange(fromToken, toToken);
+    while (facts.hasNext()) {
+      FactEntity fact = facts.next();
+      // Only Facts binding two Objects form edges, meta Facts and Facts bound to one Object are skipped.
+      if (CollectionUtils.size(fact.getBindings()) != 2) continue;
+      if (!includeRetracted && SetUtils.set(fact.getFlags()).contains(FactEntity.Flag.RetractedHint)) continue;
+
+      FactEntity.FactObjectBinding first = fact.getBindings().get(0);
+      FactEntity.FactObjectBinding second = fact.getBindings().get(1);
+      int type = index(factTypeIndex, factTypeCounter, fact.getTypeID());
+      // Same rules as when the edges are created for ActGraph, see ElementFactory.
+      if (first.getDirection() == Direction.BiDirectional && second.getDirection() == Direction.BiDirectional) {
+        int firstVertex = index(vertexIndex, vertexCounter, first.getObjectID());
+        int secondVertex = index(vertexIndex, vertexCounter, second.getObjectID());
+        edges.add(firstVertex, secondVertex, type);
+        edges.add(secondVertex, firstVertex, type);
+      } else if (first.getDirection() == Direction.FactIsDestination && second.getDirection() == Direction.FactIsSource) {
+        edges.add(index(vertexIndex, vertexCounter, first.getObjectID()), index(vertexIndex, vertexCounter, second.getObjectID()), type);
+      } else if (first.getDirection() == Direction.FactIsSource && second.getDirection() == Direction.FactIsDestination) {
+        edges.add(index(vertexIndex, vertexCounter, second.getObjectID()), index(vertexIndex, vertexCounter, first.getObjectID()), type);
+      }
+    }
+    return edges;
+  }
+
+  private int index(Map<UUID, Integer> index, AtomicInteger counter, UUID id) {
+    return index.computeIfAbsent(id, ignored -> counter.getAndIncrement());
+  }
+
+  private void write(Path file, List<EdgeBuffer> edges) throws IOException {
+    int vertexCount = vertexCounter.get();
+    int factTypeCount = factTypeCounter.get();
+    long totalEdges = size(edges);
+    if (vertexCount > CsrGraphSnapshot.MAXIMUM_VERTEX_COUNT || totalEdges > CsrGraphSnapshot.MAXIMUM_EDGE_COUNT) {
+      throw new IllegalStateException(String.format("Graph with %d vertices and %d edges is too large for a snapshot.", vertexCount, totalEdges));
+    }
+    int edgeCount = (int) totalEdges;
+
+    // Sort vertices by UUID which allows looking up vertices with a binary search, and renumber the edges accordingly.
+    UUID[] objectIDs = new UUID[vertexCount];
+    vertexIndex.forEach((id, index) -> objectIDs[index] = id);
+    Arrays.sort(objectIDs);
+    int[] renumber = new int[vertexCount];
+    for (int i = 0; i < vertexCount; i++) {
+      renumber[vertexIndex.get(objectIDs[i])] = i;
+    }
+    UUID[] factTypeIDs = new UUID[factTypeCount];
+    factTypeIndex.forEach((id, index) -> factTypeIDs[index] = id);
+
+    int[] outOffsets = new int[vertexCount + 1];
+    int[] inOffsets = new int[vertexCount + 1];
+    for (EdgeBuffer buffer : edges) {
+      for (int i = 0; i < buffer.size; i++) {
+        outOffsets[renumber[buffer.sources[i]] + 1]++;
+        inOffsets[renumber[buffer.targets[i]] + 1]++;
+      }
+    }
+    for (int i = 0; i < vertexCount; i++) {
+      outOffsets[i + 1] += outOffsets[i];
+      inOffsets[i + 1] += inOffsets[i];
+    }
+
+    try (RandomAccessFile output = new RandomAccessFile(file.toFile(), "rw"); FileChannel channel = output.getChannel()) {
+      output.setLength(0);
+
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, CsrGraphSnapshot.HEADER_SIZE);
+      header.putLong(CsrGraphSnapshot.MAGIC).putInt(vertexCount).putInt(edgeCount).putInt(factTypeCount);
+
+      long position = CsrGraphSnapshot.HEADER_SIZE;
+      writeUUIDs(mapLongs(channel, position, CsrGraphSnapshot.uuidSectionSize(vertexCount)), objectIDs);
+      position += CsrGraphSnapshot.uuidSectionSize(vertexCount);
+      writeUUIDs(mapLongs(channel, position, CsrGraphSnapshot.uuidSectionSize(factTypeCount)), factTypeIDs);
+      position += CsrGraphSnapshot.uuidSectionSize(factTypeCount);
+      mapInts(channel, position, CsrGraphSnapshot.intSectionSize(vertexCount + 1)).put(outOffsets);
+      position += CsrGraphSnapshot.intSectionSize(vertexCount + 1);
+      IntBuffer outTargets = mapInts(channel, position, CsrGraphSnapshot.intSectionSize(edgeCount));
+      position += CsrGraphSnapshot.intSectionSize(edgeCount);
+      IntBuffer outFactTypes = mapInts(channel, position, CsrGraphSnapshot.intSectionSize(edgeCount));
+      position += CsrGraphSnapshot.intSectionSize(edgeCount);
+      mapInts(channel, position, CsrGraphSnapshot.intSectionSize(vertexCount + 1)).put(inOffsets);
+      position += CsrGraphSnapshot.intSectionSize(vertexCount + 1);
+      IntBuffer inSources = mapInts(channel, position, CsrGraphSnapshot.intSectionSize(edgeCount));
+
+      // Fill the edge arrays in place, using the offsets as cursors (they are already written to the file).
+      for (EdgeBuffer buffer : edges) {
+        for (int i = 0; i < buffer.size; i++) {
+          int source = renumber[buffer.sources[i]];
+          int target = renumber[buffer.targets[i]];
+          int outEdge = outOffsets[source]++;
+          outTargets.put(outEdge, target);
+          outFactTypes.put(outEdge, buffer.factTypes[i]);
+          inSources.put(inOffsets[target]++, source);
+        }
+      }
+    }
+  }
+
+  private static LongBuffer mapLongs(FileChannel channel, long position, long size) throws IOException {
+    return channel.map(FileChannel.MapMode.READ_WRITE, position, size).asLongBuffer();
+  }
+
+  private static IntBuffer mapInts(FileChannel channel, long position, long size) throws IOException {
+    return channel.map(FileChannel.MapMode.READ_WRITE, position, size).asIntBuffer();
+  }
+
+  private static void writeUUIDs(LongBuffer buffer, UUID[] ids) {
+    for (UUID id : ids) {
+      buffer.put(id.getMostSignificantBits()).put(id.getLeastSignificantBits());
+    }
+  }
+
+  private static long size(List<EdgeBuffer> edges) {
+    return edges.stream().mapToLong(buffer -> buffer.size).sum();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private FactManager factManager;
+    private int parallelism;
+    private int tokenRanges;
+    private boolean includeRetracted;
+
+    private Builder() {
+    }
+
+    public CsrGraphSnapshotBuilder build() {
+      return new CsrGraphSnapshotBuilder(factManager, parallelism, tokenRanges, includeRetracted);
+    }
+
+    public Builder setFactManager(FactManager factManager) {
+      this.factManager = factManager;
+      return this;
+    }
+
+    /**
+     * Number of threads scanning Cassandra in parallel. Defaults to the number of available processors.
+     *
+     * @param parallelism Number of threads
+     * @return Builder
+     */
+    public Builder setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Number of token ranges the Fact table is split into. Defaults to eight ranges per thread.
+     *
+     * @param tokenRanges Number of token ranges
+     * @return Builder
+     */
+    public Builder setTokenRanges(int tokenRanges) {
+      this.tokenRanges = tokenRanges;
+      return this;
+    }
+
+    /**
+     * Include retracted Facts in the snapshot. Defaults to false.
+     *
+     * @param includeRetracted Whether to include retracted Facts
+     * @return Builder
+     */
+    public Builder setIncludeRetracted(boolean includeRetracted) {
+      this.includeRetracted = includeRetracted;
+      return this;
+    }
+  }
+
+  /**
+   * Growable primitive arrays holding the edges collected from one token range (source, target and FactType index).
+   */
+  private static class EdgeBuffer {
+    private int[] sources = new int[1024];
+    private int[] targets = new int[1024];
+    private int[] factTypes = new int[1024];
+    private int size;
+
+    private void add(int source, int target, int factType) {
+      if (size == sources.length) {
+        int capacity = size + (size >> 1);
+        sources = Arrays.copyOf(sources, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        factTypes = Arrays.copyOf(factTypes, capacity);
+      }
+      sources[size] = source;
+      targets[size] = target;
+      factTypes[size] = factType;
+      size++;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.io.PrintStream;
+
+/**
+ * Command line entry point which rebuilds the precomputed Object statistics from all stored Facts using
+ * {@link ObjectStatisticsRebuilder}. See MIGRATIONS.md for when and how to run it. Execute without arguments to print
+ * all options.
+ */
+public class ObjectStatisticsRebuildCommand {
+
+  static final String USAGE = "Usage: " + ObjectStatisticsRebuildCommand.class.getName() + " [options]\n" +
+          CommandLineOptions.CASSANDRA_USAGE +
+          "  --parallelism=<threads>   Number of threads (default number of processors)\n" +
+          "  --token-ranges=<count>    Number of token ranges the Fact table is split into (default 8 per thread)\n";
+
+  private static final Logger LOGGER = Logging.getLogger(ObjectStatisticsRebuildCommand.class);
+  private static final String[] OPTIONS = {"parallelism", "token-ranges"};
+
+  private final PrintStream out;
+  private final int parallelism;
+  private final int tokenRanges;
+
+  ObjectStatisticsRebuildCommand(CommandLineOptions options, PrintStream out) {
+    ObjectUtils.notNull(options, "'options' is null!");
+    this.out = ObjectUtils.notNull(out, "'out' is null!");
+    // Validate all options up front, before connecting to Cassandra.
+    this.parallelism = options.getInt("parallelism", 0);
+    this.tokenRanges = options.getInt("token-ranges", 0);
+  }
+
+  static CommandLineOptions parseOptions(String[] args) {
+    return CommandLineOptions.parse(args, OPTIONS);
+  }
+
+  public static void main(String[] args) {
+    ObjectStatisticsRebuildCommand command;
+    ClusterManager clusterManager;
+    try {
+      CommandLineOptions options = parseOptions(args);
+      command = new ObjectStatisticsRebuildCommand(options, System.out);
+      clusterManager = options.createClusterManager();
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    ObjectManager objectManager = new ObjectManager(clusterManager);
+    FactManager factManager = new FactManager(clusterManager);
+    try {
+      clusterManager.startComponent();
+      objectManager.startComponent();
+      factManager.startComponent();
+      command.execute(objectManager, factManager);
+    } catch (Exception ex) {
+      LOGGER.error(ex, "Could not rebuild Object statistics.");
+      System.exit(1);
+    } finally {
+      factManager.stopComponent();
+      objectManager.stopComponent();
+      clusterManager.stopComponent();
+    }
+  }
+
+  /**
+   * Scan all Facts and record them in the statistics of their bound Objects.
+   *
+   * @param objectManager Started ObjectManager used to update the statistics
+   * @param factManager   Started FactManager used to scan the Facts
+   * @throws InterruptedException If the calling thread is interrupted
+   */
+  void execute(ObjectManager objectManager, FactManager factManager) throws InterruptedException {
+    long count = ObjectStatisticsRebuilder.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            .setParallelism(parallelism)
+            .setTokenRanges(tokenRanges)
+            .build()
+            .rebuild();
+    out.println("Rebuilt Object statistics from " + count + " Facts.");
+    out.flush();
+  }
+}
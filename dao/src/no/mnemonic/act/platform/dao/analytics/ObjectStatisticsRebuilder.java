@@ -0,0 +1,150 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Offline job rebuilding the precomputed Object statistics (see {@link ObjectManager#fetchObjectFactCounts} and
+ * {@link ObjectManager#fetchObjectFactTimestamps}) from all stored Facts. This is required once after upgrading
+ * because the statistics are otherwise only maintained for Facts added after the upgrade.
+ * <p>
+ * The Fact table is scanned in parallel token ranges in the same way as in {@link CsrGraphSnapshotBuilder}. Because
+ * the Fact counts are Cassandra counters the job is not idempotent, i.e. the statistics tables must be truncated
+ * before running the job, and the job must not run while new Facts are added.
+ */
+public class ObjectStatisticsRebuilder {
+
+  private static final Logger LOGGER = Logging.getLogger(ObjectStatisticsRebuilder.class);
+  private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+  // Use more ranges than threads in order to balance the load when the data is not evenly distributed.
+  private static final int DEFAULT_TOKEN_RANGES_PER_THREAD = 8;
+
+  private final ObjectManager objectManager;
+  private final FactManager factManager;
+  private final int parallelism;
+  private final int tokenRanges;
+  private final AtomicBoolean used = new AtomicBoolean();
+
+  private ObjectStatisticsRebuilder(ObjectManager objectManager, FactManager factManager, int parallelism, int tokenRanges) {
+    this.objectManager = ObjectUtils.notNull(objectManager, "'objectManager' is null!");
+    this.factManager = ObjectUtils.notNull(factManager, "'factManager' is null!");
+    this.parallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+    this.tokenRanges = tokenRanges > 0 ? tokenRanges : this.parallelism * DEFAULT_TOKEN_RANGES_PER_THREAD;
+  }
+
+  /**
+   * Scan all Facts and record them in the statistics of their bound Objects.
+   * <p>
+   * A rebuilder instance can only be used once.
+   *
+   * @return Number of scanned Facts
+   * @throws InterruptedException If the calling thread is interrupted while scanning
+   */
+  public long rebuild() throws InterruptedException {
+    if (used.getAndSet(true)) throw new IllegalStateException("Rebuilder has already been used.");
+
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+            .setNameFormat("object-statistics-rebuild-%d")
+            .setDaemon(true)
+            .build());
+
+    long start = System.currentTimeMillis();
+    try {
+      long[] boundaries = CsrGraphSnapshotBuilder.splitTokenRing(tokenRanges);
+      List<Future<Long>> futures = new ArrayList<>(tokenRanges);
+      for (int i = 0; i < tokenRanges; i++) {
+        long fromToken = boundaries[i];
+        long toToken = boundaries[i + 1];
+        futures.add(executor.submit(() -> rebuildTokenRange(fromToken, toToken)));
+      }
+
+      long count = 0;
+      for (Future<Long> future : futures) {
+        count += future.get();
+      }
+
+      LOGGER.info("Rebuilt Object statistics from %d Facts in %d ms.", count, System.currentTimeMillis() - start);
+      return count;
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Could not rebuild Object statistics.", ObjectUtils.ifNull(ex.getCause(), ex));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private long rebuildTokenRange(long fromToken, long toToken) {
+    long count = 0;
+    Iterator<FactEntity> facts = factManager.fetchFactsByTokenRange(fromToken, toToken);
+    while (facts.hasNext()) {
+      FactEntity fact = facts.next();
+      objectManager.recordFactAdded(fact);
+      if (SetUtils.set(fact.getFlags()).contains(FactEntity.Flag.RetractedHint)) {
+        objectManager.recordFactRetracted(fact);
+      }
+      count++;
+    }
+    return count;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private ObjectManager objectManager;
+    private FactManager factManager;
+    private int parallelism;
+    private int tokenRanges;
+
+    private Builder() {
+    }
+
+    public ObjectStatisticsRebuilder build() {
+      return new ObjectStatisticsRebuilder(objectManager, factManager, parallelism, tokenRanges);
+    }
+
+    public Builder setObjectManager(ObjectManager objectManager) {
+      this.objectManager = objectManager;
+      return this;
+    }
+
+    public Builder setFactManager(FactManager factManager) {
+      this.factManager = factManager;
+      return this;
+    }
+
+    /**
+     * Number of threads scanning Cassandra in parallel. Defaults to the number of available processors.
+     *
+     * @param parallelism Number of threads
+     * @return Builder
+     */
+    public Builder setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Number of token ranges the Fact table is split into. Defaults to eight ranges per thread.
+     *
+     * @param tokenRanges Number of token ranges
+     * @return Builder
+     */
+    public Builder setTokenRanges(int tokenRanges) {
+      this.tokenRanges = tokenRanges;
+      return this;
+    }
+  }
+}
@@ -9,6 +9,9 @@ import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.act.platform.dao.api.result.ResultContainer;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -28,6 +31,16 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Fetch multiple Objects by their UUIDs in batches. UUIDs of non-existing Objects are skipped.
+   *
+   * @param id UUIDs of Objects
+   * @return Objects identified by their UUIDs
+   */
+  default Iterator<ObjectRecord> getObjects(List<UUID> id) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Fetch an Object by its type and value. Returns NULL if the Object cannot be found.
    *
@@ -79,6 +92,28 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Fetch multiple Facts by their UUIDs at once. Facts which cannot be found are omitted from the result.
+   *
+   * @param id UUIDs of Facts
+   * @return Facts identified by their UUIDs (in no particular order)
+   */
+  default Iterator<FactRecord> getFacts(Collection<UUID> id) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Fetch all meta Facts directly referencing one of the given Facts (i.e. Facts with 'inReferenceTo' pointing to one
+   * of the given Facts). No access control is performed, the caller is responsible for checking access to the returned
+   * Facts.
+   *
+   * @param id UUIDs of referenced Facts
+   * @return Meta Facts referencing the given Facts (in no particular order)
+   */
+  default Iterator<FactRecord> retrieveMetaFacts(Collection<UUID> id) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Store a new Fact. The caller must ensure that the same Fact (by UUID and logically) is not stored twice. Use
    * {@link #retrieveExistingFacts(FactRecord)} to check if a Fact already exists and {@link #refreshFact(FactRecord)}
@@ -139,6 +174,17 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Determine whether at least one Fact satisfies a search criteria. This is cheaper than
+   * {@link #searchFacts(FactSearchCriteria)} because no Facts are fetched.
+   *
+   * @param criteria Criteria to filter Facts
+   * @return True if at least one Fact satisfies the criteria
+   */
+  default boolean existsFact(FactSearchCriteria criteria) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Store a new ACL entry for an existing Fact. The caller must ensure that the Fact exists.
    *
@@ -7,6 +7,7 @@ import no.mnemonic.commons.component.ComponentException;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import java.net.InetSocketAddress;
@@ -28,11 +29,13 @@ public class ClusterManager implements LifecycleAspect {
   private final String dataCenter;
   private final int port;
   private final Set<String> contactPoints;
+  private final String keyspace;
 
-  private ClusterManager(String dataCenter, int port, Set<String> contactPoints) {
+  private ClusterManager(String dataCenter, int port, Set<String> contactPoints, String keyspace) {
     this.dataCenter = dataCenter;
     this.port = port;
     this.contactPoints = contactPoints;
+    this.keyspace = !StringUtils.isBlank(keyspace) ? keyspace : CassandraEntity.KEY_SPACE;
   }
 
   @Override
@@ -58,7 +61,10 @@ public class ClusterManager implements LifecycleAspect {
         // 'advanced.reconnect-on-init = true' the driver would never stop trying to connect to Cassandra which
         // would block startComponent() forever.
         session = future.get(INITIALIZATION_TIMEOUT, TimeUnit.MILLISECONDS);
-        cassandraMapper = CassandraMapper.builder(session).build();
+        // All DAOs access the tables inside the configured keyspace.
+        cassandraMapper = CassandraMapper.builder(session)
+                .withDefaultKeyspace(keyspace)
+                .build();
       } catch (ExecutionException | TimeoutException ex) {
         // Abort connection attempt and shut down the component.
         future.cancel(true);
@@ -69,7 +75,7 @@ public class ClusterManager implements LifecycleAspect {
         failComponentOnStart(ex);
       }
 
-      LOGGER.info("Initialized connections to Cassandra: %s (port %d)", String.join(",", contactPoints), port);
+      LOGGER.info("Initialized connections to Cassandra: %s (port %d, keyspace %s)", String.join(",", contactPoints), port, keyspace);
     }
   }
 
@@ -96,12 +102,13 @@ public class ClusterManager implements LifecycleAspect {
     private String dataCenter;
     private int port;
     private Set<String> contactPoints;
+    private String keyspace;
 
     private Builder() {
     }
 
     public ClusterManager build() {
-      return new ClusterManager(dataCenter, port, contactPoints);
+      return new ClusterManager(dataCenter, port, contactPoints, keyspace);
     }
 
     public Builder setDataCenter(String dataCenter) {
@@ -123,6 +130,17 @@ public class ClusterManager implements LifecycleAspect {
       this.contactPoints = SetUtils.addToSet(this.contactPoints, contactPoint);
       return this;
     }
+
+    /**
+     * Keyspace containing the ACT tables. Defaults to {@link CassandraEntity#KEY_SPACE}.
+     *
+     * @param keyspace Name of keyspace
+     * @return Builder
+     */
+    public Builder setKeyspace(String keyspace) {
+      this.keyspace = keyspace;
+      return this;
+    }
   }
 
 }
@@ -3,6 +3,7 @@ package no.mnemonic.act.platform.dao.cassandra;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Striped;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.cassandra.mapper.FactDao;
@@ -14,6 +15,7 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -22,6 +24,7 @@ import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 @Singleton
 public class FactManager implements LifecycleAspect {
@@ -31,6 +34,7 @@ public class FactManager implements LifecycleAspect {
 
   private final LoadingCache<UUID, FactTypeEntity> factTypeByIdCache;
   private final LoadingCache<String, FactTypeEntity> factTypeByNameCache;
+  private final Striped<Lock> retractionLocks = Striped.lock(64);
 
   private FactTypeDao factTypeDao;
   private FactDao factDao;
@@ -111,6 +115,12 @@ public class FactManager implements LifecycleAspect {
     return new MultiFetchIterator<>(partition -> factDao.fetchByID(partition).iterator(), id);
   }
 
+  // Returns all Facts where fromToken < token(id) <= toToken. Used to scan the whole table in parallel token ranges.
+  public Iterator<FactEntity> fetchFactsByTokenRange(long fromToken, long toToken) {
+    if (fromToken >= toToken) return Collections.emptyIterator();
+    return factDao.fetchByTokenRange(fromToken, toToken).iterator();
+  }
+
   public FactEntity saveFact(FactEntity fact) {
     if (fact == null) return null;
     if (getFactType(fact.getTypeID()) == null)
@@ -130,12 +140,27 @@ public class FactManager implements LifecycleAspect {
     return fact;
   }
 
-  public FactEntity retractFact(UUID id) {
-    FactEntity fact = getFact(id);
-    if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
-    factDao.save(fact.addFlag(FactEntity.Flag.RetractedHint));
-
-    return fact;
+  /**
+   * Mark a Fact as retracted. A Fact can be retracted multiple times, but the flag is only set once.
+   *
+   * @param id UUID of Fact
+   * @return True if this call set the flag, false if the Fact was already retracted
+   * @throws IllegalArgumentException If the Fact does not exist
+   */
+  public boolean retractFact(UUID id) {
+    // Serialize concurrent retractions of the same Fact, such that only one of them observes the flag as unset.
+    Lock lock = retractionLocks.get(id);
+    lock.lock();
+    try {
+      FactEntity fact = getFact(id);
+      if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
+      if (SetUtils.set(fact.getFlags()).contains(FactEntity.Flag.RetractedHint)) return false;
+
+      factDao.save(fact.addFlag(FactEntity.Flag.RetractedHint));
+      return true;
+    } finally {
+      lock.unlock();
+    }
   }
 
   /* FactAclEntity-related methods */
@@ -145,6 +170,11 @@ public class FactManager implements LifecycleAspect {
     return factDao.fetchAcl(id).all();
   }
 
+  public Iterator<FactAclEntity> fetchFactAclForFacts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return new MultiFetchIterator<>(partition -> factDao.fetchAclByFactID(partition).iterator(), id);
+  }
+
   public FactAclEntity saveFactAclEntry(FactAclEntity entry) {
     if (entry == null) return null;
     if (getFact(entry.getFactID()) == null)
@@ -164,6 +194,11 @@ public class FactManager implements LifecycleAspect {
     return factDao.fetchComments(id).all();
   }
 
+  public Iterator<FactCommentEntity> fetchFactCommentsForFacts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return new MultiFetchIterator<>(partition -> factDao.fetchCommentsByFactID(partition).iterator(), id);
+  }
+
   public FactCommentEntity saveFactComment(FactCommentEntity comment) {
     if (comment == null) return null;
     if (getFact(comment.getFactID()) == null)
@@ -183,6 +218,11 @@ public class FactManager implements LifecycleAspect {
     return factDao.fetchMetaFactBindings(id).all();
   }
 
+  public Iterator<MetaFactBindingEntity> fetchMetaFactBindingsForFacts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return new MultiFetchIterator<>(partition -> factDao.fetchMetaFactBindingsByFactID(partition).iterator(), id);
+  }
+
   public MetaFactBindingEntity saveMetaFactBinding(MetaFactBindingEntity binding) {
     if (binding == null) return null;
     if (getFact(binding.getFactID()) == null)
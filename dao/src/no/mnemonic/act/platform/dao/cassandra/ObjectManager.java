@@ -3,10 +3,7 @@ package no.mnemonic.act.platform.dao.cassandra;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectByTypeValueEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.cassandra.mapper.ObjectDao;
 import no.mnemonic.act.platform.dao.cassandra.mapper.ObjectTypeDao;
@@ -16,12 +13,15 @@ import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Singleton
 public class ObjectManager implements LifecycleAspect {
@@ -161,8 +161,78 @@ public class ObjectManager implements LifecycleAspect {
     return binding;
   }
 
+  /* ObjectFactCountEntity- and ObjectFactTimestampEntity-related methods */
+
+  public List<ObjectFactCountEntity> fetchObjectFactCounts(UUID id) {
+    if (id == null) return ListUtils.list();
+    return objectDao.fetchFactCounts(id).all();
+  }
+
+  public List<ObjectFactTimestampEntity> fetchObjectFactTimestamps(UUID id) {
+    if (id == null) return ListUtils.list();
+    return objectDao.fetchFactTimestamps(id).all();
+  }
+
+  public Iterator<ObjectFactCountEntity> fetchObjectFactCounts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return new MultiFetchIterator<>(partition -> objectDao.fetchFactCountsByObjectID(partition).iterator(), id);
+  }
+
+  public Iterator<ObjectFactTimestampEntity> fetchObjectFactTimestamps(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return new MultiFetchIterator<>(partition -> objectDao.fetchFactTimestampsByObjectID(partition).iterator(), id);
+  }
+
+  /**
+   * Update the statistics of all Objects bound to a newly added Fact, i.e. increment the Fact count and update the
+   * timestamps when the Fact was last added and last seen.
+   *
+   * @param fact Newly added Fact
+   */
+  public void recordFactAdded(FactEntity fact) {
+    forEachBoundObject(fact, objectID -> {
+      objectDao.incrementFactCount(objectID, fact.getTypeID(), fact.getAccessMode(), fact.getOrganizationID(), 1, 0);
+      objectDao.updateLastAddedTimestamp(objectID, fact.getTypeID(), fact.getAccessMode(), fact.getOrganizationID(),
+              fact.getTimestamp(), toWriteTime(fact.getTimestamp()));
+      objectDao.updateLastSeenTimestamp(objectID, fact.getTypeID(), fact.getAccessMode(), fact.getOrganizationID(),
+              fact.getLastSeenTimestamp(), toWriteTime(fact.getLastSeenTimestamp()));
+    });
+  }
+
+  /**
+   * Update the statistics of all Objects bound to a refreshed Fact, i.e. the timestamp when the Fact was last seen.
+   *
+   * @param fact Refreshed Fact
+   */
+  public void recordFactSeen(FactEntity fact) {
+    forEachBoundObject(fact, objectID -> objectDao.updateLastSeenTimestamp(objectID, fact.getTypeID(), fact.getAccessMode(),
+            fact.getOrganizationID(), fact.getLastSeenTimestamp(), toWriteTime(fact.getLastSeenTimestamp())));
+  }
+
+  /**
+   * Update the statistics of all Objects bound to a retracted Fact, i.e. increment the retracted Fact count. This must
+   * only be called once per Fact, when the Fact is retracted for the first time.
+   *
+   * @param fact Retracted Fact
+   */
+  public void recordFactRetracted(FactEntity fact) {
+    forEachBoundObject(fact, objectID -> objectDao.incrementFactCount(objectID, fact.getTypeID(), fact.getAccessMode(),
+            fact.getOrganizationID(), 0, 1));
+  }
+
   /* Private helper methods */
 
+  private void forEachBoundObject(FactEntity fact, Consumer<UUID> action) {
+    if (fact == null || CollectionUtils.isEmpty(fact.getBindings())) return;
+    // An Object bound multiple times to the same Fact must only be counted once.
+    SetUtils.set(fact.getBindings(), FactEntity.FactObjectBinding::getObjectID).forEach(action);
+  }
+
+  private long toWriteTime(long timestamp) {
+    // Cassandra's write time is specified in microseconds.
+    return TimeUnit.MILLISECONDS.toMicros(timestamp);
+  }
+
   private LoadingCache<UUID, ObjectTypeEntity> createObjectTypeByIdCache() {
     return CacheBuilder.newBuilder()
             .expireAfterAccess(10, TimeUnit.MINUTES)
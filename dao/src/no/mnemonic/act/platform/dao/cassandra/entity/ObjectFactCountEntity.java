@@ -0,0 +1,95 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.oss.driver.api.mapper.annotations.ClusteringColumn;
+import com.datastax.oss.driver.api.mapper.annotations.CqlName;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
+import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactCountEntity.TABLE;
+
+/**
+ * Counter of the Facts bound to an Object, grouped by FactType, access mode and organization. The counters are
+ * maintained when Facts are stored or retracted, thus, the number of Facts bound to an Object can be read without
+ * fetching all bindings.
+ */
+@Entity(defaultKeyspace = KEY_SPACE)
+@CqlName(TABLE)
+public class ObjectFactCountEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_fact_count";
+
+  @PartitionKey
+  @CqlName("object_id")
+  private UUID objectID;
+  @ClusteringColumn(0)
+  @CqlName("fact_type_id")
+  private UUID factTypeID;
+  @ClusteringColumn(1)
+  @CqlName("access_mode")
+  private AccessMode accessMode;
+  @ClusteringColumn(2)
+  @CqlName("organization_id")
+  private UUID organizationID;
+  @CqlName("fact_count")
+  private long factCount;
+  @CqlName("retracted_count")
+  private long retractedCount;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectFactCountEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectFactCountEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectFactCountEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectFactCountEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public long getFactCount() {
+    return factCount;
+  }
+
+  public ObjectFactCountEntity setFactCount(long factCount) {
+    this.factCount = factCount;
+    return this;
+  }
+
+  public long getRetractedCount() {
+    return retractedCount;
+  }
+
+  public ObjectFactCountEntity setRetractedCount(long retractedCount) {
+    this.retractedCount = retractedCount;
+    return this;
+  }
+
+}
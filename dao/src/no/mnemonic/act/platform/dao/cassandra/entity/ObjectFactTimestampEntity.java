@@ -0,0 +1,94 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.oss.driver.api.mapper.annotations.ClusteringColumn;
+import com.datastax.oss.driver.api.mapper.annotations.CqlName;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
+import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactTimestampEntity.TABLE;
+
+/**
+ * Latest timestamps of the Facts bound to an Object, grouped by FactType, access mode and organization. The timestamps
+ * are written with a write time equal to their value, thus, Cassandra's last-write-wins keeps the maximum timestamp.
+ */
+@Entity(defaultKeyspace = KEY_SPACE)
+@CqlName(TABLE)
+public class ObjectFactTimestampEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_fact_timestamp";
+
+  @PartitionKey
+  @CqlName("object_id")
+  private UUID objectID;
+  @ClusteringColumn(0)
+  @CqlName("fact_type_id")
+  private UUID factTypeID;
+  @ClusteringColumn(1)
+  @CqlName("access_mode")
+  private AccessMode accessMode;
+  @ClusteringColumn(2)
+  @CqlName("organization_id")
+  private UUID organizationID;
+  @CqlName("last_added_timestamp")
+  private long lastAddedTimestamp;
+  @CqlName("last_seen_timestamp")
+  private long lastSeenTimestamp;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectFactTimestampEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectFactTimestampEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectFactTimestampEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectFactTimestampEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public long getLastAddedTimestamp() {
+    return lastAddedTimestamp;
+  }
+
+  public ObjectFactTimestampEntity setLastAddedTimestamp(long lastAddedTimestamp) {
+    this.lastAddedTimestamp = lastAddedTimestamp;
+    return this;
+  }
+
+  public long getLastSeenTimestamp() {
+    return lastSeenTimestamp;
+  }
+
+  public ObjectFactTimestampEntity setLastSeenTimestamp(long lastSeenTimestamp) {
+    this.lastSeenTimestamp = lastSeenTimestamp;
+    return this;
+  }
+
+}
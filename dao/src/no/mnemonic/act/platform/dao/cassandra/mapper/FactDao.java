@@ -11,7 +11,6 @@ import java.util.List;
 import java.util.UUID;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
-import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
 
 @Dao
 @DefaultNullSavingStrategy(DO_NOT_SET)
@@ -25,9 +24,12 @@ public interface FactDao {
   @Select
   FactEntity get(UUID id);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + FactEntity.TABLE + " WHERE id IN :id")
+  @Query("SELECT * FROM ${keyspaceId}." + FactEntity.TABLE + " WHERE id IN :id")
   PagingIterable<FactEntity> fetchByID(List<UUID> id);
 
+  @Query("SELECT * FROM ${keyspaceId}." + FactEntity.TABLE + " WHERE token(id) > :fromToken AND token(id) <= :toToken")
+  PagingIterable<FactEntity> fetchByTokenRange(long fromToken, long toToken);
+
   /* MetaFactBindingEntity-related methods */
 
   @Insert
@@ -36,9 +38,12 @@ public interface FactDao {
   @Select
   MetaFactBindingEntity getMetaFactBinding(UUID factID, UUID metaFactID);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + MetaFactBindingEntity.TABLE + " WHERE fact_id = :id")
+  @Query("SELECT * FROM ${keyspaceId}." + MetaFactBindingEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<MetaFactBindingEntity> fetchMetaFactBindings(UUID id);
 
+  @Query("SELECT * FROM ${keyspaceId}." + MetaFactBindingEntity.TABLE + " WHERE fact_id IN :id")
+  PagingIterable<MetaFactBindingEntity> fetchMetaFactBindingsByFactID(List<UUID> id);
+
   /* FactAclEntity-related methods */
 
   @Insert
@@ -47,9 +52,12 @@ public interface FactDao {
   @Select
   FactAclEntity getAclEntry(UUID factID, UUID id);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + FactAclEntity.TABLE + " WHERE fact_id = :id")
+  @Query("SELECT * FROM ${keyspaceId}." + FactAclEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactAclEntity> fetchAcl(UUID id);
 
+  @Query("SELECT * FROM ${keyspaceId}." + FactAclEntity.TABLE + " WHERE fact_id IN :id")
+  PagingIterable<FactAclEntity> fetchAclByFactID(List<UUID> id);
+
   /* FactCommentEntity-related methods */
 
   @Insert
@@ -58,7 +66,10 @@ public interface FactDao {
   @Select
   FactCommentEntity getComment(UUID factID, UUID id);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + FactCommentEntity.TABLE + " WHERE fact_id = :id")
+  @Query("SELECT * FROM ${keyspaceId}." + FactCommentEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactCommentEntity> fetchComments(UUID id);
 
+  @Query("SELECT * FROM ${keyspaceId}." + FactCommentEntity.TABLE + " WHERE fact_id IN :id")
+  PagingIterable<FactCommentEntity> fetchCommentsByFactID(List<UUID> id);
+
 }
@@ -7,7 +7,6 @@ import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import java.util.UUID;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
-import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
 
 @Dao
 @DefaultNullSavingStrategy(DO_NOT_SET)
@@ -19,10 +18,10 @@ public interface FactTypeDao {
   @Select
   FactTypeEntity get(UUID id);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + FactTypeEntity.TABLE + " WHERE name = :name")
+  @Query("SELECT * FROM ${keyspaceId}." + FactTypeEntity.TABLE + " WHERE name = :name")
   FactTypeEntity get(String name);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + FactTypeEntity.TABLE)
+  @Query("SELECT * FROM ${keyspaceId}." + FactTypeEntity.TABLE)
   PagingIterable<FactTypeEntity> fetch();
 
 }
@@ -2,15 +2,12 @@ package no.mnemonic.act.platform.dao.cassandra.mapper;
 
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.mapper.annotations.*;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectByTypeValueEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 
 import java.util.List;
 import java.util.UUID;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
-import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
 
 @Dao
 @DefaultNullSavingStrategy(DO_NOT_SET)
@@ -24,7 +21,7 @@ public interface ObjectDao {
   @Select
   ObjectEntity get(UUID id);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectEntity.TABLE + " WHERE id IN :id")
+  @Query("SELECT * FROM ${keyspaceId}." + ObjectEntity.TABLE + " WHERE id IN :id")
   PagingIterable<ObjectEntity> fetchByID(List<UUID> id);
 
   /* ObjectByTypeValueEntity-related methods */
@@ -43,7 +40,39 @@ public interface ObjectDao {
   @Select
   ObjectFactBindingEntity getObjectFactBinding(UUID objectID, UUID factID);
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
+  @Query("SELECT * FROM ${keyspaceId}." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
   PagingIterable<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id);
 
+  /* ObjectFactCountEntity-related methods */
+
+  @Query("UPDATE ${keyspaceId}." + ObjectFactCountEntity.TABLE +
+          " SET fact_count = fact_count + :factCount, retracted_count = retracted_count + :retractedCount" +
+          " WHERE object_id = :objectID AND fact_type_id = :factTypeID AND access_mode = :accessMode AND organization_id = :organizationID")
+  void incrementFactCount(UUID objectID, UUID factTypeID, AccessMode accessMode, UUID organizationID, long factCount, long retractedCount);
+
+  @Query("SELECT * FROM ${keyspaceId}." + ObjectFactCountEntity.TABLE + " WHERE object_id = :id")
+  PagingIterable<ObjectFactCountEntity> fetchFactCounts(UUID id);
+
+  @Query("SELECT * FROM ${keyspaceId}." + ObjectFactCountEntity.TABLE + " WHERE object_id IN :id")
+  PagingIterable<ObjectFactCountEntity> fetchFactCountsByObjectID(List<UUID> id);
+
+  /* ObjectFactTimestampEntity-related methods */
+
+  // The write time equals the timestamp (in microseconds), thus, an older timestamp never overwrites a newer one.
+  @Query("UPDATE ${keyspaceId}." + ObjectFactTimestampEntity.TABLE + " USING TIMESTAMP :writeTime" +
+          " SET last_added_timestamp = :timestamp" +
+          " WHERE object_id = :objectID AND fact_type_id = :factTypeID AND access_mode = :accessMode AND organization_id = :organizationID")
+  void updateLastAddedTimestamp(UUID objectID, UUID factTypeID, AccessMode accessMode, UUID organizationID, long timestamp, long writeTime);
+
+  @Query("UPDATE ${keyspaceId}." + ObjectFactTimestampEntity.TABLE + " USING TIMESTAMP :writeTime" +
+          " SET last_seen_timestamp = :timestamp" +
+          " WHERE object_id = :objectID AND fact_type_id = :factTypeID AND access_mode = :accessMode AND organization_id = :organizationID")
+  void updateLastSeenTimestamp(UUID objectID, UUID factTypeID, AccessMode accessMode, UUID organizationID, long timestamp, long writeTime);
+
+  @Query("SELECT * FROM ${keyspaceId}." + ObjectFactTimestampEntity.TABLE + " WHERE object_id = :id")
+  PagingIterable<ObjectFactTimestampEntity> fetchFactTimestamps(UUID id);
+
+  @Query("SELECT * FROM ${keyspaceId}." + ObjectFactTimestampEntity.TABLE + " WHERE object_id IN :id")
+  PagingIterable<ObjectFactTimestampEntity> fetchFactTimestampsByObjectID(List<UUID> id);
+
 }
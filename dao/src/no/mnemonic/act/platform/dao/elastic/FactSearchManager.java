@@ -92,6 +92,10 @@ public class FactSearchManager implements LifecycleAspect {
 
   private static final float CONFIDENCE_EQUALITY_INTERVAL = 0.01f;
 
+  // When a limit is specified fetch limit + max(limit / PAGE_SIZE_HEADROOM_DIVISOR, MINIMUM_PAGE_SIZE_HEADROOM) Facts per page.
+  private static final int PAGE_SIZE_HEADROOM_DIVISOR = 4;
+  private static final int MINIMUM_PAGE_SIZE_HEADROOM = 10;
+
   private static final Logger LOGGER = Logging.getLogger(FactSearchManager.class);
 
   private static final ObjectMapper MAPPER = JsonMapper.builder().build();
@@ -234,9 +238,10 @@ public class FactSearchManager implements LifecycleAspect {
   public ScrollingSearchResult<FactDocument> searchFacts(FactSearchCriteria criteria) {
     if (criteria == null) return ScrollingSearchResult.<FactDocument>builder().build();
 
+    int pageSize = calculatePageSize(criteria);
     SearchResponse response;
     try {
-      response = clientFactory.getClient().search(buildFactsSearchRequest(criteria), RequestOptions.DEFAULT);
+      response = clientFactory.getClient().search(buildFactsSearchRequest(criteria, pageSize), RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for Facts.");
     }
@@ -248,12 +253,43 @@ public class FactSearchManager implements LifecycleAspect {
 
     LOGGER.info("Successfully initiated streaming of search results. Start fetching data.");
     return ScrollingSearchResult.<FactDocument>builder()
-            .setInitialBatch(createFactsBatch(response))
-            .setFetchNextBatch(this::fetchNextFactsBatch)
+            .setInitialBatch(createFactsBatch(response, pageSize))
+            .setFetchNextBatch(scrollId -> fetchNextFactsBatch(scrollId, pageSize))
             .setCount((int) response.getHits().getTotalHits())
+            .setBatchSize(pageSize)
             .build();
   }
 
+  /**
+   * Determine whether at least one Fact indexed in ElasticSearch satisfies a given search criteria. In contrast to
+   * {@link #searchFacts(FactSearchCriteria)} no search context is opened and no Facts are returned. ElasticSearch
+   * stops searching after the first match and doesn't count the total number of hits, thus, this is a cheap request.
+   * <p>
+   * Both 'currentUserID' (identifying the calling user) and 'availableOrganizationID' (identifying the Organizations
+   * the calling user has access to) must be set in the search criteria in order to apply access control to Facts. Only
+   * Facts accessible to the calling user will be considered.
+   *
+   * @param criteria Search criteria to match against Facts
+   * @return True if at least one Fact satisfies the search criteria
+   */
+  public boolean existsFact(FactSearchCriteria criteria) {
+    if (criteria == null) return false;
+
+    SearchResponse response;
+    try {
+      response = clientFactory.getClient().search(buildFactExistsSearchRequest(criteria), RequestOptions.DEFAULT);
+    } catch (ElasticsearchException | IOException ex) {
+      throw logAndExit(ex, "Could not perform request to determine whether a Fact exists.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not determine whether a Fact exists (response code %s).", response.status());
+      return false;
+    }
+
+    return response.getHits().getHits().length > 0;
+  }
+
   /**
    * Search for Objects indexed in ElasticSearch by a given search criteria. Only Objects satisfying the search criteria
    * will be returned. Returns an empty result container if no Object satisfies the search criteria.
@@ -394,7 +430,7 @@ public class FactSearchManager implements LifecycleAspect {
     LOGGER.info("Successfully created index '%s'.", INDEX_NAME);
   }
 
-  private ScrollingSearchResult.ScrollingBatch<FactDocument> fetchNextFactsBatch(String scrollId) {
+  private ScrollingSearchResult.ScrollingBatch<FactDocument> fetchNextFactsBatch(String scrollId, int pageSize) {
     SearchResponse response;
     try {
       SearchScrollRequest request = new SearchScrollRequest()
@@ -411,14 +447,14 @@ public class FactSearchManager implements LifecycleAspect {
       return ScrollingSearchResult.emptyBatch();
     }
 
-    return createFactsBatch(response);
+    return createFactsBatch(response, pageSize);
   }
 
-  private ScrollingSearchResult.ScrollingBatch<FactDocument> createFactsBatch(SearchResponse response) {
+  private ScrollingSearchResult.ScrollingBatch<FactDocument> createFactsBatch(SearchResponse response, int pageSize) {
     List<FactDocument> values = retrieveFactDocuments(response);
     LOGGER.debug("Successfully retrieved next batch of search results (batch: %d, total: %d).", values.size(), response.getHits().getTotalHits());
 
-    boolean finished = values.size() < searchScrollSize;
+    boolean finished = values.size() < pageSize;
     if (finished) {
       LOGGER.info("Successfully retrieved all search results. No more data available.");
       // Close search context when all results have been fetched. If the client doesn't consume all results the context
@@ -461,9 +497,9 @@ public class FactSearchManager implements LifecycleAspect {
             .source(sourceBuilder);
   }
 
-  private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria) {
+  private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria, int pageSize) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
-            .size(searchScrollSize)
+            .size(pageSize)
             .query(buildFactsQuery(criteria));
     return new SearchRequest()
             .indices(INDEX_NAME)
@@ -472,6 +508,19 @@ public class FactSearchManager implements LifecycleAspect {
             .source(sourceBuilder);
   }
 
+  private SearchRequest buildFactExistsSearchRequest(FactSearchCriteria criteria) {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(1) // Only interested in whether there is a hit, not in the hit itself.
+            .fetchSource(false)
+            .terminateAfter(1)
+            .trackTotalHits(false)
+            .query(buildFactsQuery(criteria));
+    return new SearchRequest()
+            .indices(INDEX_NAME)
+            .types(TYPE_NAME)
+            .source(sourceBuilder);
+  }
+
   private SearchRequest buildObjectsSearchRequest(FactSearchCriteria criteria) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
@@ -736,6 +785,16 @@ public class FactSearchManager implements LifecycleAspect {
     return strategy;
   }
 
+  private int calculatePageSize(FactSearchCriteria criteria) {
+    if (criteria.getLimit() <= 0) return searchScrollSize;
+
+    // Don't fetch a full page if only a few results are requested. Callers usually filter out some of the returned
+    // Facts (e.g. retracted Facts), thus, add some headroom in order to avoid additional round trips. If the headroom
+    // isn't sufficient the next page is fetched as usual.
+    long pageSize = (long) criteria.getLimit() + Math.max(criteria.getLimit() / PAGE_SIZE_HEADROOM_DIVISOR, MINIMUM_PAGE_SIZE_HEADROOM);
+    return (int) Math.min(pageSize, searchScrollSize);
+  }
+
   private int calculateMaximumSize(FactSearchCriteria criteria) {
     return criteria.getLimit() > 0 && criteria.getLimit() < MAX_RESULT_WINDOW ? criteria.getLimit() : MAX_RESULT_WINDOW;
   }
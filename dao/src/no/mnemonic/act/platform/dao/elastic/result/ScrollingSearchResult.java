@@ -17,13 +17,15 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
 
   private final Function<String, ScrollingBatch<T>> fetchNextBatch;
   private final int count;
+  private final int batchSize;
 
   private ScrollingBatch<T> currentBatch;
 
-  private ScrollingSearchResult(ScrollingBatch<T> initialBatch, Function<String, ScrollingBatch<T>> fetchNextBatch, int count) {
+  private ScrollingSearchResult(ScrollingBatch<T> initialBatch, Function<String, ScrollingBatch<T>> fetchNextBatch, int count, int batchSize) {
     this.currentBatch = ObjectUtils.notNull(initialBatch, "'initialBatch' cannot be null!");
     this.fetchNextBatch = ObjectUtils.notNull(fetchNextBatch, "'fetchNextBatch' cannot be null!");
     this.count = count;
+    this.batchSize = batchSize;
   }
 
   @Override
@@ -50,6 +52,15 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
     return count;
   }
 
+  /**
+   * Returns the maximum number of documents fetched from ElasticSearch per batch, or 0 if not specified.
+   *
+   * @return Maximum number of documents per batch
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
   /**
    * Returns an empty batch of results which is marked as finished.
    *
@@ -79,6 +90,7 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
     private ScrollingBatch<T> initialBatch = emptyBatch();
     private Function<String, ScrollingBatch<T>> fetchNextBatch = scrollId -> emptyBatch();
     private int count;
+    private int batchSize;
 
     private Builder() {
     }
@@ -89,7 +101,7 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
      * @return New ScrollingSearchResult
      */
     public ScrollingSearchResult<T> build() {
-      return new ScrollingSearchResult<>(initialBatch, fetchNextBatch, count);
+      return new ScrollingSearchResult<>(initialBatch, fetchNextBatch, count, batchSize);
     }
 
     /**
@@ -126,6 +138,17 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
       this.count = count;
       return this;
     }
+
+    /**
+     * Sets the maximum number of documents fetched from ElasticSearch per batch.
+     *
+     * @param batchSize Maximum number of documents per batch
+     * @return This builder
+     */
+    public Builder<T> setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
   }
 
   /**
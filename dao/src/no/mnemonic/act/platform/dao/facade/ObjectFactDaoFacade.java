@@ -23,12 +23,13 @@ import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
 import no.mnemonic.act.platform.dao.facade.utilities.BatchingIterator;
 import no.mnemonic.act.platform.dao.facade.utilities.MappingIterator;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class ObjectFactDaoFacade implements ObjectFactDao {
@@ -40,6 +41,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   private final FactRecordConverter factRecordConverter;
   private final FactAclEntryRecordConverter factAclEntryRecordConverter;
   private final FactCommentRecordConverter factCommentRecordConverter;
+  private final GraphElementCache graphElementCache;
 
   @Inject
   public ObjectFactDaoFacade(ObjectManager objectManager,
@@ -48,7 +50,8 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
                              ObjectRecordConverter objectRecordConverter,
                              FactRecordConverter factRecordConverter,
                              FactAclEntryRecordConverter factAclEntryRecordConverter,
-                             FactCommentRecordConverter factCommentRecordConverter) {
+                             FactCommentRecordConverter factCommentRecordConverter,
+                             GraphElementCache graphElementCache) {
     this.objectManager = objectManager;
     this.factManager = factManager;
     this.factSearchManager = factSearchManager;
@@ -56,6 +59,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     this.factRecordConverter = factRecordConverter;
     this.factAclEntryRecordConverter = factAclEntryRecordConverter;
     this.factCommentRecordConverter = factCommentRecordConverter;
+    this.graphElementCache = graphElementCache;
   }
 
   @Override
@@ -64,6 +68,12 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return objectRecordConverter.fromEntity(objectManager.getObject(id));
   }
 
+  @Override
+  public Iterator<ObjectRecord> getObjects(List<UUID> id) {
+    // Just delegate to ObjectManager and convert result.
+    return new MappingIterator<>(objectManager.getObjects(id), objectRecordConverter::fromEntity);
+  }
+
   @Override
   public ObjectRecord getObject(String type, String value) {
     // Just delegate to ObjectManager and convert result.
@@ -85,8 +95,46 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
 
   @Override
   public ObjectStatisticsContainer calculateObjectStatistics(ObjectStatisticsCriteria criteria) {
-    // Just delegate it to FactSearchManager, nothing else needs to be done.
-    return factSearchManager.calculateObjectStatistics(criteria);
+    if (criteria == null) return ObjectStatisticsContainer.builder().build();
+
+    // Read the precomputed statistics from Cassandra. They are aggregated per organization and don't contain ACLs,
+    // thus, they can only be used for Objects where the user has access to all bound Facts without consulting an ACL.
+    Map<UUID, Map<UUID, FactStatisticAggregate>> aggregates = new HashMap<>();
+    Set<UUID> requireAclCheck = new HashSet<>();
+    objectManager.fetchObjectFactCounts(ListUtils.list(criteria.getObjectID())).forEachRemaining(count -> {
+      if (!isAccessibleWithoutAcl(count.getAccessMode(), count.getOrganizationID(), criteria.getAvailableOrganizationID())) {
+        requireAclCheck.add(count.getObjectID());
+        return;
+      }
+      aggregate(aggregates, count.getObjectID(), count.getFactTypeID()).factCount += count.getFactCount();
+    });
+    requireAclCheck.forEach(aggregates::remove);
+
+    if (!aggregates.isEmpty()) {
+      objectManager.fetchObjectFactTimestamps(ListUtils.list(aggregates.keySet())).forEachRemaining(timestamp -> {
+        if (!aggregates.containsKey(timestamp.getObjectID())) return;
+        if (!isAccessibleWithoutAcl(timestamp.getAccessMode(), timestamp.getOrganizationID(), criteria.getAvailableOrganizationID())) return;
+        FactStatisticAggregate aggregate = aggregate(aggregates, timestamp.getObjectID(), timestamp.getFactTypeID());
+        aggregate.lastAddedTimestamp = Math.max(aggregate.lastAddedTimestamp, timestamp.getLastAddedTimestamp());
+        aggregate.lastSeenTimestamp = Math.max(aggregate.lastSeenTimestamp, timestamp.getLastSeenTimestamp());
+      });
+    }
+
+    ObjectStatisticsContainer.Builder builder = ObjectStatisticsContainer.builder();
+    aggregates.forEach((objectID, statistics) -> statistics.forEach((factTypeID, aggregate) -> builder.addStatistic(objectID,
+            new ObjectStatisticsContainer.FactStatistic(factTypeID, (int) aggregate.factCount, aggregate.lastAddedTimestamp, aggregate.lastSeenTimestamp))));
+
+    // Fall back to the (expensive) aggregation in ElasticSearch for all Objects requiring explicit ACL filtering.
+    if (!requireAclCheck.isEmpty()) {
+      ObjectStatisticsContainer fallback = factSearchManager.calculateObjectStatistics(ObjectStatisticsCriteria.builder()
+              .setObjectID(requireAclCheck)
+              .setCurrentUserID(criteria.getCurrentUserID())
+              .setAvailableOrganizationID(criteria.getAvailableOrganizationID())
+              .build());
+      requireAclCheck.forEach(objectID -> fallback.getStatistics(objectID).forEach(statistic -> builder.addStatistic(objectID, statistic)));
+    }
+
+    return builder.build();
   }
 
   @Override
@@ -117,6 +165,24 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return factRecordConverter.fromEntity(factManager.getFact(id));
   }
 
+  @Override
+  public Iterator<FactRecord> getFacts(Collection<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+
+    // Fetch all Facts at once and convert them while iterating over the result.
+    return new MappingIterator<>(factManager.getFacts(new ArrayList<>(id)), factRecordConverter::fromEntity);
+  }
+
+  @Override
+  public Iterator<FactRecord> retrieveMetaFacts(Collection<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+
+    // Fetch the bindings of all referenced Facts at once, followed by all meta Facts at once.
+    List<UUID> metaFactID = ListUtils.list(ListUtils.list(factManager.fetchMetaFactBindingsForFacts(new ArrayList<>(id))),
+            MetaFactBindingEntity::getMetaFactID);
+    return getFacts(metaFactID);
+  }
+
   @Override
   public FactRecord storeFact(FactRecord record) {
     if (record == null) return null;
@@ -131,6 +197,8 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     factManager.saveFact(entity);
     saveFactObjectBindings(entity);
     saveMetaFactBindings(entity);
+    // Keep the precomputed statistics of the bound Objects up-to-date.
+    objectManager.recordFactAdded(entity);
 
     // Save all ACL entries and comments in Cassandra.
     saveAclEntries(record);
@@ -146,7 +214,8 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   public FactRecord refreshFact(FactRecord record) {
     if (record == null) return null;
 
-    factManager.refreshFact(record.getId());
+    objectManager.recordFactSeen(factManager.refreshFact(record.getId()));
+    graphElementCache.invalidateFact(record.getId());
 
     // Save new ACL entries and comments in Cassandra.
     saveAclEntries(record);
@@ -160,7 +229,12 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   public FactRecord retractFact(FactRecord record) {
     if (record == null) return null;
 
-    factManager.retractFact(record.getId());
+    // A Fact can be retracted multiple times, but it must only be counted once in the Object statistics. Only count it
+    // if this call has set the flag, the given record might be outdated if the Fact is retracted concurrently.
+    if (factManager.retractFact(record.getId())) {
+      objectManager.recordFactRetracted(factManager.getFact(record.getId()));
+    }
+    graphElementCache.invalidateFact(record.getId());
 
     // Save new ACL entries and comments in Cassandra.
     saveAclEntries(record);
@@ -179,7 +253,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       return ResultContainer.<FactRecord>builder().build();
     }
 
-    return createResultContainer(searchResult.getValues().iterator(), searchResult.getCount());
+    return createResultContainer(searchResult.getValues().iterator(), searchResult.getCount(), BatchingIterator.DEFAULT_BATCH_SIZE);
   }
 
   @Override
@@ -191,7 +265,13 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       return ResultContainer.<FactRecord>builder().build();
     }
 
-    return createResultContainer(searchResult, searchResult.getCount());
+    // Fetch Facts from Cassandra in batches of the same size as the pages returned from ElasticSearch.
+    return createResultContainer(searchResult, searchResult.getCount(), searchResult.getBatchSize());
+  }
+
+  @Override
+  public boolean existsFact(FactSearchCriteria criteria) {
+    return factSearchManager.existsFact(criteria);
   }
 
   @Override
@@ -225,6 +305,8 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
               .setFactID(fact.getId())
               .setDirection(binding.getDirection())
       );
+      // The Object's cached bindings are outdated now, make the new Fact visible in graph traversals.
+      graphElementCache.invalidateBindings(binding.getObjectID());
     }
   }
 
@@ -286,6 +368,17 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     factManager.saveFactComment(factCommentRecordConverter.toEntity(comment, fact.getId()));
   }
 
+  private boolean isAccessibleWithoutAcl(AccessMode accessMode, UUID organizationID, Set<UUID> availableOrganizationID) {
+    // Public Facts are accessible by everyone, role-based Facts by members of the owning organization. In all other
+    // cases access might only be granted via the ACL.
+    if (accessMode == AccessMode.Public) return true;
+    return accessMode == AccessMode.RoleBased && SetUtils.set(availableOrganizationID).contains(organizationID);
+  }
+
+  private FactStatisticAggregate aggregate(Map<UUID, Map<UUID, FactStatisticAggregate>> aggregates, UUID objectID, UUID factTypeID) {
+    return aggregates.computeIfAbsent(objectID, id -> new HashMap<>()).computeIfAbsent(factTypeID, id -> new FactStatisticAggregate());
+  }
+
   private FactRecord reindexFact(UUID factID) {
     // getFact() will fetch all required information from Cassandra (the authoritative data store).
     // Because of that, the returned record will contain up-to-date information.
@@ -296,11 +389,11 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return record;
   }
 
-  private ResultContainer<FactRecord> createResultContainer(Iterator<FactDocument> results, int count) {
+  private ResultContainer<FactRecord> createResultContainer(Iterator<FactDocument> results, int count, int batchSize) {
     // Iterator which maps FactDocument to UUID.
     Iterator<UUID> idIterator = new MappingIterator<>(results, FactDocument::getId);
     // Iterator which fetches FactEntity from Cassandra in batches.
-    Iterator<FactEntity> batchingIterator = new BatchingIterator<>(idIterator, factManager::getFacts);
+    Iterator<FactEntity> batchingIterator = new BatchingIterator<>(idIterator, factManager::getFacts, batchSize);
     // Iterator which maps FactEntity to FactRecord.
     Iterator<FactRecord> recordIterator = new MappingIterator<>(batchingIterator, factRecordConverter::fromEntity);
 
@@ -309,4 +402,10 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
             .setValues(recordIterator)
             .build();
   }
+
+  private static class FactStatisticAggregate {
+    private long factCount;
+    private long lastAddedTimestamp;
+    private long lastSeenTimestamp;
+  }
 }
@@ -13,10 +13,14 @@ import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static no.mnemonic.act.platform.dao.cassandra.entity.Direction.FactIsDestination;
 import static no.mnemonic.act.platform.dao.cassandra.entity.Direction.FactIsSource;
@@ -56,30 +60,45 @@ public class FactRecordConverter {
   public FactRecord fromEntity(FactEntity entity) {
     if (entity == null) return null;
 
-    // Set all fields directly available on entity.
-    FactRecord record = new FactRecord()
-            .setId(entity.getId())
-            .setTypeID(entity.getTypeID())
-            .setValue(entity.getValue())
-            .setInReferenceToID(entity.getInReferenceToID())
-            .setOrganizationID(entity.getOrganizationID())
-            .setOriginID(entity.getOriginID())
-            .setAddedByID(entity.getAddedByID())
-            .setAccessMode(ObjectUtils.ifNotNull(entity.getAccessMode(), m -> FactRecord.AccessMode.valueOf(m.name())))
-            .setConfidence(entity.getConfidence())
-            .setTrust(entity.getTrust())
-            .setTimestamp(entity.getTimestamp())
-            .setLastSeenTimestamp(entity.getLastSeenTimestamp())
-            .setFlags(SetUtils.set(entity.getFlags(), flag -> FactRecord.Flag.valueOf(flag.name())));
+    FactRecord record = convertFields(entity);
 
     // Populate with records from related entities.
-    populateObjects(record, entity);
+    populateObjects(record, entity, this::convertObject);
     populateFactAcl(record);
     populateFactComments(record);
 
     return record;
   }
 
+  /**
+   * Convert multiple {@link FactEntity} to {@link FactRecord} at once. In contrast to {@link #fromEntity(FactEntity)}
+   * related information (Objects, ACL and comments) is fetched in batches for all Facts instead of one-by-one.
+   * Objects already available to the caller can be passed in via 'knownObjects' and won't be fetched again.
+   *
+   * @param entities     Facts to convert
+   * @param knownObjects Already available Objects, keyed by their UUID (can be null)
+   * @return Converted Facts (in the same order as the given entities)
+   */
+  public List<FactRecord> fromEntities(List<FactEntity> entities, Map<UUID, ObjectRecord> knownObjects) {
+    if (CollectionUtils.isEmpty(entities)) return ListUtils.list();
+
+    List<UUID> factID = ListUtils.list(entities, FactEntity::getId);
+    Map<UUID, ObjectRecord> objects = fetchMissingObjects(entities, knownObjects);
+    Map<UUID, List<FactAclEntity>> acl = groupByFact(factManager.fetchFactAclForFacts(factID), FactAclEntity::getFactID);
+    Map<UUID, List<FactCommentEntity>> comments = groupByFact(factManager.fetchFactCommentsForFacts(factID), FactCommentEntity::getFactID);
+
+    List<FactRecord> records = new ArrayList<>(entities.size());
+    for (FactEntity entity : entities) {
+      FactRecord record = convertFields(entity);
+      populateObjects(record, entity, objects::get);
+      acl.getOrDefault(record.getId(), ListUtils.list()).forEach(e -> record.addAclEntry(factAclEntryRecordConverter.fromEntity(e)));
+      comments.getOrDefault(record.getId(), ListUtils.list()).forEach(e -> record.addComment(factCommentRecordConverter.fromEntity(e)));
+      records.add(record);
+    }
+
+    return records;
+  }
+
   /**
    * Convert {@link FactRecord} to {@link FactEntity}.
    *
@@ -189,34 +208,72 @@ public class FactRecordConverter {
     return criteriaBuilder.build();
   }
 
-  private void populateObjects(FactRecord record, FactEntity entity) {
+  private FactRecord convertFields(FactEntity entity) {
+    // Set all fields directly available on entity.
+    return new FactRecord()
+            .setId(entity.getId())
+            .setTypeID(entity.getTypeID())
+            .setValue(entity.getValue())
+            .setInReferenceToID(entity.getInReferenceToID())
+            .setOrganizationID(entity.getOrganizationID())
+            .setOriginID(entity.getOriginID())
+            .setAddedByID(entity.getAddedByID())
+            .setAccessMode(ObjectUtils.ifNotNull(entity.getAccessMode(), m -> FactRecord.AccessMode.valueOf(m.name())))
+            .setConfidence(entity.getConfidence())
+            .setTrust(entity.getTrust())
+            .setTimestamp(entity.getTimestamp())
+            .setLastSeenTimestamp(entity.getLastSeenTimestamp())
+            .setFlags(SetUtils.set(entity.getFlags(), flag -> FactRecord.Flag.valueOf(flag.name())));
+  }
+
+  private Map<UUID, ObjectRecord> fetchMissingObjects(List<FactEntity> entities, Map<UUID, ObjectRecord> knownObjects) {
+    Map<UUID, ObjectRecord> objects = new HashMap<>(MapUtils.map(knownObjects));
+    List<UUID> missing = entities.stream()
+            .flatMap(entity -> ListUtils.list(entity.getBindings()).stream())
+            .map(FactEntity.FactObjectBinding::getObjectID)
+            .filter(id -> !objects.containsKey(id))
+            .distinct()
+            .collect(Collectors.toList());
+    // Fetch all Objects not known by the caller with one multi-fetch.
+    objectManager.getObjects(missing).forEachRemaining(object -> objects.put(object.getId(), objectRecordConverter.fromEntity(object)));
+    return objects;
+  }
+
+  private <T> Map<UUID, List<T>> groupByFact(Iterator<T> entities, Function<T, UUID> factID) {
+    Map<UUID, List<T>> result = new HashMap<>();
+    entities.forEachRemaining(entity -> result.computeIfAbsent(factID.apply(entity), id -> new ArrayList<>()).add(entity));
+    return result;
+  }
+
+  private void populateObjects(FactRecord record, FactEntity entity, Function<UUID, ObjectRecord> objectResolver) {
     if (CollectionUtils.isEmpty(entity.getBindings())) return;
 
     if (CollectionUtils.size(entity.getBindings()) == 1) {
-      populateObjectsWithCardinalityOne(record, entity.getBindings().get(0));
+      populateObjectsWithCardinalityOne(record, entity.getBindings().get(0), objectResolver);
     } else if (CollectionUtils.size(entity.getBindings()) == 2) {
-      populateObjectsWithCardinalityTwo(record, entity.getBindings().get(0), entity.getBindings().get(1));
+      populateObjectsWithCardinalityTwo(record, entity.getBindings().get(0), entity.getBindings().get(1), objectResolver);
     } else {
       // This should never happen as long as create Fact API only allows bindings with cardinality 1 or 2. Log it, just in case.
       LOGGER.warning("Fact is bound to more than two Objects (id = %s). Ignoring Objects in result.", record.getId());
     }
   }
 
-  private void populateObjectsWithCardinalityOne(FactRecord record, FactEntity.FactObjectBinding binding) {
+  private void populateObjectsWithCardinalityOne(FactRecord record, FactEntity.FactObjectBinding binding, Function<UUID, ObjectRecord> objectResolver) {
     if (binding.getDirection() == FactIsDestination) {
-      record.setSourceObject(convertObject(binding.getObjectID()));
+      record.setSourceObject(objectResolver.apply(binding.getObjectID()));
     } else if (binding.getDirection() == FactIsSource) {
-      record.setDestinationObject(convertObject(binding.getObjectID()));
+      record.setDestinationObject(objectResolver.apply(binding.getObjectID()));
     } else {
       // In case of bidirectional binding with cardinality 1 populate source and destination with same Object.
-      ObjectRecord object = convertObject(binding.getObjectID());
+      ObjectRecord object = objectResolver.apply(binding.getObjectID());
       record.setSourceObject(object)
               .setDestinationObject(object)
               .setBidirectionalBinding(true);
     }
   }
 
-  private void populateObjectsWithCardinalityTwo(FactRecord record, FactEntity.FactObjectBinding first, FactEntity.FactObjectBinding second) {
+  private void populateObjectsWithCardinalityTwo(FactRecord record, FactEntity.FactObjectBinding first, FactEntity.FactObjectBinding second,
+                                                 Function<UUID, ObjectRecord> objectResolver) {
     if ((first.getDirection() == FactIsDestination && second.getDirection() == FactIsDestination) ||
             (first.getDirection() == FactIsSource && second.getDirection() == FactIsSource)) {
       // This should never happen as long as create Fact API only allows bindings with cardinality 1 or 2. Log it, just in case.
@@ -226,17 +283,17 @@ public class FactRecordConverter {
 
     if (first.getDirection() == FactIsDestination) {
       // If 'first' has direction 'FactIsDestination' it's the source Object and 'second' the destination Object ...
-      record.setSourceObject(convertObject(first.getObjectID()))
-              .setDestinationObject(convertObject(second.getObjectID()));
+      record.setSourceObject(objectResolver.apply(first.getObjectID()))
+              .setDestinationObject(objectResolver.apply(second.getObjectID()));
     } else if (second.getDirection() == FactIsDestination) {
       // ... and vice versa. They can't have the same direction!
-      record.setSourceObject(convertObject(second.getObjectID()))
-              .setDestinationObject(convertObject(first.getObjectID()));
+      record.setSourceObject(objectResolver.apply(second.getObjectID()))
+              .setDestinationObject(objectResolver.apply(first.getObjectID()));
     } else {
       // With bidirectional binding it doesn't matter which Object is source/destination.
       // In order to be consistent always set first as source and second as destination.
-      record.setSourceObject(convertObject(first.getObjectID()))
-              .setDestinationObject(convertObject(second.getObjectID()))
+      record.setSourceObject(objectResolver.apply(first.getObjectID()))
+              .setDestinationObject(objectResolver.apply(second.getObjectID()))
               .setBidirectionalBinding(true);
     }
   }
@@ -17,21 +17,34 @@ import java.util.function.Function;
  */
 public class BatchingIterator<I, O> implements Iterator<O> {
 
-  private static final int MAXIMUM_BATCH_SIZE = 1000;
+  public static final int DEFAULT_BATCH_SIZE = 1000;
 
   private final Iterator<I> input;
   private final Function<List<I>, Iterator<O>> nextBatch;
+  private final int batchSize;
   private Iterator<O> output;
 
   /**
-   * Construct a new instance.
+   * Construct a new instance using the default batch size.
    *
    * @param input     Wrapped iterator (can be null, defaults to an empty iterator)
    * @param nextBatch Function to fetch next output batch (cannot be null)
    */
   public BatchingIterator(Iterator<I> input, Function<List<I>, Iterator<O>> nextBatch) {
+    this(input, nextBatch, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Construct a new instance.
+   *
+   * @param input     Wrapped iterator (can be null, defaults to an empty iterator)
+   * @param nextBatch Function to fetch next output batch (cannot be null)
+   * @param batchSize Maximum number of input objects per batch (capped to the default batch size, uses the default if not positive)
+   */
+  public BatchingIterator(Iterator<I> input, Function<List<I>, Iterator<O>> nextBatch, int batchSize) {
     this.input = ObjectUtils.ifNull(input, Collections.emptyIterator());
     this.nextBatch = ObjectUtils.notNull(nextBatch, "'nextBatch' cannot be null!");
+    this.batchSize = batchSize > 0 ? Math.min(batchSize, DEFAULT_BATCH_SIZE) : DEFAULT_BATCH_SIZE;
   }
 
   @Override
@@ -54,11 +67,11 @@ public class BatchingIterator<I, O> implements Iterator<O> {
   }
 
   private Iterator<O> nextOutputBatch() {
-    List<I> next = new ArrayList<>(MAXIMUM_BATCH_SIZE);
+    List<I> next = new ArrayList<>(batchSize);
 
     int currentBatchSize = 0;
     // Consume input until no more data is available or maximum batch size has be reached.
-    while (input.hasNext() && currentBatchSize < MAXIMUM_BATCH_SIZE) {
+    while (input.hasNext() && currentBatchSize < batchSize) {
       next.add(input.next());
       currentBatchSize++;
     }
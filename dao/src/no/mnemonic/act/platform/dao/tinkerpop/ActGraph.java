@@ -2,19 +2,24 @@ package no.mnemonic.act.platform.dao.tinkerpop;
 
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.tinkerpop.exceptions.GraphOperationException;
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
 import no.mnemonic.act.platform.dao.tinkerpop.utils.ElementFactory;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementSource;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphSnapshot;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.TraversalMetrics;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Predicate;
 
 import static org.apache.tinkerpop.gremlin.structure.Graph.Exceptions.*;
@@ -23,20 +28,54 @@ import static org.apache.tinkerpop.gremlin.structure.Graph.Exceptions.*;
  * The ActGraph is a {@link Graph} implementation of the Object-Fact-Model on top of the Cassandra storage layer. It is
  * a read-only graph, i.e. the graph can only be traversed and no edges or vertices added. For the mapping of Objects
  * and Facts to vertices and edges see {@link ObjectVertex} and {@link FactEdge}, respectively.
+ * <p>
+ * By default the graph is backed by the whole database, thus, a traversal must start at specific vertices or edges.
+ * If the graph is created on top of a {@link GraphSnapshot} all elements are served from memory instead, and it is
+ * also possible to scan all vertices and edges of the snapshot with V() and E(). Additionally, OLAP traversals and
+ * vertex programs can be executed against a snapshot with {@link #compute()}. For this purpose the snapshot is copied
+ * into a {@link TinkerGraph} once, including the vertex and edge properties visible to the user of this graph.
+ * <p>
+ * Vertices expose statistics about the Facts bound to the Objects as properties, e.g. the number of Facts per FactType.
+ * They are read from a precomputed index and not calculated from the adjacent edges, see {@link ObjectVertex}.
+ * <p>
+ * The work performed on the graph is recorded in its {@link TraversalMetrics}, which also enforces the budget of the
+ * traversal. Exceeding the budget throws a {@link TraversalBudgetExceededException}.
  */
 public class ActGraph implements Graph {
 
-  private static final Features SUPPORTED_FEATURES = new ActGraphFeatures();
+  private static final Features SUPPORTED_FEATURES = new ActGraphFeatures(false);
+  private static final Features SNAPSHOT_FEATURES = new ActGraphFeatures(true);
 
   private final ObjectManager objectManager;
   private final FactManager factManager;
   private final Predicate<FactEntity> hasFactAccess;
+  private final Set<UUID> availableOrganizationID;
+  private final GraphElementSource elementSource;
+  private final GraphSnapshot snapshot;
+  private final TraversalMetrics metrics;
   private final ElementFactory elementFactory;
 
-  private ActGraph(ObjectManager objectManager, FactManager factManager, Predicate<FactEntity> hasFactAccess) {
+  // Copy of the snapshot used by compute(), created on first usage.
+  private TinkerGraph computerGraph;
+
+  private ActGraph(ObjectManager objectManager, FactManager factManager, Predicate<FactEntity> hasFactAccess,
+                   Set<UUID> availableOrganizationID, GraphElementCache elementCache, GraphSnapshot snapshot,
+                   TraversalMetrics metrics) {
     this.objectManager = ObjectUtils.notNull(objectManager, "'objectManager' is null!");
     this.factManager = ObjectUtils.notNull(factManager, "'factManager' is null!");
     this.hasFactAccess = ObjectUtils.notNull(hasFactAccess, "'hasFactAccess' is null!");
+    this.availableOrganizationID = SetUtils.set(availableOrganizationID);
+    this.snapshot = snapshot;
+    // Without explicit metrics the work is still counted, but no budget is enforced.
+    this.metrics = ObjectUtils.ifNull(metrics, () -> TraversalMetrics.builder().build());
+    if (snapshot != null) {
+      // Serve all elements from the snapshot, it replaces any other cache.
+      this.elementSource = snapshot.asElementSource().withMetrics(this.metrics);
+    } else {
+      // Without a shared cache every element is fetched directly from Cassandra.
+      this.elementSource = ObjectUtils.ifNull(elementCache, () -> GraphElementCache.uncached(objectManager, factManager))
+              .withMetrics(this.metrics);
+    }
     this.elementFactory = ElementFactory.builder().setOwner(this).build();
   }
 
@@ -47,23 +86,29 @@ public class ActGraph implements Graph {
 
   @Override
   public <C extends GraphComputer> C compute(Class<C> graphComputerClass) {
-    throw graphComputerNotSupported();
+    return getComputerGraph().compute(graphComputerClass);
   }
 
   @Override
   public GraphComputer compute() {
-    throw graphComputerNotSupported();
+    return getComputerGraph().compute();
   }
 
   @Override
   public Iterator<Vertex> vertices(Object... vertexIds) {
-    if (SetUtils.set(vertexIds).isEmpty()) throw new GraphOperationException("V() is not supported!");
+    if (SetUtils.set(vertexIds).isEmpty()) {
+      if (snapshot == null) throw new GraphOperationException("V() is not supported!");
+      return allVertices().iterator();
+    }
     return SetUtils.set(this::resolveVertex, vertexIds).iterator();
   }
 
   @Override
   public Iterator<Edge> edges(Object... edgeIds) {
-    if (SetUtils.set(edgeIds).isEmpty()) throw new GraphOperationException("E() is not supported!");
+    if (SetUtils.set(edgeIds).isEmpty()) {
+      if (snapshot == null) throw new GraphOperationException("E() is not supported!");
+      return allEdges().iterator();
+    }
     return SetUtils.set(this::resolveEdge, edgeIds).iterator();
   }
 
@@ -73,8 +118,10 @@ public class ActGraph implements Graph {
   }
 
   @Override
-  public void close() {
-    // NOOP, managers are handled outside this graph implementation.
+  public synchronized void close() {
+    // Managers are handled outside this graph implementation, only release the copy used by compute().
+    if (computerGraph != null) computerGraph.close();
+    computerGraph = null;
   }
 
   @Override
@@ -89,7 +136,7 @@ public class ActGraph implements Graph {
 
   @Override
   public Features features() {
-    return SUPPORTED_FEATURES;
+    return snapshot != null ? SNAPSHOT_FEATURES : SUPPORTED_FEATURES;
   }
 
   @Override
@@ -101,6 +148,20 @@ public class ActGraph implements Graph {
     return hasFactAccess.test(fact);
   }
 
+  /**
+   * Determines whether Facts with the given access mode and organization are included in the Object statistics exposed
+   * as vertex properties. The statistics are aggregated per organization and don't contain ACLs, thus, only public
+   * Facts and role-based Facts of available organizations are included. Explicit Facts are never included.
+   *
+   * @param accessMode     Access mode of the Facts
+   * @param organizationID Organization of the Facts
+   * @return True if the Facts are included in the Object statistics
+   */
+  public boolean hasStatisticsAccess(AccessMode accessMode, UUID organizationID) {
+    if (accessMode == AccessMode.Public) return true;
+    return accessMode == AccessMode.RoleBased && availableOrganizationID.contains(organizationID);
+  }
+
   public ObjectManager getObjectManager() {
     return objectManager;
   }
@@ -109,10 +170,77 @@ public class ActGraph implements Graph {
     return factManager;
   }
 
+  /**
+   * Returns the source used to fetch Objects, bindings and Facts. It might be shared with other graph instances, thus,
+   * access control must be applied when reading from it, see {@link #hasFactAccess(FactEntity)}.
+   *
+   * @return Source of graph elements
+   */
+  public GraphElementSource getElementSource() {
+    return elementSource;
+  }
+
+  /**
+   * Returns the metrics recording the work performed on this graph. They might be shared with other graph instances
+   * participating in the same traversal.
+   *
+   * @return Metrics of traversal
+   */
+  public TraversalMetrics getMetrics() {
+    return metrics;
+  }
+
   ElementFactory getElementFactory() {
     return elementFactory;
   }
 
+  private List<Vertex> allVertices() {
+    List<Vertex> vertices = new ArrayList<>(snapshot.getObjectCount());
+    for (UUID id : snapshot.getObjectIDs()) {
+      vertices.add(elementFactory.getVertexUnchecked(id));
+    }
+    return vertices;
+  }
+
+  private Set<Edge> allEdges() {
+    // Every edge is adjacent to at least one vertex, collecting the edges of all vertices will produce all edges.
+    // Edges are cached by the ElementFactory, thus, an edge seen from both of its vertices is the same instance.
+    Set<Edge> edges = new LinkedHashSet<>();
+    for (Vertex vertex : allVertices()) {
+      vertex.edges(Direction.BOTH).forEachRemaining(edges::add);
+    }
+    return edges;
+  }
+
+  private synchronized TinkerGraph getComputerGraph() {
+    if (snapshot == null) throw graphComputerNotSupported();
+    if (computerGraph != null) return computerGraph;
+
+    TinkerGraph graph = TinkerGraph.open();
+    Map<Object, Vertex> vertices = new HashMap<>();
+    for (Vertex vertex : allVertices()) {
+      Vertex copy = graph.addVertex(T.id, vertex.id(), T.label, vertex.label());
+      vertex.properties().forEachRemaining(property -> copyProperty(copy, property));
+      vertices.put(copy.id(), copy);
+    }
+
+    for (Edge edge : allEdges()) {
+      Vertex outVertex = vertices.get(edge.outVertex().id());
+      Vertex inVertex = vertices.get(edge.inVertex().id());
+      Edge copy = outVertex.addEdge(edge.label(), inVertex, T.id, edge.id());
+      edge.properties().forEachRemaining(property -> copyProperty(copy, property));
+    }
+
+    computerGraph = graph;
+    return computerGraph;
+  }
+
+  private void copyProperty(Element element, Property<?> property) {
+    // Optional properties might not have a value, TinkerGraph doesn't accept NULL values.
+    if (property.value() == null) return;
+    element.property(property.key(), property.value());
+  }
+
   private Vertex resolveVertex(Object id) {
     Vertex vertex = elementFactory.getVertex(resolveId(id));
     if (vertex == null) {
@@ -155,12 +283,16 @@ public class ActGraph implements Graph {
     private ObjectManager objectManager;
     private FactManager factManager;
     private Predicate<FactEntity> hasFactAccess;
+    private Set<UUID> availableOrganizationID;
+    private GraphElementCache elementCache;
+    private GraphSnapshot snapshot;
+    private TraversalMetrics metrics;
 
     private Builder() {
     }
 
     public ActGraph build() {
-      return new ActGraph(objectManager, factManager, hasFactAccess);
+      return new ActGraph(objectManager, factManager, hasFactAccess, availableOrganizationID, elementCache, snapshot, metrics);
     }
 
     public Builder setObjectManager(ObjectManager objectManager) {
@@ -177,17 +309,49 @@ public class ActGraph implements Graph {
       this.hasFactAccess = hasFactAccess;
       return this;
     }
+
+    /**
+     * Organizations available to the user, used to determine which role-based Facts are included in the Object
+     * statistics. If not set only public Facts are included.
+     *
+     * @param availableOrganizationID UUIDs of available Organizations
+     * @return Builder
+     */
+    public Builder setAvailableOrganizationID(Set<UUID> availableOrganizationID) {
+      this.availableOrganizationID = availableOrganizationID;
+      return this;
+    }
+
+    public Builder setElementCache(GraphElementCache elementCache) {
+      this.elementCache = elementCache;
+      return this;
+    }
+
+    public Builder setSnapshot(GraphSnapshot snapshot) {
+      this.snapshot = snapshot;
+      return this;
+    }
+
+    public Builder setMetrics(TraversalMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
   }
 
   private static class ActGraphFeatures implements Features {
 
-    private static final ActGraphGraphFeatures GRAPH_FEATURES = new ActGraphGraphFeatures();
     private static final ActGraphVertexFeatures VERTEX_FEATURES = new ActGraphVertexFeatures();
     private static final ActGraphEdgeFeatures EDGE_FEATURES = new ActGraphEdgeFeatures();
 
+    private final ActGraphGraphFeatures graphFeatures;
+
+    private ActGraphFeatures(boolean supportsComputer) {
+      this.graphFeatures = new ActGraphGraphFeatures(supportsComputer);
+    }
+
     @Override
     public GraphFeatures graph() {
-      return GRAPH_FEATURES;
+      return graphFeatures;
     }
 
     @Override
@@ -210,9 +374,15 @@ public class ActGraph implements Graph {
 
     private static final ActGraphVariableFeatures VARIABLE_FEATURES = new ActGraphVariableFeatures();
 
+    private final boolean supportsComputer;
+
+    private ActGraphGraphFeatures(boolean supportsComputer) {
+      this.supportsComputer = supportsComputer;
+    }
+
     @Override
     public boolean supportsComputer() {
-      return false;
+      return supportsComputer;
     }
 
     @Override
@@ -30,10 +30,11 @@ public class FactEdge implements Edge {
 
   public FactEdge(ActGraph graph, UUID factID, UUID inVertexObjectID, UUID outVertexObjectID) {
     this.graph = ObjectUtils.notNull(graph, "'graph' is null!");
-    this.fact = ObjectUtils.notNull(graph.getFactManager().getFact(factID), String.format("Fact with id = %s does not exist.", factID));
+    this.fact = ObjectUtils.notNull(graph.getElementSource().getFact(factID), String.format("Fact with id = %s does not exist.", factID));
     this.type = ObjectUtils.notNull(graph.getFactManager().getFactType(fact.getTypeID()), String.format("FactType with id = %s does not exist.", fact.getTypeID()));
-    this.inVertex = graph.getElementFactory().getVertex(inVertexObjectID);
-    this.outVertex = graph.getElementFactory().getVertex(outVertexObjectID);
+    // Objects bound to a Fact always exist, thus, the existence check can be skipped which keeps vertex creation lazy.
+    this.inVertex = graph.getElementFactory().getVertexUnchecked(inVertexObjectID);
+    this.outVertex = graph.getElementFactory().getVertexUnchecked(outVertexObjectID);
     this.edgeID = UUID.randomUUID(); // Generate a random ID for each new edge.
     this.allProperties = Collections.unmodifiableSet(getAllProperties()); // Generate properties set only once.
   }
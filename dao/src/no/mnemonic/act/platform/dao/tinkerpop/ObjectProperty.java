@@ -20,12 +20,15 @@ import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Exceptions.m
  */
 abstract class ObjectProperty<V> implements VertexProperty<V> {
 
-  private final ObjectEntity object;
+  static final String FACT_COUNT = "factCount";
+  static final String RETRACTED_FACT_COUNT = "retractedFactCount";
+  static final String LAST_ADDED_TIMESTAMP = "lastAddedTimestamp";
+  static final String LAST_SEEN_TIMESTAMP = "lastSeenTimestamp";
+
   private final ObjectVertex owner;
   private final UUID id;
 
-  private ObjectProperty(ObjectEntity object, ObjectVertex owner) {
-    this.object = ObjectUtils.notNull(object, "'object' is null!");
+  private ObjectProperty(ObjectVertex owner) {
     this.owner = ObjectUtils.notNull(owner, "'owner' is null!");
     this.id = UUID.randomUUID(); // Generate a random ID for each new instance.
   }
@@ -65,14 +68,12 @@ abstract class ObjectProperty<V> implements VertexProperty<V> {
     return StringFactory.propertyString(this);
   }
 
-  protected ObjectEntity getObject() {
-    // Need to expose 'object' to inner static classes.
-    return object;
-  }
-
   static class Value extends ObjectProperty<String> {
+    private final ObjectEntity object;
+
     Value(ObjectEntity object, ObjectVertex owner) {
-      super(object, owner);
+      super(owner);
+      this.object = ObjectUtils.notNull(object, "'object' is null!");
     }
 
     @Override
@@ -82,7 +83,33 @@ abstract class ObjectProperty<V> implements VertexProperty<V> {
 
     @Override
     public String value() {
-      return getObject().getValue();
+      return object.getValue();
+    }
+  }
+
+  /**
+   * Statistic about the Facts bound to an Object. The key is either the name of the statistic (e.g. 'factCount') for
+   * the statistic over all FactTypes, or the name followed by '.' and the FactType name (e.g. 'factCount.seenIn') for
+   * the statistic of one FactType.
+   */
+  static class Statistic extends ObjectProperty<Long> {
+    private final String key;
+    private final long value;
+
+    Statistic(String key, long value, ObjectVertex owner) {
+      super(owner);
+      this.key = ObjectUtils.notNull(key, "'key' is null!");
+      this.value = value;
+    }
+
+    @Override
+    public String key() {
+      return key;
+    }
+
+    @Override
+    public Long value() {
+      return value;
     }
   }
 }
@@ -1,18 +1,23 @@
 package no.mnemonic.act.platform.dao.tinkerpop;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactCountEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactTimestampEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.commons.utilities.ObjectUtils;
-import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.*;
+import java.util.function.BinaryOperator;
 
 import static no.mnemonic.act.platform.dao.cassandra.entity.Direction.*;
-import static no.mnemonic.act.platform.dao.tinkerpop.ObjectProperty.Value;
+import static no.mnemonic.act.platform.dao.tinkerpop.ObjectProperty.*;
 import static org.apache.tinkerpop.gremlin.structure.Vertex.Exceptions.edgeAdditionsNotSupported;
 import static org.apache.tinkerpop.gremlin.structure.Vertex.Exceptions.vertexRemovalNotSupported;
 
@@ -23,21 +28,48 @@ import static org.apache.tinkerpop.gremlin.structure.Vertex.Exceptions.vertexRem
  * Adjacent edges represent Facts where the edge direction (IN, OUT) is mapped onto the binding's direction between
  * Object and Fact. If a Fact is only bound to one Object the edge will be a loop, and if the Fact is bound to more
  * than two Objects an edge to each Object is created.
+ * <p>
+ * The state of a vertex is loaded lazily, separately for each aspect (label, properties and adjacent edges). Creating
+ * a vertex is therefore cheap and does not access Cassandra, which is important because a traversal typically creates
+ * many vertices which are only passed through or filtered out without ever inspecting them. Note that this also means
+ * that a non-existing Object will only be detected when an aspect of the vertex is accessed for the first time.
+ * <p>
+ * Besides the Object's value a vertex exposes statistics about the bound Facts as properties, which are read from a
+ * precomputed index in Cassandra instead of fetching all bindings and Facts:
+ * <ul>
+ * <li>'factCount' and 'retractedFactCount': Number of (retracted) Facts bound to the Object</li>
+ * <li>'lastAddedTimestamp' and 'lastSeenTimestamp': When a Fact bound to the Object was last added or seen</li>
+ * </ul>
+ * Every statistic is available over all FactTypes, and per FactType with the FactType name appended to the key, e.g.
+ * 'factCount.seenIn'. Which Facts are included is determined by {@link ActGraph#hasStatisticsAccess}. The statistics
+ * are only fetched when they are requested, thus, a filter such as has('factCount', lt(100)) costs one read.
  */
 public class ObjectVertex implements Vertex {
 
+  // Rough estimate of the bytes read per row of statistics, used for the traversal metrics only.
+  private static final long STATISTIC_ESTIMATED_SIZE = 64;
+
   private final ActGraph graph;
-  private final ObjectEntity object;
-  private final ObjectTypeEntity type;
-  private final List<ObjectFactBindingEntity> bindings;
-  private final Set<VertexProperty> allProperties;
+  private final UUID objectID;
+  private final Supplier<ObjectEntity> object;
+  private final Supplier<ObjectTypeEntity> type;
+  private final Supplier<List<ObjectFactBindingEntity>> bindings;
+  private final Supplier<Set<VertexProperty>> valueProperties;
+  private final Supplier<Set<VertexProperty>> factCountProperties;
+  private final Supplier<Set<VertexProperty>> timestampProperties;
+  // Set once the Object has been fetched, allows inspecting the loading state without triggering a fetch.
+  private volatile ObjectEntity loadedObject;
 
   public ObjectVertex(ActGraph graph, UUID objectID) {
     this.graph = ObjectUtils.notNull(graph, "'graph' is null!");
-    this.object = ObjectUtils.notNull(graph.getObjectManager().getObject(objectID), String.format("Object with id = %s does not exist.", objectID));
-    this.type = ObjectUtils.notNull(graph.getObjectManager().getObjectType(object.getTypeID()), String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
-    this.bindings = Collections.unmodifiableList(ListUtils.list(graph.getObjectManager().fetchObjectFactBindings(objectID)));
-    this.allProperties = Collections.unmodifiableSet(getAllProperties()); // Generate properties set only once.
+    this.objectID = ObjectUtils.notNull(objectID, "'objectID' is null!");
+    // Every aspect is fetched at most once, but only when it is accessed for the first time.
+    this.object = Suppliers.memoize(this::fetchObject);
+    this.type = Suppliers.memoize(this::fetchObjectType);
+    this.bindings = Suppliers.memoize(this::fetchBindings);
+    this.valueProperties = Suppliers.memoize(() -> Collections.unmodifiableSet(SetUtils.set(new Value(object.get(), this))));
+    this.factCountProperties = Suppliers.memoize(() -> Collections.unmodifiableSet(createFactCountProperties()));
+    this.timestampProperties = Suppliers.memoize(() -> Collections.unmodifiableSet(createTimestampProperties()));
   }
 
   @Override
@@ -49,7 +81,7 @@ public class ObjectVertex implements Vertex {
   public Iterator<Edge> edges(Direction direction, String... edgeLabels) {
     Set<Edge> facts = new HashSet<>();
 
-    for (ObjectFactBindingEntity binding : bindings) {
+    for (ObjectFactBindingEntity binding : bindings.get()) {
       if (binding.getDirection() == BiDirectional) {
         facts.addAll(graph.getElementFactory().createEdges(binding));
       }
@@ -79,9 +111,23 @@ public class ObjectVertex implements Vertex {
 
   @Override
   public <V> Iterator<VertexProperty<V>> properties(String... propertyKeys) {
+    Set<String> keys = SetUtils.set(propertyKeys);
+    // Only fetch the groups of properties which are requested, e.g. filtering on the value never reads the statistics.
+    List<Set<VertexProperty>> groups = new ArrayList<>();
+    if (keys.isEmpty() || keys.contains("value")) {
+      groups.add(valueProperties.get());
+    }
+    if (keys.isEmpty() || isRequested(keys, FACT_COUNT, RETRACTED_FACT_COUNT)) {
+      groups.add(factCountProperties.get());
+    }
+    if (keys.isEmpty() || isRequested(keys, LAST_ADDED_TIMESTAMP, LAST_SEEN_TIMESTAMP)) {
+      groups.add(timestampProperties.get());
+    }
+
     //noinspection unchecked
-    return allProperties.stream()
-            .filter(property -> SetUtils.set(propertyKeys).isEmpty() || SetUtils.in(property.key(), propertyKeys))
+    return groups.stream()
+            .flatMap(Set::stream)
+            .filter(property -> keys.isEmpty() || keys.contains(property.key()))
             .map(property -> (VertexProperty<V>) property)
             .iterator();
   }
@@ -93,12 +139,12 @@ public class ObjectVertex implements Vertex {
 
   @Override
   public Object id() {
-    return object.getId();
+    return objectID;
   }
 
   @Override
   public String label() {
-    return type.getName();
+    return type.get().getName();
   }
 
   @Override
@@ -130,15 +176,89 @@ public class ObjectVertex implements Vertex {
   }
 
   public ObjectEntity getObject() {
-    return object;
+    return object.get();
+  }
+
+  /**
+   * Return the Object if it has already been fetched, otherwise NULL. In contrast to {@link #getObject()} this method
+   * never accesses Cassandra.
+   *
+   * @return Already fetched Object or NULL
+   */
+  public ObjectEntity getObjectIfLoaded() {
+    return loadedObject;
+  }
+
+  private ObjectEntity fetchObject() {
+    loadedObject = ObjectUtils.notNull(graph.getElementSource().getObject(objectID), String.format("Object with id = %s does not exist.", objectID));
+    return loadedObject;
+  }
+
+  private ObjectTypeEntity fetchObjectType() {
+    UUID typeID = object.get().getTypeID();
+    return ObjectUtils.notNull(graph.getObjectManager().getObjectType(typeID), String.format("ObjectType with id = %s does not exist.", typeID));
+  }
+
+  private List<ObjectFactBindingEntity> fetchBindings() {
+    return graph.getElementSource().fetchObjectFactBindings(objectID);
+  }
+
+  private Set<VertexProperty> createFactCountProperties() {
+    List<ObjectFactCountEntity> counts = graph.getObjectManager().fetchObjectFactCounts(objectID);
+    graph.getMetrics().recordQuery(STATISTIC_ESTIMATED_SIZE * counts.size());
+
+    // The counts are always exposed, also for Objects without any Facts.
+    Map<String, Long> statistics = new HashMap<>();
+    statistics.put(FACT_COUNT, 0L);
+    statistics.put(RETRACTED_FACT_COUNT, 0L);
+    for (ObjectFactCountEntity count : counts) {
+      if (!graph.hasStatisticsAccess(count.getAccessMode(), count.getOrganizationID())) continue;
+      String factType = resolveFactTypeName(count.getFactTypeID());
+      addStatistic(statistics, FACT_COUNT, factType, count.getFactCount(), Long::sum);
+      addStatistic(statistics, RETRACTED_FACT_COUNT, factType, count.getRetractedCount(), Long::sum);
+    }
+
+    return createStatisticProperties(statistics);
   }
 
-  private Set<VertexProperty> getAllProperties() {
-    // Currently, only one property is exposed. Object statistics would be interesting as well, but this requires an
-    // external index in order to allow efficient graph traversals.
-    return SetUtils.set(
-            new Value(object, this)
-    );
+  private Set<VertexProperty> createTimestampProperties() {
+    List<ObjectFactTimestampEntity> timestamps = graph.getObjectManager().fetchObjectFactTimestamps(objectID);
+    graph.getMetrics().recordQuery(STATISTIC_ESTIMATED_SIZE * timestamps.size());
+
+    Map<String, Long> statistics = new HashMap<>();
+    for (ObjectFactTimestampEntity timestamp : timestamps) {
+      if (!graph.hasStatisticsAccess(timestamp.getAccessMode(), timestamp.getOrganizationID())) continue;
+      String factType = resolveFactTypeName(timestamp.getFactTypeID());
+      addStatistic(statistics, LAST_ADDED_TIMESTAMP, factType, timestamp.getLastAddedTimestamp(), Math::max);
+      addStatistic(statistics, LAST_SEEN_TIMESTAMP, factType, timestamp.getLastSeenTimestamp(), Math::max);
+    }
+
+    return createStatisticProperties(statistics);
+  }
+
+  private String resolveFactTypeName(UUID factTypeID) {
+    // Statistics of unknown FactTypes are still included in the statistics over all FactTypes.
+    return ObjectUtils.ifNotNull(graph.getFactManager().getFactType(factTypeID), FactTypeEntity::getName);
+  }
+
+  private void addStatistic(Map<String, Long> statistics, String name, String factType, long value, BinaryOperator<Long> merge) {
+    statistics.merge(name, value, merge);
+    if (factType != null) {
+      statistics.merge(name + "." + factType, value, merge);
+    }
+  }
+
+  private Set<VertexProperty> createStatisticProperties(Map<String, Long> statistics) {
+    return SetUtils.set(statistics.entrySet(), e -> new Statistic(e.getKey(), e.getValue(), this));
+  }
+
+  private boolean isRequested(Set<String> keys, String... statistics) {
+    for (String key : keys) {
+      for (String statistic : statistics) {
+        if (key.equals(statistic) || key.startsWith(statistic + ".")) return true;
+      }
+    }
+    return false;
   }
 
 }
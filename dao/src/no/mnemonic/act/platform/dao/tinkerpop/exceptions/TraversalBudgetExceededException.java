@@ -0,0 +1,15 @@
+package no.mnemonic.act.platform.dao.tinkerpop.exceptions;
+
+/**
+ * A TraversalBudgetExceededException is thrown when a graph traversal exceeds one of the budgets configured in its
+ * {@link no.mnemonic.act.platform.dao.tinkerpop.utils.TraversalMetrics}.
+ */
+public class TraversalBudgetExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 3912075463358416541L;
+
+  public TraversalBudgetExceededException(String message) {
+    super(message);
+  }
+
+}
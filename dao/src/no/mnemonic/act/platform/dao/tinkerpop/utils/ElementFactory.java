@@ -1,12 +1,15 @@
 package no.mnemonic.act.platform.dao.tinkerpop.utils;
 
+import com.google.common.base.Throwables;
 import com.google.common.cache.*;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.act.platform.dao.tinkerpop.ActGraph;
 import no.mnemonic.act.platform.dao.tinkerpop.FactEdge;
 import no.mnemonic.act.platform.dao.tinkerpop.ObjectVertex;
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
@@ -28,10 +31,11 @@ public class ElementFactory {
   // Maps the triplet (factID, inVertex, outVertex) to UUID returned by Edge.id().
   // Needed in order to identify entry in 'edgeCache'.
   private final Map<EdgeID, UUID> edgeIdMap;
-  // Cache for created edges. This cache is manually populated by createEdges().
-  private final Cache<UUID, Edge> edgeCache;
+  // Cache for created edges. This cache is manually populated by createEdges(). Every entry also holds the key of its
+  // entry in 'edgeIdMap' which allows to remove the mapping in constant time when an edge gets evicted.
+  private final Cache<UUID, CachedEdge> edgeCache;
   // Cache for created vertices. This cache is automatically populated.
-  private final LoadingCache<UUID, Vertex> vertexCache;
+  private final LoadingCache<UUID, ObjectVertex> vertexCache;
 
   private ElementFactory(ActGraph owner) {
     this.owner = ObjectUtils.notNull(owner, "'owner is null!'");
@@ -55,11 +59,12 @@ public class ElementFactory {
   public Set<Edge> createEdges(ObjectFactBindingEntity inBinding) {
     ObjectUtils.notNull(inBinding, "'inBinding' is null!");
 
-    FactEntity fact = owner.getFactManager().getFact(inBinding.getFactID());
+    FactEntity fact = owner.getElementSource().getFact(inBinding.getFactID());
     // Only create edges if user has access to Fact.
     if (fact == null || !owner.hasFactAccess(fact)) {
       return new HashSet<>();
     }
+    owner.getMetrics().recordFact();
 
     // If the Fact is only bound to the 'inBinding' Object then this needs to be represented as a loop in the graph.
     if (CollectionUtils.size(fact.getBindings()) == 1 && Objects.equals(fact.getBindings().get(0).getObjectID(), inBinding.getObjectID())) {
@@ -97,27 +102,56 @@ public class ElementFactory {
    */
   public Edge getEdge(UUID id) {
     if (id == null) return null;
-    return edgeCache.getIfPresent(id);
+    return ObjectUtils.ifNotNull(edgeCache.getIfPresent(id), CachedEdge::getEdge);
   }
 
   /**
    * Retrieve a vertex from the cache by its ID.
    * <p>
-   * This will automatically create the vertex if it was not already cached.
+   * This will automatically create the vertex if it was not already cached. It is verified that the referenced Object
+   * exists, i.e. the Object will be fetched from the database. Returns NULL if the Object does not exist.
    *
    * @param id ID of vertex, i.e. {@link Vertex#id()}.
    * @return Cached vertex.
    */
   public Vertex getVertex(UUID id) {
-    if (id == null) return null;
+    ObjectVertex vertex = getVertexUnchecked(id);
+    if (vertex == null) return null;
     try {
-      return vertexCache.get(id);
+      // Access the Object in order to verify its existence. The Object is kept inside the vertex for later usage.
+      vertex.getObject();
+      return vertex;
+    } catch (TraversalBudgetExceededException ex) {
+      // Don't treat the vertex as non-existing if the traversal has been aborted.
+      throw ex;
     } catch (Exception ignored) {
       // If vertex cannot be fetched, e.g. because 'id' references a non-existing Object, just return null.
+      vertexCache.invalidate(id);
       return null;
     }
   }
 
+  /**
+   * Retrieve a vertex from the cache by its ID without verifying that the referenced Object exists.
+   * <p>
+   * This will automatically create the vertex if it was not already cached. Creating a vertex is cheap as the vertex
+   * loads its state lazily (see {@link ObjectVertex}). Only use this method if the Object is known to exist, e.g.
+   * because it is referenced from a Fact binding.
+   *
+   * @param id ID of vertex, i.e. {@link Vertex#id()}.
+   * @return Cached vertex.
+   */
+  public ObjectVertex getVertexUnchecked(UUID id) {
+    if (id == null) return null;
+    try {
+      return vertexCache.getUnchecked(id);
+    } catch (UncheckedExecutionException ex) {
+      // Creating the vertex fails if the traversal exceeds its budget, re-throw the original exception.
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    }
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -125,43 +159,42 @@ public class ElementFactory {
   private Edge createAndCache(UUID factID, UUID inVertex, UUID outVertex) {
     // Try to fetch edge from cache first (but only if 'edgeID' is mapped, otherwise edge is not cached).
     EdgeID edgeID = new EdgeID(factID, inVertex, outVertex);
-    Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), edgeCache::getIfPresent);
+    Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), this::getEdge);
 
     if (edge == null) {
       // Edge is not present in cache, create new instance and cache it for later access.
       edge = new FactEdge(owner, factID, inVertex, outVertex);
       edgeIdMap.put(edgeID, (UUID) edge.id());
-      edgeCache.put((UUID) edge.id(), edge);
+      edgeCache.put((UUID) edge.id(), new CachedEdge(edgeID, edge));
     }
 
     return edge;
   }
 
-  private Cache<UUID, Edge> createEdgeCache() {
+  private Cache<UUID, CachedEdge> createEdgeCache() {
     return CacheBuilder.newBuilder()
             .maximumSize(CACHE_MAXIMUM_SIZE)
             .removalListener(this::cleanUpEdgeCache)
             .build();
   }
 
-  private LoadingCache<UUID, Vertex> createVertexCache() {
+  private LoadingCache<UUID, ObjectVertex> createVertexCache() {
     return CacheBuilder.newBuilder()
             .maximumSize(CACHE_MAXIMUM_SIZE)
-            .build(new CacheLoader<UUID, Vertex>() {
+            .build(new CacheLoader<UUID, ObjectVertex>() {
               @Override
-              public Vertex load(UUID key) {
+              public ObjectVertex load(UUID key) {
+                owner.getMetrics().recordVertex();
                 return new ObjectVertex(owner, key);
               }
             });
   }
 
-  private void cleanUpEdgeCache(RemovalNotification notification) {
-    // Need to clean up 'edgeIdMap' when an entry gets evicted.
-    if (notification.wasEvicted()) {
-      SetUtils.set(edgeIdMap.entrySet())
-              .stream()
-              .filter(entry -> Objects.equals(entry.getValue(), notification.getKey()))
-              .forEach(entry -> edgeIdMap.remove(entry.getKey()));
+  private void cleanUpEdgeCache(RemovalNotification<UUID, CachedEdge> notification) {
+    // Need to clean up 'edgeIdMap' when an entry gets evicted. Only remove the mapping if it still points to the
+    // evicted edge, otherwise a newer edge has been created for the same triplet in the meantime.
+    if (notification.wasEvicted() && notification.getValue() != null) {
+      edgeIdMap.remove(notification.getValue().getEdgeID(), notification.getKey());
     }
   }
 
@@ -181,6 +214,24 @@ public class ElementFactory {
     }
   }
 
+  private static class CachedEdge {
+    private final EdgeID edgeID;
+    private final Edge edge;
+
+    private CachedEdge(EdgeID edgeID, Edge edge) {
+      this.edgeID = edgeID;
+      this.edge = edge;
+    }
+
+    private EdgeID getEdgeID() {
+      return edgeID;
+    }
+
+    private Edge getEdge() {
+      return edge;
+    }
+  }
+
   private static class EdgeID {
     private final UUID factID;
     private final UUID inVertex;
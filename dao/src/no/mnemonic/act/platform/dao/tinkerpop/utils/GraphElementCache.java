@@ -0,0 +1,248 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache of the graph structure shared between all {@link no.mnemonic.act.platform.dao.tinkerpop.ActGraph} instances,
+ * i.e. across requests. It only holds information which is independent of the user performing a graph traversal
+ * (Objects, Object-Fact-bindings and Facts). Access control must be applied by each graph when reading from the cache.
+ * <p>
+ * Cached Objects are immutable, but new Facts create new bindings and refreshing or retracting a Fact changes the Fact.
+ * Those changes must be reported with {@link #invalidateBindings(UUID)} and {@link #invalidateFact(UUID)}. As changes
+ * made on other nodes cannot be observed entries additionally expire a short time after they have been cached.
+ * <p>
+ * Cached entities are shared between threads and must not be modified.
+ * <p>
+ * Use {@link #withMetrics(TraversalMetrics)} in order to record cache hits and Cassandra queries of one traversal.
+ */
+@Singleton
+public class GraphElementCache implements GraphElementSource {
+
+  private static final long OBJECT_CACHE_MAXIMUM_SIZE = 100_000;
+  // Weight of cached bindings and Facts is roughly the number of bindings they hold.
+  private static final long BINDINGS_CACHE_MAXIMUM_WEIGHT = 1_000_000;
+  private static final long FACT_CACHE_MAXIMUM_WEIGHT = 500_000;
+  private static final long EXPIRE_AFTER_WRITE_SECONDS = 60;
+  // Rough estimates of the bytes read from Cassandra, used for the traversal metrics only. Entities consist mostly of
+  // UUIDs, timestamps and numbers, plus a variable-length value, and a binding consists of two UUIDs and a direction.
+  private static final long FIXED_ESTIMATED_SIZE = 128;
+  private static final long BINDING_ESTIMATED_SIZE = 36;
+  // Number of version counters used to detect invalidations racing with loading bindings or Facts from Cassandra.
+  private static final int VERSION_STRIPES = 1024;
+
+  private final ObjectManager objectManager;
+  private final FactManager factManager;
+  private final Cache<UUID, ObjectEntity> objectCache;
+  private final Cache<UUID, List<ObjectFactBindingEntity>> bindingsCache;
+  private final Cache<UUID, FactEntity> factCache;
+  // Incremented before bindings or Facts are invalidated, striped by the key's hash. A value loaded from Cassandra is
+  // discarded again if its stripe changed during the load, otherwise an invalidation racing with the load would be lost.
+  private final AtomicLongArray bindingsVersions;
+  private final AtomicLongArray factVersions;
+  // Only set for views created by withMetrics(), NULL for the shared instance.
+  private final TraversalMetrics metrics;
+
+  @Inject
+  public GraphElementCache(ObjectManager objectManager, FactManager factManager) {
+    this(objectManager, factManager, OBJECT_CACHE_MAXIMUM_SIZE, BINDINGS_CACHE_MAXIMUM_WEIGHT, FACT_CACHE_MAXIMUM_WEIGHT);
+  }
+
+  private GraphElementCache(ObjectManager objectManager, FactManager factManager,
+                            long objectCacheMaximumSize, long bindingsCacheMaximumWeight, long factCacheMaximumWeight) {
+    this.objectManager = ObjectUtils.notNull(objectManager, "'objectManager' is null!");
+    this.factManager = ObjectUtils.notNull(factManager, "'factManager' is null!");
+    this.objectCache = CacheBuilder.newBuilder()
+            .maximumSize(objectCacheMaximumSize)
+            .expireAfterWrite(EXPIRE_AFTER_WRITE_SECONDS, TimeUnit.SECONDS)
+            .build();
+    this.bindingsCache = CacheBuilder.newBuilder()
+            .maximumWeight(bindingsCacheMaximumWeight)
+            .weigher((UUID key, List<ObjectFactBindingEntity> value) -> 1 + value.size())
+            .expireAfterWrite(EXPIRE_AFTER_WRITE_SECONDS, TimeUnit.SECONDS)
+            .build();
+    this.factCache = CacheBuilder.newBuilder()
+            .maximumWeight(factCacheMaximumWeight)
+            .weigher((UUID key, FactEntity value) -> 1 + CollectionUtils.size(value.getBindings()))
+            .expireAfterWrite(EXPIRE_AFTER_WRITE_SECONDS, TimeUnit.SECONDS)
+            .build();
+    this.bindingsVersions = new AtomicLongArray(VERSION_STRIPES);
+    this.factVersions = new AtomicLongArray(VERSION_STRIPES);
+    this.metrics = null;
+  }
+
+  private GraphElementCache(GraphElementCache parent, TraversalMetrics metrics) {
+    this.objectManager = parent.objectManager;
+    this.factManager = parent.factManager;
+    this.objectCache = parent.objectCache;
+    this.bindingsCache = parent.bindingsCache;
+    this.factCache = parent.factCache;
+    this.bindingsVersions = parent.bindingsVersions;
+    this.factVersions = parent.factVersions;
+    this.metrics = ObjectUtils.notNull(metrics, "'metrics' is null!");
+  }
+
+  /**
+   * Create an instance which does not cache anything, i.e. every call is directly delegated to the managers.
+   *
+   * @param objectManager ObjectManager to fetch Objects and bindings
+   * @param factManager   FactManager to fetch Facts
+   * @return Non-caching instance
+   */
+  public static GraphElementCache uncached(ObjectManager objectManager, FactManager factManager) {
+    return new GraphElementCache(objectManager, factManager, 0, 0, 0);
+  }
+
+  /**
+   * Create a view of this cache which shares all cached elements but records cache hits and Cassandra queries in the
+   * given {@link TraversalMetrics}. Exceeding the query budget of the metrics aborts the fetching of elements.
+   *
+   * @param metrics Metrics of one traversal
+   * @return View of this cache
+   */
+  @Override
+  public GraphElementCache withMetrics(TraversalMetrics metrics) {
+    return new GraphElementCache(this, metrics);
+  }
+
+  /**
+   * Fetch an Object by its UUID. Returns NULL if the Object does not exist.
+   *
+   * @param id UUID of Object
+   * @return Object identified by its UUID
+   */
+  @Override
+  public ObjectEntity getObject(UUID id) {
+    if (id == null) return null;
+
+    ObjectEntity object = objectCache.getIfPresent(id);
+    if (object == null) {
+      object = objectManager.getObject(id);
+      recordQuery(estimateSize(object));
+      // Don't cache non-existing Objects as they could be created later on.
+      if (object != null) objectCache.put(id, object);
+    } else {
+      recordCacheHit();
+    }
+
+    return object;
+  }
+
+  /**
+   * Fetch all bindings between an Object and Facts. Returns an empty list if the Object does not have any bindings.
+   *
+   * @param id UUID of Object
+   * @return Unmodifiable list of bindings
+   */
+  @Override
+  public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
+    if (id == null) return Collections.emptyList();
+
+    List<ObjectFactBindingEntity> bindings = bindingsCache.getIfPresent(id);
+    if (bindings == null) {
+      long version = bindingsVersions.get(stripe(id));
+      bindings = Collections.unmodifiableList(ListUtils.list(objectManager.fetchObjectFactBindings(id)));
+      recordQuery(BINDING_ESTIMATED_SIZE * bindings.size());
+      putUnlessInvalidated(bindingsCache, bindingsVersions, version, id, bindings);
+    } else {
+      recordCacheHit();
+    }
+
+    return bindings;
+  }
+
+  /**
+   * Fetch a Fact by its UUID. Returns NULL if the Fact does not exist.
+   *
+   * @param id UUID of Fact
+   * @return Fact identified by its UUID
+   */
+  @Override
+  public FactEntity getFact(UUID id) {
+    if (id == null) return null;
+
+    FactEntity fact = factCache.getIfPresent(id);
+    if (fact == null) {
+      long version = factVersions.get(stripe(id));
+      fact = factManager.getFact(id);
+      recordQuery(estimateSize(fact));
+      // Don't cache non-existing Facts as they could be created later on.
+      if (fact != null) putUnlessInvalidated(factCache, factVersions, version, id, fact);
+    } else {
+      recordCacheHit();
+    }
+
+    return fact;
+  }
+
+  /**
+   * Invalidate the cached bindings of an Object, e.g. because a new Fact was bound to the Object.
+   *
+   * @param objectID UUID of Object
+   */
+  public void invalidateBindings(UUID objectID) {
+    if (objectID == null) return;
+    bindingsVersions.incrementAndGet(stripe(objectID));
+    bindingsCache.invalidate(objectID);
+  }
+
+  /**
+   * Invalidate a cached Fact, e.g. because the Fact was refreshed or retracted.
+   *
+   * @param factID UUID of Fact
+   */
+  public void invalidateFact(UUID factID) {
+    if (factID == null) return;
+    factVersions.incrementAndGet(stripe(factID));
+    factCache.invalidate(factID);
+  }
+
+  private <V> void putUnlessInvalidated(Cache<UUID, V> cache, AtomicLongArray versions, long version, UUID id, V value) {
+    cache.put(id, value);
+    // Check after putting the value, otherwise an invalidation between the check and the put would be lost. If the
+    // version has changed the value might be outdated, thus, remove it again. The invalidation increments the version
+    // before invalidating the cache, i.e. either this check observes the change or the invalidation removes the value.
+    if (versions.get(stripe(id)) != version) {
+      cache.invalidate(id);
+    }
+  }
+
+  private int stripe(UUID id) {
+    return Math.floorMod(id.hashCode(), VERSION_STRIPES);
+  }
+
+  private void recordCacheHit() {
+    if (metrics != null) metrics.recordCacheHit();
+  }
+
+  private void recordQuery(long bytes) {
+    if (metrics != null) metrics.recordQuery(bytes);
+  }
+
+  private long estimateSize(ObjectEntity object) {
+    if (object == null) return 0;
+    return FIXED_ESTIMATED_SIZE + StringUtils.length(object.getValue());
+  }
+
+  private long estimateSize(FactEntity fact) {
+    if (fact == null) return 0;
+    return FIXED_ESTIMATED_SIZE + StringUtils.length(fact.getValue()) + BINDING_ESTIMATED_SIZE * CollectionUtils.size(fact.getBindings());
+  }
+}
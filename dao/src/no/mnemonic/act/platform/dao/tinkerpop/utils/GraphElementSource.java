@@ -0,0 +1,51 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Source of the Objects, Object-Fact-bindings and Facts making up the graph of an
+ * {@link no.mnemonic.act.platform.dao.tinkerpop.ActGraph}. Access control is not applied by the source.
+ * <p>
+ * Elements are fetched from Cassandra through the {@link GraphElementCache}, or served from memory by a
+ * {@link GraphSnapshot}. Returned entities might be shared between threads and must not be modified.
+ */
+public interface GraphElementSource {
+
+  /**
+   * Fetch an Object by its UUID. Returns NULL if the Object does not exist.
+   *
+   * @param id UUID of Object
+   * @return Object identified by its UUID
+   */
+  ObjectEntity getObject(UUID id);
+
+  /**
+   * Fetch all bindings between an Object and Facts. Returns an empty list if the Object does not have any bindings.
+   *
+   * @param id UUID of Object
+   * @return Unmodifiable list of bindings
+   */
+  List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id);
+
+  /**
+   * Fetch a Fact by its UUID. Returns NULL if the Fact does not exist.
+   *
+   * @param id UUID of Fact
+   * @return Fact identified by its UUID
+   */
+  FactEntity getFact(UUID id);
+
+  /**
+   * Create a view of this source which serves the same elements but records cache hits and Cassandra queries in the
+   * given {@link TraversalMetrics}.
+   *
+   * @param metrics Metrics of one traversal
+   * @return View of this source
+   */
+  GraphElementSource withMetrics(TraversalMetrics metrics);
+}
@@ -0,0 +1,72 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.tinkerpop.FactEdge;
+import no.mnemonic.act.platform.dao.tinkerpop.ObjectVertex;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Converts the elements of a graph into records. The entities already fetched while traversing the graph are reused
+ * instead of fetching them again, and all other related information is fetched in batches.
+ * <p>
+ * No access control is performed, the caller is responsible for checking access to the returned records.
+ */
+public class GraphRecordConverter {
+
+  private final ObjectRecordConverter objectRecordConverter;
+  private final FactRecordConverter factRecordConverter;
+
+  @Inject
+  public GraphRecordConverter(ObjectRecordConverter objectRecordConverter, FactRecordConverter factRecordConverter) {
+    this.objectRecordConverter = objectRecordConverter;
+    this.factRecordConverter = factRecordConverter;
+  }
+
+  /**
+   * Convert the Object of a vertex if it has already been loaded. Returns NULL if the Object hasn't been loaded.
+   *
+   * @param vertex Vertex to convert
+   * @return Converted Object
+   */
+  public ObjectRecord fromVertex(ObjectVertex vertex) {
+    if (vertex == null) return null;
+
+    ObjectEntity object = vertex.getObjectIfLoaded();
+    // All information is directly available on the entity, nothing needs to be fetched.
+    return object != null ? objectRecordConverter.fromEntity(object) : null;
+  }
+
+  /**
+   * Convert the Facts of multiple edges at once. See {@link #fromFacts(List, Map)}.
+   *
+   * @param edges        Edges to convert
+   * @param knownObjects Already converted Objects, keyed by their UUID (can be null)
+   * @return Converted Facts (in the same order as the given edges)
+   */
+  public List<FactRecord> fromEdges(List<FactEdge> edges, Map<UUID, ObjectRecord> knownObjects) {
+    return fromFacts(ListUtils.list(edges, FactEdge::getFact), knownObjects);
+  }
+
+  /**
+   * Convert multiple Facts served by a {@link GraphElementSource} at once. Bound Objects are taken from 'knownObjects'
+   * if available. All other related information (remaining Objects, ACL and comments) is fetched in batches for all
+   * Facts at once.
+   *
+   * @param facts        Facts to convert
+   * @param knownObjects Already converted Objects, keyed by their UUID (can be null)
+   * @return Converted Facts (in the same order as the given Facts)
+   */
+  public List<FactRecord> fromFacts(List<FactEntity> facts, Map<UUID, ObjectRecord> knownObjects) {
+    return factRecordConverter.fromEntities(facts, knownObjects);
+  }
+}
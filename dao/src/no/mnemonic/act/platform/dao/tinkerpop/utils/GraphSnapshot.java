@@ -0,0 +1,150 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory copy of a part of the Object/Fact graph. Graph traversals against a snapshot (see
+ * {@link no.mnemonic.act.platform.dao.tinkerpop.ActGraph.Builder#setSnapshot(GraphSnapshot)}) never fetch Objects,
+ * bindings or Facts from Cassandra, and in contrast to the live graph the whole snapshot can be scanned with V() and E().
+ * <p>
+ * A snapshot is closed, i.e. it only contains Facts where all bound Objects are part of the snapshot as well. Facts
+ * bound to any other Object are dropped when the snapshot is built. Access control is not applied by the snapshot,
+ * only Facts accessible to the user of the snapshot must be added.
+ */
+public class GraphSnapshot {
+
+  private final Map<UUID, ObjectEntity> objects;
+  private final Map<UUID, FactEntity> facts;
+  private final Map<UUID, List<ObjectFactBindingEntity>> bindings;
+
+  private GraphSnapshot(Map<UUID, ObjectEntity> objects, Map<UUID, FactEntity> facts) {
+    this.objects = Collections.unmodifiableMap(objects);
+    this.facts = Collections.unmodifiableMap(facts);
+    this.bindings = new HashMap<>();
+
+    for (FactEntity fact : this.facts.values()) {
+      for (FactEntity.FactObjectBinding binding : ListUtils.list(fact.getBindings())) {
+        // Derive the Object-Fact-bindings from the Facts instead of fetching them.
+        bindings.computeIfAbsent(binding.getObjectID(), id -> new ArrayList<>()).add(new ObjectFactBindingEntity()
+                .setObjectID(binding.getObjectID())
+                .setFactID(fact.getId())
+                .setDirection(binding.getDirection()));
+      }
+    }
+  }
+
+  /**
+   * Returns the UUIDs of all Objects in the snapshot.
+   *
+   * @return UUIDs of Objects
+   */
+  public Set<UUID> getObjectIDs() {
+    return objects.keySet();
+  }
+
+  /**
+   * Returns the number of Objects in the snapshot.
+   *
+   * @return Number of Objects
+   */
+  public int getObjectCount() {
+    return objects.size();
+  }
+
+  /**
+   * Returns the number of Facts in the snapshot.
+   *
+   * @return Number of Facts
+   */
+  public int getFactCount() {
+    return facts.size();
+  }
+
+  /**
+   * Create a {@link GraphElementSource} serving all Objects, bindings and Facts from this snapshot. Elements not part
+   * of the snapshot are treated as non-existing.
+   *
+   * @return Source backed by this snapshot
+   */
+  public GraphElementSource asElementSource() {
+    return new SnapshotElementSource(this, null);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private final Map<UUID, ObjectEntity> objects = new LinkedHashMap<>();
+    private final Map<UUID, FactEntity> facts = new LinkedHashMap<>();
+
+    private Builder() {
+    }
+
+    public GraphSnapshot build() {
+      // Drop Facts bound to Objects outside the snapshot, otherwise those Objects would become reachable.
+      facts.values().removeIf(fact -> ListUtils.list(fact.getBindings()).stream()
+              .anyMatch(binding -> !objects.containsKey(binding.getObjectID())));
+      return new GraphSnapshot(new HashMap<>(objects), new LinkedHashMap<>(facts));
+    }
+
+    public Builder addObject(ObjectEntity object) {
+      ObjectUtils.notNull(object, "'object' is null!");
+      objects.put(object.getId(), object);
+      return this;
+    }
+
+    public Builder addFact(FactEntity fact) {
+      ObjectUtils.notNull(fact, "'fact' is null!");
+      facts.put(fact.getId(), fact);
+      return this;
+    }
+  }
+
+  private static class SnapshotElementSource implements GraphElementSource {
+    private final GraphSnapshot snapshot;
+    // Never queries Cassandra, every access is recorded as a cache hit.
+    private final TraversalMetrics metrics;
+
+    private SnapshotElementSource(GraphSnapshot snapshot, TraversalMetrics metrics) {
+      this.snapshot = snapshot;
+      this.metrics = metrics;
+    }
+
+    @Override
+    public GraphElementSource withMetrics(TraversalMetrics metrics) {
+      return new SnapshotElementSource(snapshot, ObjectUtils.notNull(metrics, "'metrics' is null!"));
+    }
+
+    @Override
+    public ObjectEntity getObject(UUID id) {
+      if (id == null) return null;
+      recordCacheHit();
+      return snapshot.objects.get(id);
+    }
+
+    @Override
+    public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
+      if (id == null) return Collections.emptyList();
+      recordCacheHit();
+      return Collections.unmodifiableList(snapshot.bindings.getOrDefault(id, Collections.emptyList()));
+    }
+
+    @Override
+    public FactEntity getFact(UUID id) {
+      if (id == null) return null;
+      recordCacheHit();
+      return snapshot.facts.get(id);
+    }
+
+    private void recordCacheHit() {
+      if (metrics != null) metrics.recordCacheHit();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the work performed by one graph traversal and enforces an optional budget on it. The same instance may be
+ * shared by multiple graphs participating in one traversal (e.g. when traversing partitions in parallel), thus, all
+ * counters are thread-safe.
+ * <p>
+ * Budgets are checked whenever the corresponding counter is incremented. Exceeding a budget throws a
+ * {@link TraversalBudgetExceededException} which aborts the traversal. A budget of 0 means unlimited.
+ */
+public class TraversalMetrics {
+
+  private final long maximumVertices;
+  private final long maximumFacts;
+  private final long maximumQueries;
+  private final AtomicLong vertexCount = new AtomicLong();
+  private final AtomicLong factCount = new AtomicLong();
+  private final AtomicLong queryCount = new AtomicLong();
+  private final AtomicLong cacheHitCount = new AtomicLong();
+  private final AtomicLong bytesFetched = new AtomicLong();
+
+  private TraversalMetrics(long maximumVertices, long maximumFacts, long maximumQueries) {
+    this.maximumVertices = maximumVertices;
+    this.maximumFacts = maximumFacts;
+    this.maximumQueries = maximumQueries;
+  }
+
+  /**
+   * Record that a vertex has been materialized during the traversal.
+   *
+   * @throws TraversalBudgetExceededException If the traversal exceeds its vertex budget
+   */
+  public void recordVertex() {
+    assertWithinBudget(vertexCount.incrementAndGet(), maximumVertices, "vertices");
+  }
+
+  /**
+   * Record that a Fact has been fetched during the traversal (either from Cassandra or from the cache).
+   *
+   * @throws TraversalBudgetExceededException If the traversal exceeds its Fact budget
+   */
+  public void recordFact() {
+    assertWithinBudget(factCount.incrementAndGet(), maximumFacts, "Facts");
+  }
+
+  /**
+   * Record that a query has been sent to Cassandra.
+   *
+   * @param bytes Estimated number of bytes returned by the query
+   * @throws TraversalBudgetExceededException If the traversal exceeds its query budget
+   */
+  public void recordQuery(long bytes) {
+    bytesFetched.addAndGet(bytes);
+    assertWithinBudget(queryCount.incrementAndGet(), maximumQueries, "Cassandra queries");
+  }
+
+  /**
+   * Record that an element has been served from the cache instead of querying Cassandra.
+   */
+  public void recordCacheHit() {
+    cacheHitCount.incrementAndGet();
+  }
+
+  public long getVertexCount() {
+    return vertexCount.get();
+  }
+
+  public long getFactCount() {
+    return factCount.get();
+  }
+
+  public long getQueryCount() {
+    return queryCount.get();
+  }
+
+  public long getCacheHitCount() {
+    return cacheHitCount.get();
+  }
+
+  public long getBytesFetched() {
+    return bytesFetched.get();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("vertices = %d, facts = %d, queries = %d, cacheHits = %d, bytesFetched = %d",
+            getVertexCount(), getFactCount(), getQueryCount(), getCacheHitCount(), getBytesFetched());
+  }
+
+  private void assertWithinBudget(long count, long maximum, String name) {
+    if (maximum > 0 && count > maximum) {
+      throw new TraversalBudgetExceededException(String.format("Graph traversal exceeded its budget of %d %s.", maximum, name));
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private long maximumVertices;
+    private long maximumFacts;
+    private long maximumQueries;
+
+    private Builder() {
+    }
+
+    public TraversalMetrics build() {
+      return new TraversalMetrics(maximumVertices, maximumFacts, maximumQueries);
+    }
+
+    /**
+     * Maximum number of vertices materialized by the traversal. Defaults to 0 (unlimited).
+     */
+    public Builder setMaximumVertices(long maximumVertices) {
+      this.maximumVertices = maximumVertices;
+      return this;
+    }
+
+    /**
+     * Maximum number of Facts fetched by the traversal. Defaults to 0 (unlimited).
+     */
+    public Builder setMaximumFacts(long maximumFacts) {
+      this.maximumFacts = maximumFacts;
+      return this;
+    }
+
+    /**
+     * Maximum number of queries sent to Cassandra by the traversal. Defaults to 0 (unlimited).
+     */
+    public Builder setMaximumQueries(long maximumQueries) {
+      this.maximumQueries = maximumQueries;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+import java.util.*;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CsrGraphAlgorithmsTest {
+
+  private static final UUID OBJECT_A = UUID.randomUUID();
+  private static final UUID OBJECT_B = UUID.randomUUID();
+  private static final UUID OBJECT_C = UUID.randomUUID();
+  private static final UUID OBJECT_D = UUID.randomUUID();
+  private static final UUID OBJECT_E = UUID.randomUUID();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  @Mock
+  private FactManager factManager;
+
+  private CsrGraphSnapshot snapshot;
+  private CsrGraphAlgorithms algorithms;
+
+  @Before
+  public void setUp() throws Exception {
+    initMocks(this);
+
+    // Graph: A -> B -> C -> A, D -> C and E <-> D
+    List<FactEntity> facts = ListUtils.list(
+            createFact(OBJECT_A, Direction.FactIsDestination, OBJECT_B, Direction.FactIsSource),
+            createFact(OBJECT_B, Direction.FactIsDestination, OBJECT_C, Direction.FactIsSource),
+            createFact(OBJECT_C, Direction.FactIsDestination, OBJECT_A, Direction.FactIsSource),
+            createFact(OBJECT_D, Direction.FactIsDestination, OBJECT_C, Direction.FactIsSource),
+            createFact(OBJECT_E, Direction.BiDirectional, OBJECT_D, Direction.BiDirectional)
+    );
+    when(factManager.fetchFactsByTokenRange(anyLong(), anyLong())).thenReturn(Collections.emptyIterator());
+    when(factManager.fetchFactsByTokenRange(Long.MIN_VALUE, Long.MAX_VALUE)).thenAnswer(i -> facts.iterator());
+
+    snapshot = CsrGraphSnapshotBuilder.builder()
+            .setFactManager(factManager)
+            .setTokenRanges(1)
+            .build()
+            .build(folder.newFile().toPath());
+    algorithms = CsrGraphAlgorithms.builder()
+            .setSnapshot(snapshot)
+            .setParallelism(2)
+            .build();
+  }
+
+  @After
+  public void cleanUp() throws Exception {
+    snapshot.close();
+  }
+
+  @Test
+  public void testPageRank() throws Exception {
+    double[] rank = algorithms.pageRank(0.85, 50);
+    assertEquals(5, rank.length);
+    assertEquals(1.0, Arrays.stream(rank).sum(), 1e-9);
+    // C receives links from B and D, E only from D.
+    assertTrue(rank(rank, OBJECT_C) > rank(rank, OBJECT_B));
+    assertTrue(rank(rank, OBJECT_C) > rank(rank, OBJECT_E));
+    // E and D only link to each other (and D to C), thus, E ranks lowest.
+    for (UUID id : ListUtils.list(OBJECT_A, OBJECT_B, OBJECT_C)) {
+      assertTrue(rank(rank, id) > rank(rank, OBJECT_E));
+    }
+  }
+
+  @Test
+  public void testPageRankWithoutIterations() throws Exception {
+    double[] rank = algorithms.pageRank(0.85, 0);
+    for (double value : rank) {
+      assertEquals(0.2, value, 1e-9);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPageRankWithInvalidDamping() throws Exception {
+    algorithms.pageRank(1.5, 10);
+  }
+
+  @Test
+  public void testConnectedComponents() {
+    int[] component = algorithms.connectedComponents();
+    // All Objects are connected ignoring the edge direction.
+    assertEquals(1, Arrays.stream(component).distinct().count());
+    assertEquals(0, component[0]);
+  }
+
+  @Test
+  public void testConnectedComponentsWithMultipleComponents() throws Exception {
+    UUID x = UUID.randomUUID();
+    UUID y = UUID.randomUUID();
+    List<FactEntity> facts = ListUtils.list(
+            createFact(OBJECT_A, Direction.FactIsDestination, OBJECT_B, Direction.FactIsSource),
+            createFact(x, Direction.BiDirectional, y, Direction.BiDirectional)
+    );
+    when(factManager.fetchFactsByTokenRange(Long.MIN_VALUE, Long.MAX_VALUE)).thenAnswer(i -> facts.iterator());
+
+    try (CsrGraphSnapshot other = CsrGraphSnapshotBuilder.builder()
+            .setFactManager(factManager)
+            .setTokenRanges(1)
+            .build()
+            .build(folder.newFile().toPath())) {
+      int[] component = CsrGraphAlgorithms.builder().setSnapshot(other).build().connectedComponents();
+      assertEquals(component[other.getVertex(OBJECT_A)], component[other.getVertex(OBJECT_B)]);
+      assertEquals(component[other.getVertex(x)], component[other.getVertex(y)]);
+      assertNotEquals(component[other.getVertex(OBJECT_A)], component[other.getVertex(x)]);
+    }
+  }
+
+  @Test
+  public void testDegreeDistribution() throws Exception {
+    // Out-degrees: A=1, B=1, C=1, D=2, E=1
+    assertEquals(MapUtils.map(T(1, 4L), T(2, 1L)), algorithms.degreeDistribution(org.apache.tinkerpop.gremlin.structure.Direction.OUT));
+    // In-degrees: A=1, B=1, C=2, D=1, E=1
+    assertEquals(MapUtils.map(T(1, 4L), T(2, 1L)), algorithms.degreeDistribution(org.apache.tinkerpop.gremlin.structure.Direction.IN));
+    // Total degrees: A=2, B=2, C=3, D=3, E=2
+    assertEquals(MapUtils.map(T(2, 3L), T(3, 2L)), algorithms.degreeDistribution(org.apache.tinkerpop.gremlin.structure.Direction.BOTH));
+  }
+
+  private double rank(double[] rank, UUID id) {
+    return rank[snapshot.getVertex(id)];
+  }
+
+  private FactEntity createFact(UUID first, Direction firstDirection, UUID second, Direction secondDirection) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(first).setDirection(firstDirection),
+                    new FactEntity.FactObjectBinding().setObjectID(second).setDirection(secondDirection)
+            ));
+  }
+}
@@ -0,0 +1,162 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CsrGraphCommandTest {
+
+  private static final UUID OBJECT_A = UUID.randomUUID();
+  private static final UUID OBJECT_B = UUID.randomUUID();
+  private static final UUID OBJECT_C = UUID.randomUUID();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  @Mock
+  private FactManager factManager;
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final List<FactEntity> facts = new ArrayList<>();
+  private Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    initMocks(this);
+    when(factManager.fetchFactsByTokenRange(anyLong(), anyLong())).thenReturn(Collections.emptyIterator());
+    when(factManager.fetchFactsByTokenRange(eq(Long.MIN_VALUE), anyLong())).thenAnswer(i -> facts.iterator());
+    file = folder.newFile().toPath();
+
+    // A -> B and C -> B.
+    addFact(OBJECT_A, OBJECT_B);
+    addFact(OBJECT_C, OBJECT_B);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseUnknownOption() {
+    CommandLineOptions.parse(new String[]{"--unknown=value"}, "snapshot");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalidArgument() {
+    CommandLineOptions.parse(new String[]{"snapshot"}, "snapshot");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCommandWithUnknownOption() {
+    createCommand("--contact-points=localhost", "--snapshot=" + file, "--token-ranges=4");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCommandRequiresSnapshot() {
+    createCommand("--contact-points=localhost", "--algorithm=pagerank");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCommandWithInvalidAlgorithm() {
+    createCommand("--contact-points=localhost", "--snapshot=" + file, "--algorithm=unknown");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCommandWithInvalidIntegerOption() {
+    createCommand("--contact-points=localhost", "--snapshot=" + file, "--parallelism=many");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateClusterManagerRequiresContactPoints() {
+    CommandLineOptions.parse(new String[]{"--keyspace=test"}).createClusterManager();
+  }
+
+  @Test
+  public void testCreateClusterManager() {
+    assertNotNull(CommandLineOptions.parse(new String[]{"--contact-points=host1,host2", "--port=9142", "--keyspace=test"})
+            .createClusterManager());
+  }
+
+  @Test
+  public void testExecuteWithoutAlgorithmWritesSnapshotOnly() throws Exception {
+    createCommand("--snapshot=" + file).execute(factManager);
+
+    assertEquals(0, out.size());
+    try (CsrGraphSnapshot snapshot = CsrGraphSnapshot.open(file)) {
+      assertEquals(3, snapshot.getVertexCount());
+      assertEquals(2, snapshot.getEdgeCount());
+    }
+  }
+
+  @Test
+  public void testExecutePageRank() throws Exception {
+    createCommand("--snapshot=" + file, "--algorithm=pagerank", "--iterations=10").execute(factManager);
+
+    Map<String, Double> rank = new HashMap<>();
+    for (String[] line : readOutput()) {
+      rank.put(line[0], Double.parseDouble(line[1]));
+    }
+    assertEquals(3, rank.size());
+    assertEquals(1.0, rank.values().stream().mapToDouble(Double::doubleValue).sum(), 0.0001);
+    assertTrue(rank.get(OBJECT_B.toString()) > rank.get(OBJECT_A.toString()));
+  }
+
+  @Test
+  public void testExecuteConnectedComponents() throws Exception {
+    addFact(UUID.randomUUID(), UUID.randomUUID());
+    createCommand("--snapshot=" + file, "--algorithm=components").execute(factManager);
+
+    Map<String, String> component = new HashMap<>();
+    for (String[] line : readOutput()) {
+      component.put(line[0], line[1]);
+    }
+    assertEquals(5, component.size());
+    assertEquals(2, new HashSet<>(component.values()).size());
+    assertEquals(component.get(OBJECT_A.toString()), component.get(OBJECT_B.toString()));
+    assertEquals(component.get(OBJECT_A.toString()), component.get(OBJECT_C.toString()));
+  }
+
+  @Test
+  public void testExecuteDegreeDistribution() throws Exception {
+    createCommand("--snapshot=" + file, "--algorithm=degrees", "--direction=in").execute(factManager);
+
+    List<String[]> lines = readOutput();
+    assertEquals(2, lines.size());
+    assertArrayEquals(new String[]{"0", "2"}, lines.get(0));
+    assertArrayEquals(new String[]{"2", "1"}, lines.get(1));
+  }
+
+  private CsrGraphCommand createCommand(String... args) {
+    return new CsrGraphCommand(CsrGraphCommand.parseOptions(args), new PrintStream(out));
+  }
+
+  private List<String[]> readOutput() {
+    List<String[]> lines = new ArrayList<>();
+    for (String line : out.toString().split("\n")) {
+      if (!line.isEmpty()) lines.add(line.split("\t"));
+    }
+    return lines;
+  }
+
+  private void addFact(UUID source, UUID destination) {
+    facts.add(new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(source).setDirection(Direction.FactIsDestination),
+                    new FactEntity.FactObjectBinding().setObjectID(destination).setDirection(Direction.FactIsSource)
+            )));
+  }
+}
@@ -0,0 +1,190 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CsrGraphSnapshotBuilderTest {
+
+  private static final UUID TYPE_X = UUID.randomUUID();
+  private static final UUID TYPE_Y = UUID.randomUUID();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  @Mock
+  private FactManager factManager;
+
+  private final List<FactEntity> facts = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(factManager.fetchFactsByTokenRange(anyLong(), anyLong())).thenReturn(Collections.emptyIterator());
+    // Return all Facts from the first token range only.
+    when(factManager.fetchFactsByTokenRange(eq(Long.MIN_VALUE), anyLong())).thenAnswer(i -> facts.iterator());
+  }
+
+  @Test
+  public void testSplitTokenRing() {
+    long[] boundaries = CsrGraphSnapshotBuilder.splitTokenRing(4);
+    assertArrayEquals(new long[]{Long.MIN_VALUE, -4611686018427387905L, -1, 4611686018427387903L, Long.MAX_VALUE}, boundaries);
+  }
+
+  @Test
+  public void testScanAllTokenRanges() throws Exception {
+    try (CsrGraphSnapshot ignored = createBuilder().build().build(createFile())) {
+      long[] boundaries = CsrGraphSnapshotBuilder.splitTokenRing(4);
+      for (int i = 0; i < 4; i++) {
+        verify(factManager).fetchFactsByTokenRange(boundaries[i], boundaries[i + 1]);
+      }
+    }
+  }
+
+  @Test
+  public void testBuildEmptySnapshot() throws Exception {
+    try (CsrGraphSnapshot snapshot = createBuilder().build().build(createFile())) {
+      assertEquals(0, snapshot.getVertexCount());
+      assertEquals(0, snapshot.getEdgeCount());
+      assertEquals(-1, snapshot.getVertex(UUID.randomUUID()));
+    }
+  }
+
+  @Test
+  public void testBuildSnapshotWithDirectedEdges() throws Exception {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID c = UUID.randomUUID();
+    addFact(TYPE_X, a, Direction.FactIsDestination, b, Direction.FactIsSource);
+    addFact(TYPE_Y, c, Direction.FactIsSource, b, Direction.FactIsDestination);
+
+    try (CsrGraphSnapshot snapshot = createBuilder().build().build(createFile())) {
+      assertEquals(3, snapshot.getVertexCount());
+      assertEquals(2, snapshot.getEdgeCount());
+      assertEquals(2, snapshot.getFactTypeCount());
+
+      // a -> b and b -> c
+      assertEquals(1, snapshot.getOutDegree(snapshot.getVertex(a)));
+      assertEquals(0, snapshot.getInDegree(snapshot.getVertex(a)));
+      assertEquals(1, snapshot.getOutDegree(snapshot.getVertex(b)));
+      assertEquals(1, snapshot.getInDegree(snapshot.getVertex(b)));
+      assertEquals(0, snapshot.getOutDegree(snapshot.getVertex(c)));
+      assertEquals(1, snapshot.getInDegree(snapshot.getVertex(c)));
+
+      int edge = snapshot.getOutOffset(snapshot.getVertex(a));
+      assertEquals(b, snapshot.getObjectID(snapshot.getOutTarget(edge)));
+      assertEquals(TYPE_X, snapshot.getFactTypeID(snapshot.getOutFactType(edge)));
+      edge = snapshot.getInOffset(snapshot.getVertex(c));
+      assertEquals(b, snapshot.getObjectID(snapshot.getInSource(edge)));
+    }
+  }
+
+  @Test
+  public void testBuildSnapshotWithBidirectionalEdge() throws Exception {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    addFact(TYPE_X, a, Direction.BiDirectional, b, Direction.BiDirectional);
+
+    try (CsrGraphSnapshot snapshot = createBuilder().build().build(createFile())) {
+      assertEquals(2, snapshot.getEdgeCount());
+      assertEquals(1, snapshot.getOutDegree(snapshot.getVertex(a)));
+      assertEquals(1, snapshot.getInDegree(snapshot.getVertex(a)));
+      assertEquals(1, snapshot.getOutDegree(snapshot.getVertex(b)));
+      assertEquals(1, snapshot.getInDegree(snapshot.getVertex(b)));
+    }
+  }
+
+  @Test
+  public void testBuildSnapshotSkipsFactsNotBindingTwoObjects() throws Exception {
+    facts.add(new FactEntity().setId(UUID.randomUUID()).setTypeID(TYPE_X));
+    facts.add(new FactEntity().setId(UUID.randomUUID()).setTypeID(TYPE_X).setBindings(ListUtils.list(
+            new FactEntity.FactObjectBinding().setObjectID(UUID.randomUUID()).setDirection(Direction.FactIsSource))));
+
+    try (CsrGraphSnapshot snapshot = createBuilder().build().build(createFile())) {
+      assertEquals(0, snapshot.getVertexCount());
+      assertEquals(0, snapshot.getEdgeCount());
+    }
+  }
+
+  @Test
+  public void testBuildSnapshotSkipsRetractedFacts() throws Exception {
+    addFact(TYPE_X, UUID.randomUUID(), Direction.FactIsDestination, UUID.randomUUID(), Direction.FactIsSource)
+            .addFlag(FactEntity.Flag.RetractedHint);
+
+    try (CsrGraphSnapshot snapshot = createBuilder().build().build(createFile())) {
+      assertEquals(0, snapshot.getEdgeCount());
+    }
+
+    try (CsrGraphSnapshot snapshot = createBuilder().setIncludeRetracted(true).build().build(createFile())) {
+      assertEquals(1, snapshot.getEdgeCount());
+    }
+  }
+
+  @Test
+  public void testVerticesAreSortedById() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      addFact(TYPE_X, UUID.randomUUID(), Direction.FactIsDestination, UUID.randomUUID(), Direction.FactIsSource);
+    }
+
+    try (CsrGraphSnapshot snapshot = createBuilder().build().build(createFile())) {
+      assertEquals(20, snapshot.getVertexCount());
+      for (int v = 0; v < snapshot.getVertexCount(); v++) {
+        if (v > 0) assertTrue(snapshot.getObjectID(v - 1).compareTo(snapshot.getObjectID(v)) < 0);
+        assertEquals(v, snapshot.getVertex(snapshot.getObjectID(v)));
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBuilderCanOnlyBeUsedOnce() throws Exception {
+    CsrGraphSnapshotBuilder builder = createBuilder().build();
+    builder.build(createFile()).close();
+    builder.build(createFile());
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenInvalidFile() throws Exception {
+    Path file = createFile();
+    Files.write(file, new byte[64]);
+    CsrGraphSnapshot.open(file);
+  }
+
+  private CsrGraphSnapshotBuilder.Builder createBuilder() {
+    return CsrGraphSnapshotBuilder.builder()
+            .setFactManager(factManager)
+            .setParallelism(2)
+            .setTokenRanges(4);
+  }
+
+  private Path createFile() throws IOException {
+    return folder.newFile().toPath();
+  }
+
+  private FactEntity addFact(UUID typeID, UUID first, Direction firstDirection, UUID second, Direction secondDirection) {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(typeID)
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(first).setDirection(firstDirection),
+                    new FactEntity.FactObjectBinding().setObjectID(second).setDirection(secondDirection)
+            ));
+    facts.add(fact);
+    return fact;
+  }
+}
@@ -0,0 +1,84 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ObjectStatisticsRebuildCommandTest {
+
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private FactManager factManager;
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final List<FactEntity> facts = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(factManager.fetchFactsByTokenRange(anyLong(), anyLong())).thenReturn(Collections.emptyIterator());
+    // Return all Facts from the first token range only.
+    when(factManager.fetchFactsByTokenRange(eq(Long.MIN_VALUE), anyLong())).thenAnswer(i -> facts.iterator());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCommandWithUnknownOption() {
+    createCommand("--contact-points=localhost", "--snapshot=file");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCommandWithInvalidParallelism() {
+    createCommand("--contact-points=localhost", "--parallelism=many");
+  }
+
+  @Test
+  public void testExecuteScansConfiguredTokenRanges() throws Exception {
+    createCommand("--contact-points=localhost", "--parallelism=2", "--token-ranges=4").execute(objectManager, factManager);
+
+    long[] boundaries = CsrGraphSnapshotBuilder.splitTokenRing(4);
+    for (int i = 0; i < 4; i++) {
+      verify(factManager).fetchFactsByTokenRange(boundaries[i], boundaries[i + 1]);
+    }
+    verifyNoMoreInteractions(factManager);
+  }
+
+  @Test
+  public void testExecuteRebuildsStatistics() throws Exception {
+    FactEntity fact = addFact();
+    FactEntity retracted = addFact().addFlag(FactEntity.Flag.RetractedHint);
+
+    createCommand("--contact-points=localhost", "--keyspace=act").execute(objectManager, factManager);
+
+    verify(objectManager).recordFactAdded(fact);
+    verify(objectManager).recordFactAdded(retracted);
+    verify(objectManager).recordFactRetracted(retracted);
+    assertEquals("Rebuilt Object statistics from 2 Facts.", out.toString().trim());
+  }
+
+  private ObjectStatisticsRebuildCommand createCommand(String... args) {
+    return new ObjectStatisticsRebuildCommand(ObjectStatisticsRebuildCommand.parseOptions(args), new PrintStream(out));
+  }
+
+  private FactEntity addFact() {
+    FactEntity fact = new FactEntity().setId(UUID.randomUUID());
+    facts.add(fact);
+    return fact;
+  }
+}
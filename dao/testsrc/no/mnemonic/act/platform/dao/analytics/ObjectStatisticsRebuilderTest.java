@@ -0,0 +1,90 @@
+package no.mnemonic.act.platform.dao.analytics;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ObjectStatisticsRebuilderTest {
+
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private FactManager factManager;
+
+  private final List<FactEntity> facts = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(factManager.fetchFactsByTokenRange(anyLong(), anyLong())).thenReturn(Collections.emptyIterator());
+    // Return all Facts from the first token range only.
+    when(factManager.fetchFactsByTokenRange(eq(Long.MIN_VALUE), anyLong())).thenAnswer(i -> facts.iterator());
+  }
+
+  @Test
+  public void testRebuildScansAllTokenRanges() throws Exception {
+    assertEquals(0, createRebuilder().rebuild());
+
+    long[] boundaries = CsrGraphSnapshotBuilder.splitTokenRing(4);
+    for (int i = 0; i < 4; i++) {
+      verify(factManager).fetchFactsByTokenRange(boundaries[i], boundaries[i + 1]);
+    }
+    verifyZeroInteractions(objectManager);
+  }
+
+  @Test
+  public void testRebuildRecordsFacts() throws Exception {
+    FactEntity fact = addFact();
+
+    assertEquals(1, createRebuilder().rebuild());
+    verify(objectManager).recordFactAdded(fact);
+    verify(objectManager, never()).recordFactRetracted(any());
+  }
+
+  @Test
+  public void testRebuildRecordsRetractedFacts() throws Exception {
+    FactEntity fact = addFact().addFlag(FactEntity.Flag.RetractedHint);
+
+    assertEquals(1, createRebuilder().rebuild());
+    verify(objectManager).recordFactAdded(fact);
+    verify(objectManager).recordFactRetracted(fact);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRebuilderCanOnlyBeUsedOnce() throws Exception {
+    ObjectStatisticsRebuilder rebuilder = createRebuilder();
+    rebuilder.rebuild();
+    rebuilder.rebuild();
+  }
+
+  private ObjectStatisticsRebuilder createRebuilder() {
+    return ObjectStatisticsRebuilder.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            .setParallelism(2)
+            .setTokenRanges(4)
+            .build();
+  }
+
+  private FactEntity addFact() {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID());
+    facts.add(fact);
+    return fact;
+  }
+}
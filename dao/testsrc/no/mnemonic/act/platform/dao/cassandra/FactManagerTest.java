@@ -211,6 +211,28 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(0, ListUtils.list(getFactManager().getFacts(ListUtils.list(UUID.randomUUID()))).size());
   }
 
+  @Test
+  public void testFetchFactsByTokenRange() {
+    FactTypeEntity type = createAndSaveFactType();
+    FactEntity fact1 = createAndSaveFact(type.getId(), "value1");
+    FactEntity fact2 = createAndSaveFact(type.getId(), "value2");
+
+    // The whole token ring contains all Facts.
+    Set<UUID> actual = SetUtils.set(getFactManager().fetchFactsByTokenRange(Long.MIN_VALUE, Long.MAX_VALUE), FactEntity::getId);
+    assertTrue(actual.contains(fact1.getId()));
+    assertTrue(actual.contains(fact2.getId()));
+    // Splitting the ring doesn't lose any Facts.
+    Set<UUID> split = SetUtils.union(
+            SetUtils.set(getFactManager().fetchFactsByTokenRange(Long.MIN_VALUE, 0), FactEntity::getId),
+            SetUtils.set(getFactManager().fetchFactsByTokenRange(0, Long.MAX_VALUE), FactEntity::getId));
+    assertEquals(actual, split);
+  }
+
+  @Test
+  public void testFetchFactsByEmptyTokenRange() {
+    assertFalse(getFactManager().fetchFactsByTokenRange(0, 0).hasNext());
+  }
+
   @Test
   public void testRefreshFact() {
     long timestamp = 123456789;
@@ -234,9 +256,16 @@ public class FactManagerTest extends AbstractManagerTest {
     FactEntity fact = createAndSaveFact();
 
     assertEquals(Collections.emptySet(), getFactManager().getFact(fact.getId()).getFlags());
-    FactEntity retractedFact = getFactManager().retractFact(fact.getId());
-    assertEquals(fact.getId(), retractedFact.getId());
-    assertEquals(Collections.singleton(FactEntity.Flag.RetractedHint), retractedFact.getFlags());
+    assertTrue(getFactManager().retractFact(fact.getId()));
+    assertEquals(Collections.singleton(FactEntity.Flag.RetractedHint), getFactManager().getFact(fact.getId()).getFlags());
+  }
+
+  @Test
+  public void testRetractFactTwice() {
+    FactEntity fact = createAndSaveFact();
+
+    assertTrue(getFactManager().retractFact(fact.getId()));
+    assertFalse(getFactManager().retractFact(fact.getId()));
     assertEquals(Collections.singleton(FactEntity.Flag.RetractedHint), getFactManager().getFact(fact.getId()).getFlags());
   }
 
@@ -261,6 +290,24 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(0, getFactManager().fetchFactAcl(UUID.randomUUID()).size());
   }
 
+  @Test
+  public void testFetchFactAclForFacts() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+    createAndSaveFactAclEntry(fact1.getId());
+    createAndSaveFactAclEntry(fact2.getId());
+
+    List<FactAclEntity> acl = ListUtils.list(getFactManager().fetchFactAclForFacts(ListUtils.list(fact1.getId(), fact2.getId())));
+    assertEquals(SetUtils.set(fact1.getId(), fact2.getId()), SetUtils.set(acl, FactAclEntity::getFactID));
+  }
+
+  @Test
+  public void testFetchFactAclForFactsWithUnknownId() {
+    assertEquals(0, ListUtils.list(getFactManager().fetchFactAclForFacts(null)).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchFactAclForFacts(ListUtils.list())).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchFactAclForFacts(ListUtils.list(UUID.randomUUID()))).size());
+  }
+
   @Test
   public void testSaveFactAclEntryReturnsSameEntity() {
     FactAclEntity entity = createFactAclEntry(createAndSaveFact().getId());
@@ -300,6 +347,24 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(0, getFactManager().fetchFactComments(UUID.randomUUID()).size());
   }
 
+  @Test
+  public void testFetchFactCommentsForFacts() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+    createAndSaveFactComment(fact1.getId());
+    createAndSaveFactComment(fact2.getId());
+
+    List<FactCommentEntity> comments = ListUtils.list(getFactManager().fetchFactCommentsForFacts(ListUtils.list(fact1.getId(), fact2.getId())));
+    assertEquals(SetUtils.set(fact1.getId(), fact2.getId()), SetUtils.set(comments, FactCommentEntity::getFactID));
+  }
+
+  @Test
+  public void testFetchFactCommentsForFactsWithUnknownId() {
+    assertEquals(0, ListUtils.list(getFactManager().fetchFactCommentsForFacts(null)).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchFactCommentsForFacts(ListUtils.list())).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchFactCommentsForFacts(ListUtils.list(UUID.randomUUID()))).size());
+  }
+
   @Test
   public void testSaveFactCommentReturnsSameEntity() {
     FactCommentEntity entity = createFactComment(createAndSaveFact().getId());
@@ -339,6 +404,24 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(0, getFactManager().fetchMetaFactBindings(UUID.randomUUID()).size());
   }
 
+  @Test
+  public void testFetchMetaFactBindingsForFacts() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+    createAndSaveMetaFactBinding(fact1.getId());
+    createAndSaveMetaFactBinding(fact2.getId());
+
+    List<MetaFactBindingEntity> bindings = ListUtils.list(getFactManager().fetchMetaFactBindingsForFacts(ListUtils.list(fact1.getId(), fact2.getId())));
+    assertEquals(SetUtils.set(fact1.getId(), fact2.getId()), SetUtils.set(bindings, MetaFactBindingEntity::getFactID));
+  }
+
+  @Test
+  public void testFetchMetaFactBindingsForFactsWithUnknownId() {
+    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindingsForFacts(null)).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindingsForFacts(ListUtils.list())).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindingsForFacts(ListUtils.list(UUID.randomUUID()))).size());
+  }
+
   @Test
   public void testSaveMetaFactBindingReturnsSameEntity() {
     MetaFactBindingEntity binding = createMetaFactBinding(createAndSaveFact().getId());
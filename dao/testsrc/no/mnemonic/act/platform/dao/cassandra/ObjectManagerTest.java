@@ -1,9 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
-import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Test;
@@ -17,6 +14,9 @@ import static org.junit.Assert.*;
 
 public class ObjectManagerTest extends AbstractManagerTest {
 
+  private static final UUID FACT_TYPE_ID = UUID.randomUUID();
+  private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+
   @Test
   public void testSaveAndGetObjectTypeById() {
     ObjectTypeEntity entity = createAndSaveObjectType();
@@ -223,6 +223,53 @@ public class ObjectManagerTest extends AbstractManagerTest {
     getObjectManager().saveObjectFactBinding(binding);
   }
 
+  @Test
+  public void testFetchObjectStatisticsWithNonExistingObject() {
+    assertTrue(getObjectManager().fetchObjectFactCounts((UUID) null).isEmpty());
+    assertTrue(getObjectManager().fetchObjectFactCounts(UUID.randomUUID()).isEmpty());
+    assertTrue(getObjectManager().fetchObjectFactTimestamps((UUID) null).isEmpty());
+    assertTrue(getObjectManager().fetchObjectFactTimestamps(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  public void testRecordFactAddedUpdatesStatistics() {
+    UUID objectID = UUID.randomUUID();
+    getObjectManager().recordFactAdded(createFact(objectID, 100, 300));
+    getObjectManager().recordFactAdded(createFact(objectID, 200, 200));
+
+    List<ObjectFactCountEntity> counts = getObjectManager().fetchObjectFactCounts(objectID);
+    assertEquals(1, counts.size());
+    assertEquals(2, counts.get(0).getFactCount());
+    assertEquals(0, counts.get(0).getRetractedCount());
+
+    List<ObjectFactTimestampEntity> timestamps = getObjectManager().fetchObjectFactTimestamps(objectID);
+    assertEquals(1, timestamps.size());
+    assertEquals(200, timestamps.get(0).getLastAddedTimestamp());
+    assertEquals(300, timestamps.get(0).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testRecordFactSeenKeepsLatestTimestamp() {
+    UUID objectID = UUID.randomUUID();
+    getObjectManager().recordFactAdded(createFact(objectID, 100, 300));
+    getObjectManager().recordFactSeen(createFact(objectID, 100, 200));
+    assertEquals(300, getObjectManager().fetchObjectFactTimestamps(objectID).get(0).getLastSeenTimestamp());
+
+    getObjectManager().recordFactSeen(createFact(objectID, 100, 400));
+    assertEquals(400, getObjectManager().fetchObjectFactTimestamps(objectID).get(0).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testRecordFactRetractedUpdatesStatistics() {
+    UUID objectID = UUID.randomUUID();
+    getObjectManager().recordFactAdded(createFact(objectID, 100, 100));
+    getObjectManager().recordFactRetracted(createFact(objectID, 100, 100));
+
+    List<ObjectFactCountEntity> counts = getObjectManager().fetchObjectFactCounts(objectID);
+    assertEquals(1, counts.get(0).getFactCount());
+    assertEquals(1, counts.get(0).getRetractedCount());
+  }
+
   private ObjectTypeEntity createObjectType() {
     return createObjectType("objectType");
   }
@@ -291,6 +338,17 @@ public class ObjectManagerTest extends AbstractManagerTest {
     return entities;
   }
 
+  private FactEntity createFact(UUID objectID, long timestamp, long lastSeenTimestamp) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(FACT_TYPE_ID)
+            .setAccessMode(AccessMode.Public)
+            .setOrganizationID(ORGANIZATION_ID)
+            .setTimestamp(timestamp)
+            .setLastSeenTimestamp(lastSeenTimestamp)
+            .addBinding(new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.BiDirectional));
+  }
+
   private ObjectFactBindingEntity createAndSaveObjectFactBinding(UUID objectID) {
     return getObjectManager().saveObjectFactBinding(createObjectFactBinding(objectID));
   }
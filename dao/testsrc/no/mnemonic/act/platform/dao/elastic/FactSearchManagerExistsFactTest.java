@@ -0,0 +1,57 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FactSearchManagerExistsFactTest extends AbstractManagerTest {
+
+  @Test
+  public void testExistsFactWithNoCriteria() {
+    assertFalse(getFactSearchManager().existsFact(null));
+  }
+
+  @Test
+  public void testExistsFactWithoutMatchingFact() {
+    indexFact(d -> d.setTypeID(UUID.randomUUID()));
+    assertFalse(getFactSearchManager().existsFact(createFactSearchCriteria(b -> b.addFactTypeID(UUID.randomUUID()))));
+  }
+
+  @Test
+  public void testExistsFactWithMatchingFact() {
+    FactDocument fact = indexFact(d -> d.setTypeID(UUID.randomUUID()));
+    assertTrue(getFactSearchManager().existsFact(createFactSearchCriteria(b -> b.addFactTypeID(fact.getTypeID()))));
+  }
+
+  @Test
+  public void testExistsFactWithMultipleMatchingFacts() {
+    UUID typeID = UUID.randomUUID();
+    indexFact(d -> d.setTypeID(typeID));
+    indexFact(d -> d.setTypeID(typeID));
+    assertTrue(getFactSearchManager().existsFact(createFactSearchCriteria(b -> b.addFactTypeID(typeID))));
+  }
+
+  @Test
+  public void testExistsFactAppliesAccessControl() {
+    FactDocument fact = indexFact(d -> d.setAccessMode(FactDocument.AccessMode.Explicit));
+
+    FactSearchCriteria criteria = FactSearchCriteria.builder()
+            .addFactID(fact.getId())
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(fact.getOrganizationID())
+            .build();
+    assertFalse(getFactSearchManager().existsFact(criteria));
+
+    criteria = FactSearchCriteria.builder()
+            .addFactID(fact.getId())
+            .setCurrentUserID(fact.getAcl().iterator().next())
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .build();
+    assertTrue(getFactSearchManager().existsFact(criteria));
+  }
+}
@@ -480,6 +480,18 @@ public class FactSearchManagerSearchFactsTest extends AbstractManagerTest {
     assertEquals(3, ListUtils.list(result).size());
   }
 
+  @Test
+  public void testSearchFactsWithLimitScrollsThroughAllResults() {
+    indexFact(d -> d);
+    indexFact(d -> d);
+    indexFact(d -> d);
+
+    // The page size is capped by the configured scroll size, but all results must still be returned.
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b.setLimit(2)));
+    assertEquals(1, result.getBatchSize());
+    assertEquals(3, ListUtils.list(result).size());
+  }
+
   private void testSearchFacts(FactSearchCriteria criteria, FactDocument accessibleFact) {
     List<FactDocument> result = ListUtils.list(getFactSearchManager().searchFacts(criteria));
     assertEquals(1, result.size());
@@ -22,11 +22,16 @@ import no.mnemonic.act.platform.dao.facade.converters.FactAclEntryRecordConverte
 import no.mnemonic.act.platform.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -36,6 +41,8 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 public class ObjectFactDaoFacadeTest {
 
+  private static final UUID AVAILABLE_ORGANIZATION_ID = UUID.randomUUID();
+
   @Mock
   private ObjectManager objectManager;
   @Mock
@@ -50,6 +57,8 @@ public class ObjectFactDaoFacadeTest {
   private FactAclEntryRecordConverter factAclEntryRecordConverter;
   @Mock
   private FactCommentRecordConverter factCommentRecordConverter;
+  @Mock
+  private GraphElementCache graphElementCache;
 
   private ObjectFactDao dao;
 
@@ -63,7 +72,8 @@ public class ObjectFactDaoFacadeTest {
             objectRecordConverter,
             factRecordConverter,
             factAclEntryRecordConverter,
-            factCommentRecordConverter
+            factCommentRecordConverter,
+            graphElementCache
     );
   }
 
@@ -80,6 +90,19 @@ public class ObjectFactDaoFacadeTest {
     verify(objectRecordConverter).fromEntity(entity);
   }
 
+  @Test
+  public void testGetObjectsById() {
+    UUID id = UUID.randomUUID();
+    ObjectEntity entity = new ObjectEntity();
+    ObjectRecord record = new ObjectRecord();
+    when(objectManager.getObjects(ListUtils.list(id))).thenReturn(ListUtils.list(entity).iterator());
+    when(objectRecordConverter.fromEntity(entity)).thenReturn(record);
+
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.getObjects(ListUtils.list(id))));
+    verify(objectManager).getObjects(ListUtils.list(id));
+    verify(objectRecordConverter).fromEntity(entity);
+  }
+
   @Test
   public void testGetObjectByTypeValue() {
     String type = "type";
@@ -122,17 +145,74 @@ public class ObjectFactDaoFacadeTest {
   }
 
   @Test
-  public void testCalculateObjectStatistics() {
-    ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
-            .addObjectID(UUID.randomUUID())
-            .addAvailableOrganizationID(UUID.randomUUID())
-            .setCurrentUserID(UUID.randomUUID())
-            .build();
-    ObjectStatisticsContainer container = ObjectStatisticsContainer.builder().build();
-    when(factSearchManager.calculateObjectStatistics(criteria)).thenReturn(container);
+  public void testCalculateObjectStatisticsWithNull() {
+    assertEquals(0, dao.calculateObjectStatistics(null).getStatisticsCount());
+    verifyNoInteractions(objectManager, factSearchManager);
+  }
+
+  @Test
+  public void testCalculateObjectStatisticsWithoutFacts() {
+    UUID objectID = UUID.randomUUID();
+    when(objectManager.fetchObjectFactCounts(anyList())).thenReturn(Collections.emptyIterator());
+
+    ObjectStatisticsContainer container = dao.calculateObjectStatistics(createObjectStatisticsCriteria(objectID));
+    assertTrue(container.getStatistics(objectID).isEmpty());
+    verifyNoInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testCalculateObjectStatisticsFromIndex() {
+    UUID objectID = UUID.randomUUID();
+    UUID factTypeID = UUID.randomUUID();
+    when(objectManager.fetchObjectFactCounts(anyList())).thenReturn(ListUtils.list(
+            createFactCount(objectID, factTypeID, AccessMode.Public, UUID.randomUUID(), 3),
+            createFactCount(objectID, factTypeID, AccessMode.RoleBased, AVAILABLE_ORGANIZATION_ID, 2)
+    ).iterator());
+    when(objectManager.fetchObjectFactTimestamps(anyList())).thenReturn(ListUtils.list(
+            createFactTimestamp(objectID, factTypeID, AccessMode.Public, UUID.randomUUID(), 100, 400),
+            createFactTimestamp(objectID, factTypeID, AccessMode.RoleBased, AVAILABLE_ORGANIZATION_ID, 200, 300)
+    ).iterator());
+
+    ObjectStatisticsContainer container = dao.calculateObjectStatistics(createObjectStatisticsCriteria(objectID));
+    assertEquals(1, container.getStatistics(objectID).size());
+    ObjectStatisticsContainer.FactStatistic statistic = container.getStatistics(objectID).iterator().next();
+    assertEquals(factTypeID, statistic.getFactTypeID());
+    assertEquals(5, statistic.getFactCount());
+    assertEquals(200, statistic.getLastAddedTimestamp());
+    assertEquals(400, statistic.getLastSeenTimestamp());
+    verify(objectManager).fetchObjectFactTimestamps(ListUtils.list(objectID));
+    verifyNoInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testCalculateObjectStatisticsFallsBackToElasticSearch() {
+    UUID publicObjectID = UUID.randomUUID();
+    UUID explicitObjectID = UUID.randomUUID();
+    UUID roleBasedObjectID = UUID.randomUUID();
+    UUID factTypeID = UUID.randomUUID();
+    when(objectManager.fetchObjectFactCounts(anyList())).thenReturn(ListUtils.list(
+            createFactCount(publicObjectID, factTypeID, AccessMode.Public, UUID.randomUUID(), 1),
+            createFactCount(explicitObjectID, factTypeID, AccessMode.Public, UUID.randomUUID(), 1),
+            createFactCount(explicitObjectID, factTypeID, AccessMode.Explicit, AVAILABLE_ORGANIZATION_ID, 1),
+            createFactCount(roleBasedObjectID, factTypeID, AccessMode.RoleBased, UUID.randomUUID(), 1)
+    ).iterator());
+    when(objectManager.fetchObjectFactTimestamps(anyList())).thenReturn(Collections.emptyIterator());
+    ObjectStatisticsContainer.FactStatistic fallback = new ObjectStatisticsContainer.FactStatistic(factTypeID, 2, 0, 0);
+    when(factSearchManager.calculateObjectStatistics(notNull())).thenReturn(ObjectStatisticsContainer.builder()
+            .addStatistic(explicitObjectID, fallback)
+            .build());
 
-    assertSame(container, dao.calculateObjectStatistics(criteria));
-    verify(factSearchManager).calculateObjectStatistics(criteria);
+    ObjectStatisticsContainer container = dao.calculateObjectStatistics(createObjectStatisticsCriteria(publicObjectID, explicitObjectID, roleBasedObjectID));
+    assertEquals(1, container.getStatistics(publicObjectID).iterator().next().getFactCount());
+    assertEquals(SetUtils.set(fallback), SetUtils.set(container.getStatistics(explicitObjectID)));
+    assertTrue(container.getStatistics(roleBasedObjectID).isEmpty());
+    // Only the Objects with Facts requiring an ACL check are passed to ElasticSearch.
+    verify(factSearchManager).calculateObjectStatistics(argThat(criteria -> {
+      assertEquals(SetUtils.set(explicitObjectID, roleBasedObjectID), criteria.getObjectID());
+      assertEquals(SetUtils.set(AVAILABLE_ORGANIZATION_ID), criteria.getAvailableOrganizationID());
+      return true;
+    }));
+    verify(objectManager).fetchObjectFactTimestamps(ListUtils.list(publicObjectID));
   }
 
   @Test
@@ -181,6 +261,63 @@ public class ObjectFactDaoFacadeTest {
     verify(factRecordConverter).fromEntity(entity);
   }
 
+  @Test
+  public void testGetFactsWithEmptyInput() {
+    assertFalse(dao.getFacts(null).hasNext());
+    assertFalse(dao.getFacts(ListUtils.list()).hasNext());
+    verify(factManager, never()).getFacts(any());
+  }
+
+  @Test
+  public void testGetFacts() {
+    UUID id = UUID.randomUUID();
+    FactEntity entity = new FactEntity().setId(id);
+    FactRecord record = new FactRecord().setId(id);
+    when(factManager.getFacts(ListUtils.list(id))).thenReturn(ListUtils.list(entity).iterator());
+    when(factRecordConverter.fromEntity(entity)).thenReturn(record);
+
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.getFacts(SetUtils.set(id))));
+  }
+
+  @Test
+  public void testRetrieveMetaFactsWithEmptyInput() {
+    assertFalse(dao.retrieveMetaFacts(null).hasNext());
+    assertFalse(dao.retrieveMetaFacts(ListUtils.list()).hasNext());
+    verify(factManager, never()).fetchMetaFactBindingsForFacts(any());
+  }
+
+  @Test
+  public void testRetrieveMetaFactsWithoutBindings() {
+    UUID id = UUID.randomUUID();
+    when(factManager.fetchMetaFactBindingsForFacts(ListUtils.list(id))).thenReturn(Collections.emptyIterator());
+
+    assertFalse(dao.retrieveMetaFacts(SetUtils.set(id)).hasNext());
+    verify(factManager).fetchMetaFactBindingsForFacts(ListUtils.list(id));
+    verify(factManager, never()).getFacts(any());
+  }
+
+  @Test
+  public void testRetrieveMetaFacts() {
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    UUID metaFactID1 = UUID.randomUUID();
+    UUID metaFactID2 = UUID.randomUUID();
+    FactEntity entity1 = new FactEntity().setId(metaFactID1);
+    FactEntity entity2 = new FactEntity().setId(metaFactID2);
+    FactRecord record1 = new FactRecord().setId(metaFactID1);
+    FactRecord record2 = new FactRecord().setId(metaFactID2);
+    when(factManager.fetchMetaFactBindingsForFacts(ListUtils.list(id1, id2))).thenReturn(ListUtils.list(
+            new MetaFactBindingEntity().setFactID(id1).setMetaFactID(metaFactID1),
+            new MetaFactBindingEntity().setFactID(id2).setMetaFactID(metaFactID2)).iterator());
+    when(factManager.getFacts(ListUtils.list(metaFactID1, metaFactID2))).thenReturn(ListUtils.list(entity1, entity2).iterator());
+    when(factRecordConverter.fromEntity(entity1)).thenReturn(record1);
+    when(factRecordConverter.fromEntity(entity2)).thenReturn(record2);
+
+    // Both referenced Facts are looked up with one query.
+    assertEquals(ListUtils.list(record1, record2), ListUtils.list(dao.retrieveMetaFacts(ListUtils.list(id1, id2))));
+    verify(factManager).fetchMetaFactBindingsForFacts(ListUtils.list(id1, id2));
+  }
+
   @Test
   public void testStoreFactWithNull() {
     assertNull(dao.storeFact(null));
@@ -233,6 +370,16 @@ public class ObjectFactDaoFacadeTest {
       assertEquals(entity.getId(), b.getFactID());
       return true;
     }));
+    verify(graphElementCache).invalidateBindings(binding.getObjectID());
+  }
+
+  @Test
+  public void testStoreFactUpdatesObjectStatistics() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID());
+    when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
+
+    dao.storeFact(new FactRecord());
+    verify(objectManager).recordFactAdded(entity);
   }
 
   @Test
@@ -290,9 +437,20 @@ public class ObjectFactDaoFacadeTest {
 
     assertNotNull(dao.refreshFact(record));
     verify(factManager).refreshFact(record.getId());
+    verify(graphElementCache).invalidateFact(record.getId());
     verifyReindexingOfFact(record);
   }
 
+  @Test
+  public void testRefreshFactUpdatesObjectStatistics() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    FactEntity entity = new FactEntity().setId(record.getId());
+    when(factManager.refreshFact(record.getId())).thenReturn(entity);
+
+    dao.refreshFact(record);
+    verify(objectManager).recordFactSeen(entity);
+  }
+
   @Test
   public void testRefreshFactSavesAclEntry() {
     FactAclEntryRecord entry = new FactAclEntryRecord();
@@ -361,9 +519,32 @@ public class ObjectFactDaoFacadeTest {
 
     assertNotNull(dao.retractFact(record));
     verify(factManager).retractFact(record.getId());
+    verify(graphElementCache).invalidateFact(record.getId());
     verifyReindexingOfFact(record);
   }
 
+  @Test
+  public void testRetractFactUpdatesObjectStatistics() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    FactEntity entity = new FactEntity().setId(record.getId());
+    when(factManager.retractFact(record.getId())).thenReturn(true);
+    when(factManager.getFact(record.getId())).thenReturn(entity);
+
+    dao.retractFact(record);
+    verify(objectManager).recordFactRetracted(entity);
+  }
+
+  @Test
+  public void testRetractFactAlreadyRetractedDoesNotUpdateObjectStatistics() {
+    // The record doesn't have the flag set, but the Fact was retracted concurrently in the meantime.
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    when(factManager.retractFact(record.getId())).thenReturn(false);
+
+    dao.retractFact(record);
+    verify(factManager).retractFact(record.getId());
+    verify(objectManager, never()).recordFactRetracted(any());
+  }
+
   @Test
   public void testRetractFactSavesAclEntry() {
     FactAclEntryRecord entry = new FactAclEntryRecord();
@@ -494,6 +675,40 @@ public class ObjectFactDaoFacadeTest {
     verify(factRecordConverter).fromEntity(entity);
   }
 
+  @Test
+  public void testSearchFactsUsesBatchSizeOfSearchResult() {
+    List<FactDocument> documents = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      documents.add(new FactDocument().setId(UUID.randomUUID()));
+    }
+    FactSearchCriteria criteria = createFactSearchCriteria();
+
+    when(factSearchManager.searchFacts(criteria)).thenReturn(ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", documents.iterator(), true))
+            .setCount(documents.size())
+            .setBatchSize(2)
+            .build());
+    when(factManager.getFacts(anyList())).then(i -> {
+      List<UUID> id = i.getArgument(0);
+      return id.stream().map(factID -> new FactEntity().setId(factID)).iterator();
+    });
+    when(factRecordConverter.fromEntity(any())).thenReturn(new FactRecord());
+
+    assertEquals(documents.size(), ListUtils.list(dao.searchFacts(criteria)).size());
+    verify(factManager, times(2)).getFacts(argThat(list -> list.size() == 2));
+    verify(factManager).getFacts(argThat(list -> list.size() == 1));
+  }
+
+  @Test
+  public void testExistsFact() {
+    FactSearchCriteria criteria = createFactSearchCriteria();
+    when(factSearchManager.existsFact(criteria)).thenReturn(true);
+
+    assertTrue(dao.existsFact(criteria));
+    verify(factSearchManager).existsFact(criteria);
+    verifyNoInteractions(factManager);
+  }
+
   @Test
   public void testStoreFactAclEntryWithNull() {
     assertNull(dao.storeFactAclEntry(new FactRecord(), null));
@@ -574,6 +789,34 @@ public class ObjectFactDaoFacadeTest {
     verify(factSearchManager, atLeastOnce()).indexFact(notNull());
   }
 
+  private ObjectStatisticsCriteria createObjectStatisticsCriteria(UUID... objectID) {
+    return ObjectStatisticsCriteria.builder()
+            .setObjectID(SetUtils.set(objectID))
+            .addAvailableOrganizationID(AVAILABLE_ORGANIZATION_ID)
+            .setCurrentUserID(UUID.randomUUID())
+            .build();
+  }
+
+  private ObjectFactCountEntity createFactCount(UUID objectID, UUID factTypeID, AccessMode accessMode, UUID organizationID, long factCount) {
+    return new ObjectFactCountEntity()
+            .setObjectID(objectID)
+            .setFactTypeID(factTypeID)
+            .setAccessMode(accessMode)
+            .setOrganizationID(organizationID)
+            .setFactCount(factCount);
+  }
+
+  private ObjectFactTimestampEntity createFactTimestamp(UUID objectID, UUID factTypeID, AccessMode accessMode, UUID organizationID,
+                                                        long lastAddedTimestamp, long lastSeenTimestamp) {
+    return new ObjectFactTimestampEntity()
+            .setObjectID(objectID)
+            .setFactTypeID(factTypeID)
+            .setAccessMode(accessMode)
+            .setOrganizationID(organizationID)
+            .setLastAddedTimestamp(lastAddedTimestamp)
+            .setLastSeenTimestamp(lastSeenTimestamp);
+  }
+
   private FactSearchCriteria createFactSearchCriteria() {
     return FactSearchCriteria.builder()
             .addAvailableOrganizationID(UUID.randomUUID())
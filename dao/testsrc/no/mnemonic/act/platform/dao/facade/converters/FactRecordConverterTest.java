@@ -11,14 +11,19 @@ import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -256,6 +261,74 @@ public class FactRecordConverterTest {
     verify(factCommentRecordConverter, times(3)).fromEntity(notNull());
   }
 
+  @Test
+  public void testFromEntitiesWithEmptyInput() {
+    assertEquals(0, converter.fromEntities(null, null).size());
+    assertEquals(0, converter.fromEntities(ListUtils.list(), null).size());
+  }
+
+  @Test
+  public void testFromEntitiesReusesKnownObjects() {
+    ObjectRecord source = new ObjectRecord().setId(UUID.randomUUID());
+    ObjectRecord destination = new ObjectRecord().setId(UUID.randomUUID());
+    FactEntity entity = createFactEntity(source.getId(), destination.getId());
+    mockFetchForFacts();
+
+    List<FactRecord> records = converter.fromEntities(ListUtils.list(entity), MapUtils.map(T(source.getId(), source), T(destination.getId(), destination)));
+    assertEquals(1, records.size());
+    assertSame(source, records.get(0).getSourceObject());
+    assertSame(destination, records.get(0).getDestinationObject());
+
+    verify(objectManager, never()).getObject(any(UUID.class));
+    verifyNoInteractions(objectRecordConverter);
+  }
+
+  @Test
+  public void testFromEntitiesFetchesMissingObjectsInBatch() {
+    ObjectEntity source = new ObjectEntity().setId(UUID.randomUUID());
+    ObjectEntity destination = new ObjectEntity().setId(UUID.randomUUID());
+    FactEntity entity1 = createFactEntity(source.getId(), destination.getId());
+    FactEntity entity2 = createFactEntity(destination.getId(), source.getId());
+    mockFetchForFacts();
+    when(objectManager.getObjects(notNull())).thenReturn(ListUtils.list(source, destination).iterator());
+
+    List<FactRecord> records = converter.fromEntities(ListUtils.list(entity1, entity2), null);
+    assertEquals(ListUtils.list(entity1.getId(), entity2.getId()), ListUtils.list(records, FactRecord::getId));
+    assertNotNull(records.get(0).getSourceObject());
+    assertNotNull(records.get(1).getSourceObject());
+
+    verify(objectManager).getObjects(ListUtils.list(source.getId(), destination.getId()));
+    verify(objectManager, never()).getObject(any(UUID.class));
+  }
+
+  @Test
+  public void testFromEntitiesFetchesAclAndCommentsInBatch() {
+    FactEntity entity1 = new FactEntity().setId(UUID.randomUUID());
+    FactEntity entity2 = new FactEntity().setId(UUID.randomUUID());
+    when(factManager.fetchFactAclForFacts(notNull())).thenReturn(ListUtils.list(
+            new FactAclEntity().setFactID(entity1.getId()),
+            new FactAclEntity().setFactID(entity2.getId()),
+            new FactAclEntity().setFactID(entity2.getId())
+    ).iterator());
+    when(factManager.fetchFactCommentsForFacts(notNull())).thenReturn(ListUtils.list(
+            new FactCommentEntity().setFactID(entity2.getId())
+    ).iterator());
+    when(objectManager.getObjects(notNull())).thenReturn(Collections.emptyIterator());
+    when(factAclEntryRecordConverter.fromEntity(notNull())).thenReturn(new FactAclEntryRecord());
+    when(factCommentRecordConverter.fromEntity(notNull())).thenReturn(new FactCommentRecord());
+
+    List<FactRecord> records = converter.fromEntities(ListUtils.list(entity1, entity2), null);
+    assertEquals(1, records.get(0).getAcl().size());
+    assertEquals(2, records.get(1).getAcl().size());
+    assertEquals(0, SetUtils.set(records.get(0).getComments()).size());
+    assertEquals(1, records.get(1).getComments().size());
+
+    verify(factManager).fetchFactAclForFacts(ListUtils.list(entity1.getId(), entity2.getId()));
+    verify(factManager).fetchFactCommentsForFacts(ListUtils.list(entity1.getId(), entity2.getId()));
+    verify(factManager, never()).fetchFactAcl(any(UUID.class));
+    verify(factManager, never()).fetchFactComments(any(UUID.class));
+  }
+
   @Test
   public void testToEntityWithNullRecord() {
     assertNull(converter.toEntity(null));
@@ -508,4 +581,17 @@ public class FactRecordConverterTest {
     assertEquals(expected.getId(), actual.getObjectID());
     assertEquals(direction, actual.getDirection());
   }
+
+  private FactEntity createFactEntity(UUID sourceObjectID, UUID destinationObjectID) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .addBinding(new FactEntity.FactObjectBinding().setObjectID(sourceObjectID).setDirection(Direction.FactIsDestination))
+            .addBinding(new FactEntity.FactObjectBinding().setObjectID(destinationObjectID).setDirection(Direction.FactIsSource));
+  }
+
+  private void mockFetchForFacts() {
+    when(factManager.fetchFactAclForFacts(notNull())).thenReturn(Collections.emptyIterator());
+    when(factManager.fetchFactCommentsForFacts(notNull())).thenReturn(Collections.emptyIterator());
+    when(objectManager.getObjects(notNull())).thenReturn(Collections.emptyIterator());
+  }
 }
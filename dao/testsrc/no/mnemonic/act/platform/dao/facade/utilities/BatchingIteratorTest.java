@@ -72,6 +72,46 @@ public class BatchingIteratorTest {
     verify(nextBatch, times(2)).apply(notNull());
   }
 
+  @Test
+  public void testIteratorMultipleBatchesWithCustomBatchSize() {
+    int size = 25;
+
+    when(nextBatch.apply(anyList()))
+            .thenReturn(generateIterator(Object::new, 10))
+            .thenReturn(generateIterator(Object::new, 10))
+            .thenReturn(generateIterator(Object::new, 5));
+    Iterator<Object> iterator = new BatchingIterator<>(generateIterator(UUID::randomUUID, size), nextBatch, 10);
+
+    assertEquals(size, ListUtils.list(iterator).size());
+    verify(nextBatch, times(2)).apply(argThat(list -> list.size() == 10));
+    verify(nextBatch).apply(argThat(list -> list.size() == 5));
+  }
+
+  @Test
+  public void testIteratorCapsCustomBatchSize() {
+    int size = 1001;
+
+    when(nextBatch.apply(anyList()))
+            .thenReturn(generateIterator(Object::new, 1000))
+            .thenReturn(generateIterator(Object::new, 1));
+    Iterator<Object> iterator = new BatchingIterator<>(generateIterator(UUID::randomUUID, size), nextBatch, 5000);
+
+    assertEquals(size, ListUtils.list(iterator).size());
+    verify(nextBatch).apply(argThat(list -> list.size() == 1000));
+    verify(nextBatch).apply(argThat(list -> list.size() == 1));
+  }
+
+  @Test
+  public void testIteratorUsesDefaultBatchSizeIfNotPositive() {
+    int size = 999;
+
+    when(nextBatch.apply(anyList())).thenReturn(generateIterator(Object::new, size));
+    Iterator<Object> iterator = new BatchingIterator<>(generateIterator(UUID::randomUUID, size), nextBatch, 0);
+
+    assertEquals(size, ListUtils.list(iterator).size());
+    verify(nextBatch).apply(argThat(list -> list.size() == size));
+  }
+
   private <T> Iterator<T> generateIterator(Supplier<T> generator, int size) {
     List<T> id = new ArrayList<>();
     for (int i = 0; i < size; i++) {
@@ -1,10 +1,15 @@
 package no.mnemonic.act.platform.dao.tinkerpop;
 
 import no.mnemonic.act.platform.dao.tinkerpop.exceptions.GraphOperationException;
-import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
-import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphSnapshot;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.TraversalMetrics;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
@@ -17,12 +22,11 @@ import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 public class ActGraphTest extends AbstractGraphTest {
 
@@ -74,6 +78,53 @@ public class ActGraphTest extends AbstractGraphTest {
     getActGraph().edges();
   }
 
+  @Test
+  public void testFetchingAllVerticesFromSnapshot() {
+    ActGraph graph = createSnapshotGraph();
+    Set<Object> ids = SetUtils.set(graph.vertices(), Vertex::id);
+    assertEquals(2, ids.size());
+    verifyNoFetchFromCassandra();
+  }
+
+  @Test
+  public void testFetchingAllEdgesFromSnapshot() {
+    ActGraph graph = createSnapshotGraph();
+    List<Edge> edges = IteratorUtils.list(graph.edges());
+    assertEquals(1, edges.size());
+    assertEquals("type", edges.get(0).label());
+    verifyNoFetchFromCassandra();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testComputeNotSupported() {
+    getActGraph().compute();
+  }
+
+  @Test
+  public void testComputeOnSnapshot() throws Exception {
+    ActGraph graph = createSnapshotGraph();
+    assertTrue(graph.features().graph().supportsComputer());
+
+    ComputerResult result = graph.compute()
+            .program(PageRankVertexProgram.build().create(graph))
+            .submit()
+            .get();
+    assertEquals(2, IteratorUtils.count(result.graph().vertices()));
+    result.graph().vertices().forEachRemaining(v -> assertTrue(v.property(PageRankVertexProgram.PAGE_RANK).isPresent()));
+    verifyNoFetchFromCassandra();
+  }
+
+  @Test
+  public void testComputeTraversalOnSnapshot() {
+    ActGraph graph = createSnapshotGraph();
+    assertEquals(1L, (long) graph.traversal().withComputer().V().outE("type").count().next());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testFetchingVertexOutsideSnapshot() {
+    createSnapshotGraph().vertices(mockObject());
+  }
+
   @Test
   public void testFetchingEdgesWithId() {
     ObjectFactBindingEntity inBinding = mockFactWithObject();
@@ -90,6 +141,66 @@ public class ActGraphTest extends AbstractGraphTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testTraversalRecordsMetrics() {
+    ObjectFactBindingEntity binding = mockFactWithObject();
+    when(getObjectManager().fetchObjectFactBindings(binding.getObjectID())).thenAnswer(i -> ListUtils.list(binding).iterator());
+    TraversalMetrics metrics = TraversalMetrics.builder().build();
+    ActGraph graph = createGraph(metrics);
+
+    assertEquals(1, graph.traversal().V(binding.getObjectID()).outE().count().next().longValue());
+    assertEquals(metrics, graph.getMetrics());
+    assertTrue(metrics.getVertexCount() > 0);
+    assertEquals(1, metrics.getFactCount());
+    assertTrue(metrics.getQueryCount() > 0);
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testTraversalExceedsVertexBudget() {
+    ActGraph graph = createGraph(TraversalMetrics.builder().setMaximumVertices(1).build());
+    graph.traversal().V(mockObject(), mockObject()).toList();
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testTraversalExceedsQueryBudget() {
+    ActGraph graph = createGraph(TraversalMetrics.builder().setMaximumQueries(1).build());
+    graph.traversal().V(mockObject(), mockObject()).toList();
+  }
+
+  @Test
+  public void testHasStatisticsAccess() {
+    UUID organizationID = UUID.randomUUID();
+    ActGraph graph = ActGraph.builder()
+            .setObjectManager(getObjectManager())
+            .setFactManager(getFactManager())
+            .setHasFactAccess(f -> true)
+            .setAvailableOrganizationID(SetUtils.set(organizationID))
+            .build();
+
+    assertTrue(graph.hasStatisticsAccess(AccessMode.Public, UUID.randomUUID()));
+    assertTrue(graph.hasStatisticsAccess(AccessMode.RoleBased, organizationID));
+    assertFalse(graph.hasStatisticsAccess(AccessMode.RoleBased, UUID.randomUUID()));
+    assertFalse(graph.hasStatisticsAccess(AccessMode.Explicit, organizationID));
+    // Without available organizations only public Facts are included.
+    assertFalse(getActGraph().hasStatisticsAccess(AccessMode.RoleBased, organizationID));
+  }
+
+  @Test
+  public void testTraversalFiltersOnObjectStatistics() {
+    UUID popular = mockObject();
+    UUID unpopular = mockObject();
+    when(getObjectManager().fetchObjectFactCounts(popular)).thenReturn(ListUtils.list(new ObjectFactCountEntity()
+            .setObjectID(popular)
+            .setFactTypeID(UUID.randomUUID())
+            .setAccessMode(AccessMode.Public)
+            .setFactCount(1000)
+    ));
+
+    assertEquals(ListUtils.list(unpopular), getActGraph().traversal().V(popular, unpopular).has("factCount", P.lt(100L)).id().toList());
+    // Filtering on the statistics never fetches the bindings of the Objects.
+    verify(getObjectManager(), never()).fetchObjectFactBindings(any());
+  }
+
   /* The following tests are adapted from gremlin-test GraphTest. */
 
   @Test
@@ -252,4 +363,45 @@ public class ActGraphTest extends AbstractGraphTest {
             .setDirection(Direction.BiDirectional);
   }
 
+
+  private ActGraph createGraph(TraversalMetrics metrics) {
+    return ActGraph.builder()
+            .setObjectManager(getObjectManager())
+            .setFactManager(getFactManager())
+            .setHasFactAccess(f -> true)
+            .setMetrics(metrics)
+            .build();
+  }
+
+  private ActGraph createSnapshotGraph() {
+    ObjectEntity source = new ObjectEntity().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID());
+    ObjectEntity destination = new ObjectEntity().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID());
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(source.getId()).setDirection(Direction.FactIsDestination),
+                    new FactEntity.FactObjectBinding().setObjectID(destination.getId()).setDirection(Direction.FactIsSource)
+            ));
+    when(getFactManager().getFactType(fact.getTypeID())).thenReturn(new FactTypeEntity().setId(fact.getTypeID()).setName("type"));
+    when(getObjectManager().getObjectType(source.getTypeID())).thenReturn(new ObjectTypeEntity().setId(source.getTypeID()).setName("sourceType"));
+    when(getObjectManager().getObjectType(destination.getTypeID())).thenReturn(new ObjectTypeEntity().setId(destination.getTypeID()).setName("destinationType"));
+
+    return ActGraph.builder()
+            .setObjectManager(getObjectManager())
+            .setFactManager(getFactManager())
+            .setHasFactAccess(f -> true)
+            .setSnapshot(GraphSnapshot.builder()
+                    .addObject(source)
+                    .addObject(destination)
+                    .addFact(fact)
+                    .build())
+            .build();
+  }
+
+  private void verifyNoFetchFromCassandra() {
+    verify(getObjectManager(), never()).getObject(any());
+    verify(getObjectManager(), never()).fetchObjectFactBindings(any());
+    verify(getFactManager(), never()).getFact(any());
+  }
 }
@@ -1,9 +1,6 @@
 package no.mnemonic.act.platform.dao.tinkerpop;
 
-import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
-import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -19,7 +16,9 @@ import static no.mnemonic.commons.utilities.collections.ListUtils.list;
 import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 import static org.apache.tinkerpop.gremlin.structure.Direction.*;
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.*;
 
 public class ObjectVertexTest extends AbstractGraphTest {
 
@@ -28,9 +27,14 @@ public class ObjectVertexTest extends AbstractGraphTest {
     new ObjectVertex(null, UUID.randomUUID());
   }
 
+  @Test(expected = RuntimeException.class)
+  public void testCreateVertexWithoutObjectID() {
+    new ObjectVertex(getActGraph(), null);
+  }
+
   @Test(expected = RuntimeException.class)
   public void testCreateVertexWithoutObject() {
-    new ObjectVertex(getActGraph(), UUID.randomUUID());
+    new ObjectVertex(getActGraph(), UUID.randomUUID()).label();
   }
 
   @Test(expected = RuntimeException.class)
@@ -42,7 +46,45 @@ public class ObjectVertexTest extends AbstractGraphTest {
             .setValue("value")
     );
 
-    new ObjectVertex(getActGraph(), objectID);
+    new ObjectVertex(getActGraph(), objectID).label();
+  }
+
+  @Test
+  public void testCreateVertexDoesNotFetchState() {
+    UUID objectID = mockObject();
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+    assertEquals(objectID, vertex.id());
+    verifyNoInteractions(getObjectManager());
+  }
+
+  @Test
+  public void testGetObjectIfLoaded() {
+    UUID objectID = mockObject();
+    ObjectVertex vertex = new ObjectVertex(getActGraph(), objectID);
+    assertNull(vertex.getObjectIfLoaded());
+    verifyNoInteractions(getObjectManager());
+
+    assertSame(vertex.getObject(), vertex.getObjectIfLoaded());
+  }
+
+  @Test
+  public void testLabelFetchesObjectAndObjectTypeOnlyOnce() {
+    UUID objectID = mockObject();
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+    assertEquals("type", vertex.label());
+    assertEquals("type", vertex.label());
+    verify(getObjectManager()).getObject(objectID);
+    verify(getObjectManager()).getObjectType(isA(UUID.class));
+    verify(getObjectManager(), never()).fetchObjectFactBindings(any());
+  }
+
+  @Test
+  public void testEdgesFetchesOnlyBindings() {
+    UUID objectID = mockObjectWithFact(Direction.BiDirectional);
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+    assertTrue(vertex.edges(BOTH).hasNext());
+    verify(getObjectManager()).fetchObjectFactBindings(objectID);
+    verify(getObjectManager(), never()).getObject(objectID);
   }
 
   @Test
@@ -150,6 +192,75 @@ public class ObjectVertexTest extends AbstractGraphTest {
     assertTrue(vertex.properties("value").hasNext());
   }
 
+  @Test
+  public void testPropertiesWithValueDoesNotFetchStatistics() {
+    Vertex vertex = createVertex();
+    assertTrue(vertex.properties("value").hasNext());
+    verify(getObjectManager(), never()).fetchObjectFactCounts(any(UUID.class));
+    verify(getObjectManager(), never()).fetchObjectFactTimestamps(any(UUID.class));
+  }
+
+  @Test
+  public void testPropertiesWithFactCountDoesNotFetchObject() {
+    UUID objectID = UUID.randomUUID();
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+    assertEquals(0L, (long) vertex.value("factCount"));
+    verify(getObjectManager()).fetchObjectFactCounts(objectID);
+    verify(getObjectManager(), never()).getObject(any(UUID.class));
+    verify(getObjectManager(), never()).fetchObjectFactTimestamps(any(UUID.class));
+  }
+
+  @Test
+  public void testPropertiesWithFactCountFetchesStatisticsOnlyOnce() {
+    Vertex vertex = createVertex();
+    vertex.properties("factCount").hasNext();
+    vertex.properties("retractedFactCount").hasNext();
+    verify(getObjectManager()).fetchObjectFactCounts(any(UUID.class));
+  }
+
+  @Test
+  public void testPropertiesWithFactCount() {
+    UUID organizationID = UUID.randomUUID();
+    UUID objectID = mockObjectWithStatistics(organizationID);
+    Vertex vertex = new ObjectVertex(createGraphWithOrganization(organizationID), objectID);
+
+    // Public and role-based Facts of the available organization are included, but explicit Facts are not.
+    assertEquals(11L, (long) vertex.value("factCount"));
+    assertEquals(1L, (long) vertex.value("factCount.seenIn"));
+    assertEquals(10L, (long) vertex.value("factCount.resolvesTo"));
+    assertEquals(3L, (long) vertex.value("retractedFactCount"));
+    assertEquals(3L, (long) vertex.value("retractedFactCount.resolvesTo"));
+  }
+
+  @Test
+  public void testPropertiesWithFactCountExcludesUnavailableOrganization() {
+    UUID objectID = mockObjectWithStatistics(UUID.randomUUID());
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+
+    // Only public Facts are included.
+    assertEquals(1L, (long) vertex.value("factCount"));
+    assertFalse(vertex.properties("factCount.resolvesTo").hasNext());
+  }
+
+  @Test
+  public void testPropertiesWithTimestamps() {
+    UUID organizationID = UUID.randomUUID();
+    UUID objectID = mockObjectWithStatistics(organizationID);
+    Vertex vertex = new ObjectVertex(createGraphWithOrganization(organizationID), objectID);
+
+    assertEquals(300L, (long) vertex.value("lastAddedTimestamp"));
+    assertEquals(100L, (long) vertex.value("lastAddedTimestamp.seenIn"));
+    assertEquals(400L, (long) vertex.value("lastSeenTimestamp"));
+    assertEquals(400L, (long) vertex.value("lastSeenTimestamp.resolvesTo"));
+    verify(getObjectManager(), never()).fetchObjectFactCounts(any(UUID.class));
+  }
+
+  @Test
+  public void testPropertiesWithTimestampsWithoutFacts() {
+    Vertex vertex = createVertex();
+    assertFalse(vertex.properties("lastAddedTimestamp", "lastSeenTimestamp").hasNext());
+  }
+
   /* The following tests are adapted from gremlin-test VertexTest. */
 
   @Test
@@ -189,8 +300,10 @@ public class ObjectVertexTest extends AbstractGraphTest {
   public void testGetPropertyKeysOnVertex() {
     Vertex vertex = createVertex();
     // Test that the following properties exists on the vertex.
-    Map<String, String> expected = MapUtils.map(
-            T("value", "value")
+    Map<String, Object> expected = MapUtils.map(
+            T("value", "value"),
+            T("factCount", 0L),
+            T("retractedFactCount", 0L)
     );
 
     Set<String> keys = vertex.keys();
@@ -199,7 +312,7 @@ public class ObjectVertexTest extends AbstractGraphTest {
     assertEquals(expected.size(), keys.size());
     assertEquals(expected.size(), properties.size());
 
-    for (Map.Entry<String, String> entry : expected.entrySet()) {
+    for (Map.Entry<String, Object> entry : expected.entrySet()) {
       assertTrue(keys.contains(entry.getKey()));
 
       VertexProperty<Object> property = vertex.property(entry.getKey());
@@ -228,6 +341,62 @@ public class ObjectVertexTest extends AbstractGraphTest {
     return new ObjectVertex(getActGraph(), mockObject());
   }
 
+  private ActGraph createGraphWithOrganization(UUID organizationID) {
+    return ActGraph.builder()
+            .setObjectManager(getObjectManager())
+            .setFactManager(getFactManager())
+            .setHasFactAccess(f -> true)
+            .setAvailableOrganizationID(SetUtils.set(organizationID))
+            .build();
+  }
+
+  private UUID mockObjectWithStatistics(UUID organizationID) {
+    UUID objectID = mockObject();
+    UUID seenIn = mockFactType("seenIn");
+    UUID resolvesTo = mockFactType("resolvesTo");
+
+    when(getObjectManager().fetchObjectFactCounts(objectID)).thenReturn(list(
+            createFactCount(objectID, seenIn, AccessMode.Public, UUID.randomUUID(), 1, 0),
+            createFactCount(objectID, resolvesTo, AccessMode.RoleBased, organizationID, 10, 3),
+            createFactCount(objectID, resolvesTo, AccessMode.Explicit, organizationID, 100, 0)
+    ));
+    when(getObjectManager().fetchObjectFactTimestamps(objectID)).thenReturn(list(
+            createFactTimestamp(objectID, seenIn, AccessMode.Public, UUID.randomUUID(), 100, 200),
+            createFactTimestamp(objectID, resolvesTo, AccessMode.RoleBased, organizationID, 300, 400),
+            createFactTimestamp(objectID, resolvesTo, AccessMode.Explicit, organizationID, 500, 600)
+    ));
+
+    return objectID;
+  }
+
+  private UUID mockFactType(String name) {
+    UUID typeID = UUID.randomUUID();
+    when(getFactManager().getFactType(typeID)).thenReturn(new FactTypeEntity().setId(typeID).setName(name));
+    return typeID;
+  }
+
+  private ObjectFactCountEntity createFactCount(UUID objectID, UUID typeID, AccessMode accessMode, UUID organizationID,
+                                                long factCount, long retractedCount) {
+    return new ObjectFactCountEntity()
+            .setObjectID(objectID)
+            .setFactTypeID(typeID)
+            .setAccessMode(accessMode)
+            .setOrganizationID(organizationID)
+            .setFactCount(factCount)
+            .setRetractedCount(retractedCount);
+  }
+
+  private ObjectFactTimestampEntity createFactTimestamp(UUID objectID, UUID typeID, AccessMode accessMode, UUID organizationID,
+                                                        long lastAddedTimestamp, long lastSeenTimestamp) {
+    return new ObjectFactTimestampEntity()
+            .setObjectID(objectID)
+            .setFactTypeID(typeID)
+            .setAccessMode(accessMode)
+            .setOrganizationID(organizationID)
+            .setLastAddedTimestamp(lastAddedTimestamp)
+            .setLastSeenTimestamp(lastSeenTimestamp);
+  }
+
   private UUID mockObjectWithFact(Direction inDirection) {
     UUID objectID = mockObject();
     UUID factID = mockFact(new FactEntity.FactObjectBinding()
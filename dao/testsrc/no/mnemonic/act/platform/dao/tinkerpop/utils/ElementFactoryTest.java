@@ -14,6 +14,8 @@ import org.mockito.Mock;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -129,6 +131,34 @@ public class ElementFactoryTest {
     assertSame(first, second);
   }
 
+  @Test
+  public void testCreateEdgesAfterEvictionCreatesNewEdge() {
+    UUID objectID = mockObject(UUID.randomUUID());
+    UUID typeID = UUID.randomUUID();
+    when(factManager.getFactType(typeID)).thenReturn(new FactTypeEntity().setId(typeID).setName("type"));
+    when(factManager.getFact(notNull())).thenAnswer(i -> new FactEntity()
+            .setId(i.getArgument(0))
+            .setTypeID(typeID)
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.BiDirectional)))
+    );
+
+    ObjectFactBindingEntity first = new ObjectFactBindingEntity()
+            .setObjectID(objectID)
+            .setFactID(UUID.randomUUID())
+            .setDirection(Direction.BiDirectional);
+    Edge evicted = elementFactory.createEdges(first).iterator().next();
+    // Fill up the cache until the first edge gets evicted.
+    for (int i = 0; i < 30000; i++) {
+      elementFactory.createEdges(new ObjectFactBindingEntity()
+              .setObjectID(objectID)
+              .setFactID(UUID.randomUUID())
+              .setDirection(Direction.BiDirectional));
+    }
+
+    assertNull(elementFactory.getEdge((UUID) evicted.id()));
+    assertNotEquals(evicted.id(), elementFactory.createEdges(first).iterator().next().id());
+  }
+
   @Test
   public void testGetEdgeWithNullId() {
     assertNull(elementFactory.getEdge(null));
@@ -166,6 +196,28 @@ public class ElementFactoryTest {
     assertEquals(objectID, elementFactory.getVertex(objectID).id());
   }
 
+  @Test
+  public void testGetVertexUncheckedWithNullId() {
+    assertNull(elementFactory.getVertexUnchecked(null));
+  }
+
+  @Test
+  public void testGetVertexUncheckedDoesNotFetchObject() {
+    UUID objectID = UUID.randomUUID();
+    assertEquals(objectID, elementFactory.getVertexUnchecked(objectID).id());
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testGetVertexReturnsUncheckedVertex() {
+    UUID objectID = mockObject(UUID.randomUUID());
+
+    Vertex first = elementFactory.getVertexUnchecked(objectID);
+    Vertex second = elementFactory.getVertex(objectID);
+
+    assertSame(first, second);
+  }
+
   @Test
   public void testGetVertexCached() {
     UUID objectID = mockObject(UUID.randomUUID());
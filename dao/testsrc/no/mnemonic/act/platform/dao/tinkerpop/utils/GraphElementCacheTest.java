@@ -0,0 +1,189 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GraphElementCacheTest {
+
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private FactManager factManager;
+
+  private GraphElementCache cache;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    cache = new GraphElementCache(objectManager, factManager);
+  }
+
+  @Test
+  public void testGetObjectWithNullId() {
+    assertNull(cache.getObject(null));
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testGetObjectFetchesObjectOnlyOnce() {
+    ObjectEntity object = new ObjectEntity().setId(UUID.randomUUID());
+    when(objectManager.getObject(object.getId())).thenReturn(object);
+
+    assertSame(object, cache.getObject(object.getId()));
+    assertSame(object, cache.getObject(object.getId()));
+    verify(objectManager).getObject(object.getId());
+  }
+
+  @Test
+  public void testGetObjectDoesNotCacheNonExistingObject() {
+    UUID id = UUID.randomUUID();
+
+    assertNull(cache.getObject(id));
+    assertNull(cache.getObject(id));
+    verify(objectManager, times(2)).getObject(id);
+  }
+
+  @Test
+  public void testGetObjectRecordsMetrics() {
+    ObjectEntity object = new ObjectEntity().setId(UUID.randomUUID()).setValue("value");
+    when(objectManager.getObject(object.getId())).thenReturn(object);
+    TraversalMetrics metrics = TraversalMetrics.builder().build();
+    GraphElementCache view = cache.withMetrics(metrics);
+
+    assertSame(object, view.getObject(object.getId()));
+    assertSame(object, view.getObject(object.getId()));
+    assertEquals(1, metrics.getQueryCount());
+    assertEquals(1, metrics.getCacheHitCount());
+    assertTrue(metrics.getBytesFetched() > 0);
+  }
+
+  @Test
+  public void testViewSharesCachedElements() {
+    FactEntity fact = new FactEntity().setId(UUID.randomUUID());
+    when(factManager.getFact(fact.getId())).thenReturn(fact);
+    TraversalMetrics metrics = TraversalMetrics.builder().build();
+
+    assertSame(fact, cache.getFact(fact.getId()));
+    assertSame(fact, cache.withMetrics(metrics).getFact(fact.getId()));
+    verify(factManager).getFact(fact.getId());
+    assertEquals(0, metrics.getQueryCount());
+    assertEquals(1, metrics.getCacheHitCount());
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testFetchObjectFactBindingsExceedsQueryBudget() {
+    when(objectManager.fetchObjectFactBindings(any())).thenAnswer(i -> ListUtils.list(new ObjectFactBindingEntity()).iterator());
+    GraphElementCache view = cache.withMetrics(TraversalMetrics.builder().setMaximumQueries(1).build());
+
+    view.fetchObjectFactBindings(UUID.randomUUID());
+    view.fetchObjectFactBindings(UUID.randomUUID());
+  }
+
+  @Test
+  public void testFetchObjectFactBindingsWithNullId() {
+    assertTrue(cache.fetchObjectFactBindings(null).isEmpty());
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testFetchObjectFactBindingsFetchesBindingsOnlyOnce() {
+    UUID id = UUID.randomUUID();
+    ObjectFactBindingEntity binding = new ObjectFactBindingEntity().setObjectID(id);
+    when(objectManager.fetchObjectFactBindings(id)).thenAnswer(i -> ListUtils.list(binding).iterator());
+
+    assertEquals(ListUtils.list(binding), cache.fetchObjectFactBindings(id));
+    assertEquals(ListUtils.list(binding), cache.fetchObjectFactBindings(id));
+    verify(objectManager).fetchObjectFactBindings(id);
+  }
+
+  @Test
+  public void testInvalidateBindings() {
+    UUID id = UUID.randomUUID();
+    when(objectManager.fetchObjectFactBindings(id)).thenAnswer(i -> ListUtils.list(new ObjectFactBindingEntity()).iterator());
+
+    cache.fetchObjectFactBindings(id);
+    cache.invalidateBindings(id);
+    cache.fetchObjectFactBindings(id);
+    verify(objectManager, times(2)).fetchObjectFactBindings(id);
+  }
+
+  @Test
+  public void testInvalidateBindingsWhileFetching() {
+    UUID id = UUID.randomUUID();
+    when(objectManager.fetchObjectFactBindings(id)).thenAnswer(i -> {
+      // A new binding is saved and invalidated after the bindings have been read from Cassandra.
+      cache.invalidateBindings(id);
+      return ListUtils.list(new ObjectFactBindingEntity()).iterator();
+    }).thenAnswer(i -> ListUtils.list(new ObjectFactBindingEntity(), new ObjectFactBindingEntity()).iterator());
+
+    assertEquals(1, cache.fetchObjectFactBindings(id).size());
+    // The outdated bindings must not have been cached.
+    assertEquals(2, cache.fetchObjectFactBindings(id).size());
+    assertEquals(2, cache.fetchObjectFactBindings(id).size());
+    verify(objectManager, times(2)).fetchObjectFactBindings(id);
+  }
+
+  @Test
+  public void testGetFactFetchesFactOnlyOnce() {
+    FactEntity fact = new FactEntity().setId(UUID.randomUUID());
+    when(factManager.getFact(fact.getId())).thenReturn(fact);
+
+    assertSame(fact, cache.getFact(fact.getId()));
+    assertSame(fact, cache.getFact(fact.getId()));
+    verify(factManager).getFact(fact.getId());
+  }
+
+  @Test
+  public void testInvalidateFact() {
+    FactEntity fact = new FactEntity().setId(UUID.randomUUID());
+    when(factManager.getFact(fact.getId())).thenReturn(fact);
+
+    cache.getFact(fact.getId());
+    cache.invalidateFact(fact.getId());
+    cache.getFact(fact.getId());
+    verify(factManager, times(2)).getFact(fact.getId());
+  }
+
+  @Test
+  public void testInvalidateFactWhileFetching() {
+    FactEntity fact = new FactEntity().setId(UUID.randomUUID());
+    FactEntity retracted = new FactEntity().setId(fact.getId()).addFlag(FactEntity.Flag.RetractedHint);
+    when(factManager.getFact(fact.getId())).thenAnswer(i -> {
+      // The Fact is retracted and invalidated after it has been read from Cassandra.
+      cache.invalidateFact(fact.getId());
+      return fact;
+    }).thenReturn(retracted);
+
+    assertSame(fact, cache.getFact(fact.getId()));
+    // The outdated Fact must not have been cached.
+    assertSame(retracted, cache.getFact(fact.getId()));
+    assertSame(retracted, cache.getFact(fact.getId()));
+    verify(factManager, times(2)).getFact(fact.getId());
+  }
+
+  @Test
+  public void testUncachedAlwaysFetches() {
+    GraphElementCache uncached = GraphElementCache.uncached(objectManager, factManager);
+    FactEntity fact = new FactEntity().setId(UUID.randomUUID());
+    when(factManager.getFact(fact.getId())).thenReturn(fact);
+
+    assertSame(fact, uncached.getFact(fact.getId()));
+    assertSame(fact, uncached.getFact(fact.getId()));
+    verify(factManager, times(2)).getFact(fact.getId());
+  }
+}
@@ -0,0 +1,85 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.tinkerpop.FactEdge;
+import no.mnemonic.act.platform.dao.tinkerpop.ObjectVertex;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GraphRecordConverterTest {
+
+  @Mock
+  private ObjectRecordConverter objectRecordConverter;
+  @Mock
+  private FactRecordConverter factRecordConverter;
+  @Mock
+  private ObjectVertex vertex;
+  @Mock
+  private FactEdge edge;
+
+  private GraphRecordConverter converter;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    converter = new GraphRecordConverter(objectRecordConverter, factRecordConverter);
+  }
+
+  @Test
+  public void testFromVertexNull() {
+    assertNull(converter.fromVertex(null));
+  }
+
+  @Test
+  public void testFromVertexConvertsLoadedObject() {
+    ObjectEntity entity = new ObjectEntity().setId(UUID.randomUUID());
+    ObjectRecord record = new ObjectRecord();
+    when(vertex.getObjectIfLoaded()).thenReturn(entity);
+    when(objectRecordConverter.fromEntity(entity)).thenReturn(record);
+
+    assertSame(record, converter.fromVertex(vertex));
+  }
+
+  @Test
+  public void testFromVertexObjectNotLoaded() {
+    assertNull(converter.fromVertex(vertex));
+    verifyNoInteractions(objectRecordConverter);
+  }
+
+  @Test
+  public void testFromEdgesConvertsFactsOfEdges() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID());
+    Map<UUID, ObjectRecord> knownObjects = new HashMap<>();
+    List<FactRecord> records = ListUtils.list(new FactRecord());
+    when(edge.getFact()).thenReturn(entity);
+    when(factRecordConverter.fromEntities(ListUtils.list(entity), knownObjects)).thenReturn(records);
+
+    assertSame(records, converter.fromEdges(ListUtils.list(edge), knownObjects));
+  }
+
+  @Test
+  public void testFromFactsDelegatesToConverter() {
+    List<FactEntity> entities = ListUtils.list(new FactEntity());
+    Map<UUID, ObjectRecord> knownObjects = new HashMap<>();
+    List<FactRecord> records = ListUtils.list(new FactRecord());
+    when(factRecordConverter.fromEntities(entities, knownObjects)).thenReturn(records);
+
+    assertSame(records, converter.fromFacts(entities, knownObjects));
+  }
+}
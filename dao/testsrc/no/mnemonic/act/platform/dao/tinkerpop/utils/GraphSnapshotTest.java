@@ -0,0 +1,91 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class GraphSnapshotTest {
+
+  private final ObjectEntity source = new ObjectEntity().setId(UUID.randomUUID());
+  private final ObjectEntity destination = new ObjectEntity().setId(UUID.randomUUID());
+
+  @Test
+  public void testBuildSnapshot() {
+    FactEntity fact = createFact(source.getId(), destination.getId());
+    GraphSnapshot snapshot = GraphSnapshot.builder()
+            .addObject(source)
+            .addObject(destination)
+            .addFact(fact)
+            .build();
+
+    assertEquals(SetUtils.set(source.getId(), destination.getId()), snapshot.getObjectIDs());
+    assertEquals(2, snapshot.getObjectCount());
+    assertEquals(1, snapshot.getFactCount());
+  }
+
+  @Test
+  public void testBuildSnapshotDropsFactsBoundToOtherObjects() {
+    GraphSnapshot snapshot = GraphSnapshot.builder()
+            .addObject(source)
+            .addFact(createFact(source.getId(), destination.getId()))
+            .build();
+
+    assertEquals(1, snapshot.getObjectCount());
+    assertEquals(0, snapshot.getFactCount());
+  }
+
+  @Test
+  public void testElementSourceServesElementsFromSnapshot() {
+    FactEntity fact = createFact(source.getId(), destination.getId());
+    GraphElementSource elementSource = GraphSnapshot.builder()
+            .addObject(source)
+            .addObject(destination)
+            .addFact(fact)
+            .build()
+            .asElementSource();
+
+    assertSame(source, elementSource.getObject(source.getId()));
+    assertSame(fact, elementSource.getFact(fact.getId()));
+    assertNull(elementSource.getObject(UUID.randomUUID()));
+    assertNull(elementSource.getFact(UUID.randomUUID()));
+
+    List<ObjectFactBindingEntity> bindings = elementSource.fetchObjectFactBindings(source.getId());
+    assertEquals(1, bindings.size());
+    assertEquals(source.getId(), bindings.get(0).getObjectID());
+    assertEquals(fact.getId(), bindings.get(0).getFactID());
+    assertEquals(Direction.FactIsDestination, bindings.get(0).getDirection());
+    assertTrue(elementSource.fetchObjectFactBindings(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  public void testElementSourceRecordsCacheHits() {
+    TraversalMetrics metrics = TraversalMetrics.builder().build();
+    GraphElementSource elementSource = GraphSnapshot.builder()
+            .addObject(source)
+            .build()
+            .asElementSource()
+            .withMetrics(metrics);
+
+    assertSame(source, elementSource.getObject(source.getId()));
+    assertEquals(1, metrics.getCacheHitCount());
+    assertEquals(0, metrics.getQueryCount());
+  }
+
+  private FactEntity createFact(UUID sourceID, UUID destinationID) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(sourceID).setDirection(Direction.FactIsDestination),
+                    new FactEntity.FactObjectBinding().setObjectID(destinationID).setDirection(Direction.FactIsSource)
+            ));
+  }
+}
@@ -0,0 +1,48 @@
+package no.mnemonic.act.platform.dao.tinkerpop.utils;
+
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TraversalMetricsTest {
+
+  @Test
+  public void testRecordWithoutBudget() {
+    TraversalMetrics metrics = TraversalMetrics.builder().build();
+    for (int i = 0; i < 3; i++) {
+      metrics.recordVertex();
+      metrics.recordFact();
+      metrics.recordQuery(10);
+      metrics.recordCacheHit();
+    }
+
+    assertEquals(3, metrics.getVertexCount());
+    assertEquals(3, metrics.getFactCount());
+    assertEquals(3, metrics.getQueryCount());
+    assertEquals(3, metrics.getCacheHitCount());
+    assertEquals(30, metrics.getBytesFetched());
+    assertEquals("vertices = 3, facts = 3, queries = 3, cacheHits = 3, bytesFetched = 30", metrics.toString());
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testRecordVertexExceedsBudget() {
+    TraversalMetrics metrics = TraversalMetrics.builder().setMaximumVertices(1).build();
+    metrics.recordVertex();
+    metrics.recordVertex();
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testRecordFactExceedsBudget() {
+    TraversalMetrics metrics = TraversalMetrics.builder().setMaximumFacts(1).build();
+    metrics.recordFact();
+    metrics.recordFact();
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testRecordQueryExceedsBudget() {
+    TraversalMetrics metrics = TraversalMetrics.builder().setMaximumQueries(1).build();
+    metrics.recordQuery(0);
+    metrics.recordQuery(0);
+  }
+}
@@ -299,6 +299,15 @@ public abstract class AbstractIT {
       bind(String.class).annotatedWith(Names.named("access.controller.properties.file")).toInstance(ACL_FILE);
       bind(String.class).annotatedWith(Names.named("access.controller.read.interval")).toInstance("60000");
       bind(String.class).annotatedWith(Names.named("trigger.administration.service.configuration.directory")).toInstance(RESOURCES_FOLDER);
+      bind(String.class).annotatedWith(Names.named("graph.traversal.maximum.vertices")).toInstance("0");
+      bind(String.class).annotatedWith(Names.named("graph.traversal.maximum.facts")).toInstance("0");
+      bind(String.class).annotatedWith(Names.named("graph.traversal.maximum.queries")).toInstance("0");
+      bind(String.class).annotatedWith(Names.named("graph.traversal.parallelism")).toInstance("2");
+      bind(String.class).annotatedWith(Names.named("graph.traversal.threads")).toInstance("4");
+      bind(String.class).annotatedWith(Names.named("graph.traversal.stored.threads")).toInstance("2");
+      bind(String.class).annotatedWith(Names.named("graph.search.threads")).toInstance("4");
+      bind(String.class).annotatedWith(Names.named("fact.search.conversion.threads")).toInstance("2");
+      bind(String.class).annotatedWith(Names.named("object.search.statistics.threads")).toInstance("2");
       bind(String.class).annotatedWith(Names.named("cassandra.data.center")).toInstance("datacenter1");
       bind(String.class).annotatedWith(Names.named("cassandra.contact.points")).toInstance(DockerTestUtils.getDockerHost());
       bind(String.class).annotatedWith(Names.named("cassandra.port")).toInstance(String.valueOf(cassandra.getExposedHostPort(9042)));
@@ -162,7 +162,8 @@ public class ResultStash<T> {
 
   /**
    * Custom serializer for {@link ResultStash} which consumes all results from the service layer and writes them to
-   * the output stream (if result implements Iterable or Iterator). It will also write the correct number of fetched
+   * the output stream (if result implements Iterable or Iterator). If the iterator implements {@link AutoCloseable}
+   * it will be closed once all results have been written or writing has failed. It will also write the correct number of fetched
    * results, i.e. the 'size' field in {@link ResultStash}. If the result contains a single object that object will
    * simply be serialized as-is and 'size' will be 0.
    * <p>
@@ -210,13 +211,29 @@ public class ResultStash<T> {
       gen.writeStartArray();
 
       int size = 0;
-      while (iterator.hasNext()) {
-        gen.writeObject(iterator.next());
-        size++;
+      try {
+        while (iterator.hasNext()) {
+          gen.writeObject(iterator.next());
+          size++;
+        }
+      } finally {
+        // Results might still be produced while they are written out. If writing fails, e.g. because the client
+        // disconnected, closing the iterator will signal the service layer to stop producing more results.
+        closeIterator(iterator);
       }
 
       gen.writeEndArray();
       return size;
     }
+
+    private void closeIterator(Iterator iterator) {
+      if (!(iterator instanceof AutoCloseable)) return;
+
+      try {
+        ((AutoCloseable) iterator).close();
+      } catch (Exception ignored) {
+        // Closing the iterator is only done to release resources early, just ignore any failures.
+      }
+    }
   }
 }
@@ -7,6 +7,7 @@ import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.api.model.v1.TraversalSession;
 import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.rest.api.ResultStash;
@@ -204,6 +205,61 @@ public class ObjectEndpoint {
     return buildResponse(service.traverseGraph(credentialsResolver.getRequestHeader(), request.setType(type).setValue(value)));
   }
 
+  @POST
+  @Path("/uuid/{id}/neighborhood")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Retrieve all Objects and Facts within a number of hops from a specific Object.",
+          notes = "This operation expands the graph of Objects and Facts breadth-first starting at a specific Object " +
+                  "and returns all Objects and Facts which are reachable within the requested number of hops. It is a " +
+                  "faster alternative to a graph traversal with a Gremlin query such as 'g.repeat(both()).times(2)'. " +
+                  "The expansion can be restricted to specific FactTypes, and only Facts the user has access to are " +
+                  "followed.\n\n" +
+                  "The response contains first the Objects, then the Facts, each in the order they were discovered. " +
+                  "The expansion stops when either the number of Objects or the number of Facts reaches the requested limit.",
+          response = ResultStash.class
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 408, message = "Execution of this operation timed out."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response traverseNeighborhood(
+          @PathParam("id") @ApiParam(value = "UUID of Object.") @NotNull @Valid UUID id,
+          @ApiParam(value = "Request to limit the expansion.") @NotNull @Valid TraverseNeighborhoodRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return buildResponse(service.traverseNeighborhood(credentialsResolver.getRequestHeader(), request.setId(id)));
+  }
+
+  @POST
+  @Path("/uuid/{id}/path")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Find the shortest path of Facts from a specific Object to another Object.",
+          notes = "This operation searches the graph of Objects and Facts breadth-first starting at a specific Object " +
+                  "until the destination Object is reached, and returns the shortest path between both Objects. The " +
+                  "search can be restricted to specific FactTypes, and only Facts the user has access to are followed.\n\n" +
+                  "The response contains the Objects and Facts along the path in alternating order, starting with the " +
+                  "source Object and ending with the destination Object. The response is empty if no path was found " +
+                  "within the requested number of hops or before the search reached the requested limits.",
+          response = ResultStash.class
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 408, message = "Execution of this operation timed out."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response traverseShortestPath(
+          @PathParam("id") @ApiParam(value = "UUID of source Object.") @NotNull @Valid UUID id,
+          @ApiParam(value = "Request specifying the destination Object.") @NotNull @Valid TraverseShortestPathRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return buildResponse(service.traverseShortestPath(credentialsResolver.getRequestHeader(), request.setSource(id)));
+  }
+
   @POST
   @Path("/search")
   @Consumes(MediaType.APPLICATION_JSON)
@@ -272,4 +328,88 @@ public class ObjectEndpoint {
     return buildResponse(service.traverseGraph(credentialsResolver.getRequestHeader(), request));
   }
 
+  @POST
+  @Path("/traverse/session")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Load the neighborhood of Objects into a traversal session.",
+          notes = "This operation loads all Objects and Facts reachable within 'depth' hops from the given Objects into " +
+                  "memory and returns a handle to the created traversal session. Afterwards, the session can be traversed " +
+                  "repeatedly with '/v1/object/traverse/session/{id}' without accessing the database again, which is " +
+                  "useful for exploring the same part of the graph with multiple queries. Only Facts the user has access " +
+                  "to are loaded into the session and the session can only be used by the user who created it.\n\n" +
+                  "The session expires automatically. Note that changes to the Object/Fact graph performed after creating " +
+                  "the session are not visible inside the session.",
+          response = TraversalSession.class,
+          code = 201
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 408, message = "Execution of this operation timed out."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response createTraversalSession(
+          @ApiParam(value = "Request to create a traversal session.") @NotNull @Valid CreateTraversalSessionRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return ResultStash.builder()
+            .setStatus(Response.Status.CREATED)
+            .setData(service.createTraversalSession(credentialsResolver.getRequestHeader(), request))
+            .buildResponse();
+  }
+
+  @POST
+  @Path("/traverse/session/{id}")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Traverse the Object/Fact graph loaded into a traversal session.",
+          notes = "This operation traverses the graph of Objects and Facts loaded into a traversal session (see " +
+                  "'/v1/object/traverse/session'). In contrast to the other traversal operations the traversal starts " +
+                  "at all Objects of the session, i.e. 'g' is equivalent to 'V()', and it is possible to access all " +
+                  "Facts of the session with 'E()'. For more information about graph traversal see " +
+                  "'/v1/object/{type}/{value}/traverse'.",
+          response = ResultStash.class
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 408, message = "Execution of this operation timed out."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response traverseSession(
+          @PathParam("id") @ApiParam(value = "UUID of traversal session.") @NotNull @Valid UUID id,
+          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseBySessionRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return buildResponse(service.traverseGraph(credentialsResolver.getRequestHeader(), request.setId(id)));
+  }
+
+  @POST
+  @Path("/traverse/stored/{name}")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Traverse the Object/Fact graph using a traversal defined on the server.",
+          notes = "This operation executes a named graph traversal which is defined in the server configuration instead " +
+                  "of sending a Gremlin query with the request. The traversal starts at the Objects identified by " +
+                  "'objectID'. Stored traversals can declare typed parameters which are provided with 'parameters', " +
+                  "parameters with a default value can be omitted. Because stored traversals are compiled when the " +
+                  "server starts up their execution is faster than sending the equivalent query. For more information " +
+                  "about graph traversal see '/v1/object/{type}/{value}/traverse'.",
+          response = ResultStash.class
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 408, message = "Execution of this operation timed out."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response traverseStored(
+          @PathParam("name") @ApiParam(value = "Name of stored traversal.") @NotBlank String name,
+          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByStoredTraversalRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return buildResponse(service.traverseGraph(credentialsResolver.getRequestHeader(), request.setName(name)));
+  }
+
 }
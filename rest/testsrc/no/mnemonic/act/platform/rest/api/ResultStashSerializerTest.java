@@ -10,10 +10,10 @@ import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Test;
 
 import javax.ws.rs.core.Response;
+import java.util.Iterator;
 import java.util.UUID;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class ResultStashSerializerTest {
 
@@ -123,4 +123,65 @@ public class ResultStashSerializerTest {
     assertEquals(1, result.get("data").size());
     assertEquals(1, result.get("size").asInt());
   }
+
+  @Test
+  public void testSerializationClosesCloseableIterator() throws Exception {
+    CloseableIterator iterator = new CloseableIterator(ListUtils.list(Fact.builder().setId(UUID.randomUUID()).build()).iterator());
+    String json = mapper.writeValueAsString(ResultStash.builder()
+            .setData(iterator)
+            .buildResponse()
+            .getEntity());
+    JsonNode result = mapper.readTree(json);
+
+    assertEquals(1, result.get("size").asInt());
+    assertTrue(iterator.isClosed());
+  }
+
+  @Test
+  public void testSerializationClosesCloseableIteratorOnFailure() {
+    CloseableIterator iterator = new CloseableIterator(ListUtils.<Fact>list().iterator()) {
+      @Override
+      public boolean hasNext() {
+        throw new IllegalStateException();
+      }
+    };
+
+    try {
+      mapper.writeValueAsString(ResultStash.builder()
+              .setData(iterator)
+              .buildResponse()
+              .getEntity());
+      fail();
+    } catch (Exception ignored) {
+      assertTrue(iterator.isClosed());
+    }
+  }
+
+  private static class CloseableIterator implements Iterator<Fact>, AutoCloseable {
+    private final Iterator<Fact> delegate;
+    private boolean closed;
+
+    private CloseableIterator(Iterator<Fact> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public Fact next() {
+      return delegate.next();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    private boolean isClosed() {
+      return closed;
+    }
+  }
 }
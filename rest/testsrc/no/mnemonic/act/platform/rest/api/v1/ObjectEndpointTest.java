@@ -3,6 +3,7 @@ package no.mnemonic.act.platform.rest.api.v1;
 import com.fasterxml.jackson.databind.JsonNode;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.api.model.v1.TraversalSession;
 import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.rest.AbstractEndpointTest;
@@ -137,6 +138,45 @@ public class ObjectEndpointTest extends AbstractEndpointTest {
     verify(getTiService(), times(1)).traverseGraph(notNull(), isA(TraverseByObjectTypeValueRequest.class));
   }
 
+  @Test
+  public void testTraverseNeighborhood() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(getTiService().traverseNeighborhood(any(), isA(TraverseNeighborhoodRequest.class))).then(i -> {
+      assertEquals(id, i.<TraverseNeighborhoodRequest>getArgument(1).getId());
+      return StreamingResultSet.<Object>builder().setValues(createObjects()).build();
+    });
+
+    Response response = target(String.format("/v1/object/uuid/%s/neighborhood", id)).request().post(Entity.json(new TraverseNeighborhoodRequest()));
+    JsonNode payload = getPayload(response);
+    assertEquals(200, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(3, payload.size());
+
+    verify(getTiService(), times(1)).traverseNeighborhood(notNull(), isA(TraverseNeighborhoodRequest.class));
+  }
+
+  @Test
+  public void testTraverseShortestPath() throws Exception {
+    UUID source = UUID.randomUUID();
+    UUID destination = UUID.randomUUID();
+    when(getTiService().traverseShortestPath(any(), isA(TraverseShortestPathRequest.class))).then(i -> {
+      TraverseShortestPathRequest request = i.getArgument(1);
+      assertEquals(source, request.getSource());
+      assertEquals(destination, request.getDestination());
+      return StreamingResultSet.<Object>builder().setValues(createObjects()).build();
+    });
+
+    TraverseShortestPathRequest request = new TraverseShortestPathRequest()
+            .setDestination(destination);
+    Response response = target(String.format("/v1/object/uuid/%s/path", source)).request().post(Entity.json(request));
+    JsonNode payload = getPayload(response);
+    assertEquals(200, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(3, payload.size());
+
+    verify(getTiService(), times(1)).traverseShortestPath(notNull(), isA(TraverseShortestPathRequest.class));
+  }
+
   @Test
   public void testSearchObjects() throws Exception {
     when(getTiService().searchObjects(any(), isA(SearchObjectRequest.class))).then(i -> StreamingResultSet.<Object>builder().setValues(createObjects()).build());
@@ -167,6 +207,61 @@ public class ObjectEndpointTest extends AbstractEndpointTest {
     verify(getTiService(), times(1)).traverseGraph(notNull(), isA(TraverseByObjectSearchRequest.class));
   }
 
+  @Test
+  public void testCreateTraversalSession() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(getTiService().createTraversalSession(any(), isA(CreateTraversalSessionRequest.class)))
+            .then(i -> TraversalSession.builder().setId(id).build());
+
+    CreateTraversalSessionRequest request = new CreateTraversalSessionRequest()
+            .addObjectID(UUID.randomUUID());
+    Response response = target("/v1/object/traverse/session").request().post(Entity.json(request));
+    assertEquals(201, response.getStatus());
+    assertEquals(id.toString(), getPayload(response).get("id").textValue());
+
+    verify(getTiService(), times(1)).createTraversalSession(notNull(), isA(CreateTraversalSessionRequest.class));
+  }
+
+  @Test
+  public void testTraverseBySession() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(getTiService().traverseGraph(any(), isA(TraverseBySessionRequest.class))).then(i -> {
+      assertEquals(id, i.<TraverseBySessionRequest>getArgument(1).getId());
+      return StreamingResultSet.<String>builder().setValues(ListUtils.list("something")).build();
+    });
+
+    TraverseBySessionRequest request = new TraverseBySessionRequest()
+            .setQuery("g.values('value')");
+    Response response = target(String.format("/v1/object/traverse/session/%s", id)).request().post(Entity.json(request));
+    JsonNode payload = getPayload(response);
+    assertEquals(200, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(1, payload.size());
+    assertEquals("something", payload.get(0).asText());
+
+    verify(getTiService(), times(1)).traverseGraph(notNull(), isA(TraverseBySessionRequest.class));
+  }
+
+  @Test
+  public void testTraverseByStoredTraversal() throws Exception {
+    when(getTiService().traverseGraph(any(), isA(TraverseByStoredTraversalRequest.class))).then(i -> {
+      assertEquals("traversal", i.<TraverseByStoredTraversalRequest>getArgument(1).getName());
+      return StreamingResultSet.<String>builder().setValues(ListUtils.list("something")).build();
+    });
+
+    TraverseByStoredTraversalRequest request = new TraverseByStoredTraversalRequest()
+            .addObjectID(UUID.randomUUID())
+            .addParameter("factType", "seenIn");
+    Response response = target("/v1/object/traverse/stored/traversal").request().post(Entity.json(request));
+    JsonNode payload = getPayload(response);
+    assertEquals(200, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(1, payload.size());
+    assertEquals("something", payload.get(0).asText());
+
+    verify(getTiService(), times(1)).traverseGraph(notNull(), isA(TraverseByStoredTraversalRequest.class));
+  }
+
   private Collection<Fact> createFacts() {
     Collection<Fact> facts = new HashSet<>();
     for (int i = 0; i < 3; i++) {
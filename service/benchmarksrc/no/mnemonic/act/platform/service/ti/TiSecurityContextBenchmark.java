@@ -0,0 +1,138 @@
+package no.mnemonic.act.platform.service.ti;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.act.platform.auth.properties.PropertiesBasedIdentityResolver;
+import no.mnemonic.act.platform.auth.properties.model.SubjectCredentials;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.FactAclEntryRecord;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-Fact cost of checking read access, i.e. what happens for every Fact streamed out of a search.
+ * The Facts are an equal mix of Public Facts, RoleBased Facts with and without access, and Explicit Facts without
+ * access. The access control is performed by a {@link PropertiesBasedAccessController}, no database is involved.
+ * <p>
+ * 'hasReadPermission' uses the permission snapshot while 'checkReadPermission' calls the AccessController for every
+ * Fact and signals missing access with an exception (which is how hasReadPermission() used to be implemented).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TiSecurityContextBenchmark {
+
+  private static final int FACTS = 1000;
+  private static final String ACL = "" +
+          "function.all.members = viewFactObjects\n" +
+          "organization.1.name = organization1\n" +
+          "organization.2.name = organization2\n" +
+          "subject.1.name = subject\n" +
+          "subject.1.affiliation = 1\n" +
+          "subject.1.permission.1 = all\n" +
+          "subject.2.name = other\n" +
+          "subject.2.affiliation = 2\n";
+
+  private Path aclFile;
+  private PropertiesBasedAccessController accessController;
+  private List<FactRecord> facts;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    aclFile = Files.createTempFile("acl", ".properties");
+    Files.write(aclFile, ACL.getBytes(StandardCharsets.UTF_8));
+    accessController = PropertiesBasedAccessController.builder()
+            .setPropertiesFile(aclFile.toString())
+            .build();
+    accessController.startComponent();
+
+    // Internal IDs of the access controller are mapped to UUIDs by the identity resolver.
+    UUID organization1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    UUID organization2 = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    UUID otherSubject = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    facts = new ArrayList<>(FACTS);
+    for (int i = 0; i < FACTS; i++) {
+      FactRecord fact = new FactRecord().setId(UUID.randomUUID());
+      switch (i % 4) {
+        case 0:
+          fact.setAccessMode(FactRecord.AccessMode.Public).setOrganizationID(organization1);
+          break;
+        case 1:
+          fact.setAccessMode(FactRecord.AccessMode.RoleBased).setOrganizationID(organization1);
+          break;
+        case 2:
+          fact.setAccessMode(FactRecord.AccessMode.RoleBased).setOrganizationID(organization2);
+          break;
+        default:
+          fact.setAccessMode(FactRecord.AccessMode.Explicit).setOrganizationID(organization2)
+                  .addAclEntry(new FactAclEntryRecord().setSubjectID(otherSubject));
+      }
+      facts.add(fact);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() throws IOException {
+    accessController.stopComponent();
+    Files.deleteIfExists(aclFile);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FACTS)
+  public int hasReadPermission() {
+    // A new SecurityContext is created per request, thus, include taking the snapshot in the measurement.
+    TiSecurityContext context = createContext();
+
+    int accessible = 0;
+    for (FactRecord fact : facts) {
+      if (context.hasReadPermission(fact)) accessible++;
+    }
+
+    return accessible;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FACTS)
+  public int checkReadPermission() throws AuthenticationFailedException {
+    TiSecurityContext context = createContext();
+
+    int accessible = 0;
+    for (FactRecord fact : facts) {
+      try {
+        context.checkReadPermission(fact);
+        accessible++;
+      } catch (AccessDeniedException ignored) {
+        // Not accessible.
+      }
+    }
+
+    return accessible;
+  }
+
+  private TiSecurityContext createContext() {
+    return TiSecurityContext.builder()
+            .setAccessController(accessController)
+            .setIdentityResolver(new PropertiesBasedIdentityResolver())
+            .setOrganizationResolver(accessController)
+            .setSubjectResolver(accessController)
+            .setCredentials(SubjectCredentials.builder().setSubjectID(1).build())
+            .setObjectFactDao(new ObjectFactDao() {
+            })
+            .setAclResolver(id -> null)
+            .build();
+  }
+}
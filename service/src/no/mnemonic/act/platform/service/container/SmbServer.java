@@ -59,12 +59,14 @@ public class SmbServer implements LifecycleAspect {
 
   @Override
   public void startComponent() {
+    // The message handler doesn't close streamed results, thus, close them once the handler stops streaming them out.
+    StreamingResultCloser resultCloser = new StreamingResultCloser();
     messageHandler = ServiceMessageHandler.builder()
-            .setService(service)
-            .setSessionFactory(sessionFactory)
+            .setService(resultCloser.wrap(ThreatIntelligenceService.class, service))
+            .setSessionFactory(resultCloser.wrap(sessionFactory))
             .build();
     requestProxy = JMSRequestProxy.builder()
-            .setRequestSink(messageHandler)
+            .setRequestSink(resultCloser.wrap(messageHandler))
             .setContextFactoryName(ACTIVEMQ_CONTEXT_FACTORY)
             .setConnectionFactoryName(ACTIVEMQ_CONNECTION_FACTORY)
             .setConnectionProperty("queue." + queueName, queueName)
@@ -0,0 +1,184 @@
+package no.mnemonic.act.platform.service.container;
+
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import no.mnemonic.messaging.requestsink.Message;
+import no.mnemonic.messaging.requestsink.RequestContext;
+import no.mnemonic.messaging.requestsink.RequestListener;
+import no.mnemonic.messaging.requestsink.RequestSink;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.common.api.Service;
+import no.mnemonic.services.common.api.ServiceSession;
+import no.mnemonic.services.common.api.ServiceSessionFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Closes the results of service calls which are streamed out via the Service Message Bus.
+ * <p>
+ * The ServiceMessageHandler iterates a returned {@link ResultSet} until it is exhausted, but it never closes the
+ * result's iterator and keeps iterating even after the client has disconnected. Results which are produced in the
+ * background (e.g. graph traversals) would keep running until they are complete. This class hooks into the message
+ * handler at three points, which are all executed on the handler's worker thread processing the request:
+ * <ol>
+ * <li>{@link #wrap(ServiceSessionFactory)} tracks the results while a session is open and closes them when the
+ * session is closed, i.e. once the message handler has stopped streaming out the result.</li>
+ * <li>{@link #wrap(Class, Service)} registers the results returned by the service with the open session.</li>
+ * <li>{@link #wrap(RequestSink)} closes the registered results as soon as a response can't be delivered to the client
+ * any more, which makes the message handler stop iterating the result.</li>
+ * </ol>
+ * Only results whose iterator implements {@link AutoCloseable} are closed.
+ */
+class StreamingResultCloser {
+
+  private static final Logger logger = Logging.getLogger(StreamingResultCloser.class);
+
+  private final ThreadLocal<List<AutoCloseable>> currentResults = new ThreadLocal<>();
+
+  /**
+   * Wrap a session factory such that the results returned while a session is open are closed with the session.
+   *
+   * @param factory Session factory to wrap
+   * @return Wrapped session factory
+   */
+  ServiceSessionFactory wrap(ServiceSessionFactory factory) {
+    return new ServiceSessionFactory() {
+      @Override
+      public ServiceSession openSession() {
+        ServiceSession session = factory.openSession();
+        currentResults.set(new ArrayList<>());
+        return () -> {
+          try {
+            closeResults();
+          } finally {
+            currentResults.remove();
+            session.close();
+          }
+        };
+      }
+
+      @Override
+      public void close() throws Exception {
+        factory.close();
+      }
+    };
+  }
+
+  /**
+   * Wrap a service such that the results returned by the service are registered with the open session.
+   *
+   * @param type    Service interface
+   * @param service Service implementation
+   * @param <T>     Type of service
+   * @return Wrapped service
+   */
+  @SuppressWarnings("unchecked")
+  <T extends Service> T wrap(Class<T> type, T service) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+      Object result;
+      try {
+        result = method.invoke(service, args);
+      } catch (InvocationTargetException ex) {
+        // Re-throw the original exception, the message handler forwards declared exceptions to the client.
+        throw ex.getTargetException();
+      }
+
+      if (result instanceof ResultSet) {
+        registerResult(((ResultSet<?>) result).iterator());
+      }
+
+      return result;
+    });
+  }
+
+  /**
+   * Wrap a request sink such that the results of a request are closed once its responses can't be delivered.
+   *
+   * @param sink Request sink to wrap
+   * @return Wrapped request sink
+   */
+  RequestSink wrap(RequestSink sink) {
+    return new RequestSink() {
+      @Override
+      public <T extends RequestContext> T signal(Message msg, T signalContext, long maxWait) {
+        sink.signal(msg, new ClosingRequestContext(signalContext), maxWait);
+        return signalContext;
+      }
+    };
+  }
+
+  private void registerResult(Iterator<?> result) {
+    List<AutoCloseable> results = currentResults.get();
+    if (results == null || !(result instanceof AutoCloseable)) return;
+    results.add((AutoCloseable) result);
+  }
+
+  private void closeResults() {
+    List<AutoCloseable> results = currentResults.get();
+    if (results == null) return;
+
+    for (AutoCloseable result : results) {
+      LambdaUtils.tryTo(result::close, ex -> logger.warning(ex, "Failed to close streaming result."));
+    }
+    results.clear();
+  }
+
+  private class ClosingRequestContext implements RequestContext {
+
+    private final RequestContext delegate;
+
+    private ClosingRequestContext(RequestContext delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean addResponse(Message msg) {
+      boolean delivered = delegate.addResponse(msg);
+      if (!delivered) {
+        // The client has disconnected or the request has timed out, stop producing any more results.
+        closeResults();
+      }
+      return delivered;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return delegate.isClosed();
+    }
+
+    @Override
+    public boolean keepAlive(long until) {
+      return delegate.keepAlive(until);
+    }
+
+    @Override
+    public void notifyError(Throwable error) {
+      delegate.notifyError(error);
+    }
+
+    @Override
+    public void notifyClose() {
+      delegate.notifyClose();
+    }
+
+    @Override
+    public void addListener(RequestListener listener) {
+      delegate.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(RequestListener listener) {
+      delegate.removeListener(listener);
+    }
+
+    @Override
+    public void endOfStream() {
+      delegate.endOfStream();
+    }
+  }
+}
@@ -13,8 +13,10 @@ import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.common.auth.model.NamedFunction;
 import no.mnemonic.services.common.auth.model.OrganizationIdentity;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +32,11 @@ public abstract class SecurityContext implements AutoCloseable {
   private final SubjectResolver subjectResolver;
   private final Credentials credentials;
 
+  // The identity of the current user doesn't change during a request, thus, resolve it only once per SecurityContext.
+  private volatile UUID currentUserID;
+  private volatile UUID currentUserOrganizationID;
+  private volatile Set<UUID> availableOrganizationID;
+
   protected SecurityContext(AccessController accessController, IdentityResolver identityResolver,
                             OrganizationResolver organizationResolver, SubjectResolver subjectResolver,
                             Credentials credentials) {
@@ -86,6 +93,33 @@ public abstract class SecurityContext implements AutoCloseable {
     return oldCtx;
   }
 
+  /**
+   * Wrap a function such that it is executed with the SecurityContext of the current thread, e.g. when the function
+   * is executed on a worker thread. The SecurityContext is captured when calling this method, thus, the function can
+   * also be executed after the SecurityContext has been removed from the current thread.
+   *
+   * @param function Function to wrap
+   * @param <T>      Type of the function's input
+   * @param <R>      Type of the function's result
+   * @return Wrapped function, or the function itself if no SecurityContext is set
+   */
+  public static <T, R> Function<T, R> propagate(Function<T, R> function) {
+    SecurityContext ctx = currentContext.get();
+    if (ctx == null) return function;
+
+    return input -> {
+      SecurityContext previous = currentContext.get();
+      currentContext.set(ctx);
+      try {
+        return function.apply(input);
+      } finally {
+        // Restore the previous state, the function might have been executed on the calling thread.
+        if (previous != null) currentContext.set(previous);
+        else currentContext.remove();
+      }
+    };
+  }
+
   @Override
   public void close() throws Exception {
     currentContext.remove();
@@ -129,39 +163,68 @@ public abstract class SecurityContext implements AutoCloseable {
   }
 
   /**
-   * Return the ID of the current user.
+   * Return the ID of the current user. The ID is resolved once and cached for the lifetime of the SecurityContext.
    *
    * @return ID of current user
    */
   public UUID getCurrentUserID() {
-    try {
-      return subjectResolver.resolveCurrentUser(credentials).getId();
-    } catch (InvalidCredentialsException ex) {
-      // getCurrentUserID() should only be called in a context with an already authenticated user.
-      throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
+    UUID userID = currentUserID;
+    if (userID == null) {
+      userID = resolveCurrentUserID();
+      currentUserID = userID;
     }
+    return userID;
   }
 
   /**
-   * Return the ID of the current user's organization.
+   * Return the ID of the current user's organization. The ID is resolved once and cached for the lifetime of the
+   * SecurityContext.
    *
    * @return ID of current user's organization
    */
   public UUID getCurrentUserOrganizationID() {
-    try {
-      return organizationResolver.resolveCurrentUserAffiliation(credentials).getId();
-    } catch (InvalidCredentialsException ex) {
-      // getCurrentUserOrganizationID() should only be called in a context with an already authenticated user.
-      throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
+    UUID organizationID = currentUserOrganizationID;
+    if (organizationID == null) {
+      organizationID = resolveCurrentUserOrganizationID();
+      currentUserOrganizationID = organizationID;
     }
+    return organizationID;
   }
 
   /**
-   * Return the IDs of the Organizations the current user has access to.
+   * Return the IDs of the Organizations the current user has access to. The IDs are resolved once and cached for the
+   * lifetime of the SecurityContext, thus, the returned set is unmodifiable.
    *
    * @return IDs of available Organizations
    */
   public Set<UUID> getAvailableOrganizationID() {
+    Set<UUID> organizationID = availableOrganizationID;
+    if (organizationID == null) {
+      organizationID = Collections.unmodifiableSet(resolveAvailableOrganizationID());
+      availableOrganizationID = organizationID;
+    }
+    return organizationID;
+  }
+
+  private UUID resolveCurrentUserID() {
+    try {
+      return subjectResolver.resolveCurrentUser(credentials).getId();
+    } catch (InvalidCredentialsException ex) {
+      // getCurrentUserID() should only be called in a context with an already authenticated user.
+      throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
+    }
+  }
+
+  private UUID resolveCurrentUserOrganizationID() {
+    try {
+      return organizationResolver.resolveCurrentUserAffiliation(credentials).getId();
+    } catch (InvalidCredentialsException ex) {
+      // getCurrentUserOrganizationID() should only be called in a context with an already authenticated user.
+      throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
+    }
+  }
+
+  private Set<UUID> resolveAvailableOrganizationID() {
     try {
       //noinspection unchecked
       Set<OrganizationIdentity> organizations = accessController.getAvailableOrganizations(credentials);
@@ -9,6 +9,11 @@ import no.mnemonic.act.platform.dao.DaoModule;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.act.platform.service.aspects.*;
 import no.mnemonic.act.platform.service.ti.ThreatIntelligenceServiceImpl;
+import no.mnemonic.act.platform.service.ti.helpers.FactConversionPool;
+import no.mnemonic.act.platform.service.ti.helpers.GraphBreadthFirstSearch;
+import no.mnemonic.act.platform.service.ti.helpers.GraphTraversalPool;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectStatisticsPool;
+import no.mnemonic.act.platform.service.ti.helpers.StoredTraversalRegistry;
 import no.mnemonic.act.platform.service.validators.DefaultValidatorFactory;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.services.triggers.api.service.v1.TriggerAdministrationService;
@@ -50,6 +55,13 @@ public class TiServiceModule extends AbstractModule {
     // Bind the concrete implementation classes of the ThreatIntelligenceService.
     bind(ValidatorFactory.class).to(DefaultValidatorFactory.class).in(Scopes.SINGLETON);
     bind(ThreatIntelligenceService.class).to(ThreatIntelligenceServiceImpl.class).in(Scopes.SINGLETON);
+
+    // Bind components owning worker threads explicitly, otherwise the ComponentContainer won't shut them down.
+    bind(GraphBreadthFirstSearch.class);
+    bind(GraphTraversalPool.class);
+    bind(ObjectStatisticsPool.class);
+    bind(FactConversionPool.class);
+    bind(StoredTraversalRegistry.class);
   }
 
   @Provides
@@ -2,13 +2,16 @@ package no.mnemonic.act.platform.service.scopes;
 
 import com.google.inject.*;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Implementation of {@link ServiceRequestScope}. Enter the scope by calling {@link #enter()} and make sure to leave the
  * scope with {@link #exit()} when done. Use {@link #seed(Key, Object)} to explicitly seed classes for this scope. The
- * scope returns the same instance if requested multiple times.
+ * scope returns the same instance if requested multiple times, also when it is shared with worker threads using
+ * {@link #propagate(Function)}.
  */
 @SuppressWarnings("unchecked")
 public class ServiceRequestScopeImpl implements Scope {
@@ -20,21 +23,25 @@ public class ServiceRequestScopeImpl implements Scope {
     return () -> {
       validateInScope();
 
-      T current = (T) seededClasses.get().get(key);
-      if (current == null) {
-        // Not an explicitly seeded class, request new instance from Guice instead.
-        current = unscoped.get();
+      Map<Key<?>, Object> scoped = seededClasses.get();
+      T current = (T) scoped.get(key);
+      if (current != null) {
+        return current;
+      }
 
-        // Don't remember proxies, these exist only to serve circular dependencies.
-        if (Scopes.isCircularProxy(current)) {
-          return current;
-        }
+      // Not an explicitly seeded class, request new instance from Guice instead. Don't hold a lock while creating the
+      // instance, otherwise worker threads sharing the scope would wait for each other on every injection.
+      current = unscoped.get();
 
-        // Remember instance for the next injection.
-        seededClasses.get().put(key, current);
+      // Don't remember proxies, these exist only to serve circular dependencies.
+      if (Scopes.isCircularProxy(current)) {
+        return current;
       }
 
-      return current;
+      // Remember instance for the next injection. If another thread created an instance in the meantime use that one
+      // instead, such that only one instance is handed out per key.
+      T previous = (T) scoped.putIfAbsent(key, current);
+      return previous != null ? previous : current;
     };
   }
 
@@ -59,6 +66,33 @@ public class ServiceRequestScopeImpl implements Scope {
     seededClasses.get().put(key, seed);
   }
 
+  /**
+   * Wrap a function such that it is executed inside the service request scope of the current thread, e.g. when the
+   * function is executed on a worker thread. The worker shares all scoped instances with the current thread. The scope
+   * is captured when calling this method, thus, the function can also be executed after the scope has been left.
+   *
+   * @param function Function to wrap
+   * @param <T>      Type of the function's input
+   * @param <R>      Type of the function's result
+   * @return Wrapped function, or the function itself if the scope has not been entered
+   */
+  public static <T, R> Function<T, R> propagate(Function<T, R> function) {
+    Map<Key<?>, Object> scoped = seededClasses.get();
+    if (scoped == null) return function;
+
+    return input -> {
+      Map<Key<?>, Object> previous = seededClasses.get();
+      seededClasses.set(scoped);
+      try {
+        return function.apply(input);
+      } finally {
+        // Restore the previous state, the function might have been executed on the calling thread.
+        if (previous != null) seededClasses.set(previous);
+        else seededClasses.remove();
+      }
+    };
+  }
+
   /**
    * Check whether the service request scope has been entered.
    *
@@ -73,7 +107,7 @@ public class ServiceRequestScopeImpl implements Scope {
    */
   public void enter() {
     if (isInsideScope()) throw new IllegalStateException("A scoping block is already in progress.");
-    seededClasses.set(new HashMap<>());
+    seededClasses.set(Collections.synchronizedMap(new HashMap<>()));
   }
 
   /**
@@ -231,6 +231,36 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     return delegateProvider.get(TraverseGraphDelegate.class).handle(request);
   }
 
+  @Override
+  public ResultSet<?> traverseGraph(RequestHeader rh, TraverseBySessionRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return delegateProvider.get(TraverseGraphDelegate.class).handle(request);
+  }
+
+  @Override
+  public ResultSet<?> traverseGraph(RequestHeader rh, TraverseByStoredTraversalRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return delegateProvider.get(TraverseGraphDelegate.class).handle(request);
+  }
+
+  @Override
+  public TraversalSession createTraversalSession(RequestHeader rh, CreateTraversalSessionRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return delegateProvider.get(TraversalSessionCreateDelegate.class).handle(request);
+  }
+
+  @Override
+  public ResultSet<?> traverseNeighborhood(RequestHeader rh, TraverseNeighborhoodRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return delegateProvider.get(TraverseNativeDelegate.class).handle(request);
+  }
+
+  @Override
+  public ResultSet<?> traverseShortestPath(RequestHeader rh, TraverseShortestPathRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return delegateProvider.get(TraverseNativeDelegate.class).handle(request);
+  }
+
   @Override
   public Origin getOrigin(RequestHeader rh, GetOriginByIdRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
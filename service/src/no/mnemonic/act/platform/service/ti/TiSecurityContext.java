@@ -8,6 +8,7 @@ import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
@@ -20,11 +21,10 @@ import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Specific SecurityContext for the ThreatIntelligenceService.
@@ -34,6 +34,12 @@ public class TiSecurityContext extends SecurityContext {
   private final ObjectFactDao objectFactDao;
   private final Function<UUID, List<FactAclEntity>> aclResolver;
 
+  // Snapshot of the permissions required by hasReadPermission(FactRecord). It is populated lazily and only lives as
+  // long as the SecurityContext, i.e. for one request, thus, changes to the permissions will be picked up by the next
+  // request. This avoids calling the AccessController (and constructing exceptions) for every checked Fact.
+  private final Map<UUID, Boolean> viewFactObjectsPerOrganization = new ConcurrentHashMap<>();
+  private volatile Boolean viewFactObjects;
+
   private TiSecurityContext(AccessController accessController,
                             IdentityResolver identityResolver,
                             OrganizationResolver organizationResolver,
@@ -134,19 +140,8 @@ public class TiSecurityContext extends SecurityContext {
       throw new AccessDeniedException("No access to Object.");
     }
 
-    // Iterate through all bound Facts and return the first accessible Fact.
     // The user needs access to at least one bound Fact to have access to the Object.
-    FactSearchCriteria boundFactsCriteria = FactSearchCriteria.builder()
-            .addObjectID(object.getId())
-            .setCurrentUserID(getCurrentUserID())
-            .setAvailableOrganizationID(getAvailableOrganizationID())
-            .build();
-    Optional<FactRecord> accessibleFact = objectFactDao.searchFacts(boundFactsCriteria)
-            .stream()
-            .filter(this::hasReadPermission)
-            .findFirst();
-    if (!accessibleFact.isPresent()) {
-      // User does not have access to any Facts bound to this Object.
+    if (!hasAccessibleBoundFact(object)) {
       throw new AccessDeniedException("No access to Object.");
     }
   }
@@ -205,17 +200,34 @@ public class TiSecurityContext extends SecurityContext {
 
   /**
    * Check if a user is allowed to view a specific Fact based on the Fact's AccessMode.
+   * <p>
+   * This method implements the same logic as {@link #checkReadPermission(FactRecord)}, but it evaluates a snapshot
+   * of the user's permissions taken on first use instead of calling the AccessController for every Fact. Prefer this
+   * method when checking access to a large number of Facts, e.g. when streaming out search results.
    *
    * @param fact Fact to verify access to.
    * @return True if user has access to the Fact.
    */
   public boolean hasReadPermission(FactRecord fact) {
-    try {
-      checkReadPermission(fact);
+    if (fact == null) return false;
+
+    if (fact.getAccessMode() == FactRecord.AccessMode.Public) {
+      // Access allowed if user is generally allowed to view Facts.
+      return hasViewFactObjectsPermission();
+    }
+
+    if (isInAcl(fact)) {
+      // Access allowed because user is in the Fact's ACL.
       return true;
-    } catch (AccessDeniedException | AuthenticationFailedException ignored) {
+    }
+
+    if (fact.getAccessMode() == FactRecord.AccessMode.Explicit) {
+      // User is not in ACL of the Fact but explicit access is required.
       return false;
     }
+
+    // Fallback to role-based access control and verify that user has access to Facts of a specific organization.
+    return hasViewFactObjectsPermission(fact.getOrganizationID());
   }
 
   /**
@@ -263,6 +275,92 @@ public class TiSecurityContext extends SecurityContext {
     }
   }
 
+  private boolean hasViewFactObjectsPermission() {
+    Boolean permission = viewFactObjects;
+    if (permission == null) {
+      permission = checkViewFactObjectsPermission();
+      viewFactObjects = permission;
+    }
+
+    return permission;
+  }
+
+  private boolean hasViewFactObjectsPermission(UUID organizationID) {
+    // Don't cache the result for a missing organization, this shouldn't happen for valid Facts anyway.
+    if (organizationID == null) return checkViewFactObjectsPermission(null);
+
+    Boolean permission = viewFactObjectsPerOrganization.get(organizationID);
+    if (permission == null) {
+      permission = checkViewFactObjectsPermission(organizationID);
+      viewFactObjectsPerOrganization.put(organizationID, permission);
+    }
+
+    return permission;
+  }
+
+  private boolean checkViewFactObjectsPermission() {
+    try {
+      checkPermission(TiFunctionConstants.viewFactObjects);
+      return true;
+    } catch (AccessDeniedException | AuthenticationFailedException ignored) {
+      return false;
+    }
+  }
+
+  private boolean checkViewFactObjectsPermission(UUID organizationID) {
+    try {
+      checkPermission(TiFunctionConstants.viewFactObjects, organizationID);
+      return true;
+    } catch (AccessDeniedException | AuthenticationFailedException ignored) {
+      return false;
+    }
+  }
+
+  private boolean hasAccessibleBoundFact(ObjectRecord object) {
+    // Organizations for which the user is allowed to view RoleBased Facts.
+    Set<UUID> viewableOrganizationID = getAvailableOrganizationID()
+            .stream()
+            .filter(this::hasViewFactObjectsPermission)
+            .collect(Collectors.toSet());
+
+    if (hasViewFactObjectsPermission() && !CollectionUtils.isEmpty(viewableOrganizationID)) {
+      // With the general permission to view Facts and the Organizations reduced to those with view permission the
+      // access control applied by ElasticSearch is the same as in hasReadPermission(FactRecord). Thus, it's enough to
+      // ask ElasticSearch whether any accessible Fact exists without fetching any Facts.
+      return objectFactDao.existsFact(FactSearchCriteria.builder()
+              .addObjectID(object.getId())
+              .setCurrentUserID(getCurrentUserID())
+              .setAvailableOrganizationID(viewableOrganizationID)
+              .build());
+    }
+
+    // Otherwise, the user can only access Facts via their ACL. In this case iterate through all bound Facts and
+    // check access to each Fact individually.
+    FactSearchCriteria boundFactsCriteria = FactSearchCriteria.builder()
+            .addObjectID(object.getId())
+            .setCurrentUserID(getCurrentUserID())
+            .setAvailableOrganizationID(getAvailableOrganizationID())
+            .build();
+    return objectFactDao.searchFacts(boundFactsCriteria)
+            .stream()
+            .anyMatch(this::hasReadPermission);
+  }
+
+  private boolean isInAcl(FactRecord fact) {
+    List<FactAclEntryRecord> acl = fact.getAcl();
+    if (CollectionUtils.isEmpty(acl)) return false;
+
+    // The current user's ID is cached by the SecurityContext.
+    UUID subjectID = getCurrentUserID();
+
+    // Iterate by index in order to avoid allocating an iterator per checked Fact.
+    for (int i = 0; i < acl.size(); i++) {
+      if (Objects.equals(subjectID, acl.get(i).getSubjectID())) return true;
+    }
+
+    return false;
+  }
+
   private boolean isInAcl(FactEntity fact) {
     List<FactAclEntity> acl = aclResolver.apply(fact.getId());
     return !CollectionUtils.isEmpty(acl) && acl.stream().anyMatch(entry -> getCurrentUserID().equals(entry.getSubjectID()));
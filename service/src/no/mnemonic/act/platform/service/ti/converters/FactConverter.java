@@ -4,6 +4,8 @@ import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.model.v1.*;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.service.scopes.ServiceRequestScope;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.handlers.FactRetractionHandler;
 import no.mnemonic.commons.logging.Logger;
@@ -12,13 +14,30 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+/**
+ * Converter from {@link FactRecord} to {@link Fact}.
+ * <p>
+ * The nested FactTypes, Origins, Organizations, Subjects and Objects are converted once per request and their
+ * {@code Info} objects are re-used for all Facts referencing them. Because the number of distinct Objects in a large
+ * result can be huge, at most {@link #MAXIMUM_CACHED_OBJECTS} Objects are memoized.
+ */
+@ServiceRequestScope
 public class FactConverter implements Function<FactRecord, Fact> {
 
   private static final Logger LOGGER = Logging.getLogger(FactConverter.class);
+  private static final int MAXIMUM_CACHED_OBJECTS = 10_000;
+
+  private final Map<UUID, FactType.Info> factTypeCache = new ConcurrentHashMap<>();
+  private final Map<UUID, Origin.Info> originCache = new ConcurrentHashMap<>();
+  private final Map<UUID, Organization.Info> organizationCache = new ConcurrentHashMap<>();
+  private final Map<UUID, Subject.Info> subjectCache = new ConcurrentHashMap<>();
+  private final Map<UUID, Object.Info> objectCache = new ConcurrentHashMap<>();
 
   private final FactTypeByIdConverter factTypeConverter;
   private final OriginByIdConverter originConverter;
@@ -53,24 +72,45 @@ public class FactConverter implements Function<FactRecord, Fact> {
     if (record == null) return null;
     return Fact.builder()
             .setId(record.getId())
-            .setType(ObjectUtils.ifNotNull(factTypeConverter.apply(record.getTypeID()), FactType::toInfo))
+            .setType(memoize(factTypeCache, record.getTypeID(), id -> ObjectUtils.ifNotNull(factTypeConverter.apply(id), FactType::toInfo)))
             .setValue(record.getValue())
             .setInReferenceTo(ObjectUtils.ifNotNull(convertInReferenceTo(record.getInReferenceToID()), Fact::toInfo))
-            .setOrganization(ObjectUtils.ifNotNull(organizationConverter.apply(record.getOrganizationID()), Organization::toInfo))
-            .setAddedBy(ObjectUtils.ifNotNull(subjectConverter.apply(record.getAddedByID()), Subject::toInfo))
-            .setOrigin(ObjectUtils.ifNotNull(originConverter.apply(record.getOriginID()), Origin::toInfo))
+            .setOrganization(memoize(organizationCache, record.getOrganizationID(), id -> ObjectUtils.ifNotNull(organizationConverter.apply(id), Organization::toInfo)))
+            .setAddedBy(memoize(subjectCache, record.getAddedByID(), id -> ObjectUtils.ifNotNull(subjectConverter.apply(id), Subject::toInfo)))
+            .setOrigin(memoize(originCache, record.getOriginID(), id -> ObjectUtils.ifNotNull(originConverter.apply(id), Origin::toInfo)))
             .setTrust(record.getTrust())
             .setConfidence(record.getConfidence())
             .setAccessMode(ObjectUtils.ifNotNull(record.getAccessMode(), m -> AccessMode.valueOf(m.name())))
             .setTimestamp(record.getTimestamp())
             .setLastSeenTimestamp(record.getLastSeenTimestamp())
-            .setSourceObject(ObjectUtils.ifNotNull(objectConverter.apply(record.getSourceObject()), Object::toInfo))
-            .setDestinationObject(ObjectUtils.ifNotNull(objectConverter.apply(record.getDestinationObject()), Object::toInfo))
+            .setSourceObject(convertObject(record.getSourceObject()))
+            .setDestinationObject(convertObject(record.getDestinationObject()))
             .setBidirectionalBinding(record.isBidirectionalBinding())
             .setFlags(convertFlags(record))
             .build();
   }
 
+  private Object.Info convertObject(ObjectRecord object) {
+    if (object == null) return null;
+    if (object.getId() == null) return ObjectUtils.ifNotNull(objectConverter.apply(object), Object::toInfo);
+
+    Object.Info info = objectCache.get(object.getId());
+    if (info != null) return info;
+
+    info = ObjectUtils.ifNotNull(objectConverter.apply(object), Object::toInfo);
+    if (info != null && objectCache.size() < MAXIMUM_CACHED_OBJECTS) {
+      objectCache.put(object.getId(), info);
+    }
+
+    return info;
+  }
+
+  private <T> T memoize(Map<UUID, T> cache, UUID id, Function<UUID, T> converter) {
+    if (id == null) return null;
+    // The converters never return null for a non-null ID, thus, the result will always be cached.
+    return cache.computeIfAbsent(id, converter);
+  }
+
   private Fact convertInReferenceTo(UUID inReferenceToID) {
     if (inReferenceToID == null) return null;
 
@@ -17,6 +17,7 @@ import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.TiServiceEvent;
 import no.mnemonic.act.platform.service.ti.converters.FactConverter;
 import no.mnemonic.act.platform.service.ti.handlers.FactCreateHandler;
+import no.mnemonic.act.platform.service.ti.helpers.RetractionIdCache;
 import no.mnemonic.act.platform.service.ti.resolvers.FactResolver;
 import no.mnemonic.act.platform.service.ti.resolvers.FactTypeResolver;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -36,6 +37,7 @@ public class FactRetractDelegate extends AbstractDelegate implements Delegate {
   private final FactResolver factResolver;
   private final FactCreateHandler factCreateHandler;
   private final FactConverter factConverter;
+  private final RetractionIdCache retractionIdCache;
 
   private FactTypeEntity retractionFactType;
   private OriginEntity requestedOrigin;
@@ -48,7 +50,8 @@ public class FactRetractDelegate extends AbstractDelegate implements Delegate {
                              FactTypeResolver factTypeResolver,
                              FactResolver factResolver,
                              FactCreateHandler factCreateHandler,
-                             FactConverter factConverter) {
+                             FactConverter factConverter,
+                             RetractionIdCache retractionIdCache) {
     this.securityContext = securityContext;
     this.triggerContext = triggerContext;
     this.objectFactDao = objectFactDao;
@@ -56,6 +59,7 @@ public class FactRetractDelegate extends AbstractDelegate implements Delegate {
     this.factResolver = factResolver;
     this.factCreateHandler = factCreateHandler;
     this.factConverter = factConverter;
+    this.retractionIdCache = retractionIdCache;
   }
 
   public Fact handle(RetractFactRequest request)
@@ -75,6 +79,8 @@ public class FactRetractDelegate extends AbstractDelegate implements Delegate {
 
     // Save everything in database.
     FactRecord retractionFact = saveRetractionFact(request, factToRetract);
+    // The cached Retraction Facts of the retracted Fact are outdated now.
+    retractionIdCache.invalidate(factToRetract.getId());
     factToRetract = objectFactDao.retractFact(factToRetract);
 
     // Register TriggerEvent before returning Retraction Fact.
@@ -18,14 +18,15 @@ import no.mnemonic.act.platform.service.ti.converters.FactTypeByIdConverter;
 import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
 import no.mnemonic.act.platform.service.ti.converters.ObjectTypeByIdConverter;
 import no.mnemonic.act.platform.service.ti.converters.SearchObjectRequestConverter;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectStatisticsPool;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.api.ResultSet;
 
 import javax.inject.Inject;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class ObjectSearchDelegate extends AbstractDelegate implements Delegate {
 
@@ -34,18 +35,22 @@ public class ObjectSearchDelegate extends AbstractDelegate implements Delegate {
   private final SearchObjectRequestConverter requestConverter;
   private final FactTypeByIdConverter factTypeConverter;
   private final ObjectTypeByIdConverter objectTypeConverter;
+  // Bounded pool shared between all searches. Each search has at most MAXIMUM_LOOKAHEAD statistics requests in flight.
+  private final ObjectStatisticsPool statisticsPool;
 
   @Inject
   public ObjectSearchDelegate(TiSecurityContext securityContext,
                               ObjectFactDao objectFactDao,
                               SearchObjectRequestConverter requestConverter,
                               FactTypeByIdConverter factTypeConverter,
-                              ObjectTypeByIdConverter objectTypeConverter) {
+                              ObjectTypeByIdConverter objectTypeConverter,
+                              ObjectStatisticsPool statisticsPool) {
     this.securityContext = securityContext;
     this.objectFactDao = objectFactDao;
     this.requestConverter = requestConverter;
     this.factTypeConverter = factTypeConverter;
     this.objectTypeConverter = objectTypeConverter;
+    this.statisticsPool = statisticsPool;
   }
 
   public ResultSet<Object> handle(SearchObjectRequest request)
@@ -59,30 +64,51 @@ public class ObjectSearchDelegate extends AbstractDelegate implements Delegate {
     return StreamingResultSet.<Object>builder()
             .setCount(searchResult.getCount())
             .setLimit(criteria.getLimit())
-            .setValues(new AddStatisticsIterator(searchResult))
+            .setValues(new AddStatisticsIterator(searchResult, !Objects.equals(request.getExcludeStatistics(), true)))
             .build();
   }
 
   /**
    * This iterator wraps the search result iterator and while the result is consumed it converts the input from
    * ObjectRecord to the Object model. At the same time it adds the statistics about Facts to the returned Objects.
+   * <p>
+   * The statistics are calculated in batches. While one batch is consumed the statistics for the following batches
+   * are already calculated in the background, thus, the latency of the statistics requests does not add up.
+   * <p>
+   * The iterator is closed when the consumer stops early, e.g. when the client disconnects. This cancels the
+   * statistics which are still calculated for the lookahead batches.
    */
-  private class AddStatisticsIterator implements Iterator<Object> {
+  private class AddStatisticsIterator implements Iterator<Object>, AutoCloseable {
 
     // A batch size of 1000 seems to be a good trade-off between the number of requests against ElasticSearch and
     // the amount of work ElasticSearch has to perform per request. The current maximum limit for the Object search
     // is 10.000, i.e. at most 10 request will be send to ElasticSearch.
     private static final int MAXIMUM_BATCH_SIZE = 1000;
+    // Number of batches for which statistics are calculated ahead of the batch currently consumed.
+    private static final int MAXIMUM_LOOKAHEAD = 2;
 
     private final ResultContainer<ObjectRecord> input;
+    private final boolean includeStatistics;
+    // Resolve user information up front because the security context isn't available on the background threads.
+    private final UUID currentUserID;
+    private final Set<UUID> availableOrganizationID;
+    private final Deque<Batch> pendingBatches = new ArrayDeque<>();
     private Iterator<Object> output;
+    private boolean closed;
 
-    private AddStatisticsIterator(ResultContainer<ObjectRecord> input) {
+    private AddStatisticsIterator(ResultContainer<ObjectRecord> input, boolean includeStatistics) {
       this.input = input;
+      this.includeStatistics = includeStatistics;
+      this.currentUserID = includeStatistics ? securityContext.getCurrentUserID() : null;
+      this.availableOrganizationID = includeStatistics ? securityContext.getAvailableOrganizationID() : null;
     }
 
     @Override
     public boolean hasNext() {
+      if (closed) {
+        return false;
+      }
+
       // If this is the initial batch or the current batch has be consumed completely, fetch the next batch.
       if (output == null || !output.hasNext()) {
         output = nextOutputBatch();
@@ -93,40 +119,109 @@ public class ObjectSearchDelegate extends AbstractDelegate implements Delegate {
 
     @Override
     public Object next() {
+      if (!hasNext()) throw new NoSuchElementException();
       return output.next();
     }
 
-    private Iterator<Object> nextOutputBatch() {
-      List<ObjectRecord> currentBatch = new ArrayList<>(MAXIMUM_BATCH_SIZE);
+    @Override
+    public void close() {
+      closed = true;
+      output = null;
+      cancelPendingBatches();
+    }
 
-      int currentBatchSize = 0;
-      // Consume input until no more data is available or maximum batch size has be reached.
-      while (input.hasNext() && currentBatchSize < MAXIMUM_BATCH_SIZE) {
-        currentBatch.add(input.next());
-        currentBatchSize++;
+    private Iterator<Object> nextOutputBatch() {
+      // Keep the current batch plus the lookahead batches pending.
+      while (pendingBatches.size() <= MAXIMUM_LOOKAHEAD) {
+        Batch batch = readBatch();
+        if (batch == null) break;
+        pendingBatches.add(batch);
       }
 
-      // Return early because calculating the statistics will fail without any Object IDs.
-      if (currentBatch.isEmpty()) {
+      Batch currentBatch = pendingBatches.poll();
+      if (currentBatch == null) {
         return Collections.emptyIterator();
       }
 
-      // Use the Object IDs to retrieve the Fact statistics for one batch of Objects.
-      ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
-              .setObjectID(SetUtils.set(currentBatch, ObjectRecord::getId))
-              .setCurrentUserID(securityContext.getCurrentUserID())
-              .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
-              .build();
-      ObjectStatisticsContainer statistics = objectFactDao.calculateObjectStatistics(criteria);
-
       // Don't explicitly check access to each Object here as this would be too expensive because it requires fetching
       // Facts for each Object. Rely on the access control implemented in ElasticSearch instead. Accidentally returning
       // non-accessible Objects because of an error in the ElasticSearch access control implementation would only leak
       // the information that the Object exists (plus potentially the Fact statistics) and will not give further access
       // to any Facts.
-      return currentBatch.stream()
-              .map(new ObjectConverter(objectTypeConverter, factTypeConverter, statistics::getStatistics))
+      ObjectStatisticsContainer statistics = awaitStatistics(currentBatch);
+      return currentBatch.records.stream()
+              .map(new ObjectConverter(objectTypeConverter, factTypeConverter,
+                      id -> statistics != null ? statistics.getStatistics(id) : null))
               .iterator();
     }
+
+    private ObjectStatisticsContainer awaitStatistics(Batch batch) {
+      try {
+        return batch.awaitStatistics();
+      } catch (RuntimeException ex) {
+        // The result can't be streamed out any further, thus, don't calculate statistics for the lookahead batches.
+        cancelPendingBatches();
+        throw ex;
+      }
+    }
+
+    private void cancelPendingBatches() {
+      pendingBatches.forEach(Batch::cancel);
+      pendingBatches.clear();
+    }
+
+    private Batch readBatch() {
+      List<ObjectRecord> records = new ArrayList<>(MAXIMUM_BATCH_SIZE);
+      // Consume input until no more data is available or maximum batch size has be reached.
+      while (input.hasNext() && records.size() < MAXIMUM_BATCH_SIZE) {
+        records.add(input.next());
+      }
+
+      // Return early because calculating the statistics will fail without any Object IDs.
+      if (records.isEmpty()) {
+        return null;
+      }
+
+      if (!includeStatistics) {
+        return new Batch(records, null);
+      }
+
+      // Use the Object IDs to retrieve the Fact statistics for one batch of Objects.
+      ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
+              .setObjectID(SetUtils.set(records, ObjectRecord::getId))
+              .setCurrentUserID(currentUserID)
+              .setAvailableOrganizationID(availableOrganizationID)
+              .build();
+      return new Batch(records, statisticsPool.submit(() -> objectFactDao.calculateObjectStatistics(criteria)));
+    }
+  }
+
+  private static class Batch {
+    private final List<ObjectRecord> records;
+    private final Future<ObjectStatisticsContainer> statistics;
+
+    private Batch(List<ObjectRecord> records, Future<ObjectStatisticsContainer> statistics) {
+      this.records = records;
+      this.statistics = statistics;
+    }
+
+    private void cancel() {
+      if (statistics != null) statistics.cancel(true);
+    }
+
+    private ObjectStatisticsContainer awaitStatistics() {
+      if (statistics == null) return null;
+
+      try {
+        return statistics.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while calculating Object statistics.", ex);
+      } catch (ExecutionException ex) {
+        Throwable cause = ObjectUtils.ifNull(ex.getCause(), ex);
+        if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+        throw new IllegalStateException("Could not calculate Object statistics.", cause);
+      }
+    }
   }
 }
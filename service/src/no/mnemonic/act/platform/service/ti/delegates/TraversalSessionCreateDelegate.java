@@ -0,0 +1,127 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
+import no.mnemonic.act.platform.api.model.v1.TraversalSession;
+import no.mnemonic.act.platform.api.request.v1.CreateTraversalSessionRequest;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphSnapshot;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.helpers.GraphBreadthFirstSearch;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalSessionRegistry;
+import no.mnemonic.act.platform.service.ti.resolvers.SearchByNameResolver;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Delegate loading the neighborhood of one or more Objects into memory. The created session can afterwards be used
+ * for repeated graph traversals without fetching anything from Cassandra (see {@link TraverseGraphDelegate}).
+ */
+public class TraversalSessionCreateDelegate extends AbstractDelegate implements Delegate {
+
+  private static final long SEARCH_TIMEOUT = 120_000;
+  private static final int DEFAULT_DEPTH = 2;
+  private static final int DEFAULT_LIMIT = 10_000;
+  private static final int MAXIMUM_LIMIT = 100_000;
+
+  private final TiSecurityContext securityContext;
+  private final ObjectFactDao objectFactDao;
+  private final ObjectManager objectManager;
+  private final GraphBreadthFirstSearch graphSearch;
+  private final TraversalSessionRegistry sessionRegistry;
+  private final SearchByNameResolver byNameResolver;
+
+  private long searchTimeout = SEARCH_TIMEOUT;
+
+  @Inject
+  public TraversalSessionCreateDelegate(TiSecurityContext securityContext,
+                                        ObjectFactDao objectFactDao,
+                                        ObjectManager objectManager,
+                                        GraphBreadthFirstSearch graphSearch,
+                                        TraversalSessionRegistry sessionRegistry,
+                                        SearchByNameResolver byNameResolver) {
+    this.securityContext = securityContext;
+    this.objectFactDao = objectFactDao;
+    this.objectManager = objectManager;
+    this.graphSearch = graphSearch;
+    this.sessionRegistry = sessionRegistry;
+    this.byNameResolver = byNameResolver;
+  }
+
+  public TraversalSession handle(CreateTraversalSessionRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
+    // Verify that user has access to all starting points of the expansion.
+    for (UUID id : request.getObjectID()) {
+      securityContext.checkReadPermission(objectFactDao.getObject(id));
+    }
+
+    GraphBreadthFirstSearch.Criteria criteria = GraphBreadthFirstSearch.Criteria.builder()
+            .setFactFilter(createFactFilter(request.getFactType()))
+            .setMaxDepth(ObjectUtils.ifNull(request.getDepth(), DEFAULT_DEPTH))
+            .setObjectLimit(resolveLimit(request.getObjectLimit()))
+            .setFactLimit(resolveLimit(request.getFactLimit()))
+            .setTimeout(searchTimeout)
+            .build();
+
+    GraphBreadthFirstSearch.Result result;
+    try {
+      result = graphSearch.expandAll(request.getObjectID(), criteria);
+    } catch (TimeoutException ex) {
+      throw createTimeoutException();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw createTimeoutException();
+    }
+
+    // Only accessible Facts have been followed, thus, the snapshot can be traversed without checking access again.
+    GraphSnapshot.Builder snapshot = GraphSnapshot.builder();
+    objectManager.getObjects(ListUtils.list(result.getObjects())).forEachRemaining(snapshot::addObject);
+    result.getFacts().forEach(snapshot::addFact);
+
+    TraversalSessionRegistry.Session session = sessionRegistry.register(snapshot.build(), securityContext.getCurrentUserID());
+    return TraversalSession.builder()
+            .setId(session.getId())
+            .setObjectCount(session.getSnapshot().getObjectCount())
+            .setFactCount(session.getSnapshot().getFactCount())
+            .setTruncated(result.isTruncated())
+            .setExpiresTimestamp(session.getExpiresTimestamp())
+            .build();
+  }
+
+  TraversalSessionCreateDelegate setSearchTimeout(long searchTimeout) {
+    this.searchTimeout = searchTimeout;
+    return this;
+  }
+
+  private Predicate<FactEntity> createFactFilter(Set<String> factType) throws InvalidArgumentException {
+    Set<UUID> factTypeID = byNameResolver.resolveFactType(factType);
+    // Only load Facts the user has access to. Executed on the threads expanding the graph.
+    Predicate<FactEntity> hasAccess = securityContext::hasReadPermission;
+    if (CollectionUtils.isEmpty(factTypeID)) return hasAccess;
+    // Check the FactType first as it's cheaper than checking access.
+    Predicate<FactEntity> hasType = fact -> factTypeID.contains(fact.getTypeID());
+    return hasType.and(hasAccess);
+  }
+
+  private int resolveLimit(Integer limit) {
+    if (limit == null) return DEFAULT_LIMIT;
+    return limit > 0 && limit < MAXIMUM_LIMIT ? limit : MAXIMUM_LIMIT;
+  }
+
+  private OperationTimeoutException createTimeoutException() {
+    return new OperationTimeoutException("The performed graph traversal timed out.", "graph.traversal.timeout");
+  }
+}
@@ -1,13 +1,17 @@
 package no.mnemonic.act.platform.service.ti.delegates;
 
+import com.google.common.collect.Lists;
 import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
 import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.api.model.v1.TraversalStatistics;
 import no.mnemonic.act.platform.api.request.v1.TraverseByObjectIdRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseByObjectSearchRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseByObjectTypeValueRequest;
+import no.mnemonic.act.platform.api.request.v1.TraverseBySessionRequest;
+import no.mnemonic.act.platform.api.request.v1.TraverseByStoredTraversalRequest;
 import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
@@ -17,26 +21,42 @@ import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.tinkerpop.ActGraph;
 import no.mnemonic.act.platform.dao.tinkerpop.FactEdge;
 import no.mnemonic.act.platform.dao.tinkerpop.ObjectVertex;
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphRecordConverter;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.TraversalMetrics;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.FactConverter;
 import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.act.platform.service.ti.helpers.BlockingResultQueue;
+import no.mnemonic.act.platform.service.ti.helpers.GraphTraversalPool;
 import no.mnemonic.act.platform.service.ti.helpers.GremlinSandboxExtension;
+import no.mnemonic.act.platform.service.ti.helpers.StoredTraversalRegistry;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalBudget;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalSessionRegistry;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.api.ResultSet;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import javax.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 
@@ -44,16 +64,30 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
 
   private static final String SCRIPT_ENGINE = "gremlin-groovy";
   private static final long SCRIPT_EXECUTION_TIMEOUT = 120_000;
+  private static final int TRAVERSAL_RESULT_QUEUE_SIZE = 1_000;
+  private static final int TRAVERSAL_RESULT_CHUNK_SIZE = 100;
+
+  private static final Logger LOGGER = Logging.getLogger(TraverseGraphDelegate.class);
 
   private final TiSecurityContext securityContext;
   private final ObjectFactDao objectFactDao;
   private final ObjectManager objectManager;
   private final FactManager factManager;
+  private final GraphElementCache graphElementCache;
+  private final GraphRecordConverter graphRecordConverter;
+  private final TraversalSessionRegistry sessionRegistry;
+  private final TraversalBudget traversalBudget;
+  private final StoredTraversalRegistry storedTraversalRegistry;
+  private final GraphTraversalPool traversalPool;
   private final ObjectSearchDelegate objectSearch;
   private final ObjectConverter objectConverter;
   private final FactConverter factConverter;
 
-  private final Collection<java.lang.Object> traversalResult = new ArrayList<>();
+  // Results are handed over from the thread executing the traversal to the consumer of the returned ResultSet.
+  private final BlockingResultQueue<java.lang.Object> traversalResult = new BlockingResultQueue<>(TRAVERSAL_RESULT_QUEUE_SIZE);
+  // Threads currently iterating the result of an evaluation, interrupted when a sibling evaluation fails.
+  private final Set<Thread> evaluationThreads = new HashSet<>();
+  private boolean evaluationsCancelled;
 
   private long scriptExecutionTimeout = SCRIPT_EXECUTION_TIMEOUT;
 
@@ -62,6 +96,12 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
                                ObjectFactDao objectFactDao,
                                ObjectManager objectManager,
                                FactManager factManager,
+                               GraphElementCache graphElementCache,
+                               GraphRecordConverter graphRecordConverter,
+                               TraversalSessionRegistry sessionRegistry,
+                               TraversalBudget traversalBudget,
+                               StoredTraversalRegistry storedTraversalRegistry,
+                               GraphTraversalPool traversalPool,
                                ObjectSearchDelegate objectSearch,
                                ObjectConverter objectConverter,
                                FactConverter factConverter) {
@@ -69,6 +109,12 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
     this.objectFactDao = objectFactDao;
     this.objectManager = objectManager;
     this.factManager = factManager;
+    this.graphElementCache = graphElementCache;
+    this.graphRecordConverter = graphRecordConverter;
+    this.sessionRegistry = sessionRegistry;
+    this.traversalBudget = traversalBudget;
+    this.storedTraversalRegistry = storedTraversalRegistry;
+    this.traversalPool = traversalPool;
     this.objectSearch = objectSearch;
     this.objectConverter = objectConverter;
     this.factConverter = factConverter;
@@ -78,7 +124,7 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
     securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
 
-    return handle(objectFactDao.getObject(request.getId()), request.getQuery());
+    return handle(objectFactDao.getObject(request.getId()), request.getQuery(), request.getIncludeStatistics());
   }
 
   public ResultSet<?> handle(TraverseByObjectTypeValueRequest request)
@@ -86,7 +132,7 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
     securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
     assertObjectTypeExists(request.getType(), "type");
 
-    return handle(objectFactDao.getObject(request.getType(), request.getValue()), request.getQuery());
+    return handle(objectFactDao.getObject(request.getType(), request.getValue()), request.getQuery(), request.getIncludeStatistics());
   }
 
   public ResultSet<?> handle(TraverseByObjectSearchRequest request)
@@ -102,11 +148,73 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
       return StreamingResultSet.builder().build();
     }
 
-    // Execute traversal and process results.
-    executeTraversal(startingObjects, request.getQuery());
+    // Execute traversal and process results. In parallel mode the starting Objects are split up into partitions which
+    // are traversed independently of each other, otherwise all starting Objects are traversed at once.
+    List<Function<GraphTraversalSource, GraphTraversal<Vertex, Vertex>>> startingPoints = new ArrayList<>();
+    if (Boolean.TRUE.equals(request.getParallel())) {
+      int partitionSize = (startingObjects.size() + traversalPool.getParallelism() - 1) / traversalPool.getParallelism();
+      for (List<UUID> partition : Lists.partition(ListUtils.list(startingObjects), partitionSize)) {
+        startingPoints.add(g -> g.V(partition.toArray()));
+      }
+    } else {
+      startingPoints.add(g -> g.V(startingObjects.toArray()));
+    }
+    executeTraversal(this::createGraph, startingPoints, request.getQuery(), request.getIncludeStatistics());
 
+    // The traversal result is streamed out while the traversal is still running, thus, 'count' is unknown.
+    return StreamingResultSet.builder()
+            .setValues(traversalResult)
+            .build();
+  }
+
+  public ResultSet<?> handle(TraverseBySessionRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
+
+    // Sessions are only available to the user who created them.
+    TraversalSessionRegistry.Session session = sessionRegistry.get(request.getId(), securityContext.getCurrentUserID());
+    if (session == null) {
+      throw new InvalidArgumentException()
+              .addValidationError(String.format("Traversal session with id = %s does not exist.", request.getId()),
+                      "traversal.session.not.exist", "id", String.valueOf(request.getId()));
+    }
+
+    // The traversal starts at all Objects of the snapshot, the query is supposed to narrow them down.
+    executeTraversal(metrics -> createSessionGraph(session, metrics), Collections.singletonList(GraphTraversalSource::V),
+            request.getQuery(), request.getIncludeStatistics());
+
+    // The traversal result is streamed out while the traversal is still running, thus, 'count' is unknown.
+    return StreamingResultSet.builder()
+            .setValues(traversalResult)
+            .build();
+  }
+
+  public ResultSet<?> handle(TraverseByStoredTraversalRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
+
+    StoredTraversalRegistry.StoredTraversal traversal = storedTraversalRegistry.get(request.getName());
+    if (traversal == null) {
+      throw new InvalidArgumentException()
+              .addValidationError(String.format("Stored traversal with name = %s does not exist.", request.getName()),
+                      "stored.traversal.not.exist", "name", request.getName());
+    }
+    // Convert the provided values into the types declared by the stored traversal.
+    Map<String, java.lang.Object> parameters = traversal.bindParameters(request.getParameters());
+
+    // Verify that user has access to all starting points of graph traversal.
+    for (UUID objectID : request.getObjectID()) {
+      securityContext.checkReadPermission(objectFactDao.getObject(objectID));
+    }
+
+    // Execute traversal with the executor of the registry which holds the compiled script of the stored traversal.
+    Set<UUID> startingObjects = request.getObjectID();
+    executeTraversal(storedTraversalRegistry.getExecutor(), false, this::createGraph,
+            Collections.singletonList(g -> g.V(startingObjects.toArray())), traversal.getQuery(), parameters,
+            request.getIncludeStatistics());
+
+    // The traversal result is streamed out while the traversal is still running, thus, 'count' is unknown.
     return StreamingResultSet.builder()
-            .setCount(traversalResult.size())
             .setValues(traversalResult)
             .build();
   }
@@ -116,30 +224,93 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
     return this;
   }
 
-  private ResultSet<?> handle(ObjectRecord startingObject, String query)
+  private ResultSet<?> handle(ObjectRecord startingObject, String query, Boolean includeStatistics)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
     // Verify that user has access to starting point of graph traversal.
     securityContext.checkReadPermission(startingObject);
     // Execute traversal and process results.
-    executeTraversal(Collections.singleton(startingObject.getId()), query);
+    executeTraversal(this::createGraph, Collections.singletonList(g -> g.V(startingObject.getId())), query, includeStatistics);
 
+    // The traversal result is streamed out while the traversal is still running, thus, 'count' is unknown.
     return StreamingResultSet.builder()
-            .setCount(traversalResult.size())
             .setValues(traversalResult)
             .build();
   }
 
-  private void executeTraversal(Collection<UUID> startingObjects, String query)
-          throws InvalidArgumentException, OperationTimeoutException {
-    try (Graph graph = createGraph(); GremlinExecutor executor = createExecutor()) {
-      // Create the first step of the graph traversal, i.e. starting the traversal at the Object(s) specified in the request.
-      // This is injected into the script execution as variable 'g'. Every query has to start from 'g'.
-      GraphTraversal<Vertex, Vertex> startingPoint = graph.traversal().V(startingObjects.toArray());
-      Map<String, java.lang.Object> bindings = MapUtils.map(T("g", startingPoint));
-      // Start script execution and wait until result arrived or execution is aborted.
-      // Use 'withResult' callback here because the graph will then be iterated inside the 'eval' thread, thus, every
-      // exception caused by the traversal will be handled inside that thread as well which will result in an ExecutionException.
-      executor.eval(query, SCRIPT_ENGINE, bindings, this::produceTraversalResult).get();
+  private void executeTraversal(Function<TraversalMetrics, Graph> graphFactory,
+                                List<Function<GraphTraversalSource, GraphTraversal<Vertex, Vertex>>> startingPoints,
+                                String query,
+                                Boolean includeStatistics) throws InvalidArgumentException, OperationTimeoutException {
+    // Multiple starting points are evaluated on the shared pool. All evaluations are submitted at the same time and the
+    // GremlinExecutor starts counting the timeout on submission, thus, the timeout applies to the whole fan-out.
+    ExecutorService evaluationPool = startingPoints.size() > 1 ? traversalPool.getExecutor() : null;
+    executeTraversal(createExecutor(evaluationPool), true, graphFactory, startingPoints, query, Collections.emptyMap(),
+            includeStatistics);
+  }
+
+  private void executeTraversal(GremlinExecutor executor,
+                                boolean ownsExecutor,
+                                Function<TraversalMetrics, Graph> graphFactory,
+                                List<Function<GraphTraversalSource, GraphTraversal<Vertex, Vertex>>> startingPoints,
+                                String query,
+                                Map<String, java.lang.Object> parameters,
+                                Boolean includeStatistics) throws InvalidArgumentException, OperationTimeoutException {
+    // A shared executor (of stored traversals) must stay open after the traversal, only release what was created for it.
+    GremlinExecutor executorToClose = ownsExecutor ? executor : null;
+    List<Graph> graphs = new ArrayList<>();
+    CompletableFuture<Void> evaluation = null;
+    // The metrics are shared by all evaluations, thus, the budget applies to the whole traversal.
+    TraversalMetrics metrics = traversalBudget.createMetrics();
+    long startTime = System.currentTimeMillis();
+
+    try {
+      List<CompletableFuture<java.lang.Object>> evaluations = new ArrayList<>();
+      for (Function<GraphTraversalSource, GraphTraversal<Vertex, Vertex>> startingPoint : startingPoints) {
+        // Every evaluation traverses its own graph, but the graphs share the element cache and the security context.
+        Graph graph = graphFactory.apply(metrics);
+        graphs.add(graph);
+        // Create the first step of the graph traversal, i.e. starting the traversal at the Object(s) specified in the request.
+        // This is injected into the script execution as variable 'g'. Every query has to start from 'g'.
+        // Parameters of stored traversals are injected as additional variables.
+        Map<String, java.lang.Object> bindings = MapUtils.addToMap(MapUtils.map(parameters), "g", startingPoint.apply(graph.traversal()));
+        // Start script execution. Use 'withResult' callback here because the graph will then be iterated inside the 'eval'
+        // thread, thus, every exception caused by the traversal will be handled inside that thread as well which will
+        // result in an ExecutionException. The results are streamed out through 'traversalResult' while iterating.
+        evaluations.add(executor.eval(query, SCRIPT_ENGINE, bindings, this::produceTraversalResult));
+      }
+
+      // The traversal fails as soon as any evaluation fails, thus, abort the remaining evaluations on the first failure.
+      // Remember that failure because the aborted evaluations fail as well, with a less meaningful exception.
+      AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+      for (CompletableFuture<java.lang.Object> future : evaluations) {
+        future.whenComplete((ignored, ex) -> {
+          if (ex != null && firstFailure.compareAndSet(null, ex)) cancelEvaluations();
+        });
+      }
+      // The traversal has finished once all evaluations have finished, i.e. the aborted evaluations have terminated.
+      evaluation = CompletableFuture.allOf(evaluations.toArray(new CompletableFuture[0]))
+              .handle((ignored, ex) -> {
+                // The failure might not be recorded yet if the failed evaluation was the last one to finish.
+                if (ex != null) throw new CompletionException(ObjectUtils.ifNull(firstFailure.get(), unwrapCompletionException(ex)));
+                return null;
+              });
+      // Once the script execution has finished signal the end of the traversal result.
+      evaluation.whenComplete((ignored, ex) -> finishTraversal(unwrapCompletionException(ex), metrics, startTime,
+              Boolean.TRUE.equals(includeStatistics)));
+      // Wait until either the first result arrived or the execution has finished before returning. Like that invalid
+      // queries or timeouts before any result was produced are still reported back to the user as errors.
+      traversalResult.awaitAvailable();
+
+      if (evaluation.isDone()) {
+        // Execution has already finished, release all resources immediately.
+        closeGraphsAndExecutor(graphs, executorToClose, false);
+        // This will throw an ExecutionException if the execution failed.
+        evaluation.get();
+      } else {
+        // Results are still being produced, release all resources once the execution has finished.
+        // Closing the executor must not block the 'eval' thread because it waits for that thread to terminate.
+        evaluation.whenComplete((ignored, ex) -> closeGraphsAndExecutor(graphs, executorToClose, true));
+      }
     } catch (ExecutionException ex) {
       // Exceptions causing the script execution to fail are wrapped inside an ExecutionException. Need to unwrap them.
       Throwable cause = ObjectUtils.ifNull(ex.getCause(), ex);
@@ -148,53 +319,224 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
       if (cause instanceof TimeoutException) {
         throw new OperationTimeoutException("The performed graph traversal query timed out.", "graph.traversal.timeout");
       }
+      // Exceeding the traversal budget is treated like a timeout, the query was just too expensive.
+      if (cause instanceof TraversalBudgetExceededException) {
+        throw new OperationTimeoutException(cause.getMessage(), "graph.traversal.budget.exceeded");
+      }
       // In all other cases throw an InvalidArgumentException because the failure is most likely caused by a wrong query,
       // e.g. invalid syntax, an unsupported operation such as 'addE()', or an operation not allowed by the sandbox.
       throw new InvalidArgumentException()
               .addValidationError(cause.getMessage(), "graph.traversal.failure", "query", query);
     } catch (Exception ex) {
-      // Something bad happened, abort method.
+      // Something bad happened, abort traversal and method. If the script execution has already been started the
+      // resources will be released once the execution has finished, otherwise release them immediately.
+      traversalResult.close();
+      if (evaluation == null) {
+        closeGraphsAndExecutor(graphs, executorToClose, false);
+      }
       throw new IllegalStateException("Could not perform graph traversal.", ex);
     }
   }
 
   private void produceTraversalResult(java.lang.Object result) {
-    // The result of the graph traversal will be an iterator, thus, convert result to an iterator here.
-    Iterator<?> resultIterator = IteratorUtils.asIterator(result);
-    // Iterate result and convert values if necessary. This will perform the actual graph traversal.
-    resultIterator.forEachRemaining(value -> {
+    // Register the 'eval' thread in order to interrupt the traversal if the consumer closes 'traversalResult'.
+    traversalResult.registerProducer();
+    registerEvaluationThread();
+    try {
+      // The result of the graph traversal will be an iterator, thus, convert result to an iterator here.
+      Iterator<?> resultIterator = IteratorUtils.asIterator(result);
+      // Iterate result and convert values in chunks. This will perform the actual graph traversal.
+      List<java.lang.Object> chunk = new ArrayList<>(TRAVERSAL_RESULT_CHUNK_SIZE);
+      while (resultIterator.hasNext()) {
+        chunk.add(resultIterator.next());
+        if (chunk.size() >= TRAVERSAL_RESULT_CHUNK_SIZE) {
+          publishTraversalResult(chunk);
+          chunk.clear();
+        }
+      }
+      publishTraversalResult(chunk);
+    } catch (InterruptedException ex) {
+      // Interrupted either because of a timeout or because the consumer closed 'traversalResult'.
+      // GremlinExecutor will translate the InterruptedException into a TimeoutException.
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    } finally {
+      unregisterEvaluationThread();
+      traversalResult.unregisterProducer();
+    }
+  }
+
+  private synchronized void registerEvaluationThread() {
+    evaluationThreads.add(Thread.currentThread());
+    // Abort evaluations which only start after a sibling evaluation has already failed.
+    if (evaluationsCancelled) Thread.currentThread().interrupt();
+  }
+
+  private synchronized void unregisterEvaluationThread() {
+    evaluationThreads.remove(Thread.currentThread());
+  }
+
+  private synchronized void cancelEvaluations() {
+    // Cancelling the futures returned by the GremlinExecutor doesn't stop the evaluations, interrupt them instead.
+    // GremlinExecutor will translate the InterruptedException into a TimeoutException.
+    evaluationsCancelled = true;
+    evaluationThreads.forEach(Thread::interrupt);
+  }
+
+  private void publishTraversalResult(List<java.lang.Object> chunk) throws InterruptedException {
+    // Blocks when the consumer of 'traversalResult' cannot keep up.
+    for (java.lang.Object value : convertTraversalResult(chunk)) {
+      if (value != null) {
+        traversalResult.put(value);
+      }
+    }
+  }
+
+  private List<java.lang.Object> convertTraversalResult(List<java.lang.Object> chunk) {
+    if (chunk.isEmpty()) return Collections.emptyList();
+
+    // Vertices and edges already hold the entities fetched during the graph traversal. Reuse them instead of fetching
+    // everything again, and fetch what is still missing in batches for the whole chunk.
+    Map<UUID, ObjectRecord> objects = resolveObjects(chunk);
+    List<FactEdge> edges = chunk.stream()
+            .filter(FactEdge.class::isInstance)
+            .map(FactEdge.class::cast)
+            .collect(Collectors.toList());
+    Iterator<FactRecord> facts = graphRecordConverter.fromEdges(edges, objects).iterator();
+
+    List<java.lang.Object> result = new ArrayList<>(chunk.size());
+    for (java.lang.Object value : chunk) {
       if (value instanceof ObjectVertex) {
-        // Fetch ObjectRecord and convert to Object model before adding to result. Avoid explicitly checking access to
-        // Object and rely on access control implemented in graph traversal only. Checking this would be too expensive
-        // because it requires fetching Facts for each Object. In addition, accidentally returning non-accessible
-        // Objects will only leak the information that the Object exists and will not give further access to any Facts.
-        ObjectRecord object = objectFactDao.getObject(ObjectVertex.class.cast(value).getObject().getId());
-        traversalResult.add(objectConverter.apply(object));
+        // Convert ObjectRecord to Object model before adding to result. Avoid explicitly checking access to Object and
+        // rely on access control implemented in graph traversal only. Checking this would be too expensive because it
+        // requires fetching Facts for each Object. In addition, accidentally returning non-accessible Objects will only
+        // leak the information that the Object exists and will not give further access to any Facts.
+        ObjectRecord object = objects.get(ObjectVertex.class.cast(value).id());
+        result.add(object != null ? objectConverter.apply(object) : null);
       } else if (value instanceof FactEdge) {
-        // Fetch FactRecord and convert to Fact model before adding to result.
-        FactRecord fact = objectFactDao.getFact(FactEdge.class.cast(value).getFact().getId());
+        // Convert FactRecord to Fact model before adding to result. The records are in the same order as the edges.
+        FactRecord fact = facts.next();
         // But only add it if user has access to the Fact. Skip Fact otherwise.
-        if (securityContext.hasReadPermission(fact)) {
-          traversalResult.add(factConverter.apply(fact));
-        }
+        result.add(securityContext.hasReadPermission(fact) ? factConverter.apply(fact) : null);
       } else {
         // Don't know what this is, just add its string representation to result.
         // For example, it could be a query returning a list of properties.
         // This mimics the behaviour of gremlin-console and avoids returning arbitrary JSON objects.
-        traversalResult.add(value.toString());
+        result.add(value.toString());
+      }
+    }
+
+    return result;
+  }
+
+  private Map<UUID, ObjectRecord> resolveObjects(List<java.lang.Object> chunk) {
+    Map<UUID, ObjectRecord> objects = new HashMap<>();
+    Set<UUID> missingObjects = new HashSet<>();
+
+    for (java.lang.Object value : chunk) {
+      if (value instanceof ObjectVertex) {
+        ObjectVertex vertex = ObjectVertex.class.cast(value);
+        // Objects returned as result are required, fetch them if the traversal didn't load them.
+        if (!addLoadedObject(objects, vertex)) missingObjects.add((UUID) vertex.id());
+      } else if (value instanceof FactEdge) {
+        // Objects bound to a Fact are only reused if available, otherwise they are fetched together with the Facts.
+        FactEdge.class.cast(value).vertices(Direction.BOTH)
+                .forEachRemaining(vertex -> addLoadedObject(objects, ObjectVertex.class.cast(vertex)));
+      }
+    }
+
+    missingObjects.removeAll(objects.keySet());
+    if (!missingObjects.isEmpty()) {
+      objectFactDao.getObjects(ListUtils.list(missingObjects))
+              .forEachRemaining(object -> objects.put(object.getId(), object));
+    }
+
+    return objects;
+  }
+
+  private boolean addLoadedObject(Map<UUID, ObjectRecord> objects, ObjectVertex vertex) {
+    if (objects.containsKey(vertex.id())) return true;
+
+    ObjectRecord loaded = graphRecordConverter.fromVertex(vertex);
+    if (loaded == null) return false;
+
+    objects.put((UUID) vertex.id(), loaded);
+    return true;
+  }
+
+  private void finishTraversal(Throwable error, TraversalMetrics metrics, long startTime, boolean includeStatistics) {
+    long executionTime = System.currentTimeMillis() - startTime;
+    LOGGER.info("Graph traversal %s after %d ms (%s).", error == null ? "finished" : "failed", executionTime, metrics);
+
+    if (error == null && includeStatistics) {
+      try {
+        // The statistics are always the last value of the traversal result.
+        traversalResult.put(TraversalStatistics.builder()
+                .setVertexCount(metrics.getVertexCount())
+                .setFactCount(metrics.getFactCount())
+                .setQueryCount(metrics.getQueryCount())
+                .setCacheHitCount(metrics.getCacheHitCount())
+                .setBytesFetched(metrics.getBytesFetched())
+                .setExecutionTime(executionTime)
+                .build());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (CancellationException ignored) {
+        // The consumer isn't interested in any more values.
+      }
+    }
+
+    // Signal the end of the traversal result.
+    traversalResult.finish(error);
+  }
+
+  private Throwable unwrapCompletionException(Throwable ex) {
+    // CompletableFuture.allOf() wraps the failure of an evaluation inside a CompletionException.
+    return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+  }
+
+  private void closeGraphsAndExecutor(List<Graph> graphs, GremlinExecutor executor, boolean async) {
+    try {
+      for (Graph graph : graphs) {
+        graph.close();
+      }
+      // close() blocks until the 'eval' thread has terminated, closeAsync() returns immediately.
+      if (executor != null && async) {
+        executor.closeAsync();
+      } else if (executor != null) {
+        executor.close();
       }
-    });
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Failed to release resources after graph traversal.");
+    }
   }
 
-  private Graph createGraph() {
+  private Graph createGraph(TraversalMetrics metrics) {
     return ActGraph.builder()
             .setObjectManager(objectManager)
             .setFactManager(factManager)
             .setHasFactAccess(securityContext::hasReadPermission)
+            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
+            // The cache is shared between all traversals, access control is applied by the graph for each traversal.
+            .setElementCache(graphElementCache)
+            .setMetrics(metrics)
+            .build();
+  }
+
+  private Graph createSessionGraph(TraversalSessionRegistry.Session session, TraversalMetrics metrics) {
+    return ActGraph.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            // Access control has already been applied when the snapshot was created.
+            .setHasFactAccess(fact -> true)
+            // The Object statistics aren't part of the snapshot, they are still read from Cassandra.
+            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
+            .setSnapshot(session.getSnapshot())
+            .setMetrics(metrics)
             .build();
   }
 
-  private GremlinExecutor createExecutor() {
+  private GremlinExecutor createExecutor(ExecutorService evaluationPool) {
     Map<String, java.lang.Object> groovyCompilerConfig = MapUtils.map(
             // Protect against scripts going haywire (endless loops, etc.).
             T("timedInterrupt", scriptExecutionTimeout),
@@ -204,9 +546,16 @@ public class TraverseGraphDelegate extends AbstractDelegate implements Delegate
             T("extensions", GremlinSandboxExtension.class.getName())
     );
 
-    return GremlinExecutor.build()
+    GremlinExecutor.Builder builder = GremlinExecutor.build()
             .scriptEvaluationTimeout(scriptExecutionTimeout)
-            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)))
-            .create();
+            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)));
+    // Without a dedicated pool the GremlinExecutor uses its default pool which is sufficient for a single evaluation.
+    // With the shared pool the GremlinExecutor still creates its own scheduler for enforcing the timeout. It doesn't
+    // shut down an executor service it didn't create itself, thus, the shared pool stays open.
+    if (evaluationPool != null) {
+      builder.executorService(evaluationPool);
+    }
+
+    return builder.create();
   }
 }
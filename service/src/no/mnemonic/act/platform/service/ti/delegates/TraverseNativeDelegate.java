@@ -0,0 +1,193 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
+import no.mnemonic.act.platform.api.request.v1.TraverseNeighborhoodRequest;
+import no.mnemonic.act.platform.api.request.v1.TraverseShortestPathRequest;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphRecordConverter;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.converters.FactConverter;
+import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.act.platform.service.ti.helpers.GraphBreadthFirstSearch;
+import no.mnemonic.act.platform.service.ti.resolvers.SearchByNameResolver;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.common.api.ResultSet;
+
+import javax.inject.Inject;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Delegate implementing the most common graph traversals natively, i.e. without executing a Gremlin query.
+ */
+public class TraverseNativeDelegate extends AbstractDelegate implements Delegate {
+
+  private static final long SEARCH_TIMEOUT = 120_000;
+  private static final int DEFAULT_NEIGHBORHOOD_DEPTH = 2;
+  private static final int DEFAULT_NEIGHBORHOOD_LIMIT = 1_000;
+  private static final int DEFAULT_SHORTEST_PATH_DEPTH = 4;
+  private static final int DEFAULT_SHORTEST_PATH_LIMIT = 10_000;
+  private static final int MAXIMUM_LIMIT = 100_000;
+
+  private final TiSecurityContext securityContext;
+  private final ObjectFactDao objectFactDao;
+  private final GraphBreadthFirstSearch graphSearch;
+  private final GraphRecordConverter graphRecordConverter;
+  private final SearchByNameResolver byNameResolver;
+  private final ObjectConverter objectConverter;
+  private final FactConverter factConverter;
+
+  private long searchTimeout = SEARCH_TIMEOUT;
+
+  @Inject
+  public TraverseNativeDelegate(TiSecurityContext securityContext,
+                                ObjectFactDao objectFactDao,
+                                GraphBreadthFirstSearch graphSearch,
+                                GraphRecordConverter graphRecordConverter,
+                                SearchByNameResolver byNameResolver,
+                                ObjectConverter objectConverter,
+                                FactConverter factConverter) {
+    this.securityContext = securityContext;
+    this.objectFactDao = objectFactDao;
+    this.graphSearch = graphSearch;
+    this.graphRecordConverter = graphRecordConverter;
+    this.byNameResolver = byNameResolver;
+    this.objectConverter = objectConverter;
+    this.factConverter = factConverter;
+  }
+
+  public ResultSet<?> handle(TraverseNeighborhoodRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
+    // Verify that user has access to starting point of the expansion.
+    securityContext.checkReadPermission(objectFactDao.getObject(request.getId()));
+
+    GraphBreadthFirstSearch.Criteria criteria = GraphBreadthFirstSearch.Criteria.builder()
+            .setFactFilter(createFactFilter(request.getFactType()))
+            .setMaxDepth(ObjectUtils.ifNull(request.getDepth(), DEFAULT_NEIGHBORHOOD_DEPTH))
+            .setObjectLimit(resolveLimit(request.getObjectLimit(), DEFAULT_NEIGHBORHOOD_LIMIT))
+            .setFactLimit(resolveLimit(request.getFactLimit(), DEFAULT_NEIGHBORHOOD_LIMIT))
+            .setTimeout(searchTimeout)
+            .build();
+
+    GraphBreadthFirstSearch.Result result;
+    try {
+      result = graphSearch.expand(request.getId(), criteria);
+    } catch (TimeoutException ex) {
+      throw createTimeoutException();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw createTimeoutException();
+    }
+
+    // Return the Objects followed by the Facts, both in the order they were discovered.
+    Map<UUID, ObjectRecord> objects = createObjectMap(result);
+    List<java.lang.Object> values = new ArrayList<>(convertObjects(result, objects));
+    values.addAll(convertFacts(result, objects));
+    return StreamingResultSet.builder()
+            .setCount(values.size())
+            .setValues(values)
+            .build();
+  }
+
+  public ResultSet<?> handle(TraverseShortestPathRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
+    // Verify that user has access to both ends of the path.
+    securityContext.checkReadPermission(objectFactDao.getObject(request.getSource()));
+    securityContext.checkReadPermission(objectFactDao.getObject(request.getDestination()));
+
+    GraphBreadthFirstSearch.Criteria criteria = GraphBreadthFirstSearch.Criteria.builder()
+            .setFactFilter(createFactFilter(request.getFactType()))
+            .setMaxDepth(ObjectUtils.ifNull(request.getDepth(), DEFAULT_SHORTEST_PATH_DEPTH))
+            .setObjectLimit(resolveLimit(request.getObjectLimit(), DEFAULT_SHORTEST_PATH_LIMIT))
+            .setFactLimit(resolveLimit(request.getFactLimit(), DEFAULT_SHORTEST_PATH_LIMIT))
+            .setTimeout(searchTimeout)
+            .build();
+
+    GraphBreadthFirstSearch.Result result;
+    try {
+      result = graphSearch.shortestPath(request.getSource(), request.getDestination(), criteria);
+    } catch (TimeoutException ex) {
+      throw createTimeoutException();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw createTimeoutException();
+    }
+
+    // Return the path as alternating Objects and Facts, starting and ending with an Object.
+    Map<UUID, ObjectRecord> records = createObjectMap(result);
+    List<java.lang.Object> objects = convertObjects(result, records);
+    List<java.lang.Object> facts = convertFacts(result, records);
+    List<java.lang.Object> values = new ArrayList<>(objects.size() + facts.size());
+    for (int i = 0; i < objects.size(); i++) {
+      values.add(objects.get(i));
+      if (i < facts.size()) values.add(facts.get(i));
+    }
+
+    return StreamingResultSet.builder()
+            .setCount(values.size())
+            .setValues(values)
+            .build();
+  }
+
+  TraverseNativeDelegate setSearchTimeout(long searchTimeout) {
+    this.searchTimeout = searchTimeout;
+    return this;
+  }
+
+  private Predicate<FactEntity> createFactFilter(Set<String> factType) throws InvalidArgumentException {
+    Set<UUID> factTypeID = byNameResolver.resolveFactType(factType);
+    // Only follow Facts the user has access to. Executed on the threads expanding the graph.
+    Predicate<FactEntity> hasAccess = securityContext::hasReadPermission;
+    if (CollectionUtils.isEmpty(factTypeID)) return hasAccess;
+    // Check the FactType first as it's cheaper than checking access.
+    Predicate<FactEntity> hasType = fact -> factTypeID.contains(fact.getTypeID());
+    return hasType.and(hasAccess);
+  }
+
+  private int resolveLimit(Integer limit, int defaultLimit) {
+    if (limit == null) return defaultLimit;
+    return limit > 0 && limit < MAXIMUM_LIMIT ? limit : MAXIMUM_LIMIT;
+  }
+
+  private Map<UUID, ObjectRecord> createObjectMap(GraphBreadthFirstSearch.Result result) {
+    Map<UUID, ObjectRecord> objects = new HashMap<>();
+    // Fetch all visited Objects at once. Objects bound to the returned Facts will mostly be part of this result.
+    objectFactDao.getObjects(ListUtils.list(result.getObjects()))
+            .forEachRemaining(object -> objects.put(object.getId(), object));
+    return objects;
+  }
+
+  private List<java.lang.Object> convertObjects(GraphBreadthFirstSearch.Result result, Map<UUID, ObjectRecord> objects) {
+    List<java.lang.Object> converted = new ArrayList<>(result.getObjects().size());
+    for (UUID id : result.getObjects()) {
+      ObjectRecord object = objects.get(id);
+      if (object != null) converted.add(objectConverter.apply(object));
+    }
+    return converted;
+  }
+
+  private List<java.lang.Object> convertFacts(GraphBreadthFirstSearch.Result result, Map<UUID, ObjectRecord> objects) {
+    List<java.lang.Object> converted = new ArrayList<>(result.getFacts().size());
+    for (FactRecord fact : graphRecordConverter.fromFacts(result.getFacts(), objects)) {
+      converted.add(factConverter.apply(fact));
+    }
+    return converted;
+  }
+
+  private OperationTimeoutException createTimeoutException() {
+    return new OperationTimeoutException("The performed graph traversal timed out.", "graph.traversal.timeout");
+  }
+}
@@ -1,22 +1,28 @@
 package no.mnemonic.act.platform.service.ti.handlers;
 
-import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
-import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.service.scopes.ServiceRequestScope;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.helpers.RetractionIdCache;
 import no.mnemonic.act.platform.service.ti.resolvers.FactTypeResolver;
-import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 
 import javax.inject.Inject;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Handler class computing whether a Fact has been retracted. See {@link #isRetracted(UUID, Boolean)} for the details.
+ * <p>
+ * Use {@link #resolveRetractions(Map)} to compute the retraction status for a batch of Facts at once, e.g. for all
+ * Facts of a search result. Subsequent calls to {@link #isRetracted(UUID, Boolean)} for those Facts will be served
+ * from the cache populated by the batch computation.
+ * <p>
+ * Which Retraction Facts reference a Fact is independent of the current user and is shared between requests using
+ * the {@link RetractionIdCache}. Only checking access to the Retraction Facts is performed per request.
  */
 @ServiceRequestScope
 public class FactRetractionHandler {
@@ -24,15 +30,18 @@ public class FactRetractionHandler {
   private final Map<UUID, Boolean> retractionCache = new ConcurrentHashMap<>();
 
   private final FactTypeResolver factTypeResolver;
-  private final FactSearchManager factSearchManager;
+  private final ObjectFactDao objectFactDao;
+  private final RetractionIdCache retractionIdCache;
   private final TiSecurityContext securityContext;
 
   @Inject
   public FactRetractionHandler(FactTypeResolver factTypeResolver,
-                               FactSearchManager factSearchManager,
+                               ObjectFactDao objectFactDao,
+                               RetractionIdCache retractionIdCache,
                                TiSecurityContext securityContext) {
     this.factTypeResolver = factTypeResolver;
-    this.factSearchManager = factSearchManager;
+    this.objectFactDao = objectFactDao;
+    this.retractionIdCache = retractionIdCache;
     this.securityContext = securityContext;
   }
 
@@ -69,39 +78,116 @@ public class FactRetractionHandler {
   public boolean isRetracted(UUID factID, Boolean retractedHint) {
     if (factID == null) return false;
 
-    // If it's known that the Fact has never been retracted store this information immediately.
-    // This will save a lot of calls to ElasticSearch!
-    if (retractedHint != null && !retractedHint) {
-      retractionCache.put(factID, false);
-    }
-
     // If no hint is provided or the Fact has been retracted by some user
     // compute if the Fact is retracted from the current user's point of view.
-    return retractionCache.computeIfAbsent(factID, this::computeRetraction);
+    resolveRetractions(Collections.singletonMap(factID, retractedHint));
+    return retractionCache.getOrDefault(factID, false);
+  }
+
+  /**
+   * Compute for a batch of Facts whether they have been retracted (from the current user's point of view) and
+   * populate the cache with the results. See {@link #isRetracted(UUID, Boolean)} for the details.
+   * <p>
+   * The retraction tree of all Facts is followed level by level, i.e. retractions of retractions are only fetched
+   * once all retractions of the previous level are known. Per level, the Retraction Facts already known from the
+   * {@link RetractionIdCache} are fetched with one batched lookup, and the retractions of all remaining Facts are
+   * read with one batched meta Fact lookup. Facts which are known to have no retractions (either from the
+   * 'retractedHint' or from the {@link RetractionIdCache}) don't require any database lookups.
+   *
+   * @param retractedHints Fact IDs mapped to their 'retractedHint' (set to false if the Fact has never been retracted)
+   */
+  public void resolveRetractions(Map<UUID, Boolean> retractedHints) {
+    if (MapUtils.isEmpty(retractedHints)) return;
+
+    Set<UUID> unresolved = new HashSet<>();
+    for (Map.Entry<UUID, Boolean> entry : retractedHints.entrySet()) {
+      if (entry.getKey() == null) continue;
+
+      // If it's known that the Fact has never been retracted store this information immediately.
+      // This will save a lot of calls to the database!
+      if (entry.getValue() != null && !entry.getValue()) {
+        retractionCache.put(entry.getKey(), false);
+      } else if (!retractionCache.containsKey(entry.getKey())) {
+        unresolved.add(entry.getKey());
+      }
+    }
+
+    if (unresolved.isEmpty()) return;
+
+    // Fetch the retraction tree level by level. Retractions which are already cached don't need to be followed.
+    Map<UUID, List<UUID>> retractions = new HashMap<>();
+    Set<UUID> visited = new HashSet<>(unresolved);
+    Set<UUID> currentLevel = unresolved;
+    while (!currentLevel.isEmpty()) {
+      Set<UUID> nextLevel = new HashSet<>();
+      for (FactRecord retraction : fetchAccessibleRetractions(currentLevel)) {
+        retractions.computeIfAbsent(retraction.getInReferenceToID(), id -> new ArrayList<>()).add(retraction.getId());
+        if (!retractionCache.containsKey(retraction.getId()) && visited.add(retraction.getId())) {
+          nextLevel.add(retraction.getId());
+        }
+      }
+      currentLevel = nextLevel;
+    }
+
+    unresolved.forEach(factID -> computeRetraction(factID, retractions));
+  }
+
+  private boolean computeRetraction(UUID factID, Map<UUID, List<UUID>> retractions) {
+    Boolean cached = retractionCache.get(factID);
+    if (cached != null) return cached;
+
+    // No accessible retractions means that the Fact isn't retracted. Otherwise, the Fact is only retracted if not all
+    // of the retractions themselves are retracted.
+    List<UUID> factRetractions = retractions.getOrDefault(factID, Collections.emptyList());
+    boolean retracted = !factRetractions.stream().allMatch(retractionID -> computeRetraction(retractionID, retractions));
+    retractionCache.put(factID, retracted);
+    return retracted;
   }
 
-  private boolean computeRetraction(UUID factID) {
-    List<FactDocument> retractions = fetchRetractions(factID);
-    if (CollectionUtils.isEmpty(retractions)) {
-      // No accessible retractions, thus, the Fact isn't retracted.
-      return false;
+  private List<FactRecord> fetchAccessibleRetractions(Set<UUID> factID) {
+    // Only return retractions which a user has access to. No access to retractions means that from the user's
+    // perspective the referenced Fact isn't retracted.
+    return fetchRetractions(factID).stream()
+            .filter(securityContext::hasReadPermission)
+            .collect(Collectors.toList());
+  }
+
+  private List<FactRecord> fetchRetractions(Set<UUID> factID) {
+    Set<UUID> knownRetractionIDs = new HashSet<>();
+    Set<UUID> unknownFactIDs = new HashSet<>();
+    for (UUID id : factID) {
+      Set<UUID> retractionIDs = retractionIdCache.get(id);
+      if (retractionIDs != null) {
+        knownRetractionIDs.addAll(retractionIDs);
+      } else {
+        unknownFactIDs.add(id);
+      }
+    }
+
+    List<FactRecord> retractions = new ArrayList<>();
+    if (!knownRetractionIDs.isEmpty()) {
+      // Fast path: The Retraction Facts are known, only fetch them (all at once) in order to check access.
+      retractions.addAll(ListUtils.list(objectFactDao.getFacts(knownRetractionIDs)));
+    }
+    if (!unknownFactIDs.isEmpty()) {
+      retractions.addAll(fetchAndCacheRetractions(unknownFactIDs));
     }
 
-    // The Fact is only retracted if not all of the retractions themselves are retracted.
-    return !retractions.stream().allMatch(fact -> computeRetraction(fact.getId()));
+    return retractions;
   }
 
-  private List<FactDocument> fetchRetractions(UUID factID) {
-    // Create criteria to fetch all Retraction Facts for a given Fact. Only return retractions which a user has access
-    // to. No access to retractions means that from the user's perspective the referenced Fact isn't retracted.
-    FactSearchCriteria retractionsCriteria = FactSearchCriteria.builder()
-            .addInReferenceTo(factID)
-            .addFactTypeID(factTypeResolver.resolveRetractionFactType().getId())
-            .setCurrentUserID(securityContext.getCurrentUserID())
-            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
-            .build();
-
-    // The number of retractions will be very small (typically one), thus, it's no problem to consume all results at once.
-    return ListUtils.list(factSearchManager.searchFacts(retractionsCriteria));
+  private List<FactRecord> fetchAndCacheRetractions(Set<UUID> factID) {
+    // Fetch all meta Facts referencing one of the Facts and keep the Retraction Facts only.
+    long generation = retractionIdCache.getGeneration();
+    UUID retractionFactTypeID = factTypeResolver.resolveRetractionFactType().getId();
+    List<FactRecord> retractions = ListUtils.list(objectFactDao.retrieveMetaFacts(factID)).stream()
+            .filter(fact -> Objects.equals(fact.getTypeID(), retractionFactTypeID))
+            .collect(Collectors.toList());
+
+    // Also cache that a Fact has no retractions at all, this is by far the most common case.
+    Map<UUID, Set<UUID>> retractionIDs = retractions.stream()
+            .collect(Collectors.groupingBy(FactRecord::getInReferenceToID, Collectors.mapping(FactRecord::getId, Collectors.toSet())));
+    factID.forEach(id -> retractionIdCache.put(id, retractionIDs.getOrDefault(id, Collections.emptySet()), generation));
+    return retractions;
   }
 }
@@ -1,5 +1,6 @@
 package no.mnemonic.act.platform.service.ti.handlers;
 
+import com.google.common.collect.Iterators;
 import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
@@ -11,12 +12,18 @@ import no.mnemonic.act.platform.dao.api.result.ResultContainer;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.FactConverter;
+import no.mnemonic.act.platform.service.ti.helpers.ClosingIterator;
+import no.mnemonic.act.platform.service.ti.helpers.FactConversionPool;
+import no.mnemonic.act.platform.service.ti.helpers.ParallelBatchIterator;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.api.ResultSet;
 
 import javax.inject.Inject;
-import java.util.Iterator;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Handler class implementing search for Facts.
@@ -24,21 +31,26 @@ import java.util.Iterator;
 public class FactSearchHandler {
 
   private static final int MAXIMUM_SEARCH_LIMIT = 10_000;
+  // Resolve retractions for up to this number of Facts with one request per level of the retraction tree.
+  private static final int RETRACTION_BATCH_SIZE = 1000;
 
   private final FactRetractionHandler retractionHandler;
   private final ObjectFactDao objectFactDao;
   private final TiSecurityContext securityContext;
   private final FactConverter factConverter;
+  private final FactConversionPool conversionPool;
 
   @Inject
   public FactSearchHandler(FactRetractionHandler retractionHandler,
                            ObjectFactDao objectFactDao,
                            TiSecurityContext securityContext,
-                           FactConverter factConverter) {
+                           FactConverter factConverter,
+                           FactConversionPool conversionPool) {
     this.retractionHandler = retractionHandler;
     this.objectFactDao = objectFactDao;
     this.securityContext = securityContext;
     this.factConverter = factConverter;
+    this.conversionPool = conversionPool;
   }
 
   /**
@@ -47,6 +59,9 @@ public class FactSearchHandler {
    * <p>
    * If the user has the 'unlimitedSearch' permission the result size won't be limited, otherwise the maximum number
    * of returned results will be capped at 10.000.
+   * <p>
+   * If the parallel conversion is enabled (see {@link FactConversionPool}) and the result can span multiple batches,
+   * the batches are filtered and converted on the worker threads while preserving the order of the search result.
    *
    * @param criteria         Search criteria matched against existing Facts
    * @param includeRetracted Whether retracted Facts should be included in the result (false by default)
@@ -58,20 +73,24 @@ public class FactSearchHandler {
 
     // When consuming the search result apply filter to include or exclude retracted Facts.
     // Additionally, make sure that the user has access to all returned Facts.
-    Iterator<Fact> facts = searchResult.stream()
-            .filter(fact -> includeRetracted(fact, includeRetracted))
-            .filter(securityContext::hasReadPermission)
-            .map(factConverter)
-            .limit(limit > 0 ? limit : Long.MAX_VALUE)
-            .iterator();
+    // Whether Facts are retracted is computed for batches of Facts before the Facts are filtered one by one.
+    int batchSize = limit > 0 && limit < RETRACTION_BATCH_SIZE ? limit : RETRACTION_BATCH_SIZE;
+    Iterator<List<FactRecord>> batches = Iterators.partition(searchResult, batchSize);
+    // Only use the parallel conversion if there are multiple batches. Otherwise, it doesn't speed up anything but
+    // converts more Facts than required in order to fill up the workers.
+    Stream<Fact> facts = conversionPool.isEnabled() && (limit <= 0 || limit > batchSize)
+            ? convertInParallel(batches, includeRetracted)
+            : stream(batches).peek(this::resolveRetractions).flatMap(batch -> convertFacts(batch.stream(), includeRetracted));
 
+    // The returned iterator closes the stream once the limit is reached or the consumer stops streaming out the result.
+    // This cancels the batches which are still being converted on the worker threads.
     // Note that 'count' might be slightly off when retracted Facts are excluded from the result, because retracted
     // Facts are included in the count from ElasticSearch and are only removed when streaming out the results.
     // However, 'size' will always be correct.
     return StreamingResultSet.<Fact>builder()
             .setCount(searchResult.getCount())
             .setLimit(limit)
-            .setValues(facts)
+            .setValues(new ClosingIterator<>(facts.limit(limit > 0 ? limit : Long.MAX_VALUE)))
             .build();
   }
 
@@ -85,11 +104,40 @@ public class FactSearchHandler {
     }
   }
 
-  private boolean includeRetracted(FactRecord fact, Boolean includeRetracted) {
-    // Call FactRetractionHandler for every Fact in order to populate the cache which is re-used by the converter.
+  private Stream<Fact> convertInParallel(Iterator<List<FactRecord>> batches, Boolean includeRetracted) {
+    ParallelBatchIterator<FactRecord, Fact> facts = conversionPool.convert(batches, batch -> convertBatch(batch, includeRetracted));
+    return stream(facts).onClose(facts::close);
+  }
+
+  private List<Fact> convertBatch(List<FactRecord> batch, Boolean includeRetracted) {
+    resolveRetractions(batch);
+    return convertFacts(batch.stream(), includeRetracted).collect(Collectors.toList());
+  }
+
+  private Stream<Fact> convertFacts(Stream<FactRecord> facts, Boolean includeRetracted) {
+    return facts.filter(fact -> includeRetracted(fact, includeRetracted))
+            .filter(securityContext::hasReadPermission)
+            .map(factConverter);
+  }
+
+  private <T> Stream<T> stream(Iterator<T> iterator) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+  }
+
+  private void resolveRetractions(List<FactRecord> batch) {
+    // Populate the cache of FactRetractionHandler for the whole batch which is re-used by the filter and the converter.
     // Because of that, it's only calculated once whether a Fact is retracted from the user's point of view.
-    boolean retractedHint = SetUtils.set(fact.getFlags()).contains(FactRecord.Flag.RetractedHint);
-    boolean isRetracted = retractionHandler.isRetracted(fact.getId(), retractedHint);
+    Map<UUID, Boolean> retractedHints = new HashMap<>();
+    batch.forEach(fact -> retractedHints.put(fact.getId(), hasRetractedHint(fact)));
+    retractionHandler.resolveRetractions(retractedHints);
+  }
+
+  private boolean includeRetracted(FactRecord fact, Boolean includeRetracted) {
+    boolean isRetracted = retractionHandler.isRetracted(fact.getId(), hasRetractedHint(fact));
     return ObjectUtils.ifNull(includeRetracted, false) || !isRetracted;
   }
+
+  private boolean hasRetractedHint(FactRecord fact) {
+    return SetUtils.set(fact.getFlags()).contains(FactRecord.Flag.RetractedHint);
+  }
 }
@@ -0,0 +1,159 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded queue which hands over results from a producer thread (e.g. the thread executing a graph traversal) to a
+ * consumer iterating the results (e.g. the REST layer writing out the response) while the results are still produced.
+ * <p>
+ * The producer adds values with {@link #put(Object)} which blocks while the queue is full, i.e. the producer will never
+ * run ahead of the consumer by more than the queue's capacity. When done the producer signals this with
+ * {@link #finish(Throwable)}, optionally passing an error which will be re-thrown on the consumer side.
+ * <p>
+ * The consumer iterates the queue. Closing the queue signals that the consumer is not interested in any more values,
+ * for instance because the client disconnected. Afterwards {@link #put(Object)} throws a {@link CancellationException}
+ * and all producer threads registered with {@link #registerProducer()} get interrupted in order to abort their work.
+ * <p>
+ * Multiple producer threads may add values concurrently, but only one of them (or a coordinating thread) must call
+ * {@link #finish(Throwable)} once all producers are done.
+ *
+ * @param <T> Type of values
+ */
+public class BlockingResultQueue<T> implements Iterator<T>, AutoCloseable {
+
+  private static final long POLL_INTERVAL_MS = 100;
+  // Marker used to wake up a waiting consumer once the producer is finished.
+  private static final Object END_OF_STREAM = new Object();
+
+  private final BlockingQueue<Object> queue;
+  private final CountDownLatch available = new CountDownLatch(1);
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  private volatile boolean finished;
+  private volatile Throwable failure;
+  private final Set<Thread> producers = new HashSet<>();
+  // Next value returned to the consumer, only accessed from the consumer thread.
+  private Object next;
+
+  public BlockingResultQueue(int capacity) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /**
+   * Add a value to the queue. Blocks while the queue is full.
+   *
+   * @param value Value to add
+   * @throws InterruptedException  If the producer thread is interrupted while waiting
+   * @throws CancellationException If the consumer closed the queue
+   */
+  public void put(T value) throws InterruptedException {
+    ObjectUtils.notNull(value, "'value' is null!");
+
+    while (!queue.offer(value, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+      assertNotClosed();
+    }
+    assertNotClosed();
+
+    available.countDown();
+  }
+
+  /**
+   * Signal that the producer is finished. Afterwards the consumer will receive all remaining values in the queue.
+   *
+   * @param error Error which aborted the producer (or NULL on success), re-thrown on the consumer side
+   */
+  public void finish(Throwable error) {
+    failure = error;
+    finished = true;
+    // Best effort to wake up a waiting consumer, if the queue is full the consumer doesn't wait anyway.
+    queue.offer(END_OF_STREAM);
+    available.countDown();
+  }
+
+  /**
+   * Wait until either the first value is available or the producer is finished, whatever happens first.
+   *
+   * @throws InterruptedException If interrupted while waiting
+   */
+  public void awaitAvailable() throws InterruptedException {
+    available.await();
+  }
+
+  /**
+   * Register the current thread as a producer thread which will be interrupted when the queue gets closed.
+   * Call {@link #unregisterProducer()} in a finally-block once the producer is done.
+   */
+  public synchronized void registerProducer() {
+    producers.add(Thread.currentThread());
+    if (closed.get()) Thread.currentThread().interrupt();
+  }
+
+  /**
+   * Unregister the current thread previously registered with {@link #registerProducer()}.
+   */
+  public synchronized void unregisterProducer() {
+    producers.remove(Thread.currentThread());
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null) {
+      if (closed.get()) return false;
+
+      Object value = pollQueue();
+      if (value != null && value != END_OF_STREAM) {
+        next = value;
+      } else if (finished && queue.isEmpty()) {
+        if (failure != null) {
+          throw new IllegalStateException("Producing results failed: " + failure.getMessage(), failure);
+        }
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) throw new NoSuchElementException();
+
+    //noinspection unchecked
+    T value = (T) next;
+    next = null;
+    return value;
+  }
+
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) return;
+
+    synchronized (this) {
+      // Abort the producers in case they are still working.
+      producers.forEach(Thread::interrupt);
+    }
+
+    // Release memory of values which will never be consumed.
+    queue.clear();
+  }
+
+  private Object pollQueue() {
+    try {
+      return queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for results.", ex);
+    }
+  }
+
+  private void assertNotClosed() {
+    if (closed.get()) throw new CancellationException("Consumer closed result queue.");
+  }
+}
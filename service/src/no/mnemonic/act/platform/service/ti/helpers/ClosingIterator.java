@@ -0,0 +1,63 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Iterator over a {@link Stream} which closes the stream as soon as all elements have been consumed or when
+ * {@link #close()} is called, whichever happens first. This releases the resources registered with
+ * {@link Stream#onClose(Runnable)}, also when the consumer stops early, e.g. because the result limit has been reached
+ * or the client has disconnected while the result is streamed out.
+ *
+ * @param <T> Type of elements
+ */
+public class ClosingIterator<T> implements Iterator<T>, AutoCloseable {
+
+  private final Stream<T> stream;
+  private final Iterator<T> iterator;
+  private boolean closed;
+
+  /**
+   * Construct a new instance.
+   *
+   * @param stream Stream to iterate over (cannot be null)
+   */
+  public ClosingIterator(Stream<T> stream) {
+    this.stream = ObjectUtils.notNull(stream, "'stream' cannot be null!");
+    this.iterator = stream.iterator();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+
+    if (iterator.hasNext()) {
+      return true;
+    }
+
+    // All elements have been consumed, release the stream's resources right away.
+    close();
+    return false;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) throw new NoSuchElementException();
+    return iterator.next();
+  }
+
+  /**
+   * Close the underlying stream. Afterwards, the iterator doesn't return any more elements.
+   */
+  @Override
+  public void close() {
+    if (closed) return;
+    closed = true;
+    stream.close();
+  }
+}
@@ -0,0 +1,71 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.commons.component.LifecycleAspect;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of worker threads converting batches of search results in parallel. The pool is shared between all
+ * requests and each request processes at most as many batches at the same time as there are workers.
+ * <p>
+ * The number of workers is configured with 'fact.search.conversion.threads'. Set it to 0 to disable the parallel
+ * conversion, in this case search results are converted on the thread consuming the result.
+ */
+@Singleton
+public class FactConversionPool implements LifecycleAspect {
+
+  private final int threads;
+  private final ExecutorService executor;
+
+  @Inject
+  public FactConversionPool(@Named("fact.search.conversion.threads") String threads) {
+    this.threads = Math.max(Integer.parseInt(threads), 0);
+    this.executor = this.threads > 0 ? Executors.newFixedThreadPool(this.threads, new ThreadFactoryBuilder()
+            .setNameFormat("fact-conversion-%d")
+            .setDaemon(true)
+            .build()) : null;
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public void stopComponent() {
+    if (executor != null) executor.shutdownNow();
+  }
+
+  /**
+   * Returns whether the parallel conversion is enabled.
+   *
+   * @return True if at least one worker is configured
+   */
+  public boolean isEnabled() {
+    return executor != null;
+  }
+
+  /**
+   * Convert batches of input elements on the worker threads. The output is returned in the same order as the input.
+   * Close the returned iterator if the output isn't consumed completely in order to cancel the pending batches.
+   *
+   * @param input     Batches of input elements
+   * @param converter Function converting one batch of input elements
+   * @param <I>       Type of input elements
+   * @param <O>       Type of output elements
+   * @return Iterator over the converted elements
+   * @throws IllegalStateException If the parallel conversion is disabled
+   */
+  public <I, O> ParallelBatchIterator<I, O> convert(Iterator<List<I>> input, Function<List<I>, List<O>> converter) {
+    if (!isEnabled()) throw new IllegalStateException("Parallel conversion is disabled.");
+    return new ParallelBatchIterator<>(input, converter, executor, threads);
+  }
+}
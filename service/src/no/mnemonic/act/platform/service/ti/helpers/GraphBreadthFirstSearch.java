@@ -0,0 +1,422 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+
+/**
+ * Native breadth-first search over the Object/Fact graph which avoids the overhead of compiling and executing a Gremlin
+ * query for the most common traversals, i.e. fetching the neighborhood of an Object and finding a path between Objects.
+ * <p>
+ * The search is level-synchronous: All Objects of the current frontier are expanded in parallel (fetching the
+ * Object-Fact-bindings and the bound Facts), afterwards the results are merged in frontier order into the visited sets
+ * which produces the next frontier. Merging sequentially keeps the result deterministic and the visited sets free of
+ * synchronization because they are only read while a level is expanded.
+ * <p>
+ * The search only follows Facts accepted by the filter given in the {@link Criteria}. The filter must implement
+ * access control and is executed on the worker threads.
+ * <p>
+ * The number of worker threads shared between all searches is configured with 'graph.search.threads'.
+ */
+@Singleton
+public class GraphBreadthFirstSearch implements LifecycleAspect {
+
+  private final GraphElementCache graphElementCache;
+  // Bounded pool shared between all searches. Threads only perform lookups and are never blocked by other tasks.
+  private final ExecutorService executor;
+
+  @Inject
+  public GraphBreadthFirstSearch(GraphElementCache graphElementCache, @Named("graph.search.threads") String threads) {
+    this.graphElementCache = graphElementCache;
+    this.executor = Executors.newFixedThreadPool(Math.max(Integer.parseInt(threads), 1), new ThreadFactoryBuilder()
+            .setNameFormat("graph-search-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public void stopComponent() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Collect all Objects and Facts reachable within {@link Criteria#getMaxDepth()} hops from a starting Object.
+   *
+   * @param start    UUID of starting Object
+   * @param criteria Criteria restricting the search
+   * @return Objects and Facts in the order they were discovered, including the starting Object
+   * @throws TimeoutException     If the search did not finish within {@link Criteria#getTimeout()}
+   * @throws InterruptedException If the calling thread is interrupted while waiting for the search
+   */
+  public Result expand(UUID start, Criteria criteria) throws TimeoutException, InterruptedException {
+    return expandAll(Collections.singleton(ObjectUtils.notNull(start, "'start' is null!")), criteria);
+  }
+
+  /**
+   * Collect all Objects and Facts reachable within {@link Criteria#getMaxDepth()} hops from any of the starting Objects.
+   *
+   * @param start    UUIDs of starting Objects
+   * @param criteria Criteria restricting the search
+   * @return Objects and Facts in the order they were discovered, including the starting Objects
+   * @throws TimeoutException     If the search did not finish within {@link Criteria#getTimeout()}
+   * @throws InterruptedException If the calling thread is interrupted while waiting for the search
+   */
+  public Result expandAll(Collection<UUID> start, Criteria criteria) throws TimeoutException, InterruptedException {
+    return search(ObjectUtils.notNull(start, "'start' is null!"), null, ObjectUtils.notNull(criteria, "'criteria' is null!"));
+  }
+
+  /**
+   * Find the shortest path between two Objects with at most {@link Criteria#getMaxDepth()} Facts.
+   *
+   * @param source      UUID of Object where the path starts
+   * @param destination UUID of Object where the path ends
+   * @param criteria    Criteria restricting the search
+   * @return Objects and Facts along the path (ordered from source to destination), or an empty result if no path was found
+   * @throws TimeoutException     If the search did not finish within {@link Criteria#getTimeout()}
+   * @throws InterruptedException If the calling thread is interrupted while waiting for the search
+   */
+  public Result shortestPath(UUID source, UUID destination, Criteria criteria) throws TimeoutException, InterruptedException {
+    ObjectUtils.notNull(source, "'source' is null!");
+    ObjectUtils.notNull(destination, "'destination' is null!");
+    ObjectUtils.notNull(criteria, "'criteria' is null!");
+
+    if (Objects.equals(source, destination)) {
+      return new Result(ListUtils.list(source), Collections.emptyList(), false);
+    }
+
+    Result visited = search(Collections.singleton(source), destination, criteria);
+    if (!visited.predecessors.containsKey(destination)) {
+      return new Result(Collections.emptyList(), Collections.emptyList(), visited.isTruncated());
+    }
+
+    // Walk back from the destination to the source along the recorded predecessors.
+    LinkedList<UUID> objects = new LinkedList<>();
+    LinkedList<FactEntity> facts = new LinkedList<>();
+    UUID current = destination;
+    objects.addFirst(current);
+    while (!Objects.equals(current, source)) {
+      Hop hop = visited.predecessors.get(current);
+      facts.addFirst(hop.fact);
+      objects.addFirst(hop.object);
+      current = hop.object;
+    }
+
+    return new Result(objects, facts, false);
+  }
+
+  private Result search(Collection<UUID> start, UUID destination, Criteria criteria) throws TimeoutException, InterruptedException {
+    long deadline = System.currentTimeMillis() + criteria.getTimeout();
+
+    Set<UUID> visitedObjects = new LinkedHashSet<>(start);
+    Set<UUID> visitedFacts = new HashSet<>();
+    List<UUID> objects = new ArrayList<>(visitedObjects);
+    List<FactEntity> facts = new ArrayList<>();
+    Map<UUID, Hop> predecessors = new HashMap<>();
+    boolean truncated = false;
+
+    List<UUID> frontier = new ArrayList<>(visitedObjects);
+    for (int depth = 0; depth < criteria.getMaxDepth() && !frontier.isEmpty() && !truncated; depth++) {
+      Limits limits = new Limits(criteria.getFactLimit() - facts.size(), criteria.getObjectLimit() - objects.size());
+      List<Expansion> expansions = expandFrontier(frontier, visitedFacts, visitedObjects, criteria.getFactFilter(), limits, deadline);
+
+      List<UUID> nextFrontier = new ArrayList<>();
+      merge:
+      for (int i = 0; i < frontier.size(); i++) {
+        for (FactEntity fact : expansions.get(i).facts) {
+          if (visitedFacts.contains(fact.getId())) continue;
+          if (facts.size() >= criteria.getFactLimit()) {
+            truncated = true;
+            break merge;
+          }
+
+          visitedFacts.add(fact.getId());
+          facts.add(fact);
+
+          for (FactEntity.FactObjectBinding binding : ListUtils.list(fact.getBindings())) {
+            UUID next = binding.getObjectID();
+            if (next == null || visitedObjects.contains(next)) continue;
+            if (objects.size() >= criteria.getObjectLimit()) {
+              truncated = true;
+              break merge;
+            }
+
+            visitedObjects.add(next);
+            objects.add(next);
+            predecessors.put(next, new Hop(frontier.get(i), fact));
+            nextFrontier.add(next);
+
+            if (Objects.equals(next, destination)) {
+              // Found the destination, every other path can't be shorter.
+              return new Result(objects, facts, false, predecessors);
+            }
+          }
+        }
+
+        if (!expansions.get(i).complete) {
+          // The expansion stopped early because it exceeded the limits, thus the result can't be complete. Usually
+          // the limits are already hit above, except when the expansion contained Facts merged from other Objects.
+          truncated = true;
+          break;
+        }
+      }
+
+      frontier = nextFrontier;
+    }
+
+    return new Result(objects, facts, truncated, predecessors);
+  }
+
+  private List<Expansion> expandFrontier(List<UUID> frontier, Set<UUID> visitedFacts, Set<UUID> visitedObjects,
+                                         Predicate<FactEntity> factFilter, Limits limits, long deadline)
+          throws TimeoutException, InterruptedException {
+    List<Future<Expansion>> futures = new ArrayList<>(frontier.size());
+    for (UUID object : frontier) {
+      futures.add(executor.submit(() -> expandObject(object, visitedFacts, visitedObjects, factFilter, limits)));
+    }
+
+    try {
+      List<Expansion> expansions = new ArrayList<>(futures.size());
+      for (Future<Expansion> future : futures) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) throw new TimeoutException();
+        expansions.add(future.get(remaining, TimeUnit.MILLISECONDS));
+      }
+      return expansions;
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Could not expand graph.", ObjectUtils.ifNull(ex.getCause(), ex));
+    } finally {
+      // Don't leave any work behind when aborting, e.g. on timeout. No-op for finished tasks.
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private Expansion expandObject(UUID object, Set<UUID> visitedFacts, Set<UUID> visitedObjects,
+                                 Predicate<FactEntity> factFilter, Limits limits) {
+    List<FactEntity> facts = new ArrayList<>();
+    Set<UUID> newObjects = new HashSet<>();
+    for (ObjectFactBindingEntity binding : graphElementCache.fetchObjectFactBindings(object)) {
+      // Once this Object alone exceeds the remaining limits merging its Facts will truncate the result. Stop here
+      // instead of fetching the remaining Facts of a supernode which would be thrown away anyway.
+      if (facts.size() > limits.facts || newObjects.size() > limits.objects) {
+        return new Expansion(facts, false);
+      }
+
+      // Facts visited on previous levels have already been followed, skip them without fetching.
+      if (visitedFacts.contains(binding.getFactID())) continue;
+
+      FactEntity fact = graphElementCache.getFact(binding.getFactID());
+      if (fact != null && factFilter.test(fact)) {
+        facts.add(fact);
+        ListUtils.list(fact.getBindings()).stream()
+                .map(FactEntity.FactObjectBinding::getObjectID)
+                .filter(id -> id != null && !visitedObjects.contains(id))
+                .forEach(newObjects::add);
+      }
+    }
+    return new Expansion(facts, true);
+  }
+
+  /**
+   * Criteria restricting a search.
+   */
+  public static class Criteria {
+    private final Predicate<FactEntity> factFilter;
+    private final int maxDepth;
+    private final int objectLimit;
+    private final int factLimit;
+    private final long timeout;
+
+    private Criteria(Predicate<FactEntity> factFilter, int maxDepth, int objectLimit, int factLimit, long timeout) {
+      this.factFilter = ObjectUtils.notNull(factFilter, "'factFilter' is null!");
+      this.maxDepth = maxDepth;
+      this.objectLimit = objectLimit;
+      this.factLimit = factLimit;
+      this.timeout = timeout;
+    }
+
+    /**
+     * Only Facts accepted by this filter are followed, e.g. implementing access control and FactType restrictions.
+     *
+     * @return Filter deciding which Facts are followed
+     */
+    public Predicate<FactEntity> getFactFilter() {
+      return factFilter;
+    }
+
+    /**
+     * Maximum number of hops from the starting Object.
+     *
+     * @return Maximum depth of the search
+     */
+    public int getMaxDepth() {
+      return maxDepth;
+    }
+
+    /**
+     * Maximum number of Objects visited (including the starting Object).
+     *
+     * @return Object limit
+     */
+    public int getObjectLimit() {
+      return objectLimit;
+    }
+
+    /**
+     * Maximum number of Facts visited.
+     *
+     * @return Fact limit
+     */
+    public int getFactLimit() {
+      return factLimit;
+    }
+
+    /**
+     * Maximum duration of the whole search in milliseconds.
+     *
+     * @return Timeout in milliseconds
+     */
+    public long getTimeout() {
+      return timeout;
+    }
+
+    public static Builder builder() {
+      return new Builder();
+    }
+
+    public static class Builder {
+      private Predicate<FactEntity> factFilter;
+      private int maxDepth;
+      private int objectLimit;
+      private int factLimit;
+      private long timeout;
+
+      private Builder() {
+      }
+
+      public Criteria build() {
+        return new Criteria(factFilter, maxDepth, objectLimit, factLimit, timeout);
+      }
+
+      public Builder setFactFilter(Predicate<FactEntity> factFilter) {
+        this.factFilter = factFilter;
+        return this;
+      }
+
+      public Builder setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+      }
+
+      public Builder setObjectLimit(int objectLimit) {
+        this.objectLimit = objectLimit;
+        return this;
+      }
+
+      public Builder setFactLimit(int factLimit) {
+        this.factLimit = factLimit;
+        return this;
+      }
+
+      public Builder setTimeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+      }
+    }
+  }
+
+  /**
+   * Result of a search.
+   */
+  public static class Result {
+    private final List<UUID> objects;
+    private final List<FactEntity> facts;
+    private final boolean truncated;
+    private final Map<UUID, Hop> predecessors;
+
+    private Result(List<UUID> objects, List<FactEntity> facts, boolean truncated) {
+      this(objects, facts, truncated, Collections.emptyMap());
+    }
+
+    private Result(List<UUID> objects, List<FactEntity> facts, boolean truncated, Map<UUID, Hop> predecessors) {
+      this.objects = Collections.unmodifiableList(objects);
+      this.facts = Collections.unmodifiableList(facts);
+      this.truncated = truncated;
+      this.predecessors = predecessors;
+    }
+
+    /**
+     * UUIDs of the Objects in the order they were visited.
+     *
+     * @return Visited Objects
+     */
+    public List<UUID> getObjects() {
+      return objects;
+    }
+
+    /**
+     * Facts in the order they were visited.
+     *
+     * @return Visited Facts
+     */
+    public List<FactEntity> getFacts() {
+      return facts;
+    }
+
+    /**
+     * True if the search stopped early because the Object or Fact limit was reached.
+     *
+     * @return Whether the result is truncated
+     */
+    public boolean isTruncated() {
+      return truncated;
+    }
+  }
+
+  private static class Limits {
+    // Number of Facts and Objects which can still be added to the result on the current level.
+    private final int facts;
+    private final int objects;
+
+    private Limits(int facts, int objects) {
+      this.facts = facts;
+      this.objects = objects;
+    }
+  }
+
+  private static class Expansion {
+    private final List<FactEntity> facts;
+    // False if not all bindings of the expanded Object have been followed.
+    private final boolean complete;
+
+    private Expansion(List<FactEntity> facts, boolean complete) {
+      this.facts = facts;
+      this.complete = complete;
+    }
+  }
+
+  private static class Hop {
+    private final UUID object;
+    private final FactEntity fact;
+
+    private Hop(UUID object, FactEntity fact) {
+      this.object = object;
+      this.fact = fact;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.commons.component.LifecycleAspect;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bounded pool of worker threads evaluating the partitions of parallel graph traversals. The pool is shared between
+ * all requests, thus, the number of threads executing parallel traversals is limited regardless of the number of
+ * concurrent requests. Partitions not picked up by a worker wait in the queue of the pool, but the timeout of a
+ * traversal already starts when its partitions are submitted.
+ * <p>
+ * The number of workers is configured with 'graph.traversal.threads' and the number of partitions a traversal is split
+ * into with 'graph.traversal.parallelism'.
+ */
+@Singleton
+public class GraphTraversalPool implements LifecycleAspect {
+
+  private final int parallelism;
+  private final ExecutorService executor;
+
+  @Inject
+  public GraphTraversalPool(@Named("graph.traversal.parallelism") String parallelism,
+                            @Named("graph.traversal.threads") String threads) {
+    this.parallelism = Math.max(Integer.parseInt(parallelism), 1);
+    this.executor = Executors.newFixedThreadPool(Math.max(Integer.parseInt(threads), 1), new ThreadFactoryBuilder()
+            .setNameFormat("graph-traversal-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public void stopComponent() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Returns the number of partitions a parallel traversal is split into.
+   *
+   * @return Number of partitions
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Returns the executor evaluating the partitions. It must not be shut down by the caller.
+   *
+   * @return Shared executor
+   */
+  public ExecutorService getExecutor() {
+    return executor;
+  }
+}
@@ -0,0 +1,53 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.commons.component.LifecycleAspect;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bounded pool of worker threads calculating the Object statistics of the next batches of an Object search in the
+ * background while the current batch is streamed out. The pool is shared between all requests.
+ * <p>
+ * The number of workers is configured with 'object.search.statistics.threads'.
+ */
+@Singleton
+public class ObjectStatisticsPool implements LifecycleAspect {
+
+  private final ExecutorService executor;
+
+  @Inject
+  public ObjectStatisticsPool(@Named("object.search.statistics.threads") String threads) {
+    this.executor = Executors.newFixedThreadPool(Math.max(Integer.parseInt(threads), 1), new ThreadFactoryBuilder()
+            .setNameFormat("object-statistics-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public void stopComponent() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Submit a calculation of Object statistics to the worker threads.
+   *
+   * @param task Task calculating the statistics
+   * @param <T>  Type of the calculated statistics
+   * @return Future of the calculated statistics
+   */
+  public <T> Future<T> submit(Callable<T> task) {
+    return executor.submit(task);
+  }
+}
@@ -0,0 +1,122 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.act.platform.service.scopes.ServiceRequestScopeImpl;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Iterator which processes batches of input elements on an {@link ExecutorService} while the output is consumed.
+ * <p>
+ * At most {@code maximumPending} batches are processed at the same time. The pending batches form a reorder buffer,
+ * i.e. the output is always returned in the same order as the input batches, regardless of which batch completes first.
+ * <p>
+ * The batches are processed with the {@link SecurityContext} and inside the service request scope of the thread
+ * creating the iterator. Both are captured on creation because the output might only be consumed after the service
+ * call has returned, e.g. when the response is serialized.
+ * <p>
+ * Call {@link #close()} when the output is not consumed completely, otherwise the pending batches keep occupying the
+ * executor until they are processed.
+ *
+ * @param <I> Type of input elements
+ * @param <O> Type of output elements
+ */
+public class ParallelBatchIterator<I, O> implements Iterator<O>, AutoCloseable {
+
+  private final Iterator<List<I>> input;
+  private final Function<List<I>, List<O>> processor;
+  private final ExecutorService executor;
+  private final int maximumPending;
+  private final Deque<Future<List<O>>> pendingBatches = new ArrayDeque<>();
+  private Iterator<O> output;
+  private boolean closed;
+
+  /**
+   * Construct a new instance.
+   *
+   * @param input          Batches of input elements (can be null, defaults to an empty iterator)
+   * @param processor      Function processing one batch of input elements (cannot be null)
+   * @param executor       Executor processing the batches (cannot be null)
+   * @param maximumPending Maximum number of batches processed at the same time (at least 1)
+   */
+  public ParallelBatchIterator(Iterator<List<I>> input,
+                               Function<List<I>, List<O>> processor,
+                               ExecutorService executor,
+                               int maximumPending) {
+    ObjectUtils.notNull(processor, "'processor' cannot be null!");
+    this.input = ObjectUtils.ifNull(input, Collections.emptyIterator());
+    this.processor = SecurityContext.propagate(ServiceRequestScopeImpl.propagate(processor));
+    this.executor = ObjectUtils.notNull(executor, "'executor' cannot be null!");
+    this.maximumPending = Math.max(maximumPending, 1);
+  }
+
+  @Override
+  public boolean hasNext() {
+    // Batches might produce no output at all, thus, continue until output is available or all batches are consumed.
+    while (output == null || !output.hasNext()) {
+      if (closed) {
+        return false;
+      }
+
+      submitBatches();
+
+      Future<List<O>> nextBatch = pendingBatches.poll();
+      if (nextBatch == null) {
+        return false;
+      }
+
+      output = awaitBatch(nextBatch).iterator();
+    }
+
+    return true;
+  }
+
+  @Override
+  public O next() {
+    if (!hasNext()) throw new NoSuchElementException();
+    return output.next();
+  }
+
+  /**
+   * Cancel all pending batches and stop processing further input. Afterwards, the iterator doesn't return any more output.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    output = null;
+    cancelPendingBatches();
+  }
+
+  private void submitBatches() {
+    // Keep up to 'maximumPending' batches in the reorder buffer.
+    while (pendingBatches.size() < maximumPending && input.hasNext()) {
+      List<I> batch = input.next();
+      pendingBatches.add(executor.submit(() -> processor.apply(batch)));
+    }
+  }
+
+  private List<O> awaitBatch(Future<List<O>> batch) {
+    try {
+      return ObjectUtils.ifNull(batch.get(), Collections.emptyList());
+    } catch (InterruptedException ex) {
+      cancelPendingBatches();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while processing batch.", ex);
+    } catch (ExecutionException ex) {
+      cancelPendingBatches();
+      Throwable cause = ObjectUtils.ifNull(ex.getCause(), ex);
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      throw new IllegalStateException("Could not process batch.", cause);
+    }
+  }
+
+  private void cancelPendingBatches() {
+    pendingBatches.forEach(batch -> batch.cancel(true));
+    pendingBatches.clear();
+  }
+}
@@ -0,0 +1,95 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application-wide cache holding the UUIDs of all Retraction Facts referencing a Fact. An empty set means that a Fact
+ * has never been retracted. In contrast to whether a Fact is retracted from the current user's point of view this
+ * information is independent of the user, thus, it can be shared between all requests.
+ * <p>
+ * The entry of a Fact must be invalidated with {@link #invalidate(UUID)} whenever a new Retraction Fact referencing
+ * it is stored. Because Retraction Facts stored by other service instances can't be observed, entries also expire
+ * after a fixed time.
+ */
+@Singleton
+public class RetractionIdCache {
+
+  private static final long TIME_TO_LIVE_SECONDS = 10 * 60;
+  private static final long MAXIMUM_SIZE = 1_000_000;
+
+  private final Cache<UUID, Set<UUID>> cache;
+  // Incremented on every invalidation in order to detect entries computed concurrently with an invalidation.
+  private final AtomicLong generation = new AtomicLong();
+
+  public RetractionIdCache() {
+    this(TIME_TO_LIVE_SECONDS, MAXIMUM_SIZE);
+  }
+
+  RetractionIdCache(long timeToLiveSeconds, long maximumSize) {
+    this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * Fetch the cached UUIDs of all Retraction Facts referencing a Fact.
+   *
+   * @param factID UUID of Fact
+   * @return UUIDs of Retraction Facts (empty if the Fact has never been retracted), or NULL if nothing is cached
+   */
+  public Set<UUID> get(UUID factID) {
+    if (factID == null) return null;
+    return cache.getIfPresent(factID);
+  }
+
+  /**
+   * Return the current generation of the cache. It must be fetched before computing an entry and passed to
+   * {@link #put(UUID, Set, long)} afterwards.
+   *
+   * @return Current generation
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Cache the UUIDs of all Retraction Facts referencing a Fact. The entry is discarded if any entry has been
+   * invalidated since the given generation, because the entry might have been computed before a new Retraction
+   * Fact was stored.
+   *
+   * @param factID        UUID of Fact
+   * @param retractionIDs UUIDs of Retraction Facts referencing the Fact
+   * @param generation    Generation of the cache before the entry was computed
+   */
+  public void put(UUID factID, Set<UUID> retractionIDs, long generation) {
+    if (factID == null) return;
+
+    synchronized (this.generation) {
+      if (this.generation.get() != generation) return;
+      cache.put(factID, SetUtils.set(retractionIDs));
+    }
+  }
+
+  /**
+   * Invalidate the cached entry of a Fact. Must be called when a Retraction Fact referencing the Fact is stored.
+   *
+   * @param factID UUID of Fact
+   */
+  public void invalidate(UUID factID) {
+    if (factID == null) return;
+
+    synchronized (generation) {
+      generation.incrementAndGet();
+      cache.invalidate(factID);
+    }
+  }
+}
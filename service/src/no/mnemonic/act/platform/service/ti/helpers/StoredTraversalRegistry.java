@@ -0,0 +1,441 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+
+/**
+ * Registry of named graph traversals defined on the server side. The definitions are read from
+ * 'traversalDefinition.yaml' located next to the trigger configuration files, for example:
+ * <pre>
+ * ---
+ * name: AttributedThreatActors
+ * description: Find the threat actors an Object is attributed to
+ * parameters:
+ *   factType:
+ *     type: string
+ *     defaultValue: attributedTo
+ * query: g.bothE(factType).otherV().hasLabel('threatActor')
+ * </pre>
+ * Parameters are available inside the query as variables with the declared type. A parameter without a default value
+ * must be provided when invoking the traversal.
+ * <p>
+ * All definitions are compiled once on startup using the same sandbox as ad-hoc queries, thus, an invalid definition
+ * prevents the service from starting. Afterwards, the compiled scripts are reused by every invocation. Because of that
+ * stored traversals are executed by a long-lived {@link GremlinExecutor} owned by the registry. The executor evaluates
+ * the traversals on a bounded pool of worker threads configured with 'graph.traversal.stored.threads' and is closed
+ * together with the registry.
+ */
+@Singleton
+public class StoredTraversalRegistry implements LifecycleAspect {
+
+  static final String DEFINITION_FILE = "traversalDefinition.yaml";
+
+  private static final String SCRIPT_ENGINE = "gremlin-groovy";
+  private static final long SCRIPT_EXECUTION_TIMEOUT = 120_000;
+  private static final Pattern PARAMETER_NAME_PATTERN = Pattern.compile("[a-zA-Z][a-zA-Z0-9_]*");
+
+  private static final Logger LOGGER = Logging.getLogger(StoredTraversalRegistry.class);
+
+  // The GremlinExecutor doesn't shut down executor services provided from the outside, thus, keep track of them.
+  private final ExecutorService evaluationExecutor;
+  private final ScheduledExecutorService timeoutExecutor;
+  private final GremlinExecutor executor;
+  private final Map<String, StoredTraversal> traversals;
+
+  @Inject
+  public StoredTraversalRegistry(@Named("trigger.administration.service.configuration.directory") String configurationDirectory,
+                                 @Named("graph.traversal.stored.threads") String threads) {
+    this(configurationDirectory, Integer.parseInt(threads), SCRIPT_EXECUTION_TIMEOUT);
+  }
+
+  public StoredTraversalRegistry(String configurationDirectory, int threads, long scriptExecutionTimeout) {
+    ObjectUtils.notNull(configurationDirectory, "'configurationDirectory' is null!");
+    // The executor lives as long as the service, use daemon threads in order to not block shutdown.
+    this.evaluationExecutor = Executors.newFixedThreadPool(Math.max(threads, 1), createThreadFactory("stored-traversal-%d"));
+    this.timeoutExecutor = Executors.newSingleThreadScheduledExecutor(createThreadFactory("stored-traversal-timeout-%d"));
+    this.executor = createExecutor(scriptExecutionTimeout, evaluationExecutor, timeoutExecutor);
+    this.traversals = Collections.unmodifiableMap(loadTraversals(Paths.get(configurationDirectory, DEFINITION_FILE)));
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public void stopComponent() {
+    try {
+      executor.close();
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Could not close executor of stored traversals.");
+    } finally {
+      evaluationExecutor.shutdownNow();
+      timeoutExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the stored traversal with a given name.
+   *
+   * @param name Name of stored traversal
+   * @return Stored traversal, or NULL if no traversal with the given name is defined
+   */
+  public StoredTraversal get(String name) {
+    return traversals.get(name);
+  }
+
+  /**
+   * Returns the executor which has compiled the stored traversals. Stored traversals must be executed by this executor
+   * in order to reuse the compiled scripts. The executor is shared and must not be closed.
+   *
+   * @return Shared executor
+   */
+  public GremlinExecutor getExecutor() {
+    return executor;
+  }
+
+  private Map<String, StoredTraversal> loadTraversals(Path file) {
+    if (!Files.isRegularFile(file)) {
+      LOGGER.info("No stored traversals defined, file %s does not exist.", file);
+      return new HashMap<>();
+    }
+
+    Map<String, StoredTraversal> result = new HashMap<>();
+    for (Definition definition : readDefinitions(file)) {
+      StoredTraversal traversal = createTraversal(definition);
+      if (result.containsKey(traversal.getName())) {
+        throw new IllegalStateException(String.format("Stored traversal '%s' is defined multiple times.", traversal.getName()));
+      }
+
+      compile(traversal);
+      result.put(traversal.getName(), traversal);
+    }
+
+    LOGGER.info("Loaded %d stored traversals from %s.", result.size(), file);
+    return result;
+  }
+
+  private List<Definition> readDefinitions(Path file) {
+    ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
+            .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS, true);
+
+    // The file contains one definition per YAML document.
+    try (MappingIterator<Definition> iterator = mapper.readerFor(Definition.class).readValues(file.toFile())) {
+      return iterator.readAll();
+    } catch (IOException ex) {
+      throw new IllegalStateException(String.format("Could not read stored traversals from %s.", file), ex);
+    }
+  }
+
+  private StoredTraversal createTraversal(Definition definition) {
+    if (StringUtils.isBlank(definition.getName())) {
+      throw new IllegalStateException("Stored traversal without 'name' defined.");
+    }
+    if (StringUtils.isBlank(definition.getQuery())) {
+      throw new IllegalStateException(String.format("Stored traversal '%s' without 'query' defined.", definition.getName()));
+    }
+
+    Map<String, Parameter> parameters = new HashMap<>();
+    for (Map.Entry<String, ParameterDefinition> entry : MapUtils.map(definition.getParameters()).entrySet()) {
+      String parameterName = entry.getKey();
+      ParameterDefinition parameterDefinition = ObjectUtils.ifNull(entry.getValue(), new ParameterDefinition());
+      // 'g' is reserved for the start of the traversal.
+      if (!PARAMETER_NAME_PATTERN.matcher(parameterName).matches() || Objects.equals(parameterName, "g")) {
+        throw new IllegalStateException(String.format("Stored traversal '%s' defines parameter with invalid name '%s'.",
+                definition.getName(), parameterName));
+      }
+      if (parameterDefinition.getType() == null) {
+        throw new IllegalStateException(String.format("Stored traversal '%s' defines parameter '%s' without 'type'.",
+                definition.getName(), parameterName));
+      }
+
+      Object defaultValue = null;
+      if (parameterDefinition.getDefaultValue() != null) {
+        try {
+          defaultValue = parameterDefinition.getType().convert(parameterDefinition.getDefaultValue());
+        } catch (IllegalArgumentException ex) {
+          throw new IllegalStateException(String.format("Stored traversal '%s' defines invalid default value for parameter '%s'.",
+                  definition.getName(), parameterName), ex);
+        }
+      }
+
+      parameters.put(parameterName, new Parameter(parameterName, parameterDefinition.getType(), defaultValue));
+    }
+
+    return new StoredTraversal(definition.getName(), definition.getDescription(), definition.getQuery(), parameters);
+  }
+
+  private void compile(StoredTraversal traversal) {
+    // Evaluating the script compiles it and caches the compiled class inside the script engine. The bindings determine
+    // the static types of the parameters, thus, provide values of the declared types. The script only builds up the
+    // traversal on top of an empty graph, but nothing is actually executed.
+    SimpleBindings bindings = new SimpleBindings();
+    bindings.put("g", EmptyGraph.instance().traversal().V());
+    for (Parameter parameter : traversal.getParameters().values()) {
+      bindings.put(parameter.getName(), ObjectUtils.ifNull(parameter.getDefaultValue(), parameter.getType().getExample()));
+    }
+
+    try {
+      executor.getScriptEngineManager().getEngineByName(SCRIPT_ENGINE).eval(traversal.getQuery(), bindings);
+    } catch (ScriptException | RuntimeException ex) {
+      throw new IllegalStateException(String.format("Could not compile stored traversal '%s'.", traversal.getName()), ex);
+    }
+  }
+
+  private static GremlinExecutor createExecutor(long scriptExecutionTimeout, ExecutorService evaluationExecutor,
+                                                ScheduledExecutorService timeoutExecutor) {
+    Map<String, Object> groovyCompilerConfig = MapUtils.map(
+            // Protect against scripts going haywire (endless loops, etc.).
+            T("timedInterrupt", scriptExecutionTimeout),
+            // Statically compile scripts before execution (needed for sandbox).
+            T("compilation", GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC),
+            // Execute scripts inside a sandbox which also knows about the parameters of stored traversals.
+            T("extensions", StoredTraversalSandboxExtension.class.getName())
+    );
+
+    return GremlinExecutor.build()
+            .scriptEvaluationTimeout(scriptExecutionTimeout)
+            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)))
+            .executorService(evaluationExecutor)
+            .scheduledExecutorService(timeoutExecutor)
+            .create();
+  }
+
+  private static ThreadFactory createThreadFactory(String nameFormat) {
+    return new ThreadFactoryBuilder()
+            .setNameFormat(nameFormat)
+            .setDaemon(true)
+            .build();
+  }
+
+  /**
+   * A compiled, server-side graph traversal.
+   */
+  public static class StoredTraversal {
+    private final String name;
+    private final String description;
+    private final String query;
+    private final Map<String, Parameter> parameters;
+
+    private StoredTraversal(String name, String description, String query, Map<String, Parameter> parameters) {
+      this.name = name;
+      this.description = description;
+      this.query = query;
+      this.parameters = Collections.unmodifiableMap(parameters);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public String getQuery() {
+      return query;
+    }
+
+    public Map<String, Parameter> getParameters() {
+      return parameters;
+    }
+
+    /**
+     * Convert the provided parameter values into the declared types. Missing values are replaced by their defaults.
+     *
+     * @param values Parameter values by name (may be NULL)
+     * @return Typed parameter values by name, to be used as bindings of the script execution
+     * @throws InvalidArgumentException If a value is invalid or missing, or if an unknown parameter is provided
+     */
+    public Map<String, Object> bindParameters(Map<String, String> values) throws InvalidArgumentException {
+      Map<String, String> provided = MapUtils.map(values);
+      InvalidArgumentException ex = new InvalidArgumentException();
+
+      for (String unknown : provided.keySet()) {
+        if (!parameters.containsKey(unknown)) {
+          ex.addValidationError(String.format("Stored traversal '%s' does not define parameter '%s'.", name, unknown),
+                  "stored.traversal.parameter.unknown", "parameters", unknown);
+        }
+      }
+
+      Map<String, Object> result = new HashMap<>();
+      for (Parameter parameter : parameters.values()) {
+        String value = provided.get(parameter.getName());
+        if (value == null && parameter.getDefaultValue() == null) {
+          ex.addValidationError(String.format("Parameter '%s' is required.", parameter.getName()),
+                  "stored.traversal.parameter.missing", "parameters." + parameter.getName(), "NULL");
+        } else if (value == null) {
+          result.put(parameter.getName(), parameter.getDefaultValue());
+        } else {
+          try {
+            result.put(parameter.getName(), parameter.getType().convert(value));
+          } catch (IllegalArgumentException ignored) {
+            ex.addValidationError(String.format("Parameter '%s' must be of type %s.", parameter.getName(),
+                    parameter.getType().name().toLowerCase()), "stored.traversal.parameter.invalid",
+                    "parameters." + parameter.getName(), value);
+          }
+        }
+      }
+
+      if (ex.hasErrors()) throw ex;
+
+      return result;
+    }
+  }
+
+  /**
+   * A typed parameter of a stored traversal.
+   */
+  public static class Parameter {
+    private final String name;
+    private final ParameterType type;
+    private final Object defaultValue;
+
+    private Parameter(String name, ParameterType type, Object defaultValue) {
+      this.name = name;
+      this.type = type;
+      this.defaultValue = defaultValue;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public ParameterType getType() {
+      return type;
+    }
+
+    public Object getDefaultValue() {
+      return defaultValue;
+    }
+  }
+
+  public enum ParameterType {
+    STRING(value -> value, ""),
+    LONG(Long::parseLong, 0L),
+    BOOLEAN(ParameterType::parseBoolean, false),
+    UUID(java.util.UUID::fromString, new java.util.UUID(0, 0));
+
+    private final Function<String, Object> converter;
+    private final Object example;
+
+    ParameterType(Function<String, Object> converter, Object example) {
+      this.converter = converter;
+      this.example = example;
+    }
+
+    /**
+     * Convert a value into this type.
+     *
+     * @param value Value as string
+     * @return Converted value
+     * @throws IllegalArgumentException If the value cannot be converted
+     */
+    public Object convert(String value) {
+      return converter.apply(value);
+    }
+
+    private Object getExample() {
+      return example;
+    }
+
+    private static Object parseBoolean(String value) {
+      // In contrast to Boolean.parseBoolean() reject everything which isn't clearly true or false.
+      if ("true".equalsIgnoreCase(value)) return true;
+      if ("false".equalsIgnoreCase(value)) return false;
+      throw new IllegalArgumentException(String.format("Invalid boolean value '%s'.", value));
+    }
+  }
+
+  private static class Definition {
+    private String name;
+    private String description;
+    private Map<String, ParameterDefinition> parameters;
+    private String query;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public void setDescription(String description) {
+      this.description = description;
+    }
+
+    public Map<String, ParameterDefinition> getParameters() {
+      return parameters;
+    }
+
+    public void setParameters(Map<String, ParameterDefinition> parameters) {
+      this.parameters = parameters;
+    }
+
+    public String getQuery() {
+      return query;
+    }
+
+    public void setQuery(String query) {
+      this.query = query;
+    }
+  }
+
+  private static class ParameterDefinition {
+    private ParameterType type;
+    private String defaultValue;
+
+    public ParameterType getType() {
+      return type;
+    }
+
+    public void setType(ParameterType type) {
+      this.type = type;
+    }
+
+    public String getDefaultValue() {
+      return defaultValue;
+    }
+
+    public void setDefaultValue(String defaultValue) {
+      this.defaultValue = defaultValue;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+/**
+ * Sandbox used for stored traversals. It's identical to {@link GremlinSandboxExtension} except that the types of
+ * unknown variables are taken from the bindings available when a script is compiled. This allows stored traversals
+ * to reference their parameters by name, while the sandbox still only allows whitelisted methods.
+ * <p>
+ * Compiled scripts are cached by their text, thus, the parameter types are fixed when a stored traversal is compiled
+ * for the first time. {@link StoredTraversalRegistry} makes sure that this happens with bindings of the declared types.
+ */
+public class StoredTraversalSandboxExtension extends GremlinSandboxExtension {
+
+  @Override
+  public boolean allowAutoTypeOfUnknown() {
+    return true;
+  }
+
+}
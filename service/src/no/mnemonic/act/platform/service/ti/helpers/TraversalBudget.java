@@ -0,0 +1,41 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.dao.tinkerpop.utils.TraversalMetrics;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Configured budget of a single graph traversal. A traversal exceeding any of the configured maximums is aborted.
+ * A maximum of 0 disables the corresponding budget.
+ */
+@Singleton
+public class TraversalBudget {
+
+  private final long maximumVertices;
+  private final long maximumFacts;
+  private final long maximumQueries;
+
+  @Inject
+  public TraversalBudget(@Named("graph.traversal.maximum.vertices") String maximumVertices,
+                         @Named("graph.traversal.maximum.facts") String maximumFacts,
+                         @Named("graph.traversal.maximum.queries") String maximumQueries) {
+    this.maximumVertices = Long.parseLong(maximumVertices);
+    this.maximumFacts = Long.parseLong(maximumFacts);
+    this.maximumQueries = Long.parseLong(maximumQueries);
+  }
+
+  /**
+   * Create new metrics for one traversal which enforce the configured budget.
+   *
+   * @return New metrics instance
+   */
+  public TraversalMetrics createMetrics() {
+    return TraversalMetrics.builder()
+            .setMaximumVertices(maximumVertices)
+            .setMaximumFacts(maximumFacts)
+            .setMaximumQueries(maximumQueries)
+            .build();
+  }
+}
@@ -0,0 +1,101 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphSnapshot;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import javax.inject.Singleton;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry holding the {@link GraphSnapshot}s of all active traversal sessions. A session is only accessible by the
+ * user who created it and expires after a fixed time in order to bound both memory usage and the staleness of the
+ * snapshot. The total size of all snapshots (number of Objects and Facts) is bounded as well, least recently used
+ * sessions will be evicted first.
+ */
+@Singleton
+public class TraversalSessionRegistry {
+
+  private static final long SESSION_TIME_TO_LIVE_SECONDS = 15 * 60;
+  private static final long SESSIONS_MAXIMUM_WEIGHT = 5_000_000;
+
+  private final Cache<UUID, Session> sessions;
+  private final long timeToLive;
+
+  public TraversalSessionRegistry() {
+    this(SESSION_TIME_TO_LIVE_SECONDS, SESSIONS_MAXIMUM_WEIGHT);
+  }
+
+  TraversalSessionRegistry(long timeToLiveSeconds, long maximumWeight) {
+    this.timeToLive = TimeUnit.SECONDS.toMillis(timeToLiveSeconds);
+    this.sessions = CacheBuilder.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((UUID key, Session value) -> 1 + value.getSnapshot().getObjectCount() + value.getSnapshot().getFactCount())
+            .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * Register a new session.
+   *
+   * @param snapshot Snapshot of the graph available in the session
+   * @param ownerID  UUID of the user owning the session
+   * @return Newly registered session
+   */
+  public Session register(GraphSnapshot snapshot, UUID ownerID) {
+    ObjectUtils.notNull(snapshot, "'snapshot' is null!");
+    ObjectUtils.notNull(ownerID, "'ownerID' is null!");
+
+    Session session = new Session(UUID.randomUUID(), ownerID, snapshot, System.currentTimeMillis() + timeToLive);
+    sessions.put(session.getId(), session);
+    return session;
+  }
+
+  /**
+   * Fetch an active session.
+   *
+   * @param id      UUID of the session
+   * @param ownerID UUID of the user requesting the session
+   * @return Session, or NULL if the session does not exist, has expired or is owned by another user
+   */
+  public Session get(UUID id, UUID ownerID) {
+    if (id == null) return null;
+
+    Session session = sessions.getIfPresent(id);
+    if (session == null || !Objects.equals(session.getOwnerID(), ownerID)) return null;
+    return session;
+  }
+
+  public static class Session {
+    private final UUID id;
+    private final UUID ownerID;
+    private final GraphSnapshot snapshot;
+    private final long expiresTimestamp;
+
+    private Session(UUID id, UUID ownerID, GraphSnapshot snapshot, long expiresTimestamp) {
+      this.id = id;
+      this.ownerID = ownerID;
+      this.snapshot = snapshot;
+      this.expiresTimestamp = expiresTimestamp;
+    }
+
+    public UUID getId() {
+      return id;
+    }
+
+    public UUID getOwnerID() {
+      return ownerID;
+    }
+
+    public GraphSnapshot getSnapshot() {
+      return snapshot;
+    }
+
+    public long getExpiresTimestamp() {
+      return expiresTimestamp;
+    }
+  }
+}
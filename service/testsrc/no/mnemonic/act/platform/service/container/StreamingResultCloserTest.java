@@ -0,0 +1,110 @@
+package no.mnemonic.act.platform.service.container;
+
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
+import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
+import no.mnemonic.act.platform.service.ti.helpers.ClosingIterator;
+import no.mnemonic.messaging.requestsink.Message;
+import no.mnemonic.messaging.requestsink.RequestContext;
+import no.mnemonic.messaging.requestsink.RequestSink;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.common.api.ServiceSession;
+import no.mnemonic.services.common.api.ServiceSessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class StreamingResultCloserTest {
+
+  @Mock
+  private ThreatIntelligenceService service;
+  @Mock
+  private ServiceSessionFactory sessionFactory;
+  @Mock
+  private ServiceSession session;
+  @Mock
+  private RequestSink requestSink;
+  @Mock
+  private RequestContext requestContext;
+  @Mock
+  private Message message;
+  @Mock
+  private ClosingIterator<Fact> result;
+
+  private final StreamingResultCloser resultCloser = new StreamingResultCloser();
+
+  @Before
+  public void setUp() throws Exception {
+    initMocks(this);
+    when(sessionFactory.openSession()).thenReturn(session);
+    when(service.searchFacts(any(), any())).thenReturn(StreamingResultSet.<Fact>builder().setValues(result).build());
+  }
+
+  @Test
+  public void testCloseSessionClosesResult() throws Exception {
+    ServiceSession wrappedSession = resultCloser.wrap(sessionFactory).openSession();
+    ResultSet<Fact> resultSet = resultCloser.wrap(ThreatIntelligenceService.class, service).searchFacts(null, null);
+    assertSame(result, resultSet.iterator());
+    verify(result, never()).close();
+
+    // The message handler closes the session once it has stopped streaming out the result.
+    wrappedSession.close();
+    verify(result).close();
+    verify(session).close();
+  }
+
+  @Test
+  public void testUndeliveredResponseClosesResult() throws Exception {
+    ServiceSession wrappedSession = resultCloser.wrap(sessionFactory).openSession();
+    resultCloser.wrap(ThreatIntelligenceService.class, service).searchFacts(null, null);
+
+    // The client has disconnected, thus, the response can't be delivered any more.
+    when(requestContext.addResponse(any())).thenReturn(false);
+    captureRequestContext().addResponse(message);
+    verify(result).close();
+
+    wrappedSession.close();
+    verify(result, times(1)).close();
+  }
+
+  @Test
+  public void testDeliveredResponseKeepsResultOpen() throws Exception {
+    resultCloser.wrap(sessionFactory).openSession();
+    resultCloser.wrap(ThreatIntelligenceService.class, service).searchFacts(null, null);
+
+    when(requestContext.addResponse(any())).thenReturn(true);
+    captureRequestContext().addResponse(message);
+    verify(requestContext).addResponse(message);
+    verify(result, never()).close();
+  }
+
+  @Test
+  public void testResultOutsideSessionNotClosed() throws Exception {
+    resultCloser.wrap(ThreatIntelligenceService.class, service).searchFacts(null, null);
+
+    when(requestContext.addResponse(any())).thenReturn(false);
+    captureRequestContext().addResponse(message);
+    verify(result, never()).close();
+  }
+
+  @Test(expected = InvalidArgumentException.class)
+  public void testServicePropagatesException() throws Exception {
+    when(service.searchFacts(any(), any())).thenThrow(InvalidArgumentException.class);
+    resultCloser.wrap(ThreatIntelligenceService.class, service).searchFacts(null, null);
+  }
+
+  private RequestContext captureRequestContext() {
+    assertSame(requestContext, resultCloser.wrap(requestSink).signal(message, requestContext, 1000));
+
+    ArgumentCaptor<RequestContext> captor = ArgumentCaptor.forClass(RequestContext.class);
+    verify(requestSink).signal(same(message), captor.capture(), eq(1000L));
+    return captor.getValue();
+  }
+}
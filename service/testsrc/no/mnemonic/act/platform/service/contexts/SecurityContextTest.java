@@ -19,11 +19,13 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import static no.mnemonic.act.platform.service.ti.TiFunctionConstants.viewFactObjects;
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 @SuppressWarnings("unchecked")
@@ -108,6 +110,29 @@ public class SecurityContextTest {
     assertSame(ctx, oldCtx);
   }
 
+  @Test
+  public void testPropagateContextToOtherThread() throws Exception {
+    Function<Object, SecurityContext> function;
+    try (SecurityContext ignored = SecurityContext.set(context)) {
+      function = SecurityContext.propagate(input -> SecurityContext.get());
+    }
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertSame(context, executor.submit(() -> function.apply(null)).get());
+      // The worker thread must not keep the context after the function has been executed.
+      assertFalse(executor.submit(SecurityContext::isSet).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPropagateWithoutContext() {
+    Function<Object, Object> function = input -> input;
+    assertSame(function, SecurityContext.propagate(function));
+  }
+
   @Test
   public void testClearNonExistingContext() {
     assertNull(SecurityContext.clear());
@@ -165,6 +190,15 @@ public class SecurityContextTest {
     assertEquals(currentUserID, context.getCurrentUserID());
   }
 
+  @Test
+  public void testGetCurrentUserIdResolvedOnce() throws Exception {
+    UUID currentUserID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    when(subjectResolver.resolveCurrentUser(credentials)).thenReturn(Subject.builder().setId(currentUserID).build());
+    assertEquals(currentUserID, context.getCurrentUserID());
+    assertEquals(currentUserID, context.getCurrentUserID());
+    verify(subjectResolver, times(1)).resolveCurrentUser(credentials);
+  }
+
   @Test(expected = UnexpectedAuthenticationFailedException.class)
   public void testGetCurrentUserIdThrowsUnexpectedAuthenticationFailedException() throws Exception {
     when(subjectResolver.resolveCurrentUser(credentials)).thenThrow(InvalidCredentialsException.class);
@@ -178,6 +212,15 @@ public class SecurityContextTest {
     assertEquals(currentUserOrganizationID, context.getCurrentUserOrganizationID());
   }
 
+  @Test
+  public void testGetCurrentUserOrganizationIdResolvedOnce() throws Exception {
+    UUID currentUserOrganizationID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    when(organizationResolver.resolveCurrentUserAffiliation(credentials)).thenReturn(Organization.builder().setId(currentUserOrganizationID).build());
+    assertEquals(currentUserOrganizationID, context.getCurrentUserOrganizationID());
+    assertEquals(currentUserOrganizationID, context.getCurrentUserOrganizationID());
+    verify(organizationResolver, times(1)).resolveCurrentUserAffiliation(credentials);
+  }
+
   @Test(expected = UnexpectedAuthenticationFailedException.class)
   public void testGetCurrentUserOrganizationIdThrowsUnexpectedAuthenticationFailedException() throws Exception {
     when(organizationResolver.resolveCurrentUserAffiliation(credentials)).thenThrow(InvalidCredentialsException.class);
@@ -192,6 +235,23 @@ public class SecurityContextTest {
     assertEquals(SetUtils.set(organizationID), context.getAvailableOrganizationID());
   }
 
+  @Test
+  public void testGetAvailableOrganizationIdResolvedOnce() throws Exception {
+    UUID organizationID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    when(accessController.getAvailableOrganizations(credentials)).thenReturn(SetUtils.set(organization));
+    when(identityResolver.resolveOrganizationUUID(organization)).thenReturn(organizationID);
+    assertEquals(SetUtils.set(organizationID), context.getAvailableOrganizationID());
+    assertEquals(SetUtils.set(organizationID), context.getAvailableOrganizationID());
+    verify(accessController, times(1)).getAvailableOrganizations(credentials);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testGetAvailableOrganizationIdReturnsUnmodifiableSet() throws Exception {
+    when(accessController.getAvailableOrganizations(credentials)).thenReturn(SetUtils.set(organization));
+    when(identityResolver.resolveOrganizationUUID(organization)).thenReturn(UUID.randomUUID());
+    context.getAvailableOrganizationID().add(UUID.randomUUID());
+  }
+
   @Test(expected = UnexpectedAuthenticationFailedException.class)
   public void testGetAvailableOrganizationIdThrowsUnexpectedAuthenticationFailedException() throws Exception {
     when(accessController.getAvailableOrganizations(credentials)).thenThrow(InvalidCredentialsException.class);
@@ -7,6 +7,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -91,6 +99,58 @@ public class ServiceRequestScopeImplTest {
     });
   }
 
+  @Test
+  public void testPropagateScopeToOtherThread() throws Exception {
+    AtomicReference<Function<Object, Object>> function = new AtomicReference<>();
+    executeInsideScope(() -> {
+      scope.seed(key, seed);
+      function.set(ServiceRequestScopeImpl.propagate(input -> scope.scope(key, unscopedProvider).get()));
+    });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertSame(seed, executor.submit(() -> function.get().apply(null)).get());
+      // The worker thread must not stay inside the scope after the function has been executed.
+      assertFalse(executor.submit(scope::isInsideScope).get());
+      verifyNoInteractions(unscopedProvider);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testProviderCreatesInstancesInParallel() throws Exception {
+    // Both workers must be able to create an instance at the same time, i.e. no lock is held during creation.
+    CountDownLatch creating = new CountDownLatch(2);
+    when(unscopedProvider.get()).then(i -> {
+      creating.countDown();
+      creating.await(10, TimeUnit.SECONDS);
+      return new Object();
+    });
+
+    AtomicReference<Function<Object, Object>> function = new AtomicReference<>();
+    executeInsideScope(() -> function.set(ServiceRequestScopeImpl.propagate(input -> scope.scope(key, unscopedProvider).get())));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Object> first = executor.submit(() -> function.get().apply(null));
+      Future<Object> second = executor.submit(() -> function.get().apply(null));
+
+      // Still only one instance must be handed out, regardless of which worker finished first.
+      assertSame(first.get(), second.get());
+      assertEquals(0, creating.getCount());
+      verify(unscopedProvider, times(2)).get();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPropagateWithoutScope() {
+    Function<Object, Object> function = input -> input;
+    assertSame(function, ServiceRequestScopeImpl.propagate(function));
+  }
+
   private void executeInsideScope(Runnable test) {
     try {
       scope.enter();
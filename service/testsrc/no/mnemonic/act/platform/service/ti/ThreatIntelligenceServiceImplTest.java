@@ -326,6 +326,56 @@ public class ThreatIntelligenceServiceImplTest {
     verify(delegate).handle(request);
   }
 
+  @Test
+  public void testTraverseGraphBySessionCallsDelegate() throws Exception {
+    TraverseGraphDelegate delegate = mock(TraverseGraphDelegate.class);
+    when(delegateProvider.get(TraverseGraphDelegate.class)).thenReturn(delegate);
+
+    TraverseBySessionRequest request = new TraverseBySessionRequest();
+    service.traverseGraph(RequestHeader.builder().build(), request);
+    verify(delegate).handle(request);
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalCallsDelegate() throws Exception {
+    TraverseGraphDelegate delegate = mock(TraverseGraphDelegate.class);
+    when(delegateProvider.get(TraverseGraphDelegate.class)).thenReturn(delegate);
+
+    TraverseByStoredTraversalRequest request = new TraverseByStoredTraversalRequest();
+    service.traverseGraph(RequestHeader.builder().build(), request);
+    verify(delegate).handle(request);
+  }
+
+  @Test
+  public void testCreateTraversalSessionCallsDelegate() throws Exception {
+    TraversalSessionCreateDelegate delegate = mock(TraversalSessionCreateDelegate.class);
+    when(delegateProvider.get(TraversalSessionCreateDelegate.class)).thenReturn(delegate);
+
+    CreateTraversalSessionRequest request = new CreateTraversalSessionRequest();
+    service.createTraversalSession(RequestHeader.builder().build(), request);
+    verify(delegate).handle(request);
+  }
+
+  @Test
+  public void testTraverseNeighborhoodCallsDelegate() throws Exception {
+    TraverseNativeDelegate delegate = mock(TraverseNativeDelegate.class);
+    when(delegateProvider.get(TraverseNativeDelegate.class)).thenReturn(delegate);
+
+    TraverseNeighborhoodRequest request = new TraverseNeighborhoodRequest();
+    service.traverseNeighborhood(RequestHeader.builder().build(), request);
+    verify(delegate).handle(request);
+  }
+
+  @Test
+  public void testTraverseShortestPathCallsDelegate() throws Exception {
+    TraverseNativeDelegate delegate = mock(TraverseNativeDelegate.class);
+    when(delegateProvider.get(TraverseNativeDelegate.class)).thenReturn(delegate);
+
+    TraverseShortestPathRequest request = new TraverseShortestPathRequest();
+    service.traverseShortestPath(RequestHeader.builder().build(), request);
+    verify(delegate).handle(request);
+  }
+
   @Test
   public void testGetOriginCallsDelegate() throws Exception {
     OriginGetByIdDelegate delegate = mock(OriginGetByIdDelegate.class);
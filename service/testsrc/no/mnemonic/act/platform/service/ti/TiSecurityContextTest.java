@@ -16,6 +16,7 @@ import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.common.auth.model.OrganizationIdentity;
@@ -30,8 +31,7 @@ import java.util.function.Function;
 
 import static no.mnemonic.act.platform.service.ti.TiFunctionConstants.viewFactObjects;
 import static no.mnemonic.act.platform.service.ti.TiFunctionConstants.viewOrigins;
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -291,6 +291,75 @@ public class TiSecurityContextTest {
     assertFalse(context.hasReadPermission(new FactRecord().setAccessMode(FactRecord.AccessMode.Public)));
   }
 
+  @Test
+  public void testHasReadPermissionForFactRecordWithoutFact() {
+    assertFalse(context.hasReadPermission((FactRecord) null));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeRoleBased() throws Exception {
+    FactRecord fact = new FactRecord()
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased);
+
+    when(accessController.hasPermission(credentials, viewFactObjects, organization)).thenReturn(true);
+    assertTrue(context.hasReadPermission(fact));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeRoleBasedNoAccess() throws Exception {
+    FactRecord fact = new FactRecord()
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased);
+
+    when(accessController.hasPermission(credentials, viewFactObjects, organization)).thenReturn(false);
+    assertFalse(context.hasReadPermission(fact));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeExplicit() throws Exception {
+    FactRecord fact = new FactRecord()
+            .setAccessMode(FactRecord.AccessMode.Explicit)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(mockCurrentUser()));
+
+    assertTrue(context.hasReadPermission(fact));
+    assertFalse(context.hasReadPermission(new FactRecord().setAccessMode(FactRecord.AccessMode.Explicit)));
+    verify(accessController, never()).hasPermission(credentials, viewFactObjects, organization);
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordEvaluatesPermissionsOnce() throws Exception {
+    UUID organizationID = UUID.randomUUID();
+    when(accessController.hasPermission(credentials, viewFactObjects)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewFactObjects, organization)).thenReturn(false);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(context.hasReadPermission(new FactRecord().setAccessMode(FactRecord.AccessMode.Public)));
+      assertFalse(context.hasReadPermission(new FactRecord()
+              .setOrganizationID(organizationID)
+              .setAccessMode(FactRecord.AccessMode.RoleBased)));
+    }
+
+    verify(accessController).hasPermission(credentials, viewFactObjects);
+    verify(accessController).hasPermission(credentials, viewFactObjects, organization);
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordEvaluatesPermissionsPerOrganization() throws Exception {
+    OrganizationIdentity otherOrganization = mock(OrganizationIdentity.class);
+    UUID otherOrganizationID = UUID.randomUUID();
+    when(identityResolver.resolveOrganizationIdentity(otherOrganizationID)).thenReturn(otherOrganization);
+    when(accessController.hasPermission(credentials, viewFactObjects, organization)).thenReturn(false);
+    when(accessController.hasPermission(credentials, viewFactObjects, otherOrganization)).thenReturn(true);
+
+    assertFalse(context.hasReadPermission(new FactRecord()
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)));
+    assertTrue(context.hasReadPermission(new FactRecord()
+            .setOrganizationID(otherOrganizationID)
+            .setAccessMode(FactRecord.AccessMode.RoleBased)));
+  }
+
   @Test(expected = AccessDeniedException.class)
   public void testCheckReadPermissionForObjectRecordWithoutObject() throws Exception {
     context.checkReadPermission((ObjectRecord) null);
@@ -298,15 +367,6 @@ public class TiSecurityContextTest {
 
   @Test(expected = AccessDeniedException.class)
   public void testCheckReadPermissionForObjectRecordWithoutBoundFact() throws Exception {
-    mockCurrentUser();
-    mockAvailableOrganization();
-    when(objectFactDao.searchFacts(notNull())).thenReturn(ResultContainer.<FactRecord>builder().build());
-
-    context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
-  }
-
-  @Test(expected = AccessDeniedException.class)
-  public void testCheckReadPermissionForObjectRecordWithoutAccessToFact() throws Exception {
     ObjectRecord object = mockCheckPermissionForObjectRecord(false);
     context.checkReadPermission(object);
   }
@@ -315,21 +375,60 @@ public class TiSecurityContextTest {
   public void testCheckReadPermissionForObjectRecordWithAccessToFact() throws Exception {
     ObjectRecord object = mockCheckPermissionForObjectRecord(true);
     context.checkReadPermission(object);
-    verify(accessController).hasPermission(credentials, viewFactObjects);
+
+    verify(objectFactDao).existsFact(argThat(criteria -> {
+      assertEquals(SetUtils.set(object.getId()), criteria.getObjectID());
+      assertNotNull(criteria.getCurrentUserID());
+      assertEquals(1, criteria.getAvailableOrganizationID().size());
+      return true;
+    }));
+    verify(objectFactDao, never()).searchFacts(any());
   }
 
   @Test
-  public void testCheckReadPermissionForObjectRecordWithAccessToSecondFact() throws Exception {
-    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+  public void testCheckReadPermissionForObjectRecordOnlyIncludesOrganizationsWithViewPermission() throws Exception {
+    OrganizationIdentity otherOrganization = mock(OrganizationIdentity.class);
+    UUID organizationID = UUID.randomUUID();
+    UUID otherOrganizationID = UUID.randomUUID();
 
     mockCurrentUser();
+    when(accessController.getAvailableOrganizations(credentials)).thenReturn(SetUtils.set(organization, otherOrganization));
+    when(identityResolver.resolveOrganizationUUID(organization)).thenReturn(organizationID);
+    when(identityResolver.resolveOrganizationUUID(otherOrganization)).thenReturn(otherOrganizationID);
+    when(identityResolver.resolveOrganizationIdentity(otherOrganizationID)).thenReturn(otherOrganization);
+    when(accessController.hasPermission(credentials, viewFactObjects)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewFactObjects, organization)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewFactObjects, otherOrganization)).thenReturn(false);
+    when(objectFactDao.existsFact(notNull())).thenReturn(true);
+
+    context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
+    verify(objectFactDao).existsFact(argThat(criteria -> SetUtils.set(organizationID).equals(criteria.getAvailableOrganizationID())));
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordWithoutViewPermissionAccessViaAcl() throws Exception {
+    UUID currentUserID = mockCurrentUser();
     mockAvailableOrganization();
+    FactRecord first = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+    FactRecord second = new FactRecord().setAccessMode(FactRecord.AccessMode.Explicit)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(currentUserID));
     when(objectFactDao.searchFacts(notNull()))
-            .thenReturn(ResultContainer.<FactRecord>builder().setValues(ListUtils.list(fact, fact, fact).iterator()).build());
-    when(accessController.hasPermission(credentials, viewFactObjects)).thenReturn(false, true, false);
+            .thenReturn(ResultContainer.<FactRecord>builder().setValues(ListUtils.list(first, second).iterator()).build());
+
+    // Without the general view permission only Facts with the user in the ACL are accessible.
+    context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
+    verify(objectFactDao, never()).existsFact(any());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testCheckReadPermissionForObjectRecordWithoutViewPermissionNoAccess() throws Exception {
+    mockCurrentUser();
+    mockAvailableOrganization();
+    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+    when(objectFactDao.searchFacts(notNull()))
+            .thenReturn(ResultContainer.<FactRecord>builder().setValues(ListUtils.list(fact).iterator()).build());
 
     context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
-    verify(accessController, times(2)).hasPermission(credentials, viewFactObjects);
   }
 
   @Test
@@ -419,15 +518,14 @@ public class TiSecurityContextTest {
 
   private ObjectRecord mockCheckPermissionForObjectRecord(boolean result) throws Exception {
     ObjectRecord object = new ObjectRecord().setId(UUID.randomUUID());
-    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
 
-    // Mock search for bound Facts.
+    // Mock permission to view Facts.
     mockCurrentUser();
     mockAvailableOrganization();
-    when(objectFactDao.searchFacts(notNull()))
-            .thenReturn(ResultContainer.<FactRecord>builder().setValues(ListUtils.list(fact).iterator()).build());
-    // Mock access to bound Facts.
-    when(accessController.hasPermission(credentials, viewFactObjects)).thenReturn(result);
+    when(accessController.hasPermission(credentials, viewFactObjects)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewFactObjects, organization)).thenReturn(true);
+    // Mock existence of accessible bound Facts.
+    when(objectFactDao.existsFact(notNull())).thenReturn(result);
 
     return object;
   }
@@ -16,8 +16,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.notNull;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class FactConverterTest {
@@ -50,16 +49,7 @@ public class FactConverterTest {
     when(organizationConverter.apply(notNull())).thenAnswer(i -> Organization.builder().setId(i.getArgument(0)).build());
     when(subjectConverter.apply(notNull())).thenAnswer(i -> Subject.builder().setId(i.getArgument(0)).build());
 
-    converter = new FactConverter(
-            factTypeConverter,
-            originConverter,
-            objectConverter,
-            organizationConverter,
-            subjectConverter,
-            factRetractionHandler,
-            objectFactDao,
-            securityContext
-    );
+    converter = createConverter();
   }
 
   @Test
@@ -190,6 +180,56 @@ public class FactConverterTest {
     verify(factRetractionHandler).isRetracted(record.getId(), true);
   }
 
+  @Test
+  public void testConvertFactsMemoizesNestedObjects() {
+    ObjectRecord source = new ObjectRecord().setId(UUID.randomUUID());
+    FactRecord record1 = createRecord().setSourceObject(source);
+    FactRecord record2 = createRecord()
+            .setTypeID(record1.getTypeID())
+            .setOrganizationID(record1.getOrganizationID())
+            .setAddedByID(record1.getAddedByID())
+            .setOriginID(record1.getOriginID())
+            .setSourceObject(source);
+    when(objectConverter.apply(source)).thenReturn(Object.builder().setId(source.getId()).build());
+
+    Fact model1 = converter.apply(record1);
+    Fact model2 = converter.apply(record2);
+
+    assertModelCommon(record2, model2);
+    assertSame(model1.getType(), model2.getType());
+    assertSame(model1.getOrganization(), model2.getOrganization());
+    assertSame(model1.getAddedBy(), model2.getAddedBy());
+    assertSame(model1.getOrigin(), model2.getOrigin());
+    assertSame(model1.getSourceObject(), model2.getSourceObject());
+    verify(factTypeConverter).apply(record1.getTypeID());
+    verify(organizationConverter).apply(record1.getOrganizationID());
+    verify(subjectConverter).apply(record1.getAddedByID());
+    verify(originConverter).apply(record1.getOriginID());
+    verify(objectConverter).apply(source);
+  }
+
+  @Test
+  public void testConvertFactsDoesNotMemoizeAcrossConverters() {
+    FactRecord record = createRecord();
+    converter.apply(record);
+    createConverter().apply(record);
+
+    verify(factTypeConverter, times(2)).apply(record.getTypeID());
+  }
+
+  private FactConverter createConverter() {
+    return new FactConverter(
+            factTypeConverter,
+            originConverter,
+            objectConverter,
+            organizationConverter,
+            subjectConverter,
+            factRetractionHandler,
+            objectFactDao,
+            securityContext
+    );
+  }
+
   private FactRecord createRecord() {
     return new FactRecord()
             .setId(UUID.randomUUID())
@@ -15,6 +15,7 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiServiceEvent;
 import no.mnemonic.act.platform.service.ti.converters.FactConverter;
 import no.mnemonic.act.platform.service.ti.handlers.FactCreateHandler;
+import no.mnemonic.act.platform.service.ti.helpers.RetractionIdCache;
 import no.mnemonic.act.platform.service.ti.resolvers.FactResolver;
 import no.mnemonic.act.platform.service.ti.resolvers.FactTypeResolver;
 import no.mnemonic.commons.utilities.collections.ListUtils;
@@ -43,6 +44,8 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
   private FactCreateHandler factCreateHandler;
   @Mock
   private FactConverter factConverter;
+  @Mock
+  private RetractionIdCache retractionIdCache;
 
   private FactRetractDelegate delegate;
 
@@ -56,7 +59,8 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
             factTypeResolver,
             factResolver,
       factCreateHandler,
-            factConverter
+            factConverter,
+            retractionIdCache
     );
   }
 
@@ -85,6 +89,7 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
     verify(objectFactDao).storeFact(matchFactRecord(request));
     verify(objectFactDao).retractFact(argThat(e -> Objects.equals(e.getId(), request.getFact())));
     verify(factConverter, times(2)).apply(matchFactRecord(request));
+    verify(retractionIdCache).invalidate(request.getFact());
   }
 
   @Test
@@ -5,6 +5,7 @@ import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.request.v1.SearchObjectRequest;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.act.platform.dao.api.result.ResultContainer;
@@ -12,20 +13,28 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.converters.FactTypeByIdConverter;
 import no.mnemonic.act.platform.service.ti.converters.ObjectTypeByIdConverter;
 import no.mnemonic.act.platform.service.ti.converters.SearchObjectRequestConverter;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectStatisticsPool;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.api.ResultSet;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -41,6 +50,7 @@ public class ObjectSearchDelegateTest extends AbstractDelegateTest {
   @Mock
   private ObjectTypeByIdConverter objectTypeConverter;
 
+  private final ObjectStatisticsPool statisticsPool = new ObjectStatisticsPool("2");
   private ObjectSearchDelegate delegate;
 
   @Before
@@ -62,10 +72,16 @@ public class ObjectSearchDelegateTest extends AbstractDelegateTest {
             objectFactDao,
             requestConverter,
             factTypeConverter,
-            objectTypeConverter
+            objectTypeConverter,
+            statisticsPool
     );
   }
 
+  @After
+  public void stopStatisticsPool() {
+    statisticsPool.stopComponent();
+  }
+
   @Test(expected = AccessDeniedException.class)
   public void testSearchObjectsWithoutViewPermission() throws Exception {
     doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.viewFactObjects);
@@ -120,15 +136,96 @@ public class ObjectSearchDelegateTest extends AbstractDelegateTest {
     verify(objectFactDao, times(2)).calculateObjectStatistics(notNull());
   }
 
-  private ResultContainer<ObjectRecord> createSearchResult(int count) {
-    List<ObjectRecord> records = new ArrayList<>();
-    for (int i = 0; i < count; i++) {
-      records.add(new ObjectRecord().setId(UUID.randomUUID()));
+  @Test
+  public void testSearchObjectsCalculatesStatisticsAhead() throws Exception {
+    int count = 5000;
+    when(objectFactDao.searchObjects(any())).thenReturn(createSearchResult(count));
+    when(objectFactDao.calculateObjectStatistics(any())).thenReturn(ObjectStatisticsContainer.builder().build());
+
+    Iterator<Object> result = delegate.handle(new SearchObjectRequest()).iterator();
+    assertNotNull(result.next());
+    // Statistics for the current batch plus two batches ahead, but not for the remaining batches.
+    verify(objectFactDao, timeout(1000).times(3)).calculateObjectStatistics(notNull());
+
+    int consumed = 1;
+    while (result.hasNext()) {
+      result.next();
+      consumed++;
     }
+    assertEquals(count, consumed);
+    verify(objectFactDao, times(5)).calculateObjectStatistics(notNull());
+  }
+
+  @Test
+  public void testSearchObjectsCancelsStatisticsAheadOnClose() throws Exception {
+    List<ObjectRecord> records = createRecords(5000);
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch interrupted = new CountDownLatch(2);
+    when(objectFactDao.searchObjects(any())).thenReturn(createSearchResult(records));
+    when(objectFactDao.calculateObjectStatistics(any())).then(i -> {
+      // Only the statistics of the first batch complete, the lookahead batches block until they are cancelled.
+      if (i.<ObjectStatisticsCriteria>getArgument(0).getObjectID().contains(records.get(0).getId())) {
+        return ObjectStatisticsContainer.builder().build();
+      }
+
+      started.countDown();
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException ex) {
+        interrupted.countDown();
+      }
+      return ObjectStatisticsContainer.builder().build();
+    });
+
+    Iterator<Object> result = delegate.handle(new SearchObjectRequest()).iterator();
+    assertNotNull(result.next());
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    // Closing the result, e.g. when the client disconnects, must cancel the statistics of the lookahead batches.
+    ((AutoCloseable) result).close();
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    assertFalse(result.hasNext());
+    verify(objectFactDao, times(3)).calculateObjectStatistics(notNull());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSearchObjectsPropagatesStatisticsFailure() throws Exception {
+    when(objectFactDao.searchObjects(any())).thenReturn(createSearchResult(3));
+    when(objectFactDao.calculateObjectStatistics(any())).thenThrow(IllegalStateException.class);
+
+    delegate.handle(new SearchObjectRequest()).iterator().hasNext();
+  }
 
+  @Test
+  public void testSearchObjectsExcludeStatistics() throws Exception {
+    int count = 1001;
+    when(objectFactDao.searchObjects(any())).thenReturn(createSearchResult(count));
+
+    ResultSet<Object> result = delegate.handle(new SearchObjectRequest().setExcludeStatistics(true));
+    List<Object> objects = ListUtils.list(result.iterator());
+    assertEquals(count, objects.size());
+    objects.forEach(object -> assertNull(object.getStatistics()));
+
+    verify(objectFactDao).searchObjects(notNull());
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  private ResultContainer<ObjectRecord> createSearchResult(int count) {
+    return createSearchResult(createRecords(count));
+  }
+
+  private ResultContainer<ObjectRecord> createSearchResult(List<ObjectRecord> records) {
     return ResultContainer.<ObjectRecord>builder()
-            .setCount(count)
+            .setCount(records.size())
             .setValues(records.iterator())
             .build();
   }
+
+  private List<ObjectRecord> createRecords(int count) {
+    List<ObjectRecord> records = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      records.add(new ObjectRecord().setId(UUID.randomUUID()));
+    }
+    return records;
+  }
 }
@@ -0,0 +1,152 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
+import no.mnemonic.act.platform.api.model.v1.TraversalSession;
+import no.mnemonic.act.platform.api.request.v1.CreateTraversalSessionRequest;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.helpers.GraphBreadthFirstSearch;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalSessionRegistry;
+import no.mnemonic.act.platform.service.ti.resolvers.SearchByNameResolver;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TraversalSessionCreateDelegateTest extends AbstractDelegateTest {
+
+  @Mock
+  private ObjectFactDao objectFactDao;
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private GraphBreadthFirstSearch graphSearch;
+  @Mock
+  private SearchByNameResolver byNameResolver;
+
+  private final TraversalSessionRegistry sessionRegistry = new TraversalSessionRegistry();
+  private final UUID currentUserID = UUID.randomUUID();
+  private final ObjectEntity source = new ObjectEntity().setId(UUID.randomUUID());
+  private final ObjectEntity destination = new ObjectEntity().setId(UUID.randomUUID());
+  private final FactEntity fact = new FactEntity()
+          .setId(UUID.randomUUID())
+          .setTypeID(UUID.randomUUID())
+          .setBindings(ListUtils.list(
+                  new FactEntity.FactObjectBinding().setObjectID(source.getId()).setDirection(Direction.FactIsDestination),
+                  new FactEntity.FactObjectBinding().setObjectID(destination.getId()).setDirection(Direction.FactIsSource)
+          ));
+
+  private TraversalSessionCreateDelegate delegate;
+
+  @Before
+  public void setup() {
+    // initMocks() will be called by base class.
+    delegate = new TraversalSessionCreateDelegate(
+            getSecurityContext(),
+            objectFactDao,
+            objectManager,
+            graphSearch,
+            sessionRegistry,
+            byNameResolver
+    );
+
+    when(getSecurityContext().getCurrentUserID()).thenReturn(currentUserID);
+    when(objectFactDao.getObject(any())).thenAnswer(i -> new ObjectRecord().setId(i.getArgument(0)));
+    when(objectManager.getObjects(any())).thenAnswer(i -> ListUtils.list(source, destination).iterator());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testCreateSessionWithoutPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.traverseFactObjects);
+    delegate.handle(new CreateTraversalSessionRequest().addObjectID(source.getId()));
+  }
+
+  @Test
+  public void testCreateSessionWithoutAccessToObject() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkReadPermission(isA(ObjectRecord.class));
+
+    try {
+      delegate.handle(new CreateTraversalSessionRequest().addObjectID(source.getId()));
+      fail();
+    } catch (AccessDeniedException ignored) {
+      verifyNoInteractions(graphSearch);
+    }
+  }
+
+  @Test
+  public void testCreateSessionUsesDefaultCriteria() throws Exception {
+    mockResult();
+
+    delegate.handle(new CreateTraversalSessionRequest().addObjectID(source.getId()));
+
+    GraphBreadthFirstSearch.Criteria criteria = captureCriteria();
+    assertEquals(2, criteria.getMaxDepth());
+    assertEquals(10_000, criteria.getObjectLimit());
+    assertEquals(10_000, criteria.getFactLimit());
+  }
+
+  @Test
+  public void testCreateSessionFiltersFacts() throws Exception {
+    mockResult();
+    when(byNameResolver.resolveFactType(SetUtils.set("type"))).thenReturn(SetUtils.set(fact.getTypeID()));
+    when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(true);
+
+    delegate.handle(new CreateTraversalSessionRequest().addObjectID(source.getId()).addFactType("type"));
+
+    GraphBreadthFirstSearch.Criteria criteria = captureCriteria();
+    assertTrue(criteria.getFactFilter().test(fact));
+    assertFalse(criteria.getFactFilter().test(new FactEntity().setTypeID(UUID.randomUUID())));
+  }
+
+  @Test
+  public void testCreateSessionRegistersSnapshot() throws Exception {
+    mockResult();
+
+    TraversalSession session = delegate.handle(new CreateTraversalSessionRequest().addObjectID(source.getId()));
+    assertNotNull(session.getId());
+    assertEquals(2, session.getObjectCount());
+    assertEquals(1, session.getFactCount());
+    assertTrue(session.isTruncated());
+    assertTrue(session.getExpiresTimestamp() > System.currentTimeMillis());
+
+    TraversalSessionRegistry.Session registered = sessionRegistry.get(session.getId(), currentUserID);
+    assertNotNull(registered);
+    assertEquals(SetUtils.set(source.getId(), destination.getId()), registered.getSnapshot().getObjectIDs());
+  }
+
+  @Test(expected = OperationTimeoutException.class)
+  public void testCreateSessionTimeout() throws Exception {
+    when(graphSearch.expandAll(any(), any())).thenThrow(TimeoutException.class);
+    delegate.handle(new CreateTraversalSessionRequest().addObjectID(source.getId()));
+  }
+
+  private void mockResult() throws Exception {
+    GraphBreadthFirstSearch.Result result = mock(GraphBreadthFirstSearch.Result.class);
+    when(result.getObjects()).thenReturn(ListUtils.list(source.getId(), destination.getId()));
+    when(result.getFacts()).thenReturn(ListUtils.list(fact));
+    when(result.isTruncated()).thenReturn(true);
+    when(graphSearch.expandAll(eq(SetUtils.set(source.getId())), any())).thenReturn(result);
+  }
+
+  private GraphBreadthFirstSearch.Criteria captureCriteria() throws Exception {
+    ArgumentCaptor<GraphBreadthFirstSearch.Criteria> captor = ArgumentCaptor.forClass(GraphBreadthFirstSearch.Criteria.class);
+    verify(graphSearch).expandAll(eq(SetUtils.set(source.getId())), captor.capture());
+    return captor.getValue();
+  }
+}
@@ -5,42 +5,73 @@ import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.api.model.v1.TraversalStatistics;
 import no.mnemonic.act.platform.api.request.v1.TraverseByObjectIdRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseByObjectSearchRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseByObjectTypeValueRequest;
+import no.mnemonic.act.platform.api.request.v1.TraverseBySessionRequest;
+import no.mnemonic.act.platform.api.request.v1.TraverseByStoredTraversalRequest;
 import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphRecordConverter;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphSnapshot;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.converters.FactConverter;
 import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.act.platform.service.ti.helpers.GraphTraversalPool;
+import no.mnemonic.act.platform.service.ti.helpers.StoredTraversalRegistry;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalBudget;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalSessionRegistry;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.common.api.ResultSet;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 public class TraverseGraphDelegateTest extends AbstractDelegateTest {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
   @Mock
   private ObjectFactDao objectFactDao;
   @Mock
+  private ObjectRecordConverter objectRecordConverter;
+  @Mock
+  private FactRecordConverter factRecordConverter;
+  @Mock
   private ObjectSearchDelegate objectSearch;
   @Mock
   private ObjectConverter objectConverter;
   @Mock
   private FactConverter factConverter;
 
+  private final TraversalSessionRegistry sessionRegistry = new TraversalSessionRegistry();
+  private final GraphTraversalPool traversalPool = new GraphTraversalPool("2", "4");
+  private final List<StoredTraversalRegistry> storedTraversalRegistries = new ArrayList<>();
   private TraverseGraphDelegate delegate;
 
   private final TestMethod byIdHandle = (object, query) -> {
@@ -72,18 +103,27 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     return delegate.handle(request);
   };
 
+  private final TestMethod byStoredTraversalHandle = (object, query) -> {
+    delegate = createDelegate(new TraversalBudget("0", "0", "0"), createStoredTraversalRegistry("name: traversal\nquery: " + query + "\n"));
+    TraverseByStoredTraversalRequest request = new TraverseByStoredTraversalRequest()
+            .setName("traversal")
+            .addObjectID(object.getId());
+    ResultSet<?> result = delegate.handle(request);
+    // Permission check should be performed on starting point of graph traversal.
+    verify(getSecurityContext()).checkReadPermission(object);
+    return result;
+  };
+
   @Before
   public void setup() {
     // initMocks() will be called by base class.
-    delegate = new TraverseGraphDelegate(
-            getSecurityContext(),
-            objectFactDao,
-            getObjectManager(),
-            getFactManager(),
-            objectSearch,
-            objectConverter,
-            factConverter
-    ).setScriptExecutionTimeout(2000);
+    delegate = createDelegate(new TraversalBudget("0", "0", "0"));
+  }
+
+  @After
+  public void stopExecutors() {
+    traversalPool.stopComponent();
+    storedTraversalRegistries.forEach(StoredTraversalRegistry::stopComponent);
   }
 
   @Test(expected = AccessDeniedException.class)
@@ -243,6 +283,262 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     testTraverseGraphTimeout(byObjectSearchHandle);
   }
 
+  @Test
+  public void testTraverseGraphByObjectSearchInParallel() throws Exception {
+    ObjectRecord first = mockFullTraversal();
+    ObjectRecord second = mockFullTraversal();
+    TraverseByObjectSearchRequest request = mockObjectSearch(first, second).setParallel(true);
+
+    List<?> result = ListUtils.list(delegate.handle(request).iterator());
+    assertEquals(2, result.size());
+    assertTrue(result.stream().allMatch(Fact.class::isInstance));
+    verify(getSecurityContext(), times(2)).hasReadPermission(isA(FactEntity.class));
+  }
+
+  @Test
+  public void testTraverseGraphByObjectSearchInParallelAppliesQueryPerPartition() throws Exception {
+    TraverseByObjectSearchRequest request = mockObjectSearch(mockFetchObject(), mockFetchObject(), mockFetchObject())
+            .setParallel(true)
+            .setQuery("g.count()");
+
+    // Three starting Objects are split up into two partitions of size two and one.
+    List<?> result = ListUtils.list(delegate.handle(request).iterator());
+    assertEquals(2, result.size());
+    assertTrue(result.containsAll(ListUtils.list("1", "2")));
+  }
+
+  @Test
+  public void testTraverseGraphByObjectSearchInParallelAbortsPartitionsOnFailure() throws Exception {
+    ObjectRecord failing = mockFetchObject();
+    ObjectRecord blocking = mockFetchObject();
+    TraverseByObjectSearchRequest request = mockObjectSearch(failing, blocking).setParallel(true);
+    // Use a timeout longer than the test in order to verify that the blocking partition isn't just timed out.
+    delegate.setScriptExecutionTimeout(60_000);
+
+    CountDownLatch interrupted = new CountDownLatch(1);
+    when(getObjectManager().fetchObjectFactBindings(failing.getId())).thenThrow(new IllegalStateException("failure"));
+    when(getObjectManager().fetchObjectFactBindings(blocking.getId())).thenAnswer(i -> {
+      try {
+        Thread.sleep(30_000);
+      } catch (InterruptedException ex) {
+        interrupted.countDown();
+        Thread.currentThread().interrupt();
+      }
+      return Collections.emptyIterator();
+    });
+
+    long start = System.currentTimeMillis();
+    try {
+      delegate.handle(request);
+      fail();
+    } catch (InvalidArgumentException ex) {
+      // The failure of the first partition is reported, not the abort of the second partition.
+      assertEquals("failure", ex.getValidationErrors().iterator().next().getMessage());
+    }
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertTrue(System.currentTimeMillis() - start < 30_000);
+  }
+
+  @Test
+  public void testTraverseGraphByObjectSearchWithoutParallel() throws Exception {
+    TraverseByObjectSearchRequest request = mockObjectSearch(mockFetchObject(), mockFetchObject(), mockFetchObject())
+            .setQuery("g.count()");
+
+    List<?> result = ListUtils.list(delegate.handle(request).iterator());
+    assertEquals(ListUtils.list("3"), result);
+  }
+
+  @Test(expected = OperationTimeoutException.class)
+  public void testTraverseGraphByObjectSearchInParallelTimeout() throws Exception {
+    TraverseByObjectSearchRequest request = mockObjectSearch(mockFetchObject(), mockFetchObject())
+            .setParallel(true)
+            .setQuery("while (true) {}");
+    delegate.handle(request);
+  }
+
+  @Test
+  public void testTraverseGraphWithStatistics() throws Exception {
+    ObjectRecord startObject = mockFullTraversal();
+    TraverseByObjectIdRequest request = new TraverseByObjectIdRequest()
+            .setId(startObject.getId())
+            .setQuery("g.outE()")
+            .setIncludeStatistics(true);
+
+    List<?> result = ListUtils.list(delegate.handle(request).iterator());
+    assertEquals(2, result.size());
+    assertTrue(result.get(0) instanceof Fact);
+    // The statistics are appended to the end of the result.
+    TraversalStatistics statistics = (TraversalStatistics) result.get(1);
+    // The starting Object and the Object on the other side of the Fact.
+    assertEquals(2, statistics.getVertexCount());
+    assertEquals(1, statistics.getFactCount());
+    assertTrue(statistics.getQueryCount() > 0);
+  }
+
+  @Test
+  public void testTraverseGraphWithoutStatistics() throws Exception {
+    ObjectRecord startObject = mockFullTraversal();
+    List<?> result = ListUtils.list(byIdHandle.execute(startObject, "g.outE()").iterator());
+    assertTrue(result.stream().noneMatch(TraversalStatistics.class::isInstance));
+  }
+
+  @Test
+  public void testTraverseGraphExceedsBudget() throws Exception {
+    delegate = createDelegate(new TraversalBudget("1", "0", "0"));
+    TraverseByObjectSearchRequest request = mockObjectSearch(mockFetchObject(), mockFetchObject())
+            .setQuery("g.count()");
+
+    try {
+      delegate.handle(request);
+      fail();
+    } catch (OperationTimeoutException ex) {
+      assertEquals("graph.traversal.budget.exceeded", ex.getMessageTemplate());
+    }
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testTraverseGraphBySessionWithoutPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.traverseFactObjects);
+    delegate.handle(new TraverseBySessionRequest());
+  }
+
+  @Test(expected = InvalidArgumentException.class)
+  public void testTraverseGraphBySessionWithUnknownSession() throws Exception {
+    delegate.handle(new TraverseBySessionRequest().setId(UUID.randomUUID()).setQuery("g.count()"));
+  }
+
+  @Test(expected = InvalidArgumentException.class)
+  public void testTraverseGraphBySessionOwnedByOtherUser() throws Exception {
+    TraversalSessionRegistry.Session session = sessionRegistry.register(GraphSnapshot.builder().build(), UUID.randomUUID());
+    when(getSecurityContext().getCurrentUserID()).thenReturn(UUID.randomUUID());
+    delegate.handle(new TraverseBySessionRequest().setId(session.getId()).setQuery("g.count()"));
+  }
+
+  @Test
+  public void testTraverseGraphBySessionScansSnapshot() throws Exception {
+    UUID currentUserID = UUID.randomUUID();
+    when(getSecurityContext().getCurrentUserID()).thenReturn(currentUserID);
+    ObjectEntity source = new ObjectEntity().setId(UUID.randomUUID());
+    ObjectEntity destination = new ObjectEntity().setId(UUID.randomUUID());
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(source.getId()).setDirection(Direction.FactIsDestination),
+                    new FactEntity.FactObjectBinding().setObjectID(destination.getId()).setDirection(Direction.FactIsSource)
+            ));
+    GraphSnapshot snapshot = GraphSnapshot.builder()
+            .addObject(source)
+            .addObject(destination)
+            .addFact(fact)
+            .build();
+    TraversalSessionRegistry.Session session = sessionRegistry.register(snapshot, currentUserID);
+
+    List<?> result = ListUtils.list(delegate.handle(new TraverseBySessionRequest()
+            .setId(session.getId())
+            .setQuery("g.count()")).iterator());
+    assertEquals(ListUtils.list("2"), result);
+    // The whole traversal is executed against the snapshot.
+    verify(getObjectManager(), never()).getObject(any(UUID.class));
+    verify(getObjectManager(), never()).fetchObjectFactBindings(any());
+    verify(getFactManager(), never()).getFact(any());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testTraverseGraphByStoredTraversalWithoutPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.traverseFactObjects);
+    delegate.handle(new TraverseByStoredTraversalRequest());
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalWithUnknownTraversal() throws Exception {
+    try {
+      delegate.handle(new TraverseByStoredTraversalRequest().setName("unknown").addObjectID(UUID.randomUUID()));
+      fail();
+    } catch (InvalidArgumentException ex) {
+      assertEquals("stored.traversal.not.exist", ex.getValidationErrors().iterator().next().getMessageTemplate());
+    }
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalWithoutObject() throws Exception {
+    delegate = createDelegate(new TraversalBudget("0", "0", "0"), createStoredTraversalRegistry("name: traversal\nquery: g.out()\n"));
+    TraverseByStoredTraversalRequest request = new TraverseByStoredTraversalRequest().setName("traversal").addObjectID(UUID.randomUUID());
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkReadPermission((ObjectRecord) isNull());
+
+    try {
+      delegate.handle(request);
+      fail();
+    } catch (AccessDeniedException ignored) {
+      verify(objectFactDao).getObject(request.getObjectID().iterator().next());
+    }
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalReturnEdges() throws Exception {
+    testTraverseGraphReturnEdges(byStoredTraversalHandle);
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalReturnVertices() throws Exception {
+    testTraverseGraphReturnVertices(byStoredTraversalHandle);
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalReturnValue() throws Exception {
+    testTraverseGraphReturnValue(byStoredTraversalHandle);
+  }
+
+  @Test(expected = InvalidArgumentException.class)
+  public void testTraverseGraphByStoredTraversalReturnError() throws Exception {
+    testTraverseGraphReturnError(byStoredTraversalHandle);
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalWithParameters() throws Exception {
+    delegate = createDelegate(new TraversalBudget("0", "0", "0"), createStoredTraversalRegistry("name: traversal\n" +
+            "parameters:\n" +
+            "  property:\n" +
+            "    type: string\n" +
+            "  maximum:\n" +
+            "    type: long\n" +
+            "    defaultValue: 10\n" +
+            "query: g.values(property).limit(maximum)\n"));
+    ObjectRecord startObject = mockFullTraversal();
+
+    List<?> result = ListUtils.list(delegate.handle(new TraverseByStoredTraversalRequest()
+            .setName("traversal")
+            .addObjectID(startObject.getId())
+            .addParameter("property", "value")).iterator());
+    assertEquals(ListUtils.list(startObject.getValue()), result);
+
+    result = ListUtils.list(delegate.handle(new TraverseByStoredTraversalRequest()
+            .setName("traversal")
+            .addObjectID(startObject.getId())
+            .addParameter("property", "value")
+            .addParameter("maximum", "0")).iterator());
+    assertEquals(0, result.size());
+  }
+
+  @Test
+  public void testTraverseGraphByStoredTraversalWithInvalidParameters() throws Exception {
+    delegate = createDelegate(new TraversalBudget("0", "0", "0"), createStoredTraversalRegistry("name: traversal\n" +
+            "parameters:\n" +
+            "  maximum:\n" +
+            "    type: long\n" +
+            "query: g.out().limit(maximum)\n"));
+
+    try {
+      delegate.handle(new TraverseByStoredTraversalRequest()
+              .setName("traversal")
+              .addObjectID(UUID.randomUUID())
+              .addParameter("maximum", "many"));
+      fail();
+    } catch (InvalidArgumentException ex) {
+      assertEquals("stored.traversal.parameter.invalid", ex.getValidationErrors().iterator().next().getMessageTemplate());
+      verifyZeroInteractions(objectFactDao);
+    }
+  }
+
   private void testTraverseGraphReturnEdges(TestMethod method) throws Exception {
     ObjectRecord startObject = mockFullTraversal();
     List<?> result = ListUtils.list(method.execute(startObject, "g.outE()").iterator());
@@ -251,6 +547,8 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     // SecurityContext should be called twice, once during graph traversal and once when creating result.
     verify(getSecurityContext()).hasReadPermission(isA(FactEntity.class));
     verify(getSecurityContext()).hasReadPermission(isA(FactRecord.class));
+    // The Fact loaded during graph traversal should be reused instead of fetching it again.
+    verify(objectFactDao, never()).getFact(any());
   }
 
   private void testTraverseGraphReturnVertices(TestMethod method) throws Exception {
@@ -258,6 +556,8 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     List<?> result = ListUtils.list(method.execute(startObject, "g.out()").iterator());
     assertEquals(1, result.size());
     assertTrue(result.get(0) instanceof Object);
+    // Objects not loaded during graph traversal should be fetched in one batch.
+    verify(objectFactDao).getObjects(argThat(ids -> ids.size() == 1));
   }
 
   private void testTraverseGraphReturnValue(TestMethod method) throws Exception {
@@ -282,6 +582,46 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     method.execute(startObject, "while (true) {}");
   }
 
+  private TraverseGraphDelegate createDelegate(TraversalBudget budget) {
+    return createDelegate(budget, createStoredTraversalRegistry(""));
+  }
+
+  private TraverseGraphDelegate createDelegate(TraversalBudget budget, StoredTraversalRegistry storedTraversalRegistry) {
+    return new TraverseGraphDelegate(
+            getSecurityContext(),
+            objectFactDao,
+            getObjectManager(),
+            getFactManager(),
+            new GraphElementCache(getObjectManager(), getFactManager()),
+            new GraphRecordConverter(objectRecordConverter, factRecordConverter),
+            sessionRegistry,
+            budget,
+            storedTraversalRegistry,
+            traversalPool,
+            objectSearch,
+            objectConverter,
+            factConverter
+    ).setScriptExecutionTimeout(2000);
+  }
+
+  private StoredTraversalRegistry createStoredTraversalRegistry(String definitions) {
+    try {
+      Files.write(folder.getRoot().toPath().resolve("traversalDefinition.yaml"), definitions.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+    StoredTraversalRegistry registry = new StoredTraversalRegistry(folder.getRoot().getAbsolutePath(), 2, 2000);
+    storedTraversalRegistries.add(registry);
+    return registry;
+  }
+
+  private TraverseByObjectSearchRequest mockObjectSearch(ObjectRecord... objects) throws Exception {
+    TraverseByObjectSearchRequest request = new TraverseByObjectSearchRequest().setQuery("g.outE()");
+    List<Object> searchResult = ListUtils.list(Arrays.asList(objects), object -> Object.builder().setId(object.getId()).build());
+    when(objectSearch.handle(request)).thenReturn(StreamingResultSet.<Object>builder().setValues(searchResult).build());
+    return request;
+  }
+
   private ObjectRecord mockFullTraversal() {
     when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(true);
     when(getSecurityContext().hasReadPermission(isA(FactRecord.class))).thenReturn(true);
@@ -308,6 +648,8 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     when(getObjectManager().getObject(objectType.getName(), entity.getValue())).thenReturn(entity);
     when(objectFactDao.getObject(entity.getId())).thenReturn(record);
     when(objectFactDao.getObject(objectType.getName(), entity.getValue())).thenReturn(record);
+    when(objectFactDao.getObjects(ListUtils.list(entity.getId()))).thenAnswer(i -> ListUtils.list(record).iterator());
+    when(objectRecordConverter.fromEntity(entity)).thenReturn(record);
     when(objectConverter.apply(record)).thenReturn(Object.builder().setId(entity.getId()).build());
 
     return record;
@@ -338,7 +680,7 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
             .setValue("factValue");
     FactRecord record = toRecord(entity);
     when(getFactManager().getFact(entity.getId())).thenReturn(entity);
-    when(objectFactDao.getFact(entity.getId())).thenReturn(record);
+    when(factRecordConverter.fromEntities(eq(ListUtils.list(entity)), any())).thenReturn(ListUtils.list(record));
     when(factConverter.apply(record)).thenReturn(Fact.builder().setId(entity.getId()).build());
 
     return entity;
@@ -0,0 +1,220 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.api.request.v1.TraverseNeighborhoodRequest;
+import no.mnemonic.act.platform.api.request.v1.TraverseShortestPathRequest;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphRecordConverter;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.converters.FactConverter;
+import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.act.platform.service.ti.helpers.GraphBreadthFirstSearch;
+import no.mnemonic.act.platform.service.ti.resolvers.SearchByNameResolver;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TraverseNativeDelegateTest extends AbstractDelegateTest {
+
+  @Mock
+  private ObjectFactDao objectFactDao;
+  @Mock
+  private GraphBreadthFirstSearch graphSearch;
+  @Mock
+  private GraphRecordConverter graphRecordConverter;
+  @Mock
+  private SearchByNameResolver byNameResolver;
+  @Mock
+  private ObjectConverter objectConverter;
+  @Mock
+  private FactConverter factConverter;
+
+  private TraverseNativeDelegate delegate;
+
+  private final ObjectRecord source = new ObjectRecord().setId(UUID.randomUUID());
+  private final ObjectRecord destination = new ObjectRecord().setId(UUID.randomUUID());
+  private final FactEntity factEntity = new FactEntity().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID());
+  private final FactRecord factRecord = new FactRecord().setId(factEntity.getId());
+
+  @Before
+  public void setup() {
+    // initMocks() will be called by base class.
+    delegate = new TraverseNativeDelegate(
+            getSecurityContext(),
+            objectFactDao,
+            graphSearch,
+            graphRecordConverter,
+            byNameResolver,
+            objectConverter,
+            factConverter
+    );
+
+    when(objectFactDao.getObject(source.getId())).thenReturn(source);
+    when(objectFactDao.getObject(destination.getId())).thenReturn(destination);
+    when(objectFactDao.getObjects(any())).thenAnswer(i -> ListUtils.list(source, destination).iterator());
+    when(graphRecordConverter.fromFacts(eq(ListUtils.list(factEntity)), any())).thenReturn(ListUtils.list(factRecord));
+    when(objectConverter.apply(any())).thenAnswer(i -> Object.builder().setId(i.<ObjectRecord>getArgument(0).getId()).build());
+    when(factConverter.apply(any())).thenAnswer(i -> Fact.builder().setId(i.<FactRecord>getArgument(0).getId()).build());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testTraverseNeighborhoodWithoutPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.traverseFactObjects);
+    delegate.handle(new TraverseNeighborhoodRequest());
+  }
+
+  @Test
+  public void testTraverseNeighborhoodWithoutObject() throws Exception {
+    TraverseNeighborhoodRequest request = new TraverseNeighborhoodRequest().setId(UUID.randomUUID());
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkReadPermission((ObjectRecord) isNull());
+
+    try {
+      delegate.handle(request);
+      fail();
+    } catch (AccessDeniedException ignored) {
+      verify(objectFactDao).getObject(request.getId());
+      verifyNoInteractions(graphSearch);
+    }
+  }
+
+  @Test(expected = InvalidArgumentException.class)
+  public void testTraverseNeighborhoodWithUnknownFactType() throws Exception {
+    when(byNameResolver.resolveFactType(any())).thenThrow(InvalidArgumentException.class);
+    delegate.handle(new TraverseNeighborhoodRequest().setId(source.getId()).addFactType("unknown"));
+  }
+
+  @Test
+  public void testTraverseNeighborhoodUsesDefaultCriteria() throws Exception {
+    mockResult(true);
+
+    delegate.handle(new TraverseNeighborhoodRequest().setId(source.getId()));
+
+    GraphBreadthFirstSearch.Criteria criteria = captureExpandCriteria();
+    assertEquals(2, criteria.getMaxDepth());
+    assertEquals(1000, criteria.getObjectLimit());
+    assertEquals(1000, criteria.getFactLimit());
+  }
+
+  @Test
+  public void testTraverseNeighborhoodUsesRequestedCriteria() throws Exception {
+    mockResult(true);
+
+    delegate.handle(new TraverseNeighborhoodRequest()
+            .setId(source.getId())
+            .setDepth(3)
+            .setObjectLimit(10)
+            .setFactLimit(0));
+
+    GraphBreadthFirstSearch.Criteria criteria = captureExpandCriteria();
+    assertEquals(3, criteria.getMaxDepth());
+    assertEquals(10, criteria.getObjectLimit());
+    assertEquals(100_000, criteria.getFactLimit());
+  }
+
+  @Test
+  public void testTraverseNeighborhoodFiltersFacts() throws Exception {
+    mockResult(true);
+    when(byNameResolver.resolveFactType(SetUtils.set("type"))).thenReturn(SetUtils.set(factEntity.getTypeID()));
+    when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(true);
+
+    delegate.handle(new TraverseNeighborhoodRequest().setId(source.getId()).addFactType("type"));
+
+    GraphBreadthFirstSearch.Criteria criteria = captureExpandCriteria();
+    assertTrue(criteria.getFactFilter().test(factEntity));
+    assertFalse(criteria.getFactFilter().test(new FactEntity().setTypeID(UUID.randomUUID())));
+    when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(false);
+    assertFalse(criteria.getFactFilter().test(factEntity));
+  }
+
+  @Test
+  public void testTraverseNeighborhoodReturnsObjectsAndFacts() throws Exception {
+    mockResult(true);
+
+    List<?> result = ListUtils.list(delegate.handle(new TraverseNeighborhoodRequest().setId(source.getId())).iterator());
+    assertEquals(3, result.size());
+    assertEquals(source.getId(), ((Object) result.get(0)).getId());
+    assertEquals(destination.getId(), ((Object) result.get(1)).getId());
+    assertEquals(factRecord.getId(), ((Fact) result.get(2)).getId());
+  }
+
+  @Test(expected = OperationTimeoutException.class)
+  public void testTraverseNeighborhoodTimeout() throws Exception {
+    when(graphSearch.expand(any(), any())).thenThrow(TimeoutException.class);
+    delegate.handle(new TraverseNeighborhoodRequest().setId(source.getId()));
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testTraverseShortestPathWithoutPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.traverseFactObjects);
+    delegate.handle(new TraverseShortestPathRequest());
+  }
+
+  @Test
+  public void testTraverseShortestPathWithoutAccessToDestination() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkReadPermission(destination);
+
+    try {
+      delegate.handle(new TraverseShortestPathRequest().setSource(source.getId()).setDestination(destination.getId()));
+      fail();
+    } catch (AccessDeniedException ignored) {
+      verify(getSecurityContext()).checkReadPermission(source);
+      verifyNoInteractions(graphSearch);
+    }
+  }
+
+  @Test
+  public void testTraverseShortestPathReturnsPath() throws Exception {
+    mockResult(false);
+
+    List<?> result = ListUtils.list(delegate.handle(new TraverseShortestPathRequest()
+            .setSource(source.getId())
+            .setDestination(destination.getId())).iterator());
+    assertEquals(3, result.size());
+    assertEquals(source.getId(), ((Object) result.get(0)).getId());
+    assertEquals(factRecord.getId(), ((Fact) result.get(1)).getId());
+    assertEquals(destination.getId(), ((Object) result.get(2)).getId());
+  }
+
+  @Test(expected = OperationTimeoutException.class)
+  public void testTraverseShortestPathTimeout() throws Exception {
+    when(graphSearch.shortestPath(any(), any(), any())).thenThrow(TimeoutException.class);
+    delegate.handle(new TraverseShortestPathRequest().setSource(source.getId()).setDestination(destination.getId()));
+  }
+
+  private void mockResult(boolean expand) throws Exception {
+    GraphBreadthFirstSearch.Result result = mock(GraphBreadthFirstSearch.Result.class);
+    when(result.getObjects()).thenReturn(ListUtils.list(source.getId(), destination.getId()));
+    when(result.getFacts()).thenReturn(ListUtils.list(factEntity));
+
+    if (expand) {
+      when(graphSearch.expand(eq(source.getId()), any())).thenReturn(result);
+    } else {
+      when(graphSearch.shortestPath(eq(source.getId()), eq(destination.getId()), any())).thenReturn(result);
+    }
+  }
+
+  private GraphBreadthFirstSearch.Criteria captureExpandCriteria() throws Exception {
+    ArgumentCaptor<GraphBreadthFirstSearch.Criteria> captor = ArgumentCaptor.forClass(GraphBreadthFirstSearch.Criteria.class);
+    verify(graphSearch).expand(eq(source.getId()), captor.capture());
+    return captor.getValue();
+  }
+}
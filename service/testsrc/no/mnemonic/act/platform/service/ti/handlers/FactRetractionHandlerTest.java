@@ -1,34 +1,41 @@
 package no.mnemonic.act.platform.service.ti.handlers;
 
-import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
-import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
-import no.mnemonic.act.platform.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.helpers.RetractionIdCache;
 import no.mnemonic.act.platform.service.ti.resolvers.FactTypeResolver;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
-import java.util.Collections;
-import java.util.UUID;
+import java.util.*;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class FactRetractionHandlerTest {
 
+  private static final UUID RETRACTION_FACT_TYPE_ID = UUID.randomUUID();
+
   @Mock
   private FactTypeResolver factTypeResolver;
   @Mock
-  private FactSearchManager factSearchManager;
+  private ObjectFactDao objectFactDao;
   @Mock
   private TiSecurityContext securityContext;
 
+  private final Map<UUID, FactRecord> facts = new HashMap<>();
+  private final Map<UUID, List<FactRecord>> metaFacts = new HashMap<>();
+  private RetractionIdCache retractionIdCache;
   private FactRetractionHandler handler;
 
   @Before
@@ -36,11 +43,18 @@ public class FactRetractionHandlerTest {
     initMocks(this);
 
     // Common mocks used by most tests.
-    when(factTypeResolver.resolveRetractionFactType()).thenReturn(new FactTypeEntity().setId(UUID.randomUUID()));
-    when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
-    when(securityContext.getAvailableOrganizationID()).thenReturn(Collections.singleton(UUID.randomUUID()));
-
-    handler = new FactRetractionHandler(factTypeResolver, factSearchManager, securityContext);
+    when(factTypeResolver.resolveRetractionFactType()).thenReturn(new FactTypeEntity().setId(RETRACTION_FACT_TYPE_ID));
+    when(objectFactDao.getFacts(any())).thenAnswer(i -> i.<Collection<UUID>>getArgument(0).stream()
+            .map(facts::get)
+            .filter(Objects::nonNull)
+            .iterator());
+    when(objectFactDao.retrieveMetaFacts(any())).thenAnswer(i -> i.<Collection<UUID>>getArgument(0).stream()
+            .flatMap(id -> metaFacts.getOrDefault(id, list()).stream())
+            .iterator());
+    when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
+
+    retractionIdCache = new RetractionIdCache();
+    handler = createHandler();
   }
 
   @Test
@@ -51,133 +65,223 @@ public class FactRetractionHandlerTest {
 
   @Test
   public void testIsRetractedWithoutRetractedHintNotRetracted() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
+    FactRecord fact = createFact();
 
     assertFalse(handler.isRetracted(fact.getId()));
 
-    verify(factSearchManager).searchFacts(inReferenceTo(fact.getId()));
-    verifyNoMoreInteractions(factSearchManager);
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId()));
+    verifyNoMoreInteractions(objectFactDao);
   }
 
   @Test
   public void testIsRetractedWithoutRetractedHintRetracted() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction = new FactDocument().setId(UUID.randomUUID());
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction));
+    FactRecord fact = createFact();
+    FactRecord retraction = mockRetraction(fact);
 
     assertTrue(handler.isRetracted(fact.getId()));
 
-    verify(factSearchManager).searchFacts(inReferenceTo(fact.getId()));
-    verify(factSearchManager).searchFacts(inReferenceTo(retraction.getId()));
-    verifyNoMoreInteractions(factSearchManager);
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction.getId()));
+    verifyNoMoreInteractions(objectFactDao);
   }
 
   @Test
   public void testIsRetractedWithRetractedHintFalse() {
     assertFalse(handler.isRetracted(UUID.randomUUID(), false));
-    verifyNoMoreInteractions(factSearchManager);
+    verifyNoMoreInteractions(objectFactDao);
   }
 
   @Test
   public void testIsRetractedWithRetractedHintTrue() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction = new FactDocument().setId(UUID.randomUUID());
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction));
+    FactRecord fact = createFact();
+    FactRecord retraction = mockRetraction(fact);
 
     assertTrue(handler.isRetracted(fact.getId(), true));
 
-    verify(factSearchManager).searchFacts(inReferenceTo(fact.getId()));
-    verify(factSearchManager).searchFacts(inReferenceTo(retraction.getId()));
-    verifyNoMoreInteractions(factSearchManager);
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction.getId()));
+    verifyNoMoreInteractions(objectFactDao);
   }
 
   @Test
-  public void testIsRetractedPopulatesSearchCriteria() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
+  public void testIsRetractedIgnoresOtherMetaFacts() {
+    FactRecord fact = createFact();
+    FactRecord metaFact = createFact().setTypeID(UUID.randomUUID()).setInReferenceToID(fact.getId());
+    metaFacts.put(fact.getId(), list(metaFact));
 
     assertFalse(handler.isRetracted(fact.getId()));
+    assertEquals(set(), retractionIdCache.get(fact.getId()));
+  }
+
+  @Test
+  public void testIsRetractedWithoutAccessToRetraction() {
+    FactRecord fact = createFact();
+    FactRecord retraction = mockRetraction(fact);
+    when(securityContext.hasReadPermission(retraction)).thenReturn(false);
 
-    verify(factSearchManager).searchFacts(argThat(criteria -> {
-      assertEquals(set(fact.getId()), criteria.getInReferenceTo());
-      assertFalse(criteria.getFactTypeID().isEmpty());
-      assertFalse(criteria.getAvailableOrganizationID().isEmpty());
-      assertNotNull(criteria.getCurrentUserID());
-      return true;
-    }));
+    assertFalse(handler.isRetracted(fact.getId()));
+    // Retractions without access don't need to be followed.
+    verify(objectFactDao, never()).retrieveMetaFacts(set(retraction.getId()));
   }
 
   @Test
   public void testIsRetractedWithRetractedRetraction() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction1 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction2 = new FactDocument().setId(UUID.randomUUID());
+    FactRecord fact = createFact();
+    FactRecord retraction1 = mockRetraction(fact);
+    mockRetraction(retraction1);
 
     // fact ---> retraction1 ---> retraction2
     // retraction2 cancels out retraction1, thus, fact in not retracted.
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction1));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction1.getId()))).thenReturn(createSearchResult(retraction2));
-
     assertFalse(handler.isRetracted(fact.getId()));
   }
 
   @Test
   public void testIsRetractedWithRetractedRetractionTwoLevels() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction1 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction2 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction3 = new FactDocument().setId(UUID.randomUUID());
+    FactRecord fact = createFact();
+    FactRecord retraction1 = mockRetraction(fact);
+    FactRecord retraction2 = mockRetraction(retraction1);
+    mockRetraction(retraction2);
 
     // fact ---> retraction1 ---> retraction2 ---> retraction3
     // retraction3 cancels out retraction2, thus, fact is retracted because retraction1 holds.
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction1));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction1.getId()))).thenReturn(createSearchResult(retraction2));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction2.getId()))).thenReturn(createSearchResult(retraction3));
-
     assertTrue(handler.isRetracted(fact.getId()));
   }
 
   @Test
   public void testIsRetractedWithRetractedRetractionComplexTree() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction1 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction2 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction3 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction4 = new FactDocument().setId(UUID.randomUUID());
+    FactRecord fact = createFact();
+    FactRecord retraction1 = createRetraction(fact);
+    FactRecord retraction3 = createRetraction(fact);
+    FactRecord retraction4 = createRetraction(fact);
+    metaFacts.put(fact.getId(), list(retraction1, retraction3, retraction4));
+    mockRetraction(retraction1);
 
     // fact -----------> retraction1 ---> retraction2
     //     |-----------> retraction3
     //     |-----------> retraction4
-    // retraction2 cancels out retraction1, thus, factDocument is retracted because of retraction3/retraction4.
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction1, retraction3, retraction4));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction1.getId()))).thenReturn(createSearchResult(retraction2));
-
+    // retraction2 cancels out retraction1, thus, fact is retracted because of retraction3/retraction4.
     assertTrue(handler.isRetracted(fact.getId()));
   }
 
   @Test
   public void testIsRetractedCachesResult() {
-    FactDocument fact = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction = new FactDocument().setId(UUID.randomUUID());
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction));
+    FactRecord fact = createFact();
+    FactRecord retraction = mockRetraction(fact);
 
     assertTrue(handler.isRetracted(fact.getId()));
 
-    verify(factSearchManager).searchFacts(inReferenceTo(fact.getId()));
-    verify(factSearchManager).searchFacts(inReferenceTo(retraction.getId()));
-    verifyNoMoreInteractions(factSearchManager);
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction.getId()));
+    verifyNoMoreInteractions(objectFactDao);
 
     assertTrue(handler.isRetracted(fact.getId()));
-    verifyNoMoreInteractions(factSearchManager);
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testIsRetractedSharesRetractionIDsBetweenRequests() {
+    FactRecord fact = createFact();
+    FactRecord retraction = mockRetraction(fact);
+
+    assertTrue(handler.isRetracted(fact.getId()));
+    assertEquals(set(retraction.getId()), retractionIdCache.get(fact.getId()));
+    assertEquals(set(), retractionIdCache.get(retraction.getId()));
+
+    // A new handler (i.e. a new request) only needs to fetch the Retraction Fact for checking access.
+    FactRetractionHandler otherHandler = createHandler();
+    assertTrue(otherHandler.isRetracted(fact.getId()));
+    verify(objectFactDao, times(1)).retrieveMetaFacts(set(fact.getId()));
+    verify(objectFactDao, times(1)).retrieveMetaFacts(set(retraction.getId()));
+    verify(objectFactDao).getFacts(set(retraction.getId()));
+  }
+
+  @Test
+  public void testIsRetractedAfterRetractionIDsInvalidated() {
+    FactRecord fact = createFact();
+
+    assertFalse(handler.isRetracted(fact.getId()));
+    assertEquals(set(), retractionIdCache.get(fact.getId()));
+
+    mockRetraction(fact);
+    retractionIdCache.invalidate(fact.getId());
+
+    assertTrue(createHandler().isRetracted(fact.getId()));
+    verify(objectFactDao, times(2)).retrieveMetaFacts(set(fact.getId()));
+  }
+
+  @Test
+  public void testResolveRetractionsWithNullInput() {
+    handler.resolveRetractions(null);
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsFollowsAllFacts() {
+    FactRecord fact1 = createFact();
+    FactRecord fact2 = createFact();
+    FactRecord fact3 = createFact();
+    FactRecord retraction1 = mockRetraction(fact1);
+    FactRecord retraction2 = mockRetraction(fact2);
+    FactRecord retraction3 = mockRetraction(retraction2);
+
+    // fact1 ---> retraction1
+    // fact2 ---> retraction2 ---> retraction3
+    // fact3 (never retracted)
+    handler.resolveRetractions(MapUtils.map(T(fact1.getId(), true), T(fact2.getId(), null), T(fact3.getId(), false)));
+    // One batched lookup per level of the retraction tree.
+    verify(objectFactDao).retrieveMetaFacts(set(fact1.getId(), fact2.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction1.getId(), retraction2.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction3.getId()));
+    verifyNoMoreInteractions(objectFactDao);
+
+    // Results are served from the cache.
+    assertTrue(handler.isRetracted(fact1.getId()));
+    assertFalse(handler.isRetracted(fact2.getId()));
+    assertFalse(handler.isRetracted(fact3.getId()));
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsBatchesCachedAndUncachedRetractionIDs() {
+    FactRecord fact1 = createFact();
+    FactRecord fact2 = createFact();
+    FactRecord retraction1 = mockRetraction(fact1);
+    FactRecord retraction2 = mockRetraction(fact2);
+    // Populate the RetractionIdCache for fact1 and retraction1 only.
+    assertTrue(handler.isRetracted(fact1.getId()));
+    clearInvocations(objectFactDao);
+
+    // fact1 ---> retraction1 (known from the cache)
+    // fact2 ---> retraction2 (not known from the cache)
+    FactRetractionHandler otherHandler = createHandler();
+    otherHandler.resolveRetractions(MapUtils.map(T(fact1.getId(), true), T(fact2.getId(), true)));
+    verify(objectFactDao).getFacts(set(retraction1.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(fact2.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction2.getId()));
+    verifyNoMoreInteractions(objectFactDao);
+
+    assertTrue(otherHandler.isRetracted(fact1.getId()));
+    assertTrue(otherHandler.isRetracted(fact2.getId()));
+  }
+
+  private FactRetractionHandler createHandler() {
+    return new FactRetractionHandler(factTypeResolver, objectFactDao, retractionIdCache, securityContext);
+  }
+
+  private FactRecord createFact() {
+    return new FactRecord().setId(UUID.randomUUID());
   }
 
-  private ScrollingSearchResult<FactDocument> createSearchResult(FactDocument... fact) {
-    return ScrollingSearchResult.<FactDocument>builder()
-            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", list(fact).iterator(), true))
-            .setCount(list(fact).size())
-            .build();
+  private FactRecord createRetraction(FactRecord inReferenceTo) {
+    return createFact()
+            .setTypeID(RETRACTION_FACT_TYPE_ID)
+            .setInReferenceToID(inReferenceTo.getId());
   }
 
-  private FactSearchCriteria inReferenceTo(UUID id) {
-    return argThat(criteria -> criteria != null && criteria.getInReferenceTo() != null && criteria.getInReferenceTo().contains(id));
+  private FactRecord mockRetraction(FactRecord inReferenceTo) {
+    FactRecord retraction = createRetraction(inReferenceTo);
+    facts.put(retraction.getId(), retraction);
+    metaFacts.put(inReferenceTo.getId(), list(retraction));
+    return retraction;
   }
 }
@@ -9,17 +9,23 @@ import no.mnemonic.act.platform.dao.api.result.ResultContainer;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.FactConverter;
+import no.mnemonic.act.platform.service.ti.helpers.FactConversionPool;
+import no.mnemonic.act.platform.service.ti.helpers.ParallelBatchIterator;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.services.common.api.ResultSet;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
@@ -35,6 +41,8 @@ public class FactSearchHandlerTest {
   private TiSecurityContext securityContext;
   @Mock
   private FactConverter factConverter;
+  @Mock
+  private FactConversionPool conversionPool;
 
   private FactSearchHandler handler;
 
@@ -43,7 +51,7 @@ public class FactSearchHandlerTest {
     initMocks(this);
     when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
 
-    handler = new FactSearchHandler(retractionHandler, objectFactDao, securityContext, factConverter);
+    handler = new FactSearchHandler(retractionHandler, objectFactDao, securityContext, factConverter, conversionPool);
   }
 
   @Test
@@ -185,16 +193,105 @@ public class FactSearchHandlerTest {
     verify(retractionHandler).isRetracted(fact.getId(), true);
   }
 
-  private void mockSearch(int count) {
+  @Test
+  public void testSearchFactsResolvesRetractionsInBatches() {
+    mockSearch(1500);
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(0));
+    ResultSet<Fact> result = handler.search(criteria, null);
+
+    assertEquals(1500, ListUtils.list(result.iterator()).size());
+    verify(retractionHandler, times(2)).resolveRetractions(notNull());
+  }
+
+  @Test
+  public void testSearchFactsResolvesRetractionsWithHint() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).addFlag(FactRecord.Flag.RetractedHint);
+
+    mockSearch(fact);
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b);
+    assertEquals(1, ListUtils.list(handler.search(criteria, true).iterator()).size());
+
+    verify(retractionHandler).resolveRetractions(MapUtils.map(T(fact.getId(), true)));
+  }
+
+  @Test
+  public void testSearchFactsWithParallelConversion() {
+    FactConversionPool pool = new FactConversionPool("2");
+    handler = new FactSearchHandler(retractionHandler, objectFactDao, securityContext, factConverter, pool);
+
+    List<FactRecord> records = mockSearch(2500);
+    when(factConverter.apply(notNull())).then(i -> Fact.builder().setId(i.<FactRecord>getArgument(0).getId()).build());
+
+    try {
+      FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(0));
+      List<Fact> result = ListUtils.list(handler.search(criteria, null).iterator());
+
+      // The order of the search result must be preserved.
+      assertEquals(ListUtils.list(records, FactRecord::getId), ListUtils.list(result, Fact::getId));
+      verify(retractionHandler, times(3)).resolveRetractions(notNull());
+    } finally {
+      pool.stopComponent();
+    }
+  }
+
+  @Test
+  public void testSearchFactsWithParallelConversionClosedWhenConsumerStops() throws Exception {
+    ParallelBatchIterator<FactRecord, Fact> facts = mockParallelConversion();
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(0));
+    Iterator<Fact> result = handler.search(criteria, null).iterator();
+    result.next();
+    verify(facts, never()).close();
+
+    // Closing the result, e.g. when the client disconnects, must cancel the pending batches.
+    ((AutoCloseable) result).close();
+    verify(facts).close();
+  }
+
+  @Test
+  public void testSearchFactsWithParallelConversionClosedWhenLimitReached() {
+    ParallelBatchIterator<FactRecord, Fact> facts = mockParallelConversion();
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(1500));
+    assertEquals(1500, ListUtils.list(handler.search(criteria, null).iterator()).size());
+    verify(facts).close();
+  }
+
+  @Test
+  public void testSearchFactsWithParallelConversionSkippedForSingleBatch() {
+    when(conversionPool.isEnabled()).thenReturn(true);
+    mockSearch(1);
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(25));
+    assertEquals(1, ListUtils.list(handler.search(criteria, null).iterator()).size());
+    verify(conversionPool, never()).convert(any(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private ParallelBatchIterator<FactRecord, Fact> mockParallelConversion() {
+    // Simulate a search result which would never run out of Facts.
+    ParallelBatchIterator<FactRecord, Fact> facts = mock(ParallelBatchIterator.class);
+    when(facts.hasNext()).thenReturn(true);
+    when(facts.next()).thenReturn(Fact.builder().build());
+    when(conversionPool.isEnabled()).thenReturn(true);
+    when(conversionPool.<FactRecord, Fact>convert(any(), any())).thenReturn(facts);
+    mockSearch(1);
+    return facts;
+  }
+
+  private List<FactRecord> mockSearch(int count) {
     List<FactRecord> records = new ArrayList<>();
     for (int i = 0; i < count; i++) {
-      records.add(new FactRecord());
+      records.add(new FactRecord().setId(UUID.randomUUID()));
     }
 
     when(objectFactDao.searchFacts(notNull())).thenReturn(ResultContainer.<FactRecord>builder()
             .setCount(count)
             .setValues(records.iterator())
             .build());
+    return records;
   }
 
   private void mockSearch(FactRecord fact) {
@@ -0,0 +1,141 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BlockingResultQueueTest {
+
+  @Test
+  public void testIterateValuesAfterFinish() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    queue.put("a");
+    queue.put("b");
+    queue.finish(null);
+
+    assertEquals(ListUtils.list("a", "b"), ListUtils.list(queue));
+  }
+
+  @Test
+  public void testIterateValuesWhileProducing() throws Exception {
+    BlockingResultQueue<Integer> queue = new BlockingResultQueue<>(1);
+    Thread producer = new Thread(() -> {
+      try {
+        for (int i = 0; i < 5; i++) {
+          queue.put(i);
+        }
+        queue.finish(null);
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    producer.start();
+
+    assertEquals(ListUtils.list(0, 1, 2, 3, 4), ListUtils.list(queue));
+    producer.join();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIterateRethrowsFailure() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    queue.put("a");
+    queue.finish(new RuntimeException("failure"));
+
+    assertEquals("a", queue.next());
+    queue.hasNext();
+  }
+
+  @Test
+  public void testAwaitAvailableReturnsOnFirstValue() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    queue.put("a");
+    queue.awaitAvailable();
+    assertTrue(queue.hasNext());
+  }
+
+  @Test
+  public void testAwaitAvailableReturnsOnFinish() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    queue.finish(null);
+    queue.awaitAvailable();
+    assertFalse(queue.hasNext());
+  }
+
+  @Test(expected = CancellationException.class)
+  public void testPutAfterCloseThrowsException() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    queue.close();
+    queue.put("a");
+  }
+
+  @Test
+  public void testCloseUnblocksProducerOnFullQueue() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(1);
+    CountDownLatch aborted = new CountDownLatch(1);
+    Thread producer = new Thread(() -> {
+      try {
+        queue.put("a");
+        queue.put("b");
+      } catch (CancellationException | InterruptedException ignored) {
+        aborted.countDown();
+      }
+    });
+    producer.start();
+
+    queue.close();
+    assertTrue(aborted.await(5, TimeUnit.SECONDS));
+    assertFalse(queue.hasNext());
+  }
+
+  @Test
+  public void testCloseInterruptsRegisteredProducer() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    CountDownLatch registered = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Thread producer = new Thread(() -> {
+      queue.registerProducer();
+      registered.countDown();
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException ignored) {
+        interrupted.countDown();
+      } finally {
+        queue.unregisterProducer();
+      }
+    });
+    producer.start();
+
+    assertTrue(registered.await(5, TimeUnit.SECONDS));
+    queue.close();
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testCloseInterruptsAllRegisteredProducers() throws Exception {
+    BlockingResultQueue<String> queue = new BlockingResultQueue<>(10);
+    CountDownLatch registered = new CountDownLatch(2);
+    CountDownLatch interrupted = new CountDownLatch(2);
+    for (int i = 0; i < 2; i++) {
+      new Thread(() -> {
+        queue.registerProducer();
+        registered.countDown();
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException ignored) {
+          interrupted.countDown();
+        } finally {
+          queue.unregisterProducer();
+        }
+      }).start();
+    }
+
+    assertTrue(registered.await(5, TimeUnit.SECONDS));
+    queue.close();
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+}
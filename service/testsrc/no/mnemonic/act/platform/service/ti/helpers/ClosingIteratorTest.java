@@ -0,0 +1,57 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ClosingIteratorTest {
+
+  private final AtomicInteger closed = new AtomicInteger();
+
+  @Test(expected = RuntimeException.class)
+  public void testInitializeWithoutStream() {
+    new ClosingIterator<>(null);
+  }
+
+  @Test
+  public void testIteratorReturnsAllElements() {
+    ClosingIterator<Integer> iterator = new ClosingIterator<>(Stream.of(1, 2, 3).onClose(closed::incrementAndGet));
+    assertEquals(ListUtils.list(1, 2, 3), ListUtils.list(iterator));
+  }
+
+  @Test
+  public void testIteratorClosesStreamWhenExhausted() {
+    ClosingIterator<Integer> iterator = new ClosingIterator<>(Stream.of(1, 2, 3).onClose(closed::incrementAndGet));
+    iterator.next();
+    iterator.next();
+    iterator.next();
+    assertEquals(0, closed.get());
+
+    assertFalse(iterator.hasNext());
+    assertFalse(iterator.hasNext());
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  public void testCloseStopsIteration() {
+    ClosingIterator<Integer> iterator = new ClosingIterator<>(Stream.iterate(0, i -> i + 1).onClose(closed::incrementAndGet));
+    assertEquals(Integer.valueOf(0), iterator.next());
+
+    iterator.close();
+    iterator.close();
+    assertEquals(1, closed.get());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testNextAfterClose() {
+    ClosingIterator<Integer> iterator = new ClosingIterator<>(Stream.of(1, 2, 3));
+    iterator.close();
+    iterator.next();
+  }
+}
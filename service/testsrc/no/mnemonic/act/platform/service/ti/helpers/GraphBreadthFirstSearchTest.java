@@ -0,0 +1,201 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphElementCache;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GraphBreadthFirstSearchTest {
+
+  private static final UUID OBJECT_A = UUID.randomUUID();
+  private static final UUID OBJECT_B = UUID.randomUUID();
+  private static final UUID OBJECT_C = UUID.randomUUID();
+  private static final UUID OBJECT_D = UUID.randomUUID();
+  private static final UUID TYPE_X = UUID.randomUUID();
+  private static final UUID TYPE_Y = UUID.randomUUID();
+
+  @Mock
+  private GraphElementCache graphElementCache;
+
+  private final Map<UUID, List<ObjectFactBindingEntity>> bindings = new HashMap<>();
+  private GraphBreadthFirstSearch search;
+  private FactEntity factAB;
+  private FactEntity factBC;
+  private FactEntity factAD;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    search = new GraphBreadthFirstSearch(graphElementCache, "4");
+
+    // Graph: C -(Y)- B -(X)- A -(X)- D
+    factAB = mockFact(TYPE_X, OBJECT_A, OBJECT_B);
+    factBC = mockFact(TYPE_Y, OBJECT_B, OBJECT_C);
+    factAD = mockFact(TYPE_X, OBJECT_A, OBJECT_D);
+    when(graphElementCache.fetchObjectFactBindings(any())).thenAnswer(i -> bindings.getOrDefault(i.getArgument(0), Collections.emptyList()));
+  }
+
+  @After
+  public void tearDown() {
+    search.stopComponent();
+  }
+
+  @Test
+  public void testExpandSingleHop() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_A, criteria(1, 100, 100, fact -> true));
+    assertEquals(ListUtils.list(OBJECT_A, OBJECT_B, OBJECT_D), result.getObjects());
+    assertEquals(ListUtils.list(factAB, factAD), result.getFacts());
+    assertFalse(result.isTruncated());
+  }
+
+  @Test
+  public void testExpandMultipleHops() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_A, criteria(2, 100, 100, fact -> true));
+    assertEquals(ListUtils.list(OBJECT_A, OBJECT_B, OBJECT_D, OBJECT_C), result.getObjects());
+    assertEquals(ListUtils.list(factAB, factAD, factBC), result.getFacts());
+    // Facts are only fetched once although they are bound to multiple visited Objects.
+    verify(graphElementCache).getFact(factAB.getId());
+  }
+
+  @Test
+  public void testExpandFromMultipleObjects() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.expandAll(ListUtils.list(OBJECT_C, OBJECT_D), criteria(1, 100, 100, fact -> true));
+    assertEquals(ListUtils.list(OBJECT_C, OBJECT_D, OBJECT_B, OBJECT_A), result.getObjects());
+    assertEquals(ListUtils.list(factBC, factAD), result.getFacts());
+  }
+
+  @Test
+  public void testExpandOnlyFollowsAcceptedFacts() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_A, criteria(2, 100, 100, fact -> TYPE_X.equals(fact.getTypeID())));
+    assertEquals(ListUtils.list(OBJECT_A, OBJECT_B, OBJECT_D), result.getObjects());
+    assertEquals(ListUtils.list(factAB, factAD), result.getFacts());
+  }
+
+  @Test
+  public void testExpandStopsAtObjectLimit() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_A, criteria(2, 2, 100, fact -> true));
+    assertEquals(ListUtils.list(OBJECT_A, OBJECT_B), result.getObjects());
+    assertTrue(result.isTruncated());
+  }
+
+  @Test
+  public void testExpandStopsAtFactLimit() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_A, criteria(2, 100, 1, fact -> true));
+    assertEquals(ListUtils.list(factAB), result.getFacts());
+    assertTrue(result.isTruncated());
+  }
+
+  @Test
+  public void testExpandStopsFetchingFactsOfSupernodeAtLimit() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      mockFact(TYPE_Y, OBJECT_C, UUID.randomUUID());
+    }
+
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_C, criteria(1, 100, 10, fact -> true));
+    assertEquals(10, result.getFacts().size());
+    assertTrue(result.isTruncated());
+    // Only fetch one more Fact than fits into the result instead of all Facts bound to C.
+    verify(graphElementCache, times(11)).getFact(any());
+  }
+
+  @Test
+  public void testExpandStopsFetchingFactsOfSupernodeAtObjectLimit() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      mockFact(TYPE_Y, OBJECT_C, UUID.randomUUID());
+    }
+
+    GraphBreadthFirstSearch.Result result = search.expand(OBJECT_C, criteria(1, 5, 100, fact -> true));
+    assertEquals(5, result.getObjects().size());
+    assertTrue(result.isTruncated());
+    verify(graphElementCache, times(5)).getFact(any());
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void testExpandTimesOut() throws Exception {
+    when(graphElementCache.getFact(factAB.getId())).thenAnswer(i -> {
+      Thread.sleep(10_000);
+      return factAB;
+    });
+    search.expand(OBJECT_A, GraphBreadthFirstSearch.Criteria.builder()
+            .setFactFilter(fact -> true)
+            .setMaxDepth(1)
+            .setObjectLimit(100)
+            .setFactLimit(100)
+            .setTimeout(100)
+            .build());
+  }
+
+  @Test
+  public void testShortestPath() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.shortestPath(OBJECT_D, OBJECT_C, criteria(3, 100, 100, fact -> true));
+    assertEquals(ListUtils.list(OBJECT_D, OBJECT_A, OBJECT_B, OBJECT_C), result.getObjects());
+    assertEquals(ListUtils.list(factAD, factAB, factBC), result.getFacts());
+  }
+
+  @Test
+  public void testShortestPathToItself() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.shortestPath(OBJECT_A, OBJECT_A, criteria(3, 100, 100, fact -> true));
+    assertEquals(ListUtils.list(OBJECT_A), result.getObjects());
+    assertTrue(result.getFacts().isEmpty());
+    verifyNoInteractions(graphElementCache);
+  }
+
+  @Test
+  public void testShortestPathNotFoundWithinDepth() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.shortestPath(OBJECT_D, OBJECT_C, criteria(2, 100, 100, fact -> true));
+    assertTrue(result.getObjects().isEmpty());
+    assertTrue(result.getFacts().isEmpty());
+  }
+
+  @Test
+  public void testShortestPathNotFoundWithFilter() throws Exception {
+    GraphBreadthFirstSearch.Result result = search.shortestPath(OBJECT_D, OBJECT_C, criteria(3, 100, 100, fact -> TYPE_X.equals(fact.getTypeID())));
+    assertTrue(result.getObjects().isEmpty());
+    assertTrue(result.getFacts().isEmpty());
+  }
+
+  private GraphBreadthFirstSearch.Criteria criteria(int maxDepth, int objectLimit, int factLimit, Predicate<FactEntity> filter) {
+    return GraphBreadthFirstSearch.Criteria.builder()
+            .setFactFilter(filter)
+            .setMaxDepth(maxDepth)
+            .setObjectLimit(objectLimit)
+            .setFactLimit(factLimit)
+            .setTimeout(10_000)
+            .build();
+  }
+
+  private FactEntity mockFact(UUID typeID, UUID source, UUID destination) {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(typeID)
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(source).setDirection(Direction.FactIsDestination),
+                    new FactEntity.FactObjectBinding().setObjectID(destination).setDirection(Direction.FactIsSource)
+            ));
+    when(graphElementCache.getFact(fact.getId())).thenReturn(fact);
+    addBinding(source, fact.getId(), Direction.FactIsDestination);
+    addBinding(destination, fact.getId(), Direction.FactIsSource);
+    return fact;
+  }
+
+  private void addBinding(UUID objectID, UUID factID, Direction direction) {
+    bindings.computeIfAbsent(objectID, id -> new ArrayList<>()).add(new ObjectFactBindingEntity()
+            .setObjectID(objectID)
+            .setFactID(factID)
+            .setDirection(direction));
+  }
+}
@@ -0,0 +1,184 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.service.TestSecurityContext;
+import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.act.platform.service.scopes.ServiceRequestScopeImpl;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ParallelBatchIteratorTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testInitializeWithoutProcessor() {
+    new ParallelBatchIterator<>(createBatches(1, 1), null, executor, 1);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testInitializeWithoutExecutor() {
+    new ParallelBatchIterator<>(createBatches(1, 1), batch -> batch, null, 1);
+  }
+
+  @Test
+  public void testInitializeWithoutInput() {
+    assertFalse(new ParallelBatchIterator<>(null, batch -> batch, executor, 1).hasNext());
+  }
+
+  @Test
+  public void testIteratorPreservesOrder() {
+    // Delay the first batches, thus, the later batches complete first.
+    Function<List<Integer>, List<Integer>> processor = batch -> {
+      sleep(batch.get(0) < 20 ? 50 : 0);
+      return batch;
+    };
+
+    Iterator<Integer> iterator = new ParallelBatchIterator<>(createBatches(10, 10), processor, executor, 4);
+    assertEquals(createList(100), ListUtils.list(iterator));
+  }
+
+  @Test
+  public void testIteratorSkipsEmptyBatches() {
+    Function<List<Integer>, List<Integer>> processor = batch -> batch.get(0) % 20 == 0 ? Collections.emptyList() : batch;
+
+    Iterator<Integer> iterator = new ParallelBatchIterator<>(createBatches(10, 10), processor, executor, 4);
+    assertEquals(50, ListUtils.list(iterator).size());
+  }
+
+  @Test
+  public void testIteratorLimitsPendingBatches() {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger started = new AtomicInteger();
+    Function<List<Integer>, List<Integer>> processor = batch -> {
+      started.incrementAndGet();
+      await(release);
+      return batch;
+    };
+
+    Iterator<Integer> iterator = new ParallelBatchIterator<>(createBatches(10, 10), processor, executor, 2);
+    ExecutorService consumer = Executors.newSingleThreadExecutor();
+    try {
+      consumer.submit(iterator::hasNext);
+      sleep(100);
+      assertEquals(2, started.get());
+    } finally {
+      release.countDown();
+      consumer.shutdownNow();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIteratorPropagatesException() {
+    Function<List<Integer>, List<Integer>> processor = batch -> {
+      throw new IllegalArgumentException();
+    };
+
+    new ParallelBatchIterator<>(createBatches(10, 10), processor, executor, 2).hasNext();
+  }
+
+  @Test
+  public void testCloseCancelsPendingBatches() {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch interrupted = new CountDownLatch(2);
+    Function<List<Integer>, List<Integer>> processor = batch -> {
+      if (batch.get(0) == 0) return batch;
+      started.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        interrupted.countDown();
+      }
+      return batch;
+    };
+
+    ParallelBatchIterator<Integer, Integer> iterator = new ParallelBatchIterator<>(createBatches(10, 10), processor, executor, 3);
+    try {
+      assertEquals(Integer.valueOf(0), iterator.next());
+      await(started);
+      iterator.close();
+
+      // The batches still being processed must have been cancelled and no more output is returned.
+      await(interrupted);
+      assertEquals(0, interrupted.getCount());
+      assertFalse(iterator.hasNext());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testIteratorPropagatesSecurityContextAndScope() throws Exception {
+    SecurityContext context = new TestSecurityContext();
+    ServiceRequestScopeImpl scope = new ServiceRequestScopeImpl();
+    Function<List<Integer>, List<Boolean>> processor = batch -> ListUtils.list(SecurityContext.get() == context && scope.isInsideScope());
+
+    Iterator<Boolean> iterator;
+    try (SecurityContext ignored = SecurityContext.set(context)) {
+      scope.enter();
+      iterator = new ParallelBatchIterator<>(createBatches(10, 10), processor, executor, 4);
+    } finally {
+      scope.exit();
+    }
+
+    // The result is consumed after the SecurityContext and scope have been removed, e.g. when serializing the response.
+    List<Boolean> result = ListUtils.list(iterator);
+    assertEquals(10, result.size());
+    assertTrue(result.stream().allMatch(Boolean::booleanValue));
+  }
+
+  private Iterator<List<Integer>> createBatches(int batches, int batchSize) {
+    List<List<Integer>> result = new ArrayList<>();
+    for (int i = 0; i < batches; i++) {
+      List<Integer> batch = new ArrayList<>();
+      for (int j = 0; j < batchSize; j++) {
+        batch.add(i * batchSize + j);
+      }
+      result.add(batch);
+    }
+    return result.iterator();
+  }
+
+  private List<Integer> createList(int size) {
+    List<Integer> result = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      result.add(i);
+    }
+    return result;
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
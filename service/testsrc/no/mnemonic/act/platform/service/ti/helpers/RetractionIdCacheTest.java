@@ -0,0 +1,61 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+
+public class RetractionIdCacheTest {
+
+  private final RetractionIdCache cache = new RetractionIdCache();
+
+  @Test
+  public void testGetWithNullInput() {
+    assertNull(cache.get(null));
+  }
+
+  @Test
+  public void testPutAndGet() {
+    UUID factID = UUID.randomUUID();
+    UUID retractionID = UUID.randomUUID();
+
+    assertNull(cache.get(factID));
+    cache.put(factID, set(retractionID), cache.getGeneration());
+    assertEquals(set(retractionID), cache.get(factID));
+  }
+
+  @Test
+  public void testPutWithoutRetractions() {
+    UUID factID = UUID.randomUUID();
+    cache.put(factID, null, cache.getGeneration());
+    assertEquals(set(), cache.get(factID));
+  }
+
+  @Test
+  public void testInvalidate() {
+    UUID factID = UUID.randomUUID();
+    cache.put(factID, set(), cache.getGeneration());
+    cache.invalidate(factID);
+    assertNull(cache.get(factID));
+  }
+
+  @Test
+  public void testPutDiscardsEntryComputedBeforeInvalidation() {
+    UUID factID = UUID.randomUUID();
+    long generation = cache.getGeneration();
+    cache.invalidate(factID);
+
+    cache.put(factID, set(), generation);
+    assertNull(cache.get(factID));
+  }
+
+  @Test
+  public void testEntriesExpire() {
+    RetractionIdCache expiringCache = new RetractionIdCache(0, 10);
+    UUID factID = UUID.randomUUID();
+    expiringCache.put(factID, set(), expiringCache.getGeneration());
+    assertNull(expiringCache.get(factID));
+  }
+}
@@ -0,0 +1,177 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static org.junit.Assert.*;
+
+public class StoredTraversalRegistryTest {
+
+  private static final String DEFINITIONS = "---\n" +
+          "name: outgoing\n" +
+          "description: Follow outgoing Facts of a type\n" +
+          "parameters:\n" +
+          "  factType:\n" +
+          "    type: string\n" +
+          "  limit:\n" +
+          "    type: long\n" +
+          "    defaultValue: 10\n" +
+          "query: g.outE().has('factType', factType).limit(limit)\n" +
+          "\n" +
+          "---\n" +
+          "name: neighbours\n" +
+          "query: g.both()\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<StoredTraversalRegistry> registries = new ArrayList<>();
+
+  @After
+  public void stopRegistries() {
+    registries.forEach(StoredTraversalRegistry::stopComponent);
+  }
+
+  @Test
+  public void testRegistryWithoutDefinitionFile() {
+    StoredTraversalRegistry registry = createRegistry();
+    assertNull(registry.get("outgoing"));
+    assertNotNull(registry.getExecutor());
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void testStopComponentShutsDownExecutor() throws IOException {
+    StoredTraversalRegistry registry = createRegistry(DEFINITIONS);
+    registry.stopComponent();
+    registry.getExecutor().eval("g.both()");
+  }
+
+  @Test
+  public void testLoadDefinitions() throws IOException {
+    StoredTraversalRegistry registry = createRegistry(DEFINITIONS);
+
+    StoredTraversalRegistry.StoredTraversal outgoing = registry.get("outgoing");
+    assertNotNull(outgoing);
+    assertEquals("Follow outgoing Facts of a type", outgoing.getDescription());
+    assertEquals("g.outE().has('factType', factType).limit(limit)", outgoing.getQuery());
+    assertEquals(2, outgoing.getParameters().size());
+    assertEquals(StoredTraversalRegistry.ParameterType.STRING, outgoing.getParameters().get("factType").getType());
+    assertNull(outgoing.getParameters().get("factType").getDefaultValue());
+    assertEquals(StoredTraversalRegistry.ParameterType.LONG, outgoing.getParameters().get("limit").getType());
+    assertEquals(10L, outgoing.getParameters().get("limit").getDefaultValue());
+
+    StoredTraversalRegistry.StoredTraversal neighbours = registry.get("neighbours");
+    assertNotNull(neighbours);
+    assertTrue(neighbours.getParameters().isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDefinitionWithInvalidQuery() throws IOException {
+    createRegistry("name: invalid\nquery: g.out(\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDefinitionViolatingSandbox() throws IOException {
+    createRegistry("name: invalid\nquery: System.exit(0)\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDefinitionUsingParameterWithWrongType() throws IOException {
+    // limit() requires a number, thus, a string parameter is rejected during static compilation.
+    createRegistry("name: invalid\nparameters:\n  value:\n    type: string\nquery: g.limit(value)\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDefinitionWithoutParameterType() throws IOException {
+    createRegistry("name: invalid\nparameters:\n  value:\n    defaultValue: x\nquery: g.has('value', value)\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDefinitionWithInvalidDefaultValue() throws IOException {
+    createRegistry("name: invalid\nparameters:\n  value:\n    type: uuid\n    defaultValue: x\nquery: g.hasId(value)\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDefinitionWithReservedParameterName() throws IOException {
+    createRegistry("name: invalid\nparameters:\n  g:\n    type: string\nquery: g.out()\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoadDuplicatedDefinitions() throws IOException {
+    createRegistry("---\nname: duplicate\nquery: g.out()\n---\nname: duplicate\nquery: g.in()\n");
+  }
+
+  @Test
+  public void testBindParameters() throws Exception {
+    StoredTraversalRegistry.StoredTraversal outgoing = createRegistry(DEFINITIONS).get("outgoing");
+    assertEquals(MapUtils.map(T("factType", "seenIn"), T("limit", 10L)), outgoing.bindParameters(MapUtils.map(T("factType", "seenIn"))));
+    assertEquals(MapUtils.map(T("factType", "seenIn"), T("limit", 5L)), outgoing.bindParameters(MapUtils.map(T("factType", "seenIn"), T("limit", "5"))));
+  }
+
+  @Test
+  public void testBindParametersConvertsTypes() throws Exception {
+    String definition = "name: types\n" +
+            "parameters:\n" +
+            "  id:\n" +
+            "    type: uuid\n" +
+            "  flag:\n" +
+            "    type: boolean\n" +
+            "query: g.hasId(id).has('flag', flag)\n";
+    UUID id = UUID.randomUUID();
+    Map<String, Object> parameters = createRegistry(definition).get("types")
+            .bindParameters(MapUtils.map(T("id", id.toString()), T("flag", "TRUE")));
+    assertEquals(MapUtils.map(T("id", id), T("flag", true)), parameters);
+  }
+
+  @Test
+  public void testBindParametersWithMissingValue() throws IOException {
+    assertValidationError(createRegistry(DEFINITIONS).get("outgoing"), MapUtils.map(), "stored.traversal.parameter.missing");
+  }
+
+  @Test
+  public void testBindParametersWithInvalidValue() throws IOException {
+    assertValidationError(createRegistry(DEFINITIONS).get("outgoing"), MapUtils.map(T("factType", "seenIn"), T("limit", "many")),
+            "stored.traversal.parameter.invalid");
+  }
+
+  @Test
+  public void testBindParametersWithUnknownParameter() throws IOException {
+    assertValidationError(createRegistry(DEFINITIONS).get("neighbours"), MapUtils.map(T("unknown", "value")),
+            "stored.traversal.parameter.unknown");
+  }
+
+  private StoredTraversalRegistry createRegistry(String definitions) throws IOException {
+    Files.write(folder.getRoot().toPath().resolve(StoredTraversalRegistry.DEFINITION_FILE), definitions.getBytes(StandardCharsets.UTF_8));
+    return createRegistry();
+  }
+
+  private StoredTraversalRegistry createRegistry() {
+    StoredTraversalRegistry registry = new StoredTraversalRegistry(folder.getRoot().getAbsolutePath(), "2");
+    registries.add(registry);
+    return registry;
+  }
+
+  private void assertValidationError(StoredTraversalRegistry.StoredTraversal traversal, Map<String, String> values, String messageTemplate) {
+    try {
+      traversal.bindParameters(values);
+      fail();
+    } catch (InvalidArgumentException ex) {
+      assertEquals(1, ex.getValidationErrors().size());
+      assertEquals(messageTemplate, ex.getValidationErrors().iterator().next().getMessageTemplate());
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.TraversalBudgetExceededException;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.TraversalMetrics;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class TraversalBudgetTest {
+
+  @Test
+  public void testCreateMetricsReturnsNewInstance() {
+    TraversalBudget budget = new TraversalBudget("0", "0", "0");
+    assertNotSame(budget.createMetrics(), budget.createMetrics());
+  }
+
+  @Test
+  public void testCreateMetricsWithoutBudget() {
+    TraversalMetrics metrics = new TraversalBudget("0", "0", "0").createMetrics();
+    for (int i = 0; i < 100; i++) {
+      metrics.recordVertex();
+      metrics.recordFact();
+      metrics.recordQuery(0);
+    }
+    assertEquals(100, metrics.getVertexCount());
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testCreateMetricsEnforcesVertexBudget() {
+    TraversalMetrics metrics = new TraversalBudget("1", "0", "0").createMetrics();
+    metrics.recordVertex();
+    metrics.recordVertex();
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testCreateMetricsEnforcesFactBudget() {
+    TraversalMetrics metrics = new TraversalBudget("0", "1", "0").createMetrics();
+    metrics.recordFact();
+    metrics.recordFact();
+  }
+
+  @Test(expected = TraversalBudgetExceededException.class)
+  public void testCreateMetricsEnforcesQueryBudget() {
+    TraversalMetrics metrics = new TraversalBudget("0", "0", "1").createMetrics();
+    metrics.recordQuery(0);
+    metrics.recordQuery(0);
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testCreateBudgetWithInvalidConfiguration() {
+    new TraversalBudget("abc", "0", "0");
+  }
+}
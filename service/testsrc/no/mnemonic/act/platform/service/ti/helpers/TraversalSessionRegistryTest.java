@@ -0,0 +1,52 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.GraphSnapshot;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class TraversalSessionRegistryTest {
+
+  private final TraversalSessionRegistry registry = new TraversalSessionRegistry();
+
+  @Test
+  public void testRegisterAndGetSession() {
+    UUID ownerID = UUID.randomUUID();
+    GraphSnapshot snapshot = GraphSnapshot.builder().build();
+
+    TraversalSessionRegistry.Session session = registry.register(snapshot, ownerID);
+    assertNotNull(session.getId());
+    assertEquals(ownerID, session.getOwnerID());
+    assertSame(snapshot, session.getSnapshot());
+    assertTrue(session.getExpiresTimestamp() > System.currentTimeMillis());
+    assertSame(session, registry.get(session.getId(), ownerID));
+  }
+
+  @Test
+  public void testGetSessionOwnedByOtherUser() {
+    TraversalSessionRegistry.Session session = registry.register(GraphSnapshot.builder().build(), UUID.randomUUID());
+    assertNull(registry.get(session.getId(), UUID.randomUUID()));
+  }
+
+  @Test
+  public void testGetUnknownSession() {
+    assertNull(registry.get(UUID.randomUUID(), UUID.randomUUID()));
+    assertNull(registry.get(null, UUID.randomUUID()));
+  }
+
+  @Test
+  public void testEvictSessionsExceedingMaximumWeight() {
+    TraversalSessionRegistry registry = new TraversalSessionRegistry(60, 2);
+    UUID ownerID = UUID.randomUUID();
+    GraphSnapshot snapshot = GraphSnapshot.builder()
+            .addObject(new ObjectEntity().setId(UUID.randomUUID()))
+            .addObject(new ObjectEntity().setId(UUID.randomUUID()))
+            .build();
+
+    TraversalSessionRegistry.Session session = registry.register(snapshot, ownerID);
+    assertNull(registry.get(session.getId(), ownerID));
+  }
+}